@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.everrest.CheWSConnection;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+
+/**
+ * Broadcasts DTOs over websocket channels.
+ * <p>
+ * Every DTO is sent in regular JSON form to the channel itself and in compact form, JSON array of property values ordered
+ * by property name, to the compact variant of the channel (see {@link #compactChannel(String)}). Client opts in to the compact
+ * encoding per connection by subscribing to the compact channel instead of the regular one, so existing subscribers are not affected.
+ * Compact form is encoded only when compact channel has subscribers.
+ */
+public final class WebsocketDtoBroadcaster {
+    /** Suffix of channel that delivers the same events as original channel but with DTOs in compact form. */
+    public static final String COMPACT_CHANNEL_SUFFIX = ":compact";
+
+    /** Returns name of compact variant of the specified channel. */
+    public static String compactChannel(String channel) {
+        return channel + COMPACT_CHANNEL_SUFFIX;
+    }
+
+    /**
+     * Sends DTO to subscribers of the channel and of its compact variant if it has any.
+     *
+     * @param channel
+     *         channel name
+     * @param dto
+     *         DTO object
+     * @throws Exception
+     *         if message can't be sent
+     */
+    public static void broadcast(String channel, Object dto) throws Exception {
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        send(channel, dtoFactory.toJson(dto));
+        final String compactChannel = compactChannel(channel);
+        if (CheWSConnection.hasSubscribers(compactChannel)) {
+            send(compactChannel, dtoFactory.toCompactJson(dto));
+        }
+    }
+
+    private static void send(String channel, String body) throws Exception {
+        final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+        bm.setChannel(channel);
+        bm.setBody(body);
+        WSConnectionContext.sendMessage(bm);
+    }
+
+    private WebsocketDtoBroadcaster() {
+    }
+}
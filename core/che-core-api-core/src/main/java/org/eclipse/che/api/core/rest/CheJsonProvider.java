@@ -37,6 +37,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -81,7 +82,11 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
         if (t instanceof JsonSerializable) {
             try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+                DtoFactory.getInstance().toJson(t, w);
+            }
+        } else if (t instanceof Collection && isDtoCollection(genericType)) {
+            try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
+                DtoFactory.getInstance().toJsonList((Collection<?>)t, w);
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -114,6 +119,14 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         return (T)delegate.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
     }
 
+    private static boolean isDtoCollection(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type elementType = ((ParameterizedType)genericType).getActualTypeArguments()[0];
+            return elementType instanceof Class && ((Class<?>)elementType).isAnnotationPresent(DTO.class);
+        }
+        return false;
+    }
+
     /**
      * Get Set of classes that we never try to serialize or deserialize. Returned Set is mutable and new classes may be added in ignored
      * Set.
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Builds responses of versioned resources, resources which expose cheap version token which is changed whenever
+ * their representation may change, e.g. modification counter of DAO or of file system.
+ *
+ * <p>Entity tag of response is computed from request URI, current user and the version of resource, so conditional
+ * GET requests are answered with {@code 304 Not Modified} before response entity is built. {@link
+ * org.eclipse.che.everrest.ETagResponseFilter} keeps such entity tag and doesn't hash the entity.
+ * Versions are usually in-memory counters which start from scratch after restart, so entity tag also includes
+ * random epoch of the cache instance, tags issued before restart never match.
+ *
+ * <p>Built entities may be kept in memory keyed by request URI, user and version. Cache is disabled by default and
+ * enabled with {@code che.api.response_cache.max_size} property. Statistics of the cache and count of not modified
+ * responses are collected, so hit rate and time saved on building entities may be evaluated.
+ */
+@Singleton
+public class VersionedResponseCache {
+
+    /** Builds response entity, invoked only when client doesn't have up to date representation of resource. */
+    public interface EntityBuilder<T> {
+        T build() throws ApiException;
+    }
+
+    private final AtomicLong notModifiedCount;
+    private final String     epoch;
+
+    private volatile Cache<Key, Object> entities;
+
+    public VersionedResponseCache() {
+        this.notModifiedCount = new AtomicLong();
+        this.epoch = UUID.randomUUID().toString();
+        this.entities = newCache(0);
+    }
+
+    /** Enables in-memory cache of response entities, {@code 0} disables cache. */
+    @Inject(optional = true)
+    public void setMaxSize(@Named("che.api.response_cache.max_size") int maxSize) {
+        this.entities = newCache(maxSize);
+    }
+
+    /**
+     * Returns response for GET request of versioned resource.
+     *
+     * @param request
+     *         current request, used for evaluation of preconditions
+     * @param requestUri
+     *         URI of request, includes query parameters which affect representation of resource
+     * @param version
+     *         current version of resource, {@code null} if resource can't provide version at the moment,
+     *         in this case entity is built and response isn't tagged
+     * @param builder
+     *         builds response entity if it isn't found in the cache
+     * @return {@code 304 Not Modified} response if client has up to date representation, otherwise {@code 200 OK}
+     * response with the entity, both have entity tag
+     * @throws ApiException
+     *         if entity builder fails
+     */
+    public <T> Response get(Request request,
+                            URI requestUri,
+                            @Nullable String version,
+                            EntityBuilder<T> builder) throws ApiException {
+        if (version == null) {
+            return Response.ok(builder.build()).build();
+        }
+        final Key key = new Key(requestUri.toString(), currentUserId(), version);
+        final EntityTag entityTag = new EntityTag(key.hash(epoch));
+
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            notModifiedCount.incrementAndGet();
+            return notModified.tag(entityTag).build();
+        }
+
+        final Object entity;
+        try {
+            entity = entities.get(key, builder::build);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ApiException) {
+                throw (ApiException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        } catch (UncheckedExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+        return Response.ok(entity).tag(entityTag).build();
+    }
+
+    /** Returns count of conditional requests answered with {@code 304 Not Modified}. */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /**
+     * Returns statistics of entity cache. Each miss means entity was built, average time of building is provided
+     * by {@link CacheStats#averageLoadPenalty()}, it is saved on each hit and on each not modified response.
+     */
+    public CacheStats getCacheStats() {
+        return entities.stats();
+    }
+
+    private static Cache<Key, Object> newCache(int maxSize) {
+        return CacheBuilder.newBuilder()
+                           .maximumSize(maxSize)
+                           .expireAfterAccess(10, MINUTES)
+                           .recordStats()
+                           .build();
+    }
+
+    private static String currentUserId() {
+        final Subject subject = EnvironmentContext.getCurrent().getSubject();
+        return subject == null || subject.getUserId() == null ? "" : subject.getUserId();
+    }
+
+    private static final class Key {
+        final String uri;
+        final String userId;
+        final String version;
+
+        Key(String uri, String userId, String version) {
+            this.uri = uri;
+            this.userId = userId;
+            this.version = version;
+        }
+
+        String hash(String epoch) {
+            return Hashing.md5()
+                          .newHasher()
+                          .putString(epoch, UTF_8)
+                          .putChar('\n')
+                          .putString(uri, UTF_8)
+                          .putChar('\n')
+                          .putString(userId, UTF_8)
+                          .putChar('\n')
+                          .putString(version, UTF_8)
+                          .hash()
+                          .toString();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return uri.equals(other.uri) && userId.equals(other.userId) && version.equals(other.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, userId, version);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.eclipse.che.everrest.CheWSConnection;
+import org.everrest.core.impl.provider.json.JsonUtils;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Line consumer that accumulates lines and sends them to specified websocket channel in batches. Body of each message is
+ * json array of lines, unlike {@link WebsocketLineConsumer} which sends json string per line.
+ *
+ * <p>Buffered lines are sent every {@code flushPeriodMs} milliseconds or as soon as their total length exceeds
+ * {@code maxBatchSize} characters, each line is sent immediately if {@code flushPeriodMs} isn't positive. Lines are
+ * not buffered while channel doesn't have subscribers. Writer is never blocked by slow client: when there are more than {@code maxBufferedLines}
+ * lines waiting for sending the oldest of them are dropped and the next message starts with the number of skipped lines.
+ */
+public class BufferedWebsocketLineConsumer implements LineConsumer {
+    private static final Logger LOG = getLogger(BufferedWebsocketLineConsumer.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE     = 64 * 1024;
+    public static final int DEFAULT_MAX_BUFFERED_LINES = 10_000;
+
+    private final String             channel;
+    private final int                maxBatchSize;
+    private final int                maxBufferedLines;
+    private final ArrayDeque<String> lines;
+    private final ScheduledFuture<?> flushTask;
+
+    private int     bufferedSize;
+    private long    dropped;
+    private boolean flushRequested;
+    private boolean closed;
+
+    public BufferedWebsocketLineConsumer(String channel, long flushPeriodMs) {
+        this(channel, flushPeriodMs, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_BUFFERED_LINES);
+    }
+
+    public BufferedWebsocketLineConsumer(String channel, long flushPeriodMs, int maxBatchSize, int maxBufferedLines) {
+        this.channel = channel;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBufferedLines = maxBufferedLines;
+        this.lines = new ArrayDeque<>();
+        this.flushTask = flushPeriodMs > 0 ? LineConsumerFlusher.schedule(this, BufferedWebsocketLineConsumer::flush, flushPeriodMs) : null;
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        if (!hasSubscribers()) {
+            return;
+        }
+        final String nonNullLine = line == null ? "" : line;
+        boolean flushNow = false;
+        synchronized (lines) {
+            if (closed) {
+                return;
+            }
+            lines.addLast(nonNullLine);
+            bufferedSize += nonNullLine.length();
+            while (lines.size() > maxBufferedLines) {
+                bufferedSize -= lines.removeFirst().length();
+                dropped++;
+            }
+            if (bufferedSize >= maxBatchSize && !flushRequested) {
+                flushRequested = flushNow = true;
+            }
+        }
+        if (flushTask == null) {
+            flush();
+        } else if (flushNow) {
+            LineConsumerFlusher.execute(this::flush);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lines) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        flush();
+    }
+
+    /** Sends all buffered lines as single message. Synchronized to keep order of messages. */
+    synchronized void flush() {
+        final List<String> batch;
+        final long skipped;
+        synchronized (lines) {
+            flushRequested = false;
+            if (lines.isEmpty() && dropped == 0) {
+                return;
+            }
+            batch = new ArrayList<>(lines);
+            skipped = dropped;
+            lines.clear();
+            bufferedSize = 0;
+            dropped = 0;
+        }
+        final StringBuilder body = new StringBuilder("[");
+        if (skipped > 0) {
+            body.append(JsonUtils.getJsonString("[" + skipped + " lines skipped]"));
+        }
+        for (String line : batch) {
+            if (body.length() > 1) {
+                body.append(',');
+            }
+            body.append(JsonUtils.getJsonString(line));
+        }
+        body.append(']');
+        try {
+            sendMessage(body.toString());
+        } catch (Exception e) {
+            LOG.error("A problem occurred while sending websocket message", e);
+        }
+    }
+
+    /** Returns {@code true} if any client is subscribed to the channel. */
+    protected boolean hasSubscribers() {
+        return CheWSConnection.hasSubscribers(channel);
+    }
+
+    /** Sends message with given body to the channel. */
+    protected void sendMessage(String body) throws Exception {
+        final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+        bm.setChannel(channel);
+        bm.setBody(body);
+        WSConnectionContext.sendMessage(bm);
+    }
+}
@@ -10,22 +10,45 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.util;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.concurrent.ScheduledFuture;
 
 /**
+ * Writes lines to the file. By default file is flushed after each line, when flush period is set lines written during
+ * the period are flushed together.
+ *
  * @author andrew00x
  */
 public class FileLineConsumer implements LineConsumer {
-    private final File   file;
-    private final Writer writer;
+    private static final Logger LOG = LoggerFactory.getLogger(FileLineConsumer.class);
+
+    private final File               file;
+    private final Writer             writer;
+    private final ScheduledFuture<?> flushTask;
+
+    private volatile boolean dirty;
 
     public FileLineConsumer(File file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     * @param file
+     *         file to write lines to
+     * @param flushPeriodMs
+     *         period of flushing written lines in milliseconds, if it is {@code 0} then file is flushed after each line
+     */
+    public FileLineConsumer(File file, long flushPeriodMs) throws IOException {
         this.file = file;
         writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset());
+        flushTask = flushPeriodMs > 0 ? LineConsumerFlusher.schedule(this, FileLineConsumer::flush, flushPeriodMs) : null;
     }
 
     public File getFile() {
@@ -38,11 +61,29 @@ public class FileLineConsumer implements LineConsumer {
             writer.write(line);
         }
         writer.write('\n');
-        writer.flush();
+        if (flushTask == null) {
+            writer.flush();
+        } else {
+            dirty = true;
+        }
     }
 
     @Override
     public void close() throws IOException {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
         writer.close();
     }
+
+    private void flush() {
+        if (dirty) {
+            dirty = false;
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                LOG.error(String.format("An error occurred while flushing file %s", file), e);
+            }
+        }
+    }
 }
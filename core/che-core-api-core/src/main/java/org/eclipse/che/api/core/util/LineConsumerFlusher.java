@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Shared threads which flush output of buffered line consumers.
+ *
+ * @see BufferedWebsocketLineConsumer
+ * @see FileLineConsumer
+ */
+final class LineConsumerFlusher {
+    private static final ScheduledExecutorService exec =
+            Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(),
+                                             new ThreadFactoryBuilder().setNameFormat("LineConsumerFlusher-%d")
+                                                                       .setDaemon(true)
+                                                                       .build());
+
+    /**
+     * Runs {@code flush} for the {@code consumer} every {@code periodMs} milliseconds until returned future is cancelled.
+     * Consumer is referenced weakly, so the task is cancelled when consumer is garbage collected without being closed.
+     * {@code flush} must not capture the consumer.
+     */
+    static <T> ScheduledFuture<?> schedule(T consumer, Consumer<? super T> flush, long periodMs) {
+        final FlushTask<T> task = new FlushTask<>(consumer, flush);
+        task.future = exec.scheduleWithFixedDelay(task, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        return task.future;
+    }
+
+    /** Runs {@code flush} as soon as possible. */
+    static void execute(Runnable flush) {
+        exec.execute(flush);
+    }
+
+    private LineConsumerFlusher() {
+    }
+
+    private static class FlushTask<T> implements Runnable {
+        final WeakReference<T>      consumer;
+        final Consumer<? super T>   flush;
+        volatile ScheduledFuture<?> future;
+
+        FlushTask(T consumer, Consumer<? super T> flush) {
+            this.consumer = new WeakReference<>(consumer);
+            this.flush = flush;
+        }
+
+        @Override
+        public void run() {
+            final T target = consumer.get();
+            if (target != null) {
+                flush.accept(target);
+            } else if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.util;
 
+import org.eclipse.che.everrest.CheWSConnection;
 import org.everrest.core.impl.provider.json.JsonUtils;
 import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
@@ -34,6 +35,9 @@ public class WebsocketLineConsumer implements LineConsumer {
 
     @Override
     public void writeLine(String line) throws IOException {
+        if (!hasSubscribers()) {
+            return;
+        }
         final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
         bm.setChannel(channel);
         bm.setBody(JsonUtils.getJsonString(line));
@@ -47,4 +51,9 @@ public class WebsocketLineConsumer implements LineConsumer {
     @Override
     public void close() throws IOException {
     }
+
+    /** Returns {@code true} if any client is subscribed to the channel. */
+    protected boolean hasSubscribers() {
+        return CheWSConnection.hasSubscribers(channel);
+    }
 }
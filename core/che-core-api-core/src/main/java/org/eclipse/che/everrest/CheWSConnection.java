@@ -14,19 +14,66 @@ import static org.eclipse.che.everrest.ServerContainerInitializeListener.ENVIRON
 
 import org.everrest.websockets.WSConnectionImpl;
 
+import javax.websocket.CloseReason;
 import javax.websocket.EndpointConfig;
 import javax.websocket.Session;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Keeps number of subscribers of each channel, so senders may check whether channel has subscribers
+ * before encoding message, see {@link #hasSubscribers(String)}.
+ *
  * @author Sergii Kabashniuk
  */
 public class CheWSConnection extends WSConnectionImpl {
+    private static final ConcurrentMap<String, Integer> SUBSCRIBERS = new ConcurrentHashMap<>();
+
+    private boolean closed;
+
+    /** Returns {@code true} if any open connection is subscribed to the given channel. */
+    public static boolean hasSubscribers(String channel) {
+        return SUBSCRIBERS.containsKey(channel);
+    }
+
     @Override
     public void onOpen(Session session, EndpointConfig config) {
         final Map<String, Object> userProperties = config.getUserProperties();
         setAttribute(ENVIRONMENT_CONTEXT, userProperties.get(ENVIRONMENT_CONTEXT));
         super.onOpen(session, config);
+    }
+
+    @Override
+    public synchronized boolean subscribeToChannel(String channel) {
+        final boolean subscribed = super.subscribeToChannel(channel);
+        if (subscribed && !closed) {
+            SUBSCRIBERS.merge(channel, 1, Integer::sum);
+        }
+        return subscribed;
+    }
+
+    @Override
+    public synchronized boolean unsubscribeFromChannel(String channel) {
+        final boolean unsubscribed = super.unsubscribeFromChannel(channel);
+        if (unsubscribed && !closed) {
+            removeSubscriber(channel);
+        }
+        return unsubscribed;
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        synchronized (this) {
+            if (!closed) {
+                closed = true;
+                getChannels().forEach(CheWSConnection::removeSubscriber);
+            }
+        }
+        super.onClose(session, closeReason);
+    }
 
+    private static void removeSubscriber(String channel) {
+        SUBSCRIBERS.computeIfPresent(channel, (key, subscribers) -> subscribers == 1 ? null : subscribers - 1);
     }
 }
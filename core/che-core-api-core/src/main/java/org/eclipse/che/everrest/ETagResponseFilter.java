@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.common.hash.Funnels;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 
+import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
@@ -24,10 +26,14 @@ import org.everrest.core.impl.ApplicationContextImpl;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.List;
 
@@ -39,6 +45,7 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
  * It is applying on GET method and JSON content type only.
+ * Responses which already have ETag, e.g. built with {@link org.eclipse.che.api.core.rest.VersionedResponseCache}, are skipped.
  *
  * @author Florent Benoit
  */
@@ -81,22 +88,29 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
+        // entity tag is already provided by resource
+        if (containerResponse.getHttpHeaders().getFirst(HttpHeaders.ETAG) != null) {
+            return;
+        }
+
         // calculate hash with MD5
         HashFunction hashFunction = Hashing.md5();
         Hasher hasher = hashFunction.newHasher();
+        // JSON is written directly to the hasher without creating intermediate strings
+        Writer hasherWriter = new OutputStreamWriter(Funnels.asOutputStream(hasher), Charset.defaultCharset());
         boolean hashingSuccess = true;
 
         // Manage a list
         if (entity instanceof List) {
             List<?> entities = (List)entity;
             for (Object simpleEntity : entities) {
-                hashingSuccess = addHash(simpleEntity, hasher);
+                hashingSuccess = addHash(simpleEntity, hasherWriter);
                 if (!hashingSuccess) {
                     break;
                 }
             }
         } else {
-            hashingSuccess = addHash(entity, hasher);
+            hashingSuccess = addHash(entity, hasherWriter);
         }
 
         // if we're able to handle the hash
@@ -128,10 +142,10 @@ public class ETagResponseFilter implements ResponseFilter {
      *
      * @param entity
      *         the entity object to analyze and extract JSON for hashing it
-     * @param hasher
-     *         the hasher used to add the hashes
+     * @param hasherWriter
+     *         writer of the hasher used to add the hashes
      */
-    protected boolean addHash(Object entity, Hasher hasher) {
+    protected boolean addHash(Object entity, Writer hasherWriter) {
         // get entity type
         EntityType entityType = getElementType(entity);
 
@@ -142,8 +156,13 @@ public class ETagResponseFilter implements ResponseFilter {
         }
         // add hash if all is OK
         try {
-            hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
-        } catch (RuntimeException e) {
+            if (entityType == JSON_SERIALIZABLE) {
+                DtoFactory.getInstance().toJson(entity, hasherWriter);
+            } else {
+                hasherWriter.write(getJson(entity, entityType));
+            }
+            hasherWriter.flush();
+        } catch (IOException | RuntimeException e) {
             return false;
         }
         return true;
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.VersionedResponseCache.EntityBuilder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link VersionedResponseCache}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class VersionedResponseCacheTest {
+
+    private static final URI URI = java.net.URI.create("http://localhost/api/resource?depth=1");
+
+    @Mock
+    private Request               request;
+    @Mock
+    private EntityBuilder<String> builder;
+
+    private VersionedResponseCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        cache = new VersionedResponseCache();
+        when(builder.build()).thenReturn("entity");
+    }
+
+    @Test
+    public void shouldBuildEntityAndTagResponse() throws Exception {
+        final Response response = cache.get(request, URI, "1", builder);
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(response.getEntity(), "entity");
+        assertNotNull(response.getMetadata().getFirst("ETag"));
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWithoutBuildingEntity() throws Exception {
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(Response.notModified());
+
+        final Response response = cache.get(request, URI, "1", builder);
+
+        assertEquals(response.getStatus(), 304);
+        assertNull(response.getEntity());
+        verify(builder, never()).build();
+        assertEquals(cache.getNotModifiedCount(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheEntitiesByDefault() throws Exception {
+        cache.get(request, URI, "1", builder);
+        cache.get(request, URI, "1", builder);
+
+        verify(builder, times(2)).build();
+    }
+
+    @Test
+    public void shouldReuseCachedEntityWhileVersionIsTheSame() throws Exception {
+        cache.setMaxSize(10);
+
+        final Response first = cache.get(request, URI, "1", builder);
+        final Response second = cache.get(request, URI, "1", builder);
+
+        verify(builder).build();
+        assertEquals(second.getEntity(), first.getEntity());
+        assertEquals(second.getMetadata().getFirst("ETag"), first.getMetadata().getFirst("ETag"));
+        assertEquals(cache.getCacheStats().hitCount(), 1);
+    }
+
+    @Test
+    public void shouldRebuildEntityWhenVersionIsChanged() throws Exception {
+        cache.setMaxSize(10);
+
+        final Response first = cache.get(request, URI, "1", builder);
+        final Response second = cache.get(request, URI, "2", builder);
+
+        verify(builder, times(2)).build();
+        assertNotEquals(second.getMetadata().getFirst("ETag"), first.getMetadata().getFirst("ETag"));
+    }
+
+    @Test
+    public void shouldNotMatchTagsIssuedBeforeRestart() throws Exception {
+        final Response beforeRestart = cache.get(request, URI, "1", builder);
+        final Response afterRestart = new VersionedResponseCache().get(request, URI, "1", builder);
+
+        assertNotEquals(afterRestart.getMetadata().getFirst("ETag"), beforeRestart.getMetadata().getFirst("ETag"));
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldRethrowExceptionOfEntityBuilder() throws Exception {
+        when(builder.build()).thenThrow(new NotFoundException("not found"));
+
+        cache.get(request, URI, "1", builder);
+    }
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class BufferedWebsocketLineConsumerTest {
+    @Test
+    public void sendsBufferedLinesAsSingleMessage() throws Exception {
+        final TestConsumer consumer = new TestConsumer(60_000, 1024, 100);
+
+        consumer.writeLine("first");
+        consumer.writeLine("second \"quoted\"");
+        consumer.close();
+
+        assertEquals(consumer.messages, singletonList("[\"first\",\"second \\\"quoted\\\"\"]"));
+    }
+
+    @Test
+    public void dropsOldestLinesWhenBufferIsFull() throws Exception {
+        final TestConsumer consumer = new TestConsumer(60_000, 1024, 2);
+
+        consumer.writeLine("1");
+        consumer.writeLine("2");
+        consumer.writeLine("3");
+        consumer.writeLine("4");
+        consumer.close();
+
+        assertEquals(consumer.messages, singletonList("[\"[2 lines skipped]\",\"3\",\"4\"]"));
+    }
+
+    @Test
+    public void sendsLinesWhenBatchSizeIsReached() throws Exception {
+        final TestConsumer consumer = new TestConsumer(60_000, 10, 100);
+
+        consumer.writeLine("0123456789");
+
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (consumer.messages.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(consumer.messages, singletonList("[\"0123456789\"]"));
+        consumer.close();
+    }
+
+    @Test
+    public void sendsLinesPeriodically() throws Exception {
+        final TestConsumer consumer = new TestConsumer(50, 1024, 100);
+
+        consumer.writeLine("line");
+
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (consumer.messages.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(consumer.messages, singletonList("[\"line\"]"));
+        consumer.close();
+    }
+
+    @Test
+    public void sendsEachLineImmediatelyWithoutFlushPeriod() throws Exception {
+        final TestConsumer consumer = new TestConsumer(0, 1024, 100);
+
+        consumer.writeLine("first");
+        consumer.writeLine("second");
+
+        assertEquals(consumer.messages, asList("[\"first\"]", "[\"second\"]"));
+        consumer.close();
+    }
+
+    @Test
+    public void ignoresLinesWhileChannelHasNoSubscribers() throws Exception {
+        final TestConsumer consumer = new TestConsumer(0, 1024, 100);
+        consumer.subscribed = false;
+
+        consumer.writeLine("line");
+        consumer.close();
+
+        assertTrue(consumer.messages.isEmpty());
+    }
+
+    @Test
+    public void ignoresLinesAfterClose() throws Exception {
+        final TestConsumer consumer = new TestConsumer(60_000, 1024, 100);
+        consumer.close();
+
+        consumer.writeLine("line");
+        consumer.flush();
+
+        assertTrue(consumer.messages.isEmpty());
+    }
+
+    @Test
+    public void doesNotKeepUnclosedConsumerReachableFromFlushTask() throws Exception {
+        TestConsumer consumer = new TestConsumer(10, 1024, 100);
+        consumer.writeLine("line");
+        final WeakReference<TestConsumer> reference = new WeakReference<>(consumer);
+        consumer = null;
+
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+    }
+
+    private static class TestConsumer extends BufferedWebsocketLineConsumer {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+
+        volatile boolean subscribed = true;
+
+        TestConsumer(long flushPeriodMs, int maxBatchSize, int maxBufferedLines) {
+            super("channel", flushPeriodMs, maxBatchSize, maxBufferedLines);
+        }
+
+        @Override
+        protected boolean hasSubscribers() {
+            return subscribed;
+        }
+
+        @Override
+        protected void sendMessage(String body) {
+            messages.add(body);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /** Abstract base class for the source generating template for a single DTO. */
 abstract class DtoImpl {
@@ -387,6 +388,37 @@ abstract class DtoImpl {
         return result;
     }
 
+    /**
+     * Returns getters grouped by JSON property in the order the properties take in the compact (array) form of DTO. Properties are
+     * sorted by name, so server and client implementations generated separately agree on positions.
+     */
+    protected List<List<Method>> getCompactJsonProperties(List<Method> getters) {
+        final Map<String, List<Method>> properties = new TreeMap<>();
+        for (Method getter : getters) {
+            if (getter == null) {
+                continue;
+            }
+            final String jsonFieldName = getJsonFieldName(getter);
+            List<Method> methods = properties.get(jsonFieldName);
+            if (methods == null) {
+                properties.put(jsonFieldName, methods = new ArrayList<>());
+            }
+            methods.add(getter);
+        }
+        return new ArrayList<>(properties.values());
+    }
+
+    /** Tests whether the type or any of its generic parameters starting from {@code depth} is a DTO. */
+    protected boolean containsDto(List<Type> expandedTypes, int depth) {
+        for (int i = depth; i < expandedTypes.size(); i++) {
+            final Class<?> rawClass = getRawClass(expandedTypes.get(i));
+            if (enclosingTemplate.isDtoInterface(rawClass) || enclosingTemplate.getDtoImplementation(rawClass) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected boolean isLastMethod(Method method) {
         Preconditions.checkNotNull(method);
         return method == dtoMethods.get(dtoMethods.size() - 1);
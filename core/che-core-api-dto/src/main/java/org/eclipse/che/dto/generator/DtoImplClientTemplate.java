@@ -66,6 +66,7 @@ public class DtoImplClientTemplate extends DtoImpl {
         emitSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitCompactDeserializer(methods, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -478,6 +479,114 @@ public class DtoImplClientTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates {@code fromCompactJsonString(String)} for DTO in compact form, array of property values ordered by property name. The
+     * array is expanded to regular JSON object by {@code expandCompactJson(JSONValue)} and then read as usual.
+     */
+    private void emitCompactDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static JSONValue expandCompactJson(JSONValue jsonValue) {\n");
+        if (isCompactJson()) {
+            // already has array form, nested DTOs are in regular form
+            builder.append("      return jsonValue;\n");
+        } else {
+            builder.append("      if (jsonValue == null || jsonValue.isArray() == null) {\n");
+            builder.append("        return jsonValue;\n");
+            builder.append("      }\n\n");
+            builder.append("      JSONArray json = jsonValue.isArray();\n");
+            builder.append("      JSONObject result = new JSONObject();\n");
+            int index = 0;
+            for (List<Method> property : getCompactJsonProperties(getters)) {
+                final Method getter = property.get(0);
+                final String fieldName = getFieldNameFromGetterName(getter.getName());
+                final String fieldNameIn = fieldName + "In";
+                final String fieldNameOut = fieldName + "Out";
+                builder.append("\n");
+                builder.append("      if (").append(index).append(" < json.size()) {\n");
+                builder.append("        JSONValue ").append(fieldNameIn).append(" = json.get(").append(index).append(");\n");
+                emitExpandCompactImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameIn, fieldNameOut, "        ");
+                // nulls are omitted the same way server omits them in regular form
+                builder.append("        if (").append(fieldNameOut).append(".isNull() == null) {\n");
+                builder.append("          result.put(").append(quoteStringLiteral(getJsonFieldName(getter))).append(", ")
+                       .append(fieldNameOut).append(");\n");
+                builder.append("        }\n");
+                builder.append("      }\n");
+                index++;
+            }
+            builder.append("      return result;\n");
+        }
+        builder.append("    }\n\n");
+        builder.append("    public static ").append(getImplClassName()).append(" fromCompactJsonString(String jsonString) {\n");
+        builder.append("      if (jsonString == null) {\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      return fromJsonObjectInt(expandCompactJson(JSONParser.parseStrict(jsonString)), false);\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code that expands nested DTOs of the value from compact to regular JSON form. Values without nested DTOs are reused as
+     * is.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the JSONValue in compact form
+     * @param outVar
+     *         the JSONValue in regular form
+     * @param i
+     *         indentation string
+     */
+    private void emitExpandCompactImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String outVar,
+                                       String i) {
+        final Class<?> rawClass = getRawClass(expandedTypes.get(depth));
+        if (!containsDto(expandedTypes, depth)) {
+            builder.append(i).append("JSONValue ").append(outVar).append(" = ").append(inVar).append(";\n");
+        } else if (isList(rawClass) || isMap(rawClass)) {
+            final String childInVar = inVar + "_";
+            final String childOutVar = outVar + "_";
+            builder.append(i).append("JSONValue ").append(outVar).append(" = ").append(inVar).append(";\n");
+            if (isList(rawClass)) {
+                final String iteratorVar = childInVar + "_iterator";
+                final String arrayVar = outVar + "Array";
+                builder.append(i).append("if (").append(inVar).append(" != null && ").append(inVar).append(".isArray() != null) {\n");
+                builder.append(i).append("  JSONArray ").append(arrayVar).append(" = new JSONArray();\n");
+                builder.append(i).append("  for (int ").append(iteratorVar).append(" = 0; ").append(iteratorVar).append(" < ")
+                       .append(inVar).append(".isArray().size(); ").append(iteratorVar).append("++) {\n");
+                builder.append(i).append("    JSONValue ").append(childInVar).append(" = ").append(inVar).append(".isArray().get(")
+                       .append(iteratorVar).append(");\n");
+                emitExpandCompactImpl(expandedTypes, depth + 1, builder, childInVar, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(arrayVar).append(".set(").append(iteratorVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  ").append(outVar).append(" = ").append(arrayVar).append(";\n");
+                builder.append(i).append("}\n");
+            } else {
+                final String keyVar = "key" + depth;
+                final String objectVar = outVar + "Object";
+                builder.append(i).append("if (").append(inVar).append(" != null && ").append(inVar).append(".isObject() != null) {\n");
+                builder.append(i).append("  JSONObject ").append(objectVar).append(" = new JSONObject();\n");
+                builder.append(i).append("  for (String ").append(keyVar).append(" : ").append(inVar).append(".isObject().keySet()) {\n");
+                builder.append(i).append("    JSONValue ").append(childInVar).append(" = ").append(inVar).append(".isObject().get(")
+                       .append(keyVar).append(");\n");
+                emitExpandCompactImpl(expandedTypes, depth + 1, builder, childInVar, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(objectVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  ").append(outVar).append(" = ").append(objectVar).append(";\n");
+                builder.append(i).append("}\n");
+            }
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append("JSONValue ").append(outVar).append(" = ").append(getImplNameForDto(rawClass))
+                   .append(".expandCompactJson(").append(inVar).append(");\n");
+        } else {
+            builder.append(i).append("JSONValue ").append(outVar).append(" = ")
+                   .append(getEnclosingTemplate().getDtoImplementation(rawClass).getCanonicalName()).append(".expandCompactJson(")
+                   .append(inVar).append(");\n");
+        }
+    }
+
     private void emitDeserializeFieldForMethod(Method getter, StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(getter.getName());
         final String fieldNameIn = fieldName + "In";
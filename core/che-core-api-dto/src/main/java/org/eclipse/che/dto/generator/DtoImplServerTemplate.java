@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -70,8 +71,12 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
+        emitCompactStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitStreamDeserializer(methods, false, builder);
+        emitStreamDeserializer(methods, true, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -301,8 +306,18 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        // Written straight from the fields, no intermediate JsonElement tree is built
+        builder.append("      StringWriter out = new StringWriter();\n");
+        builder.append("      JsonWriter writer = new JsonWriter(out);\n");
+        builder.append("      writer.setLenient(true);\n");
+        builder.append("      writer.setSerializeNulls(false);\n");
+        builder.append("      try {\n");
+        builder.append("        writeTo(writer);\n");
+        builder.append("        writer.flush();\n");
+        builder.append("      } catch (IOException e) {\n");
+        builder.append("        throw new IllegalStateException(e.getMessage(), e);\n");
+        builder.append("      }\n");
+        builder.append("      return out.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +466,153 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /** Generates {@code writeTo(JsonWriter)} that writes fields straight to the stream. */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(JsonWriter writer) throws IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      writer.beginArray();\n");
+            for (Method getter : getters) {
+                emitWriteFieldForMethodCompact(getter, builder);
+            }
+            builder.append("      writer.endArray();\n");
+        } else {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitWriterImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()), "      ",
+                               false);
+            }
+            builder.append("      writer.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Generates {@code writeCompactTo(JsonWriter)} that writes DTO as array of property values ordered by property name. DTOs that
+     * are {@link org.eclipse.che.dto.shared.CompactJsonDto} already have array form and are written as is.
+     */
+    private void emitCompactStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public void writeCompactTo(JsonWriter writer) throws IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      writeTo(writer);\n");
+        } else {
+            builder.append("      writer.beginArray();\n");
+            for (List<Method> property : getCompactJsonProperties(getters)) {
+                final Method getter = property.get(0);
+                emitWriterImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()), "      ",
+                               true);
+            }
+            builder.append("      writer.endArray();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    private void emitWriteFieldForMethodCompact(Method getter, StringBuilder builder) {
+        if (getter == null) {
+            builder.append("      writer.nullValue();\n");
+            return;
+        }
+        final String fieldName = getJavaFieldName(getter.getName());
+        final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+        if (isLastMethod(getter) && isList(getRawClass(expandedTypes.get(0)))) {
+            // Trailing empty list is omitted the same way as toJsonElement() does
+            builder.append("      this.").append(getEnsureName(fieldName)).append("();\n");
+            builder.append("      if (this.").append(fieldName).append(".size() != 0) {\n");
+            emitWriterImpl(expandedTypes, 0, builder, fieldName, "        ", false);
+            builder.append("      }\n");
+            return;
+        }
+        emitWriterImpl(expandedTypes, 0, builder, fieldName, "      ", false);
+    }
+
+    /**
+     * Produces code to write the value of the given variable to the {@code writer}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable that holds the value to write
+     * @param i
+     *         indentation string
+     * @param compactForm
+     *         whether nested DTOs are written in compact (array) form
+     */
+    private void emitWriterImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i,
+                                boolean compactForm) {
+        final Class<?> rawClass = getRawClass(expandedTypes.get(depth));
+        final String value = depth == 0 ? "this." + inVar : inVar;
+        final String childInVar = inVar + "_";
+        final String writeDto = compactForm ? ").writeCompactTo(writer);" : ").writeTo(writer);";
+        if (isList(rawClass) || isMap(rawClass)) {
+            final String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            final String ii = depth == 0 ? i : i + "  ";
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(value).append(" == null) {\n");
+                builder.append(ii).append("writer.nullValue();\n");
+                builder.append(i).append("} else {\n");
+            }
+            if (isList(rawClass)) {
+                builder.append(ii).append("writer.beginArray();\n");
+                builder.append(ii).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ").append(value)
+                       .append(") {\n");
+            } else {
+                final String entryVar = "entry" + depth;
+                builder.append(ii).append("writer.beginObject();\n");
+                builder.append(ii).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(value).append(".entrySet()) {\n");
+                builder.append(ii).append("  writer.name(").append(entryVar).append(".getKey());\n");
+                builder.append(ii).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+            }
+            emitWriterImpl(expandedTypes, depth + 1, builder, childInVar, ii + "  ", compactForm);
+            builder.append(ii).append("}\n");
+            builder.append(ii).append(isList(rawClass) ? "writer.endArray();\n" : "writer.endObject();\n");
+            if (depth != 0) {
+                builder.append(i).append("}\n");
+            }
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass.isPrimitive()) {
+            // float is boxed to keep the Float.toString() representation used by JsonPrimitive
+            builder.append(i).append("writer.value(").append(rawClass == float.class ? "(Number)" : "").append(value).append(");\n");
+        } else {
+            final String write;
+            if (rawClass.isEnum()) {
+                write = "writer.value(" + value + ".name());";
+            } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+                write = "((" + getImplNameForDto(rawClass) + ")" + value + writeDto;
+            } else if (rawClass == Boolean.class) {
+                write = "writer.value(" + value + ".booleanValue());";
+            } else if (Number.class.isAssignableFrom(rawClass) && Primitives.isWrapperType(rawClass)) {
+                write = "writer.value(" + value + ");";
+            } else if (isAny(rawClass)) {
+                write = "gson.toJson((JsonElement)" + value + ", writer);";
+            } else {
+                final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+                if (dtoImplementation == null) {
+                    throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                       getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                       " is not allowed to use in DTO interface.");
+                }
+                write = "((" + dtoImplementation.getCanonicalName() + ")" + value + writeDto;
+            }
+            builder.append(i).append("if (").append(value).append(" == null");
+            if (isAny(rawClass)) {
+                builder.append(" || !(").append(value).append(" instanceof JsonElement)");
+            }
+            builder.append(") {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(write).append("\n");
+            builder.append(i).append("}\n");
+        }
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -489,6 +651,157 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates a static {@code readFrom(JsonReader)}, or {@code readCompactFrom(JsonReader)} for compact (array) form, that reads
+     * fields straight from the stream.
+     */
+    private void emitStreamDeserializer(List<Method> getters, boolean compactForm, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(compactForm ? " readCompactFrom" : " readFrom")
+               .append("(JsonReader reader) throws IOException {\n");
+        if (compactForm && isCompactJson()) {
+            builder.append("      return readFrom(reader);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (reader.peek() == JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        // Several getters may be bound to the same JSON property, read it once and pass the value to all of them
+        final Map<String, List<Method>> cases = new LinkedHashMap<>();
+        if (compactForm) {
+            for (List<Method> property : getCompactJsonProperties(getters)) {
+                cases.put(String.valueOf(cases.size()), property);
+            }
+        } else {
+            for (Method getter : getters) {
+                if (getter == null) {
+                    continue;
+                }
+                final String key;
+                if (isCompactJson()) {
+                    key = String.valueOf(Preconditions.checkNotNull(getter.getAnnotation(SerializationIndex.class)).value() - 1);
+                } else {
+                    key = quoteStringLiteral(getJsonFieldName(getter));
+                }
+                List<Method> methods = cases.get(key);
+                if (methods == null) {
+                    cases.put(key, methods = new ArrayList<>());
+                }
+                methods.add(getter);
+            }
+        }
+        final boolean array = compactForm || isCompactJson();
+        if (array) {
+            builder.append("      int index = 0;\n");
+            builder.append("      reader.beginArray();\n");
+            builder.append("      while (reader.hasNext()) {\n");
+            builder.append("        switch (index++) {\n");
+        } else {
+            builder.append("      reader.beginObject();\n");
+            builder.append("      while (reader.hasNext()) {\n");
+            builder.append("        switch (reader.nextName()) {\n");
+        }
+        for (Map.Entry<String, List<Method>> entry : cases.entrySet()) {
+            final Method first = entry.getValue().get(0);
+            final String fieldNameOut = getJavaFieldName(first.getName()) + "Out";
+            builder.append("          case ").append(entry.getKey()).append(": {\n");
+            emitReaderImpl(expandType(first.getGenericReturnType()), 0, builder, fieldNameOut, "            ", compactForm);
+            for (Method getter : entry.getValue()) {
+                builder.append("            dto.").append(getSetterName(getFieldNameFromGetterName(getter.getName()))).append("(")
+                       .append(fieldNameOut).append(");\n");
+            }
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append(array ? "      reader.endArray();\n" : "      reader.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read the value of the type from the {@code reader}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will hold the read value
+     * @param i
+     *         indentation string
+     * @param compactForm
+     *         whether nested DTOs are read in compact (array) form
+     */
+    private void emitReaderImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i,
+                                boolean compactForm) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String childOutVar = outVar + "_";
+        final String readDto = compactForm ? ".readCompactFrom(reader);\n" : ".readFrom(reader);\n";
+        if (isList(rawClass) || isMap(rawClass)) {
+            final String keyVar = "key" + depth;
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append(isList(rawClass) ? "  reader.beginArray();\n" : "  reader.beginObject();\n");
+            builder.append(i).append("  while (reader.hasNext()) {\n");
+            if (isMap(rawClass)) {
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+            }
+            emitReaderImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ", compactForm);
+            if (isList(rawClass)) {
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+            } else {
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+            }
+            builder.append(i).append("  }\n");
+            builder.append(i).append(isList(rawClass) ? "  reader.endArray();\n" : "  reader.endObject();\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(readDto);
+        } else if (rawClass.isPrimitive()) {
+            final String read;
+            if (rawClass == boolean.class) {
+                read = "reader.nextBoolean()";
+            } else if (rawClass == long.class) {
+                read = "reader.nextLong()";
+            } else if (rawClass == double.class) {
+                read = "reader.nextDouble()";
+            } else if (rawClass == float.class) {
+                read = "(float)reader.nextDouble()";
+            } else if (rawClass == int.class) {
+                read = "reader.nextInt()";
+            } else {
+                read = "(" + rawClass.getSimpleName() + ")reader.nextInt()";
+            }
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = ").append(read).append(";\n");
+        } else if (isAny(rawClass)) {
+            // Parsed from the stream, so the tree is not shared with anyone and does not need to be copied
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            final String rawClassName = rawClass.getName().replace('$', '.');
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(readDto);
+            } else {
+                // Use gson to handle all other types.
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializeFieldForMethod(Method method, StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(method.getName());
         final String fieldNameIn = fieldName + "In";
@@ -201,7 +201,12 @@ public class DtoTemplate {
             builder.append("import com.google.gson.JsonObject;\n");
             builder.append("import com.google.gson.JsonParser;\n");
             builder.append("import com.google.gson.JsonPrimitive;\n");
+            builder.append("import com.google.gson.stream.JsonReader;\n");
+            builder.append("import com.google.gson.stream.JsonToken;\n");
+            builder.append("import com.google.gson.stream.JsonWriter;\n");
             builder.append("\n");
+            builder.append("import java.io.IOException;\n");
+            builder.append("import java.io.StringWriter;\n");
             builder.append("import java.util.List;\n");
             builder.append("import java.util.Map;\n");
         }
@@ -248,6 +253,15 @@ public class DtoTemplate {
                 builder.append("        public ").append(dtoInterface).append(" fromJson(com.google.gson.JsonElement json) {\n")
                        .append("            return ").append(dto.getImplClassName()).append(".fromJsonElement(json);\n");
                 builder.append("        }\n\n");
+                builder.append("        public ").append(dtoInterface).append(" fromJson(com.google.gson.stream.JsonReader json) throws java.io.IOException {\n")
+                       .append("            return ").append(dto.getImplClassName()).append(".readFrom(json);\n");
+                builder.append("        }\n\n");
+                builder.append("        public ").append(dtoInterface).append(" fromCompactJson(com.google.gson.stream.JsonReader json) throws java.io.IOException {\n")
+                       .append("            return ").append(dto.getImplClassName()).append(".readCompactFrom(json);\n");
+                builder.append("        }\n\n");
+                builder.append("        public void toCompactJson(").append(dtoInterface).append(" dto, com.google.gson.stream.JsonWriter writer) throws java.io.IOException {\n")
+                       .append("            ((").append(dto.getImplClassName()).append(")dto).writeCompactTo(writer);\n");
+                builder.append("        }\n\n");
                 builder.append("        public ").append(dtoInterface).append(" clone(").append(dtoInterface).append(" origin) {\n")
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
                 builder.append("        }\n");
@@ -269,6 +283,9 @@ public class DtoTemplate {
                 builder.append("        }\n\n");
                 builder.append("        public ").append(dtoInterface).append(" fromJson(String json) {\n")
                        .append("            return ").append(dto.getImplClassName()).append(".fromJsonString(json);\n");
+                builder.append("        }\n\n");
+                builder.append("        public ").append(dtoInterface).append(" fromCompactJson(String json) {\n")
+                       .append("            return ").append(dto.getImplClassName()).append(".fromCompactJsonString(json);\n");
                 builder.append("        }\n");
                 builder.append("    });\n");
             }
@@ -17,20 +17,27 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -96,34 +103,10 @@ public final class DtoFactory {
      */
     @SuppressWarnings("unchecked")
     public <T> T clone(T origin) {
-        final Class<?> implClass = origin.getClass();
-        DtoProvider provider = dtoImpl2Providers.get(implClass);
+        final DtoProvider provider = getDtoProviderForImpl(origin.getClass());
         if (provider == null) {
-            Class<?> dtoInterface = null;
-            Class<?>[] interfaces = implClass.getInterfaces();
-            if (interfaces.length == 0) {
-                return null;
-            }
-
-            for (Class<?> i : interfaces) {
-                if (i.isAnnotationPresent(DTO.class)) {
-                    if (dtoInterface != null) {
-                        throw new IllegalArgumentException("Unable determine DTO interface. Type " + implClass.getName() +
-                                                           " implements or extends more than one interface annotated with @DTO annotation.");
-                    }
-                    dtoInterface = i;
-                }
-            }
-
-            if (dtoInterface != null) {
-                provider = getDtoProvider(dtoInterface);
-            }
-        }
-
-        if (provider == null) {
-            throw new IllegalArgumentException("Unknown DTO type " + implClass);
+            return null;
         }
-
         return (T)provider.clone(origin);
     }
 
@@ -143,6 +126,84 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Writes JSON representation of DTO object to the specified writer without creating intermediate JSON string.
+     *
+     * @param dto
+     *         DTO object
+     * @param out
+     *         writer, it isn't closed by this method
+     * @throws IllegalArgumentException
+     *         if specified object isn't {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer out) throws IOException {
+        if (!(dto instanceof JsonSerializable)) {
+            throw new IllegalArgumentException("JsonSerializable instance required. ");
+        }
+        final JsonWriter writer = newJsonWriter(out);
+        ((JsonSerializable)dto).writeTo(writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes JSON array of DTO objects to the specified writer without creating intermediate JSON string.
+     *
+     * @param dtos
+     *         DTO objects, {@code null} elements are written as JSON nulls
+     * @param out
+     *         writer, it isn't closed by this method
+     * @throws IllegalArgumentException
+     *         if any of specified objects isn't {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public void toJsonList(Collection<?> dtos, Writer out) throws IOException {
+        final JsonWriter writer = newJsonWriter(out);
+        writer.beginArray();
+        for (Object dto : dtos) {
+            if (dto == null) {
+                writer.nullValue();
+            } else if (dto instanceof JsonSerializable) {
+                ((JsonSerializable)dto).writeTo(writer);
+            } else {
+                throw new IllegalArgumentException("JsonSerializable instance required. ");
+            }
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
+    /**
+     * Serializes DTO object to its compact form: JSON array of property values ordered by property name. Nested DTOs are serialized in
+     * compact form as well. Compact form doesn't contain property names and is meant for hot channels, e.g. websocket events, where
+     * both sides use generated DTO implementations.
+     *
+     * @param dto
+     *         DTO object
+     * @return compact JSON
+     * @throws IllegalArgumentException
+     *         if specified object doesn't implement DTO interface
+     * @see #createDtoFromCompactJson(String, Class)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> String toCompactJson(T dto) {
+        final DtoProvider provider = getDtoProviderForImpl(dto.getClass());
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown DTO type " + dto.getClass());
+        }
+        final StringWriter out = new StringWriter();
+        try {
+            final JsonWriter writer = newJsonWriter(out);
+            provider.toCompactJson(dto, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return out.toString();
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -179,6 +240,28 @@ public final class DtoFactory {
         return getDtoProvider(dtoInterface).fromJson(json);
     }
 
+    /**
+     * Creates new instance of class which implements specified DTO interface and initializes it with data parsed from compact JSON.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @see #toCompactJson(Object)
+     */
+    public <T> T createDtoFromCompactJson(String json, Class<T> dtoInterface) {
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        try {
+            return dtoProvider.fromCompactJson(newJsonReader(new StringReader(json)));
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Creates new instance of class which implements specified DTO interface, parses specified JSON data and uses parsed data for
      * initializing fields of DTO object.
@@ -193,14 +276,19 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final JsonReader reader = newJsonReader(json);
+        try {
+            reader.peek();
+        } catch (EOFException e) {
+            // empty document
+            return null;
+        }
+        try {
+            return dtoProvider.fromJson(reader);
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
         }
-        return dtoProvider.fromJson(sb.toString());
     }
 
     /**
@@ -257,19 +345,16 @@ public final class DtoFactory {
      */
     public <T> JsonArray<T> createListDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list;
+        final JsonReader reader = newJsonReader(json);
+        final List<T> result = new ArrayList<>();
         try {
-            list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(dtoProvider.fromJson(reader));
             }
-            throw e;
-        }
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
+            reader.endArray();
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
         }
         return new JsonArrayImpl<>(result);
     }
@@ -328,22 +413,19 @@ public final class DtoFactory {
      * @throws IOException
      *         if an i/o error occurs
      */
-    @SuppressWarnings("unchecked")
     public <T> JsonStringMap<T> createMapDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final Map<String, JsonElement> map;
+        final JsonReader reader = newJsonReader(json);
+        final Map<String, T> result = new LinkedHashMap<>();
         try {
-            map = gson.fromJson(json, mapTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                result.put(name, dtoProvider.fromJson(reader));
             }
-            throw e;
-        }
-        final Map<String, T> result = new LinkedHashMap<>(map.size());
-        for (Map.Entry<String, JsonElement> e : map.entrySet()) {
-            result.put(e.getKey(), dtoProvider.fromJson(e.getValue()));
+            reader.endObject();
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
         }
         return new JsonStringMapImpl<>(result);
     }
@@ -367,6 +449,54 @@ public final class DtoFactory {
 
     //
 
+    private static JsonWriter newJsonWriter(Writer out) {
+        final JsonWriter writer = new JsonWriter(out);
+        // same output as JsonSerializable.toJson()
+        writer.setLenient(true);
+        writer.setSerializeNulls(false);
+        return writer;
+    }
+
+    private static JsonReader newJsonReader(Reader in) {
+        final JsonReader reader = new JsonReader(in);
+        reader.setLenient(true);
+        return reader;
+    }
+
+    /**
+     * Finds provider by implementation class or, if there is no such mapping, by the single DTO interface the class implements.
+     * Returns {@code null} if specified class implements no interfaces at all.
+     */
+    private DtoProvider<?> getDtoProviderForImpl(Class<?> implClass) {
+        DtoProvider<?> provider = dtoImpl2Providers.get(implClass);
+        if (provider == null) {
+            Class<?> dtoInterface = null;
+            Class<?>[] interfaces = implClass.getInterfaces();
+            if (interfaces.length == 0) {
+                return null;
+            }
+
+            for (Class<?> i : interfaces) {
+                if (i.isAnnotationPresent(DTO.class)) {
+                    if (dtoInterface != null) {
+                        throw new IllegalArgumentException("Unable determine DTO interface. Type " + implClass.getName() +
+                                                           " implements or extends more than one interface annotated with @DTO annotation.");
+                    }
+                    dtoInterface = i;
+                }
+            }
+
+            if (dtoInterface != null) {
+                provider = getDtoProvider(dtoInterface);
+            }
+        }
+
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown DTO type " + implClass);
+        }
+        return provider;
+    }
+
     @SuppressWarnings("unchecked")
     private <T> DtoProvider<T> getDtoProvider(Class<T> dtoInterface) {
         DtoProvider<?> dtoProvider = dtoInterface2Providers.get(dtoInterface);
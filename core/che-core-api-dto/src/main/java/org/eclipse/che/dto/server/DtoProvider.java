@@ -11,6 +11,10 @@
 package org.eclipse.che.dto.server;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 
 /**
  * Provides implementation of DTO interface.
@@ -24,6 +28,15 @@ public interface DtoProvider<DTO> {
 
     DTO fromJson(JsonElement json);
 
+    /** Reads DTO from the stream without building intermediate JSON object. */
+    DTO fromJson(JsonReader json) throws IOException;
+
+    /** Reads DTO from its compact form, array of property values ordered by property name. */
+    DTO fromCompactJson(JsonReader json) throws IOException;
+
+    /** Writes DTO in its compact form, array of property values ordered by property name. */
+    void toCompactJson(DTO dto, JsonWriter writer) throws IOException;
+
     DTO newInstance();
 
     DTO clone(DTO origin);
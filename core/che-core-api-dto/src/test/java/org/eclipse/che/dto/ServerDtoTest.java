@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -26,16 +28,21 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -364,4 +371,132 @@ public class ServerDtoTest {
         assertEquals(childDto.getChildField(), "child-field");
         assertEquals(childDto.getParentField(), "parent-field");
     }
+
+    @Test
+    public void streamingSerializerShouldProduceSameJsonAsJsonTree() throws Exception {
+        final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("<name> & 'quotes'").withId(1);
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("a", null, "c"))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                             .withMap(Collections.singletonMap("key", simpleDto))
+                                             .withSimpleDtos(asList(simpleDto, null))
+                                             .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE)));
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                                .withObjects(createListTestValueForAny());
+
+        assertEquals(dtoFactory.toJson(dto), gson.toJson(((JsonSerializable)dto).toJsonElement()));
+        assertEquals(dtoFactory.toJson(simpleDto), gson.toJson(((JsonSerializable)simpleDto).toJsonElement()));
+        assertEquals(dtoFactory.toJson(dtoWithAny), gson.toJson(((JsonSerializable)dtoWithAny).toJsonElement()));
+    }
+
+    @Test
+    public void shouldWriteDtoToWriter() throws Exception {
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("a", "b"))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.THREE);
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJson(dto, writer);
+
+        assertEquals(writer.toString(), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void streamingDeserializerShouldReadSameDtoAsJsonTree() throws Exception {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(2).withDefault("default");
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("a", "b"))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.ONE)
+                                             .withMap(Collections.singletonMap("key", simpleDto))
+                                             .withSimpleDtos(asList(simpleDto))
+                                             .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.TWO)));
+        final String json = dtoFactory.toJson(dto);
+
+        final ComplicatedDto result = dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class);
+
+        assertEquals(result, dto);
+        assertEquals(result, dtoFactory.createDtoFromJson(json, ComplicatedDto.class));
+    }
+
+    @Test
+    public void streamingDeserializerShouldSkipUnknownProperties() throws Exception {
+        final String json = "{\"unknown\":{\"a\":[1,2,{}]},\"name\":\"test\",\"id\":5,\"other\":null}";
+
+        final SimpleDto dto = dtoFactory.createDtoFromJson(new StringReader(json), SimpleDto.class);
+
+        assertEquals(dto.getName(), "test");
+        assertEquals(dto.getId(), 5);
+    }
+
+    @Test
+    public void streamingDeserializerShouldReadAny() throws Exception {
+        final DtoWithAny dto = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                         .withObjects(createListTestValueForAny());
+
+        final DtoWithAny result = dtoFactory.createDtoFromJson(new StringReader(dtoFactory.toJson(dto)), DtoWithAny.class);
+
+        assertEquals(result.getStuff(), createTestValueForAny());
+        assertEquals(result.getObjects(), createListTestValueForAny());
+    }
+
+    @Test
+    public void shouldReturnNullWhenReadingDtoFromEmptyStream() throws Exception {
+        assertNull(dtoFactory.createDtoFromJson(new StringReader(""), SimpleDto.class));
+    }
+
+    @Test
+    public void shouldWriteAndReadListOfDtosWithStreams() throws Exception {
+        final List<SimpleDto> dtos = asList(dtoFactory.createDto(SimpleDto.class).withName("first").withId(1),
+                                            dtoFactory.createDto(SimpleDto.class).withName("second").withId(2));
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJsonList(dtos, writer);
+
+        assertEquals(dtoFactory.createListDtoFromJson(new StringReader(writer.toString()), SimpleDto.class), dtos);
+        assertEquals(dtoFactory.createListDtoFromJson(writer.toString(), SimpleDto.class), dtos);
+    }
+
+    @Test
+    public void compactFormShouldBeArrayOfValuesOrderedByPropertyName() throws Exception {
+        final SimpleDto dto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(3).withDefault("default");
+
+        assertEquals(dtoFactory.toCompactJson(dto), "[\"default\",3,\"name\"]");
+    }
+
+    @Test
+    public void shouldReadDtoFromCompactJson() throws Exception {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(2);
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withStrings(asList("a", null, "c"))
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.ONE)
+                                             .withMap(Collections.singletonMap("key", simpleDto))
+                                             .withSimpleDtos(asList(simpleDto))
+                                             .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.TWO)));
+
+        final String compactJson = dtoFactory.toCompactJson(dto);
+
+        assertTrue(compactJson.startsWith("["));
+        assertEquals(dtoFactory.createDtoFromCompactJson(compactJson, ComplicatedDto.class), dto);
+    }
+
+    @Test
+    public void shouldReadDtoWithAnyFromCompactJson() throws Exception {
+        final DtoWithAny dto = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                         .withObjects(createListTestValueForAny());
+
+        final DtoWithAny result = dtoFactory.createDtoFromCompactJson(dtoFactory.toCompactJson(dto), DtoWithAny.class);
+
+        assertEquals(result.getStuff(), createTestValueForAny());
+        assertEquals(result.getObjects(), createListTestValueForAny());
+    }
+
+    @Test
+    public void compactDeserializerShouldSkipUnknownTrailingValues() throws Exception {
+        final SimpleDto dto = dtoFactory.createDtoFromCompactJson("[null,5,\"test\",{\"a\":[1]},7]", SimpleDto.class);
+
+        assertEquals(dto.getName(), "test");
+        assertEquals(dto.getId(), 5);
+        assertNull(dto.getDefault());
+    }
 }
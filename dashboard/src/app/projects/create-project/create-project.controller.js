@@ -353,12 +353,15 @@ export class CreateProjectCtrl {
 
     let workspaceId = workspace.id;
 
-    let agentChannel = 'workspace:' + workspace.id + ':ext-server:output';
+    // output is listened on compact channels which send lines in batches
+    let agentChannel = 'workspace:' + workspace.id + ':ext-server:output:compact';
     let statusChannel = findStatusLink ? findStatusLink.parameters[0].defaultValue : null;
-    let outputChannel = findOutputLink ? findOutputLink.parameters[0].defaultValue : null;
+    let outputChannel = findOutputLink ? findOutputLink.parameters[0].defaultValue + ':compact' : null;
 
     this.listeningChannels.push(agentChannel);
     bus.subscribe(agentChannel, (message) => {
+      // output may be sent as array of lines
+      message = angular.isArray(message) ? message.join('\n') : message;
       if (this.createProjectSvc.getCurrentProgressStep() < 2) {
         this.createProjectSvc.setCurrentProgressStep(2);
       }
@@ -404,6 +407,7 @@ export class CreateProjectCtrl {
     if (outputChannel) {
       this.listeningChannels.push(outputChannel);
       bus.subscribe(outputChannel, (message) => {
+        message = angular.isArray(message) ? message.join('\n') : message;
         if (this.getCreationSteps()[this.getCurrentProgressStep()].logs.length > 0) {
           this.getCreationSteps()[this.getCurrentProgressStep()].logs = this.getCreationSteps()[this.getCurrentProgressStep()].logs + '\n' + message;
         } else {
@@ -10,14 +10,16 @@
  *******************************************************************************/
 package org.eclipse.che.ide.api.machine;
 
+import com.google.gwt.json.client.JSONArray;
 import com.google.gwt.json.client.JSONParser;
-import com.google.gwt.json.client.JSONString;
+import com.google.gwt.json.client.JSONValue;
 
 import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.rest.Unmarshallable;
 
 /**
- * Unmarshaller for websocket messages from machine.
+ * Unmarshaller for websocket messages from machine. Message contains either single line or array of lines
+ * when output is sent in batches, in this case lines are joined with line separator.
  *
  * @author Artem Zatsarynnyi
  */
@@ -26,12 +28,27 @@ public class OutputMessageUnmarshaller implements Unmarshallable<String> {
 
     @Override
     public void unmarshal(Message message) {
-        final JSONString jsonString = JSONParser.parseStrict(message.getBody()).isString();
-        payload = jsonString.stringValue();
+        final JSONValue json = JSONParser.parseStrict(message.getBody());
+        final JSONArray lines = json.isArray();
+        if (lines == null) {
+            payload = stripStreamPrefix(json.isString().stringValue());
+            return;
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                sb.append('\n');
+            }
+            sb.append(stripStreamPrefix(lines.get(i).isString().stringValue()));
+        }
+        payload = sb.toString();
+    }
 
-        if (payload.startsWith("[STDOUT]") || payload.startsWith("[STDERR]")) {
-            payload = payload.substring(9);
+    private static String stripStreamPrefix(String line) {
+        if (line.startsWith("[STDOUT]") || line.startsWith("[STDERR]")) {
+            return line.substring(9);
         }
+        return line;
     }
 
     @Override
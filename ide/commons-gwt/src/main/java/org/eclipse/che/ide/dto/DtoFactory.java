@@ -57,6 +57,22 @@ public class DtoFactory {
         return getDtoProvider(dtoInterface).fromJson(json);
     }
 
+    /**
+     * Creates new instance of class which implements specified DTO interface and initializes it with data parsed from compact JSON,
+     * JSON array of property values ordered by property name.
+     *
+     * @param json
+     *         compact JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @return new instance of DTO implementation
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     */
+    public <T> T createDtoFromCompactJson(String json, Class<T> dtoInterface) {
+        return getDtoProvider(dtoInterface).fromCompactJson(json);
+    }
+
     /**
      * Parses the JSON data from the specified sting into list of objects of the specified type.
      *
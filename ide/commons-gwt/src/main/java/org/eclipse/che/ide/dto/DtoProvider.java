@@ -24,6 +24,9 @@ public interface DtoProvider<DTO> {
     /** Provides implementation of DTO interface from the specified JSON string. */
     DTO fromJson(String json);
 
+    /** Creates DTO from its compact form, JSON array of property values ordered by property name. */
+    DTO fromCompactJson(String json);
+
     /** Get new implementation of DTO interface. */
     DTO newInstance();
 }
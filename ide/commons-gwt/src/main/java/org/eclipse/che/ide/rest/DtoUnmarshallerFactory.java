@@ -70,6 +70,19 @@ public class DtoUnmarshallerFactory {
         return new org.eclipse.che.ide.websocket.rest.DtoUnmarshaller<>(dtoType, dtoFactory);
     }
 
+    /**
+     * Create new instance of {@link org.eclipse.che.ide.websocket.rest.Unmarshallable}
+     * to deserialize WebSocket message that carries DTO in compact form.
+     *
+     * @param dtoType
+     *         type of DTO
+     * @return new instance of {@link org.eclipse.che.ide.websocket.rest.Unmarshallable}
+     * @see org.eclipse.che.ide.websocket.rest.CompactDtoUnmarshaller#compactChannel(String)
+     */
+    public <T> org.eclipse.che.ide.websocket.rest.Unmarshallable<T> newWSCompactUnmarshaller(Class<T> dtoType) {
+        return new org.eclipse.che.ide.websocket.rest.CompactDtoUnmarshaller<>(dtoType, dtoFactory);
+    }
+
     /**
      * Create new instance of {@link org.eclipse.che.ide.websocket.rest.Unmarshallable}
      * to deserialize WebSocket message to {@link List} of DTO.
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.websocket.rest;
+
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.websocket.Message;
+
+/**
+ * DTO unmarshaller for websocket messages that carry DTO in compact form, JSON array of property values ordered by property name.
+ * Such messages are broadcast to compact variant of channel, see {@link #compactChannel(String)}.
+ */
+public class CompactDtoUnmarshaller<T> implements Unmarshallable<T> {
+    /** Suffix of channel that delivers the same events as original channel but with DTOs in compact form. */
+    public static final String COMPACT_CHANNEL_SUFFIX = ":compact";
+
+    /** Returns name of compact variant of the specified channel. */
+    public static String compactChannel(String channel) {
+        return channel + COMPACT_CHANNEL_SUFFIX;
+    }
+
+    private final Class<T>   dtoInterface;
+    private final DtoFactory dtoFactory;
+
+    private T payload;
+
+    public CompactDtoUnmarshaller(Class<T> dtoInterface, DtoFactory dtoFactory) {
+        this.dtoInterface = dtoInterface;
+        this.dtoFactory = dtoFactory;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unmarshal(Message message) {
+        if (message.getBody() != null) {
+            payload = dtoFactory.createDtoFromCompactJson(message.getBody(), dtoInterface);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public T getPayload() {
+        return payload;
+    }
+}
@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.jna.Native;
 import com.sun.jna.ptr.LongByReference;
 
 import org.eclipse.che.api.core.util.SystemInfo;
@@ -18,6 +20,7 @@ import org.eclipse.che.commons.lang.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -25,26 +28,37 @@ import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
- * Docker container OOM detector based on cgroup usage
+ * Docker container OOM detector based on cgroup usage.
+ *
+ * <p>OOM event file descriptors of all the containers are watched by single thread
+ * with the help of epoll, so count of threads doesn't depend on count of containers.
  *
  * @author Alexander Garagatyi
  */
 public class CgroupOOMDetector implements DockerOOMDetector {
     private static final Logger LOG = LoggerFactory.getLogger(CgroupOOMDetector.class);
 
+    private static final int MAX_EVENTS = 64;
+
     private final Map<String, OOMDetector> oomDetectors;
     private final URI                      dockerDaemonUri;
     private final DockerConnector          dockerConnector;
     private final ExecutorService          executor;
 
+    private EventLoop eventLoop;
+    private boolean   stopped;
+
     @Inject
     public CgroupOOMDetector(DockerConnectorConfiguration connectorConfiguration, DockerConnector dockerConnector) {
         this(connectorConfiguration.getDockerDaemonUri(), dockerConnector);
@@ -54,9 +68,9 @@ public class CgroupOOMDetector implements DockerOOMDetector {
         this.dockerDaemonUri = dockerDaemonUri;
         this.dockerConnector = dockerConnector;
         this.oomDetectors = new ConcurrentHashMap<>();
-        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("CgroupOOMDetector-%d")
-                                                                                .setDaemon(true)
-                                                                                .build());
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("CgroupOOMDetector-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
     }
 
     @Override
@@ -70,22 +84,59 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     @Override
     public void startDetection(String container, MessageProcessor<LogMessage> containerLogProcessor) {
         if (needStartOOMDetector(container)) {
-            if (cgroupMount == null) {
+            final String containerCgroup = getContainerCgroup(container);
+            if (containerCgroup == null) {
                 LOG.warn("System doesn't support OOM events");
                 return;
             }
+            final EventLoop eventLoop = getEventLoop();
+            if (eventLoop == null) {
+                return;
+            }
             try {
                 final long memory = dockerConnector.inspectContainer(container).getConfig().getHostConfig().getMemory();
-                OOMDetector oomDetector = new OOMDetector(container, containerLogProcessor, memory);
-                oomDetectors.putIfAbsent(container, oomDetector);
-                oomDetector = oomDetectors.get(container);
-                oomDetector.start();
+                final OOMDetector oomDetector = new OOMDetector(container, containerCgroup, containerLogProcessor, memory, eventLoop);
+                if (oomDetectors.putIfAbsent(container, oomDetector) == null && !eventLoop.register(oomDetector)) {
+                    // event loop has been finished concurrently
+                    oomDetectors.remove(container, oomDetector);
+                }
             } catch (IOException e) {
                 LOG.error(e.getLocalizedMessage(), e);
             }
         }
     }
 
+    /** Stops OOM events loop, containers OOM events aren't detected after that. */
+    @PreDestroy
+    public synchronized void stop() {
+        stopped = true;
+        executor.shutdownNow();
+        if (eventLoop != null) {
+            eventLoop.wakeup();
+        }
+    }
+
+    /**
+     * Returns path to memory cgroup of the container which ends with '/',
+     * or {@code null} if system doesn't support cgroup notifications.
+     */
+    @VisibleForTesting
+    String getContainerCgroup(String container) {
+        if (cgroupMount == null) {
+            return null;
+        }
+        if (systemd) {
+            return cgroupMount + "/memory/system.slice/docker-" + container + ".scope/";
+        }
+        return cgroupMount + "/memory/docker/" + container + "/";
+    }
+
+    /** Returns number of containers which are watched for OOM events. */
+    @VisibleForTesting
+    int getDetectionsCount() {
+        return oomDetectors.size();
+    }
+
     private boolean needStartOOMDetector(String container) {
         if (! oomDetectors.containsKey(container)) {
             if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
@@ -101,6 +152,39 @@ public class CgroupOOMDetector implements DockerOOMDetector {
         return false;
     }
 
+    /**
+     * Lazily creates event loop and starts it, returns {@code null}
+     * if event loop can't be created or detector is already stopped.
+     */
+    private synchronized EventLoop getEventLoop() {
+        if (stopped) {
+            return null;
+        }
+        if (eventLoop == null) {
+            final CLibrary cLib = getCLibrary();
+            final int epfd = cLib.epoll_create1(CLibrary.EPOLL_CLOEXEC);
+            if (epfd == -1) {
+                LOG.error("Unable create epoll instance, error '{}'", cLib.strerror(Native.getLastError()));
+                return null;
+            }
+            final int wakeupFd = cLib.eventfd(0, 0);
+            if (wakeupFd == -1 || cLib.epoll_ctl(epfd,
+                                                 CLibrary.EPOLL_CTL_ADD,
+                                                 wakeupFd,
+                                                 new CLibrary.EpollEvent(CLibrary.EPOLLIN, wakeupFd)) == -1) {
+                LOG.error("Unable create a file descriptor for event loop wakeup, error '{}'", cLib.strerror(Native.getLastError()));
+                if (wakeupFd != -1) {
+                    cLib.close(wakeupFd);
+                }
+                cLib.close(epfd);
+                return null;
+            }
+            eventLoop = new EventLoop(cLib, epfd, wakeupFd);
+            executor.execute(eventLoop);
+        }
+        return eventLoop;
+    }
+
     /*
      * Need detect OOM errors and notify users about them. Without such notification if application is killed by oom-killer client often can
      * see message "Killed" and there is no any why to see why. Unfortunately for now docker doesn't provide clear mechanism how to control
@@ -161,89 +245,230 @@ public class CgroupOOMDetector implements DockerOOMDetector {
         }
     }
 
+    /**
+     * Waits for OOM events of all the registered containers with single epoll instance.
+     * Registration and removal of container event files are performed by the loop thread,
+     * other threads put requests to the queues and wake up the loop.
+     * When the loop is finished its containers are removed from detection,
+     * so they may be registered again in a new loop.
+     */
+    private class EventLoop implements Runnable {
+        private final CLibrary                  cLib;
+        private final int                       epfd;
+        private final int                       wakeupFd;
+        private final Queue<OOMDetector>        toRegister;
+        private final Queue<OOMDetector>        toUnregister;
+        private final Map<Integer, OOMDetector> registered;
+
+        // guarded by this, wakeup descriptor must not be used after it is closed
+        private boolean closed;
+
+        EventLoop(CLibrary cLib, int epfd, int wakeupFd) {
+            this.cLib = cLib;
+            this.epfd = epfd;
+            this.wakeupFd = wakeupFd;
+            this.toRegister = new ConcurrentLinkedQueue<>();
+            this.toUnregister = new ConcurrentLinkedQueue<>();
+            this.registered = new HashMap<>();
+        }
+
+        /** Returns {@code false} if the loop is already finished and can't accept the detector. */
+        synchronized boolean register(OOMDetector oomDetector) {
+            if (closed) {
+                return false;
+            }
+            toRegister.add(oomDetector);
+            wakeup();
+            return true;
+        }
+
+        synchronized void unregister(OOMDetector oomDetector) {
+            if (!closed) {
+                toUnregister.add(oomDetector);
+                wakeup();
+            }
+        }
+
+        synchronized void wakeup() {
+            if (!closed && cLib.eventfd_write(wakeupFd, 1) == -1) {
+                LOG.error("Unable wake up OOM events loop, error '{}'", cLib.strerror(Native.getLastError()));
+            }
+        }
+
+        @Override
+        public void run() {
+            final CLibrary.EpollEvent[] events = (CLibrary.EpollEvent[])new CLibrary.EpollEvent().toArray(MAX_EVENTS);
+            final LongByReference eventHolder = new LongByReference();
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    processRequests();
+                    final int count = cLib.epoll_wait(epfd, events, MAX_EVENTS, -1);
+                    if (count == -1) {
+                        final int errno = Native.getLastError();
+                        if (errno == CLibrary.EINTR) {
+                            continue;
+                        }
+                        LOG.error("Unable wait for OOM events, error '{}'", cLib.strerror(errno));
+                        return;
+                    }
+                    for (int i = 0; i < count; i++) {
+                        final int fd = (int)events[i].data;
+                        if (fd == wakeupFd) {
+                            cLib.eventfd_read(wakeupFd, eventHolder);
+                        } else {
+                            final OOMDetector oomDetector = registered.get(fd);
+                            if (oomDetector != null) {
+                                cLib.eventfd_read(fd, eventHolder);
+                                oomDetector.onEvent();
+                                close(oomDetector);
+                            }
+                        }
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    closed = true;
+                    cLib.close(wakeupFd);
+                    cLib.close(epfd);
+                }
+                synchronized (CgroupOOMDetector.this) {
+                    if (eventLoop == this) {
+                        eventLoop = null;
+                    }
+                }
+                for (OOMDetector oomDetector : registered.values()) {
+                    oomDetector.closeDescriptors();
+                    oomDetectors.remove(oomDetector.container, oomDetector);
+                }
+                registered.clear();
+                OOMDetector oomDetector;
+                while ((oomDetector = toRegister.poll()) != null) {
+                    oomDetectors.remove(oomDetector.container, oomDetector);
+                }
+                toUnregister.clear();
+            }
+        }
+
+        private void processRequests() {
+            OOMDetector oomDetector;
+            while ((oomDetector = toUnregister.poll()) != null) {
+                close(oomDetector);
+            }
+            while ((oomDetector = toRegister.poll()) != null) {
+                if (oomDetector.isStopped()) {
+                    continue;
+                }
+                if (oomDetector.openDescriptors()
+                    && cLib.epoll_ctl(epfd,
+                                      CLibrary.EPOLL_CTL_ADD,
+                                      oomDetector.efd,
+                                      new CLibrary.EpollEvent(CLibrary.EPOLLIN, oomDetector.efd)) != -1) {
+                    registered.put(oomDetector.efd, oomDetector);
+                } else {
+                    LOG.error("Unable register OOM event file descriptor of container '{}'", oomDetector.container);
+                    oomDetector.closeDescriptors();
+                    oomDetectors.remove(oomDetector.container, oomDetector);
+                }
+            }
+        }
+
+        private void close(OOMDetector oomDetector) {
+            if (registered.remove(oomDetector.efd, oomDetector)) {
+                cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_DEL, oomDetector.efd, new CLibrary.EpollEvent());
+                oomDetector.closeDescriptors();
+            }
+        }
+    }
+
     /**
      * Detects OOM with cgroup notification mechanism.
      * <p/>
      * https://access.redhat.com/documentation/en-US/Red_Hat_Enterprise_Linux/6/html/Resource_Management_Guide/sec-Using_the_Notification_API.html
      */
-    private class OOMDetector implements Runnable {
+    private class OOMDetector {
         private final String                       container;
+        private final String                       containerCgroup;
         private final MessageProcessor<LogMessage> containerLogProcessor;
         private final long                         memory;
+        private final EventLoop                    eventLoop;
         private final CLibrary                     cLib;
-        private final String                       containerCgroup;
 
         private volatile boolean stopped = false;
-        private boolean started = false;
 
-        OOMDetector(String container, MessageProcessor<LogMessage> containerLogProcessor, long memory) {
+        // accessed only by event loop thread
+        private int efd   = -1;
+        private int oomfd = -1;
+
+        OOMDetector(String container,
+                    String containerCgroup,
+                    MessageProcessor<LogMessage> containerLogProcessor,
+                    long memory,
+                    EventLoop eventLoop) {
             this.container = container;
+            this.containerCgroup = containerCgroup;
             this.containerLogProcessor = containerLogProcessor;
             this.memory = memory;
-            cLib = getCLibrary();
-
-            if (systemd) {
-                containerCgroup = cgroupMount + "/memory/system.slice/docker-" + container + ".scope/";
-            } else {
-                containerCgroup = cgroupMount + "/memory/docker/" + container + "/";
-            }
+            this.eventLoop = eventLoop;
+            this.cLib = eventLoop.cLib;
         }
 
-        @Override
-        public void run() {
+        /** Registers event file descriptor for OOM notifications of the container cgroup. */
+        boolean openDescriptors() {
             final String cf = containerCgroup + "cgroup.event_control";
             final String oomf = containerCgroup + "memory.oom_control";
-            int efd = -1;
-            int oomfd = -1;
-            try {
-                if ((efd = cLib.eventfd(0, 1)) == -1) {
-                    LOG.error("Unable create a file descriptor for event notification");
-                    return;
-                }
-                int cfd;
-                if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
-                    LOG.error("Unable open event control file '{}' for write", cf);
-                    return;
-                }
-                if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
-                    LOG.error("Unable open OOM event file '{}' for read", oomf);
-                    return;
-                }
-                final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
-                if (cLib.write(cfd, data, data.length) != data.length) {
-                    LOG.error("Unable write event control data to file '{}'", cf);
-                    return;
-                }
-                if (cLib.close(cfd) == -1) {
-                    LOG.error("Error closing of event control file '{}'", cf);
-                    return;
-                }
-                final LongByReference eventHolder = new LongByReference();
-                if (cLib.eventfd_read(efd, eventHolder) == 0) {
-                    if (stopped) {
-                        return;
-                    }
-                    LOG.warn("OOM event received for container '{}'", container);
-                    if (readCgroupValue("memory.failcnt") > 0) {
-                        try {
-                            containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
-                                                                         "[ERROR] The processes in this machine need more RAM. This machine started with " +
-                                                                         Size.toHumanSize(memory)));
-                            containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
-                                                                         "[ERROR] Create a new machine configuration that allocates additional RAM or increase" +
-                                                                         " the workspace RAM limit in the user dashboard."));
-                        } catch (/*IOException*/ Exception e) {
-                            LOG.warn(e.getMessage(), e);
-                        }
-                    }
-                }
-            } finally {
-                if (!stopped) {
-                    stopDetection(container);
+            if ((efd = cLib.eventfd(0, 1)) == -1) {
+                LOG.error("Unable create a file descriptor for event notification");
+                return false;
+            }
+            int cfd;
+            if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
+                LOG.error("Unable open event control file '{}' for write", cf);
+                return false;
+            }
+            if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
+                LOG.error("Unable open OOM event file '{}' for read", oomf);
+                cLib.close(cfd);
+                return false;
+            }
+            final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
+            if (cLib.write(cfd, data, data.length) != data.length) {
+                LOG.error("Unable write event control data to file '{}'", cf);
+                cLib.close(cfd);
+                return false;
+            }
+            if (cLib.close(cfd) == -1) {
+                LOG.error("Error closing of event control file '{}'", cf);
+                return false;
+            }
+            return true;
+        }
+
+        /** Handles notification which is sent on OOM or when cgroup is removed. */
+        void onEvent() {
+            if (stopped) {
+                return;
+            }
+            LOG.warn("OOM event received for container '{}'", container);
+            if (readCgroupValue("memory.failcnt") > 0) {
+                try {
+                    containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
+                                                                 "[ERROR] The processes in this machine need more RAM. This machine started with " +
+                                                                 Size.toHumanSize(memory)));
+                    containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
+                                                                 "[ERROR] Create a new machine configuration that allocates additional RAM or increase" +
+                                                                 " the workspace RAM limit in the user dashboard."));
+                } catch (/*IOException*/ Exception e) {
+                    LOG.warn(e.getMessage(), e);
                 }
-                close(oomfd);
-                close(efd);
             }
+            stopDetection(container);
+        }
+
+        void closeDescriptors() {
+            close(oomfd);
+            close(efd);
+            oomfd = -1;
+            efd = -1;
         }
 
         private void close(int fd) {
@@ -264,15 +489,13 @@ public class CgroupOOMDetector implements DockerOOMDetector {
             return 0;
         }
 
-        synchronized void start() {
-            if (!started) {
-                started = true;
-                executor.execute(this);
-            }
+        boolean isStopped() {
+            return stopped;
         }
 
         void stop() {
             stopped = true;
+            eventLoop.unregister(this);
         }
     }
 }
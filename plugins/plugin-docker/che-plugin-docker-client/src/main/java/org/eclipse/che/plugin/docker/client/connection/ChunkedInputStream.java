@@ -34,7 +34,7 @@ public class ChunkedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -57,7 +57,7 @@ public class ChunkedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
     }
 
     @Override
@@ -97,7 +97,10 @@ public class ChunkedInputStream extends InputStream {
                 eof = true;
             }
         }
-        final int n = input.read(b, 0, Math.min(len - off, chunkSize - chunkPos));
+        final int n = input.read(b, off, Math.min(len, chunkSize - chunkPos));
+        if (n == -1) {
+            throw new IOException("Unexpected end of chunked stream");
+        }
         chunkPos += n;
         if (chunkPos == chunkSize) {
             if ('\r' != input.read()) { // skip '\r'
@@ -114,4 +117,9 @@ public class ChunkedInputStream extends InputStream {
         }
         return n;
     }
+
+    /** Returns {@code true} when the last chunk of response body is read. */
+    synchronized boolean isEof() {
+        return eof;
+    }
 }
@@ -18,17 +18,28 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
 import javax.inject.Named;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Connections are kept alive between requests. For unix socket up to {@code docker.connection.unix_socket.max_idle}
+ * idle connections per docker daemon are kept for reuse and closed after {@code docker.connection.unix_socket.idle_timeout_ms},
+ * count of open connections isn't limited. Zero max idle connections disables keep-alive for unix socket.
+ * Keep-alive of tcp connections is enabled with {@code docker.connection.tcp.keep_alive}, the limit of idle connections
+ * and their timeout are controlled by JDK keep-alive cache, see {@code http.maxConnections} system property.
+ *
  * @author Alexander Garagatyi
  */
 public class DockerConnectionFactory {
-    public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
-    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String CONNECTION_TIMEOUT_MS_PROPERTY       = "docker.connection.tcp.connection_timeout_ms";
+    public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY  = "docker.connection.tcp.read_timeout_ms";
+    public static final String CONNECTION_KEEP_ALIVE_PROPERTY       = "docker.connection.tcp.keep_alive";
+    public static final String UNIX_SOCKET_MAX_IDLE_PROPERTY        = "docker.connection.unix_socket.max_idle";
+    public static final String UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY = "docker.connection.unix_socket.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,7 +49,20 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(CONNECTION_KEEP_ALIVE_PROPERTY)
+    private boolean connectionKeepAlive = true;
+
+    @Inject(optional = true)
+    @Named(UNIX_SOCKET_MAX_IDLE_PROPERTY)
+    private int unixSocketMaxIdle = 8;
+
+    @Inject(optional = true)
+    @Named(UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY)
+    private long unixSocketIdleTimeoutMs = 30000;
+
+    private final DockerCertificates                              dockerCertificates;
+    private final ConcurrentMap<String, UnixSocketConnectionPool> unixSocketPools = new ConcurrentHashMap<>();
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
@@ -47,9 +71,16 @@ public class DockerConnectionFactory {
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            return new UnixSocketConnection(unixSocketPools.computeIfAbsent(dockerDaemonUri.getPath(),
+                                                                            path -> new UnixSocketConnectionPool(path,
+                                                                                                                 unixSocketMaxIdle,
+                                                                                                                 unixSocketIdleTimeoutMs)));
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri,
+                                     dockerCertificates,
+                                     connectionTimeoutMs,
+                                     connectionReadTimeoutMs,
+                                     connectionKeepAlive);
         }
     }
 }
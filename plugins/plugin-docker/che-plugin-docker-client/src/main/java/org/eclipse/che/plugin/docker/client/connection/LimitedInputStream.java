@@ -33,7 +33,7 @@ public class LimitedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -56,15 +56,23 @@ public class LimitedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
     }
 
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
         }
-        int n = input.read(b, 0, Math.min(len - off, limit - pos));
+        int n = input.read(b, off, Math.min(len, limit - pos));
+        if (n == -1) {
+            throw new IOException("Unexpected end of stream, " + (limit - pos) + " bytes of response body are missing");
+        }
         pos += n;
         return n;
     }
+
+    /** Returns {@code true} when whole response body is read. */
+    synchronized boolean isEof() {
+        return pos >= limit;
+    }
 }
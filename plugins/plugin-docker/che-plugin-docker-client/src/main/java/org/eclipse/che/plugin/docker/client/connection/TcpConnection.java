@@ -24,6 +24,13 @@ import java.net.URL;
 import java.util.List;
 
 /**
+ * Connection to docker API over http(s).
+ *
+ * <p>With {@code keepAlive} enabled sockets are reused by keep-alive cache of {@link HttpURLConnection}, which keeps
+ * up to {@code http.maxConnections} idle sockets per route and evicts them after timeout. Otherwise
+ * each connection is closed after the request. Connections of streaming requests, e.g. attach or exec start,
+ * are always closed, see {@link #isStreamingRequest(String)}.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
@@ -32,10 +39,20 @@ public class TcpConnection extends DockerConnection {
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
+    private final boolean            keepAlive;
 
     private HttpURLConnection connection;
+    private TcpDockerResponse response;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+    }
+
+    public TcpConnection(URI baseUri,
+                         DockerCertificates certificates,
+                         int connectionTimeoutMs,
+                         int readTimeoutMs,
+                         boolean keepAlive) {
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +64,7 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.keepAlive = keepAlive;
     }
 
     @Override
@@ -62,8 +80,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (!keepAlive || isStreamingRequest(path)) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -73,13 +93,27 @@ public class TcpConnection extends DockerConnection {
                 entity.writeTo(output);
             }
         }
-        return new TcpDockerResponse(connection);
+        return response = new TcpDockerResponse(connection);
+    }
+
+    /**
+     * Returns {@code true} if response of request to the given path is stream or the connection is hijacked,
+     * docker doesn't finish such responses properly on keep-alive connections.
+     */
+    static boolean isStreamingRequest(String path) {
+        return path.endsWith("/attach")
+               || path.endsWith("/logs")
+               || path.endsWith("/events")
+               || path.contains("/exec/") && path.endsWith("/start");
     }
 
     @Override
     public void close() {
         if (connection != null) {
-            connection.disconnect();
+            if (!keepAlive || response == null || !response.closeBody()) {
+                connection.disconnect();
+            }
+            connection = null;
         }
     }
 }
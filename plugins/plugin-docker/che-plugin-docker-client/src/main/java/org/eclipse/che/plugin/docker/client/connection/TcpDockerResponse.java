@@ -22,13 +22,18 @@ import java.util.Map;
 public class TcpDockerResponse implements DockerResponse {
     private final HttpURLConnection connection;
 
+    private InputStream entityStream;
+    private boolean     responseReceived;
+
     TcpDockerResponse(HttpURLConnection connection) {
         this.connection = connection;
     }
 
     @Override
     public int getStatus() throws IOException {
-        return connection.getResponseCode();
+        final int status = connection.getResponseCode();
+        responseReceived = true;
+        return status;
     }
 
     @Override
@@ -55,10 +60,30 @@ public class TcpDockerResponse implements DockerResponse {
 
     @Override
     public InputStream getInputStream() throws IOException {
-        InputStream entityStream = connection.getErrorStream();
         if (entityStream == null) {
-            entityStream = connection.getInputStream();
+            entityStream = connection.getErrorStream();
+            if (entityStream == null) {
+                entityStream = connection.getInputStream();
+            }
+            responseReceived = true;
         }
         return entityStream;
     }
+
+    /**
+     * Closes response body, so {@link HttpURLConnection} may return the underlying socket to its keep-alive cache.
+     *
+     * @return {@code false} if response wasn't received and connection should be disconnected instead
+     */
+    boolean closeBody() {
+        if (entityStream == null && !responseReceived) {
+            return false;
+        }
+        try {
+            getInputStream().close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
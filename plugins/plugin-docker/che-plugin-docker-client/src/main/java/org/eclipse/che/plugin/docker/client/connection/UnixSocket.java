@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Connected unix socket with buffered streams. Streams keep their buffers between HTTP requests, so the same
+ * instance must be used while socket is reused by {@link UnixSocketConnectionPool}.
+ */
+class UnixSocket implements Closeable {
+    private final int          fd;
+    private final InputStream  input;
+    private final OutputStream output;
+
+    private long    idleSince;
+    private boolean reused;
+    private boolean closed;
+
+    static UnixSocket connect(String socketPath) throws ConnectException {
+        final CLibrary cLib = getCLibrary();
+        final int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        if (cLib.connect(fd, sockAddr, sockAddr.size()) == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return new UnixSocket(fd);
+    }
+
+    private UnixSocket(int fd) {
+        this.fd = fd;
+        this.input = new BufferedInputStream(new UnixSocketInputStream(fd));
+        this.output = new BufferedOutputStream(new UnixSocketOutputStream(fd));
+    }
+
+    InputStream getInputStream() {
+        return input;
+    }
+
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    /** Returns {@code true} if socket was already used for other requests, such socket might be closed by the daemon. */
+    boolean isReused() {
+        return reused;
+    }
+
+    long getIdleSince() {
+        return idleSince;
+    }
+
+    void markIdle(long time) {
+        idleSince = time;
+        reused = true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            getCLibrary().close(fd);
+        }
+    }
+}
@@ -13,96 +13,109 @@ package org.eclipse.che.plugin.docker.client.connection;
 import com.google.common.base.Strings;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
+ * Connection to docker API over unix socket.
+ *
+ * <p>When connection is created with {@link UnixSocketConnectionPool} the socket is returned to the pool on
+ * {@link #close()} if the response is fully read and the daemon allows keep-alive, otherwise socket is closed.
+ * Only idempotent requests with repeatable entity are sent over pooled socket, they are retried once on a new socket
+ * if pooled socket turns out to be closed by daemon. Other requests, e.g. container creation, are sent over new socket,
+ * so they are never sent twice.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private UnixSocket               socket;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
-        this.dockerSocketPath = dockerSocketPath;
+        this(new UnixSocketConnectionPool(dockerSocketPath, 0, 0));
+    }
+
+    UnixSocketConnection(UnixSocketConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        final boolean retriable = isIdempotent(method) && !(entity instanceof StreamEntity);
+        socket = retriable ? pool.acquire() : pool.connect();
+        if (socket.isReused()) {
+            try {
+                writeRequest(method, path, query, headers, entity);
+                // reads status line, fails if daemon has closed idle connection
+                response.getStatus();
+                return response;
+            } catch (IOException e) {
+                response = null;
+                socket.close();
+                socket = pool.connect();
+            }
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        writeRequest(method, path, query, headers, entity);
+        return response;
     }
 
-
     @Override
     public void close() {
-        if (fd != -1) {
-            getCLibrary().close(fd);
+        if (socket == null) {
+            return;
+        }
+        final UnixSocket s = socket;
+        socket = null;
+        if (response != null && response.isReusable()) {
+            pool.release(s);
+        } else {
+            s.close();
         }
     }
 
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    private static boolean isIdempotent(String method) {
+        switch (method) {
+            case "GET":
+            case "HEAD":
+            case "PUT":
+            case "DELETE":
+            case "OPTIONS":
+                return true;
+            default:
+                return false;
         }
-        return fd;
     }
 
-    private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
+    private void writeRequest(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
             throws IOException {
-        final Writer writer = new OutputStreamWriter(output);
-        writer.write(method);
-        writer.write(' ');
-        writer.write(path);
+        final OutputStream output = socket.getOutputStream();
+        output.write(httpHeaders(method, path, query, headers));
+        if (entity != null) {
+            entity.writeTo(output);
+        }
+        output.flush();
+        response = new UnixSocketDockerResponse(socket.getInputStream());
+    }
+
+    private byte[] httpHeaders(String method, String path, String query, List<Pair<String, ?>> headers) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(method).append(' ').append(path);
         if (!Strings.isNullOrEmpty(query)) {
-            writer.write("?");
-            writer.write(query);
+            sb.append('?').append(query);
         }
-        writer.write(" HTTP/1.1\r\n");
+        sb.append(" HTTP/1.1\r\n");
         for (Pair<String, ?> header : headers) {
-            writer.write(header.first);
-            writer.write(": ");
-            writer.write(String.valueOf(header.second));
-            writer.write("\r\n");
+            sb.append(header.first).append(": ").append(String.valueOf(header.second)).append("\r\n");
         }
-        writer.write("\r\n");
-        writer.flush();
-    }
-
-    private InputStream openInputStream(int fd) {
-        return new UnixSocketInputStream(fd);
-    }
-
-    private OutputStream openOutputStream(int fd) {
-        return new UnixSocketOutputStream(fd);
+        sb.append("\r\n");
+        return sb.toString().getBytes(UTF_8);
     }
 }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps idle keep-alive connections to the single unix socket (route).
+ *
+ * <p>At most {@code maxIdle} connections are kept, connections which are released when pool is full are closed.
+ * Connections which stay idle longer than {@code idleTimeoutMs} are closed on the next access to the pool.
+ * Most recently used connection is reused first, so rarely needed connections expire.
+ */
+class UnixSocketConnectionPool {
+    private final String                 socketPath;
+    private final int                    maxIdle;
+    private final long                   idleTimeoutMs;
+    private final ArrayDeque<UnixSocket> idle;
+
+    UnixSocketConnectionPool(String socketPath, int maxIdle, long idleTimeoutMs) {
+        this.socketPath = socketPath;
+        this.maxIdle = maxIdle;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idle = new ArrayDeque<>();
+    }
+
+    String getSocketPath() {
+        return socketPath;
+    }
+
+    /** Returns idle connection or opens new one if there are no idle connections. */
+    UnixSocket acquire() throws IOException {
+        final List<UnixSocket> expired = new ArrayList<>();
+        UnixSocket socket;
+        synchronized (this) {
+            evictExpired(System.currentTimeMillis(), expired);
+            socket = idle.pollFirst();
+        }
+        closeAll(expired);
+        return socket != null ? socket : connect();
+    }
+
+    /** Opens new connection bypassing idle ones. */
+    UnixSocket connect() throws IOException {
+        return UnixSocket.connect(socketPath);
+    }
+
+    /**
+     * Returns connection to the pool. Caller must guarantee that response to the last request is fully read from the
+     * connection.
+     */
+    void release(UnixSocket socket) {
+        final long now = System.currentTimeMillis();
+        final List<UnixSocket> expired = new ArrayList<>();
+        socket.markIdle(now);
+        synchronized (this) {
+            evictExpired(now, expired);
+            if (idle.size() < maxIdle) {
+                idle.addFirst(socket);
+            } else {
+                expired.add(socket);
+            }
+        }
+        closeAll(expired);
+    }
+
+    synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /** Closes all idle connections. */
+    void evictAll() {
+        final List<UnixSocket> evicted;
+        synchronized (this) {
+            evicted = new ArrayList<>(idle);
+            idle.clear();
+        }
+        closeAll(evicted);
+    }
+
+    private void evictExpired(long now, List<UnixSocket> expired) {
+        while (!idle.isEmpty() && now - idle.peekLast().getIdleSince() >= idleTimeoutMs) {
+            expired.add(idle.pollLast());
+        }
+    }
+
+    private static void closeAll(List<UnixSocket> sockets) {
+        for (UnixSocket socket : sockets) {
+            socket.close();
+        }
+    }
+}
@@ -143,6 +143,10 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
+        if (status == 204 || status == 304) {
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -152,4 +156,39 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Checks whether connection may be used for the next request, i.e. response body has known length and is read till
+     * the end and the daemon doesn't close connection. Remains of the body which are already received are skipped,
+     * this method never blocks waiting for data from the daemon.
+     */
+    synchronized boolean isReusable() {
+        if (headersFields == null || !headersFields[0].startsWith("HTTP/1.1")) {
+            return false;
+        }
+        try {
+            if (getStatus() == 101 || "close".equalsIgnoreCase(getHeader("Connection"))) {
+                return false;
+            }
+            if (data == EMPTY) {
+                return true;
+            }
+            if (!(data instanceof LimitedInputStream || data instanceof ChunkedInputStream)) {
+                return false;
+            }
+            final byte[] buf = new byte[1024];
+            while (!isEof(data) && rawData.available() > 0) {
+                if (data.read(buf) == -1) {
+                    break;
+                }
+            }
+            return isEof(data);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isEof(InputStream body) {
+        return body instanceof LimitedInputStream ? ((LimitedInputStream)body).isEof() : ((ChunkedInputStream)body).isEof();
+    }
 }
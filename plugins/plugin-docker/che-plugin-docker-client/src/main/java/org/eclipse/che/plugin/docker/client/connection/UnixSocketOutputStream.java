@@ -15,6 +15,7 @@ import com.sun.jna.LastErrorException;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
@@ -40,14 +41,23 @@ public class UnixSocketOutputStream extends OutputStream {
 
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
-        int n;
-        try {
-            n = cLib.send(fd, b, len, 0);
-        } catch (LastErrorException e) {
-            throw new IOException("error: " + cLib.strerror(e.getErrorCode()));
-        }
-        if (n != len) {
-            throw new IOException(String.format("Failed writing %d bytes", len));
+        // native call always sends array from the beginning
+        byte[] buf = off == 0 ? b : Arrays.copyOfRange(b, off, off + len);
+        int remaining = len;
+        while (remaining > 0) {
+            int n;
+            try {
+                n = cLib.send(fd, buf, remaining, 0);
+            } catch (LastErrorException e) {
+                throw new IOException("error: " + cLib.strerror(e.getErrorCode()));
+            }
+            if (n <= 0) {
+                throw new IOException(String.format("Failed writing %d bytes", len));
+            }
+            remaining -= n;
+            if (remaining > 0) {
+                buf = Arrays.copyOfRange(buf, n, n + remaining);
+            }
         }
     }
 }
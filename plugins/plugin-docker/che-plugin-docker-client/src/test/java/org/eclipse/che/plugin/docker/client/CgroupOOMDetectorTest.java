@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.api.core.util.SystemInfo;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link CgroupOOMDetector}, cgroup files of containers are simulated with regular files
+ * and OOM notifications are simulated by writing to event file descriptors registered in these files.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class CgroupOOMDetectorTest {
+
+    @Mock
+    private MessageProcessor<LogMessage> logProcessor;
+    @Mock
+    private MessageProcessor<LogMessage> container2LogProcessor;
+
+    private Path              cgroupRoot;
+    private CgroupOOMDetector detector;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        if (!SystemInfo.isLinux()) {
+            throw new SkipException("OOM detection is supported only on linux");
+        }
+        final File shm = new File("/dev/shm");
+        cgroupRoot = shm.isDirectory() && shm.canWrite() ? Files.createTempDirectory(shm.toPath(), "cgroup")
+                                                         : Files.createTempDirectory("cgroup");
+        detector = new CgroupOOMDetector(URI.create("unix:///var/run/docker.sock"), mock(DockerConnector.class, RETURNS_DEEP_STUBS)) {
+            @Override
+            String getContainerCgroup(String container) {
+                return cgroupRoot.resolve(container).toString() + '/';
+            }
+        };
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        if (detector != null) {
+            detector.stop();
+            // wait until event loop thread is stopped, so it isn't counted by other tests
+            for (int i = 0; i < 500 && countDetectorThreads() > 0; i++) {
+                Thread.sleep(10);
+            }
+        }
+        if (cgroupRoot != null) {
+            IoUtil.deleteRecursive(cgroupRoot.toFile());
+        }
+    }
+
+    @Test
+    public void shouldNotifyAboutOOMOfContainer() throws Exception {
+        createCgroup("container1", 1);
+
+        detector.startDetection("container1", logProcessor);
+        notifyOOM("container1");
+
+        verify(logProcessor, timeout(5000).times(2)).process(any(LogMessage.class));
+        assertDetectionsCount(0);
+    }
+
+    @Test
+    public void shouldNotNotifyIfMemoryLimitWasNotReached() throws Exception {
+        createCgroup("container1", 0);
+
+        detector.startDetection("container1", logProcessor);
+        notifyOOM("container1");
+
+        assertDetectionsCount(0);
+        verify(logProcessor, never()).process(any(LogMessage.class));
+    }
+
+    @Test
+    public void shouldNotNotifyAfterDetectionIsStopped() throws Exception {
+        createCgroup("container1", 1);
+        createCgroup("container2", 1);
+        final CountDownLatch container2Notified = new CountDownLatch(1);
+        final CountDownLatch releaseLoop = new CountDownLatch(1);
+        // holds event loop thread, so event file descriptor of container1 isn't closed until it is fired
+        doAnswer(invocation -> {
+            container2Notified.countDown();
+            releaseLoop.await(5, SECONDS);
+            return null;
+        }).when(container2LogProcessor).process(any(LogMessage.class));
+
+        detector.startDetection("container1", logProcessor);
+        detector.startDetection("container2", container2LogProcessor);
+        final int container1Efd = waitForRegistration("container1");
+        notifyOOM("container2");
+        assertTrue(container2Notified.await(5, SECONDS));
+        detector.stopDetection("container1");
+        assertEquals(CLibraryFactory.getCLibrary().eventfd_write(container1Efd, 1), 0);
+        releaseLoop.countDown();
+
+        verify(container2LogProcessor, timeout(5000).times(2)).process(any(LogMessage.class));
+        assertDetectionsCount(0);
+        verify(logProcessor, never()).process(any(LogMessage.class));
+    }
+
+    @Test
+    public void shouldNotStartDetectionAfterDetectorIsStopped() throws Exception {
+        createCgroup("container1", 1);
+
+        detector.stop();
+        detector.startDetection("container1", logProcessor);
+
+        assertDetectionsCount(0);
+        assertEquals(countDetectorThreads(), 0);
+    }
+
+    @Test
+    public void shouldUseSingleThreadForAllContainers() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            createCgroup("container" + i, 1);
+            detector.startDetection("container" + i, logProcessor);
+        }
+        for (int i = 0; i < 100; i++) {
+            waitForRegistration("container" + i);
+        }
+
+        assertEquals(countDetectorThreads(), 1);
+        assertDetectionsCount(100);
+    }
+
+    private static long countDetectorThreads() {
+        return Thread.getAllStackTraces()
+                     .keySet()
+                     .stream()
+                     .filter(thread -> thread.isAlive() && thread.getName().startsWith("CgroupOOMDetector"))
+                     .count();
+    }
+
+    private void createCgroup(String container, long failCount) throws Exception {
+        final Path cgroup = Files.createDirectory(cgroupRoot.resolve(container));
+        Files.createFile(cgroup.resolve("cgroup.event_control"));
+        Files.write(cgroup.resolve("memory.oom_control"), "oom_kill_disable 0\nunder_oom 0\n".getBytes(UTF_8));
+        Files.write(cgroup.resolve("memory.failcnt"), Long.toString(failCount).getBytes(UTF_8));
+    }
+
+    /** Returns event file descriptor which is registered by detector in event control file of the container. */
+    private int waitForRegistration(String container) throws Exception {
+        final Path eventControl = cgroupRoot.resolve(container).resolve("cgroup.event_control");
+        for (int i = 0; i < 500; i++) {
+            final String content = new String(Files.readAllBytes(eventControl), UTF_8).trim();
+            if (!content.isEmpty()) {
+                return Integer.parseInt(content.split(" ")[0]);
+            }
+            Thread.sleep(10);
+        }
+        fail("Event file descriptor is not registered for container " + container);
+        return -1;
+    }
+
+    private void notifyOOM(String container) throws Exception {
+        final int efd = waitForRegistration(container);
+        // The same as kernel does on OOM event in the cgroup
+        assertEquals(CLibraryFactory.getCLibrary().eventfd_write(efd, 1), 0);
+    }
+
+    private void assertDetectionsCount(int expected) throws Exception {
+        for (int i = 0; i < 500 && detector.getDetectionsCount() != expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(detector.getDetectionsCount(), expected);
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Minimal HTTP/1.1 server which supports keep-alive and responds to any request with container info.
+ */
+class StubDockerDaemon implements AutoCloseable {
+    static final String CONTAINER_INFO = "{\"Id\":\"abc\",\"State\":{\"Running\":true}}\n";
+
+    final AtomicInteger connections = new AtomicInteger();
+    final AtomicInteger requests    = new AtomicInteger();
+
+    private final ServerSocket    serverSocket;
+    private final ExecutorService executor;
+
+    StubDockerDaemon() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor = Executors.newCachedThreadPool();
+        executor.execute(this::accept);
+    }
+
+    URI getUri() {
+        return URI.create("http://127.0.0.1:" + serverSocket.getLocalPort());
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+        try {
+            while (!serverSocket.isClosed()) {
+                final Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> serve(socket));
+            }
+        } catch (IOException ignored) {
+            // server is closed
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket) {
+            // docker daemon disables Nagle's algorithm as well
+            s.setTcpNoDelay(true);
+            final InputStream input = new BufferedInputStream(s.getInputStream());
+            final OutputStream output = s.getOutputStream();
+            final int length = CONTAINER_INFO.getBytes(UTF_8).length;
+            boolean keepAlive = true;
+            while (keepAlive) {
+                final String head = readHead(input);
+                if (head == null) {
+                    return;
+                }
+                requests.incrementAndGet();
+                keepAlive = !head.toLowerCase().contains("connection: close");
+                output.write(("HTTP/1.1 200 OK\r\n" +
+                              "Content-Type: application/json\r\n" +
+                              "Content-Length: " + length + "\r\n" +
+                              (keepAlive ? "" : "Connection: close\r\n") +
+                              "\r\n" +
+                              CONTAINER_INFO).getBytes(UTF_8));
+                output.flush();
+            }
+        } catch (IOException ignored) {
+            // client has gone
+        }
+    }
+
+    private static String readHead(InputStream input) throws IOException {
+        final StringBuilder head = new StringBuilder();
+        int c;
+        while ((c = input.read()) != -1) {
+            head.append((char)c);
+            if (head.length() >= 4 && head.lastIndexOf("\r\n\r\n") == head.length() - 4) {
+                return head.toString();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Measures inspect container requests against stub docker daemon with and without keep-alive.
+ * Runs with {@code benchmarks} profile only.
+ */
+public class TcpConnectionBenchmark {
+    private static final Logger LOG = getLogger(TcpConnectionBenchmark.class);
+
+    private StubDockerDaemon daemon;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        daemon = new StubDockerDaemon();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        daemon.close();
+    }
+
+    /**
+     * Number of requests may be changed with 'che.docker.connection.benchmark.requests' system property.
+     */
+    @Test
+    public void benchmarkInspectContainer() throws Exception {
+        final int requests = Integer.getInteger("che.docker.connection.benchmark.requests", 1000);
+        for (boolean keepAlive : new boolean[] {false, true}) {
+            final int connectionsBefore = daemon.connections.get();
+            final long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                inspectContainer(keepAlive);
+            }
+            final long elapsed = Math.max(1, NANOSECONDS.toMillis(System.nanoTime() - start));
+            LOG.info("{} inspect requests with keep-alive {} took {} ms ({} calls/s) over {} connections",
+                     requests, keepAlive ? "enabled" : "disabled", elapsed, requests * 1000L / elapsed,
+                     daemon.connections.get() - connectionsBefore);
+        }
+    }
+
+    private void inspectContainer(boolean keepAlive) throws IOException {
+        try (DockerConnection connection = new TcpConnection(daemon.getUri(), null, 10_000, 10_000, keepAlive)
+                .method("GET")
+                .path("/containers/abc/json")) {
+            final DockerResponse response = connection.request();
+            assertEquals(response.getStatus(), 200);
+            try (InputStream body = response.getInputStream()) {
+                ByteStreams.toByteArray(body);
+            }
+        }
+    }
+}
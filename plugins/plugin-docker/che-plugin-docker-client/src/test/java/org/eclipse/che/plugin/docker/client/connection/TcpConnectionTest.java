@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.plugin.docker.client.connection.StubDockerDaemon.CONTAINER_INFO;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Runs requests against stub docker daemon which answers every request with container info.
+ */
+public class TcpConnectionTest {
+    private StubDockerDaemon daemon;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        daemon = new StubDockerDaemon();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        daemon.close();
+    }
+
+    @Test
+    public void shouldReuseConnectionWhenKeepAliveIsEnabled() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(request("GET", "/containers/abc/json", true), CONTAINER_INFO);
+        }
+
+        assertEquals(daemon.connections.get(), 1);
+        assertEquals(daemon.requests.get(), 10);
+    }
+
+    @Test
+    public void shouldOpenNewConnectionForEachRequestWhenKeepAliveIsDisabled() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(request("GET", "/containers/abc/json", false), CONTAINER_INFO);
+        }
+
+        assertEquals(daemon.connections.get(), 10);
+    }
+
+    @Test
+    public void shouldCloseConnectionOfStreamingRequestWhenKeepAliveIsEnabled() throws Exception {
+        request("POST", "/containers/abc/attach", true);
+        request("POST", "/exec/abc/start", true);
+
+        assertEquals(daemon.connections.get(), 2);
+    }
+
+    @Test
+    public void shouldDetectStreamingRequests() throws Exception {
+        assertTrue(TcpConnection.isStreamingRequest("/containers/abc/attach"));
+        assertTrue(TcpConnection.isStreamingRequest("/containers/abc/logs"));
+        assertTrue(TcpConnection.isStreamingRequest("/exec/abc/start"));
+        assertTrue(TcpConnection.isStreamingRequest("/events"));
+        assertFalse(TcpConnection.isStreamingRequest("/containers/abc/start"));
+        assertFalse(TcpConnection.isStreamingRequest("/containers/abc/json"));
+    }
+
+    private String request(String method, String path, boolean keepAlive) throws IOException {
+        try (DockerConnection connection = new TcpConnection(daemon.getUri(), null, 10_000, 10_000, keepAlive)
+                .method(method)
+                .path(path)) {
+            final DockerResponse response = connection.request();
+            assertEquals(response.getStatus(), 200);
+            try (InputStream body = response.getInputStream()) {
+                return new String(ByteStreams.toByteArray(body), UTF_8);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class UnixSocketDockerResponseTest {
+    @Test
+    public void shouldReadSequentialResponsesFromTheSameStream() throws Exception {
+        final InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nfirst" +
+                                         "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n3\r\nsec\r\n3\r\nond\r\n0\r\n\r\n" +
+                                         "HTTP/1.1 204 No Content\r\n\r\n" +
+                                         "HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nfifth");
+
+        final UnixSocketDockerResponse first = new UnixSocketDockerResponse(input);
+        assertEquals(read(first), "first");
+        assertTrue(first.isReusable());
+
+        final UnixSocketDockerResponse second = new UnixSocketDockerResponse(input);
+        assertEquals(read(second), "second");
+        assertTrue(second.isReusable());
+
+        final UnixSocketDockerResponse third = new UnixSocketDockerResponse(input);
+        assertEquals(third.getStatus(), 204);
+        assertTrue(third.isReusable());
+
+        final UnixSocketDockerResponse fourth = new UnixSocketDockerResponse(input);
+        assertEquals(read(fourth), "fifth");
+    }
+
+    @Test
+    public void shouldSkipReceivedRemainsOfResponseBody() throws Exception {
+        final InputStream input = stream("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n5\r\n{}\n\n\n\r\n0\r\n\r\n" +
+                                         "HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nnext");
+
+        final UnixSocketDockerResponse first = new UnixSocketDockerResponse(input);
+        assertEquals(first.getInputStream().read(), '{');
+        assertTrue(first.isReusable());
+
+        assertEquals(read(new UnixSocketDockerResponse(input)), "next");
+    }
+
+    @Test
+    public void shouldNotReuseConnectionWhenDaemonClosesIt() throws Exception {
+        final UnixSocketDockerResponse response =
+                new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 2\r\n\r\nok"));
+
+        assertEquals(read(response), "ok");
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void shouldNotReuseConnectionWhenResponseLengthIsUnknown() throws Exception {
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\n\r\nraw stream"));
+
+        assertEquals(read(response), "raw stream");
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void shouldNotReuseConnectionWhenResponseIsNotRead() throws Exception {
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok"));
+
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void shouldReadUnsignedBytes() throws Exception {
+        final UnixSocketDockerResponse response =
+                new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\n\u00ff", "ISO-8859-1"));
+
+        assertEquals(response.getInputStream().read(), 0xFF);
+        assertEquals(response.getInputStream().read(), -1);
+        assertTrue(response.isReusable());
+    }
+
+    private static InputStream stream(String content) throws Exception {
+        return stream(content, UTF_8.name());
+    }
+
+    private static InputStream stream(String content, String charset) throws Exception {
+        return new BufferedInputStream(new ByteArrayInputStream(content.getBytes(charset)));
+    }
+
+    private static String read(UnixSocketDockerResponse response) throws Exception {
+        return new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8);
+    }
+}
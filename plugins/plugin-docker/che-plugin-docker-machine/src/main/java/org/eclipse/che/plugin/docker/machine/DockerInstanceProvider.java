@@ -29,6 +29,7 @@ import org.eclipse.che.api.machine.server.exception.InvalidRecipeException;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.exception.UnsupportedRecipeException;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.util.RecipeRetriever;
@@ -95,6 +96,9 @@ public class DockerInstanceProvider implements InstanceProvider {
      */
     public static final String DOCKER_IMAGE_TYPE = "image";
 
+    /** Reserved name of empty base image, it can't be pulled or inspected. */
+    private static final String SCRATCH_IMAGE = "scratch";
+
     private final DockerConnector                               docker;
     private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
     private final DockerInstanceStopDetector                    dockerInstanceStopDetector;
@@ -115,6 +119,7 @@ public class DockerInstanceProvider implements InstanceProvider {
     private final boolean                                       snapshotUseRegistry;
     private final RecipeRetriever                               recipeRetriever;
     private final double                                        memorySwapMultiplier;
+    private final RecipeImageCache                              recipeImageCache;
 
     @Inject
     public DockerInstanceProvider(DockerConnector docker,
@@ -124,6 +129,7 @@ public class DockerInstanceProvider implements InstanceProvider {
                                   DockerInstanceStopDetector dockerInstanceStopDetector,
                                   DockerContainerNameGenerator containerNameGenerator,
                                   RecipeRetriever recipeRetriever,
+                                  RecipeImageCache recipeImageCache,
                                   @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
                                   @Named("machine.docker.machine_servers") Set<ServerConf> allMachinesServers,
                                   @Named("machine.docker.dev_machine.machine_volumes") Set<String> devMachineSystemVolumes,
@@ -143,6 +149,7 @@ public class DockerInstanceProvider implements InstanceProvider {
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
         this.containerNameGenerator = containerNameGenerator;
         this.recipeRetriever = recipeRetriever;
+        this.recipeImageCache = recipeImageCache;
         this.workspaceFolderPathProvider = workspaceFolderPathProvider;
         this.doForcePullOnBuild = doForcePullOnBuild;
         this.privilegeMode = privilegeMode;
@@ -306,7 +313,27 @@ public class DockerInstanceProvider implements InstanceProvider {
         final String machineImageName = "eclipse-che/" + machineContainerName;
         final long memoryLimit = (long)machine.getConfig().getLimits().getRam() * 1024 * 1024;
 
-        buildImage(dockerfile, creationLogsOutput, machineImageName, doForcePullOnBuild, memoryLimit, -1);
+        // base image is pulled before cache lookup, so image built from outdated base image isn't reused
+        final String baseImageId = recipeImageCache.isEnabled() ? getBaseImageId(dockerfile, creationLogsOutput) : null;
+        if (baseImageId != null) {
+            final String recipeImageName =
+                    recipeImageCache.getImage(machine.getId(),
+                                              RecipeImageCache.computeKey(dockerfile, baseImageId, memoryLimit, -1),
+                                              imageName -> buildImage(dockerfile,
+                                                                      creationLogsOutput,
+                                                                      imageName,
+                                                                      false,
+                                                                      memoryLimit,
+                                                                      -1));
+            try {
+                // tag cached image with generated name, so machine removal removes only the tag
+                docker.tag(TagParams.create(recipeImageName, machineImageName));
+            } catch (IOException e) {
+                throw new MachineException(e.getLocalizedMessage(), e);
+            }
+        } else {
+            buildImage(dockerfile, creationLogsOutput, machineImageName, doForcePullOnBuild, memoryLimit, -1);
+        }
 
         return createInstance(machineContainerName,
                               machine,
@@ -369,6 +396,36 @@ public class DockerInstanceProvider implements InstanceProvider {
         }
     }
 
+    /**
+     * Returns identifier of the base image of given Dockerfile, pulls base image first if it isn't available locally
+     * or images should be pulled on build. Returns {@code null} if identifier of base image is still unknown, image
+     * isn't cached then.
+     */
+    private String getBaseImageId(Dockerfile dockerfile, LineConsumer creationLogsOutput) throws MachineException {
+        final String baseImage = dockerfile.getImages().get(0).getFrom();
+        if (SCRATCH_IMAGE.equals(baseImage)) {
+            // scratch is not a real image and never changes, so its name is used as identifier
+            return SCRATCH_IMAGE;
+        }
+        if (!doForcePullOnBuild) {
+            final String baseImageId = getImageId(baseImage);
+            if (baseImageId != null) {
+                return baseImageId;
+            }
+        }
+        pullImage(new DockerMachineSource(new MachineSourceImpl(DOCKER_IMAGE_TYPE, baseImage)), creationLogsOutput);
+        return getImageId(baseImage);
+    }
+
+    private String getImageId(String image) {
+        try {
+            return docker.inspectImage(image).getId();
+        } catch (IOException e) {
+            LOG.debug("Image '{}' isn't available. {}", image, e.getLocalizedMessage());
+            return null;
+        }
+    }
+
     protected void buildImage(final Dockerfile dockerfile,
                               final LineConsumer creationLogsOutput,
                               final String imageName,
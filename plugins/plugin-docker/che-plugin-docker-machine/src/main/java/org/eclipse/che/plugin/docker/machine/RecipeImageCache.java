@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.Dockerfile;
+import org.eclipse.che.plugin.docker.client.json.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Named;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps docker images built from machine recipes, so machines started from the same recipe reuse an already
+ * built image instead of building it again.
+ *
+ * <p>Images are keyed by hash of normalized Dockerfile, with recipe parameters substituted, identifier of the base
+ * image and build settings, so image is rebuilt once updated base image is pulled. Each image counts machines which
+ * were started from it. Images built before restart are {@link #loadImages() loaded} from docker on start. Images which aren't used by any existing machine are
+ * removed in least recently used order when count of cached images exceeds {@code machine.docker.recipe_image_cache.max_size},
+ * see {@link #cleanUp(Predicate)}. Cache is disabled when the size is {@code 0}.
+ */
+@Singleton
+public class RecipeImageCache {
+    private static final Logger LOG = LoggerFactory.getLogger(RecipeImageCache.class);
+
+    static final String IMAGE_PREFIX = "eclipse-che/recipe_";
+
+    /** Builds docker image with given name. */
+    public interface ImageBuilder {
+        void build(String imageName) throws MachineException;
+    }
+
+    private final DockerConnector                    docker;
+    private final int                                maxSize;
+    private final LinkedHashMap<String, CachedImage> images;
+    private final AtomicLong                         hits;
+    private final AtomicLong                         misses;
+
+    @Inject
+    public RecipeImageCache(DockerConnector docker, @Named("machine.docker.recipe_image_cache.max_size") int maxSize) {
+        this.docker = docker;
+        this.maxSize = maxSize;
+        this.images = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Registers images which were built by the cache before restart, so they are reused and evicted as other
+     * cached images. Loaded images are the least recently used ones.
+     */
+    @PostConstruct
+    public void loadImages() {
+        if (!isEnabled()) {
+            return;
+        }
+        final List<Image> existing;
+        try {
+            existing = docker.listImages();
+        } catch (IOException e) {
+            LOG.warn("Failed to load recipe images built before restart. {}", e.getLocalizedMessage());
+            return;
+        }
+        synchronized (this) {
+            for (Image image : existing) {
+                if (image.getRepoTags() == null) {
+                    continue;
+                }
+                for (String repoTag : image.getRepoTags()) {
+                    if (repoTag.startsWith(IMAGE_PREFIX)) {
+                        final int tagIdx = repoTag.lastIndexOf(':');
+                        final String key = repoTag.substring(IMAGE_PREFIX.length(), tagIdx == -1 ? repoTag.length() : tagIdx);
+                        images.computeIfAbsent(key, k -> new CachedImage(IMAGE_PREFIX + k)).built = true;
+                    }
+                }
+            }
+        }
+        LOG.info("Recipe image cache: {} images built before restart are loaded", size());
+    }
+
+    /** Returns {@code true} if built images should be reused. */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Computes key of the image built from given Dockerfile. Blank lines, comments and indentation don't affect key.
+     *
+     * @param baseImageId
+     *         identifier of the base image the Dockerfile is built from
+     * @throws MachineException
+     *         if Dockerfile can't be written
+     */
+    public static String computeKey(Dockerfile dockerfile, String baseImageId, long memoryLimit, long memorySwapLimit)
+            throws MachineException {
+        final StringBuilder content = new StringBuilder();
+        try {
+            dockerfile.writeDockerfile(content);
+        } catch (IOException e) {
+            throw new MachineException(e.getLocalizedMessage(), e);
+        }
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (String line : content.toString().split("\n")) {
+            final String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                hasher.putString(trimmed, UTF_8).putChar('\n');
+            }
+        }
+        return hasher.putString(baseImageId, UTF_8)
+                     .putChar('\n')
+                     .putLong(memoryLimit)
+                     .putLong(memorySwapLimit)
+                     .hash()
+                     .toString();
+    }
+
+    /**
+     * Returns name of the image with given key, builds the image if it isn't cached yet or was removed from docker.
+     * Machine with given identifier is registered as user of the image.
+     *
+     * @param machineId
+     *         identifier of machine which is started from the image
+     * @param key
+     *         key of the image, see {@link #computeKey(Dockerfile, String, long, long)}
+     * @param builder
+     *         builds image with name provided by the cache
+     * @return name of the cached image
+     * @throws MachineException
+     *         if image build fails
+     */
+    public String getImage(String machineId, String key, ImageBuilder builder) throws MachineException {
+        final CachedImage image;
+        synchronized (this) {
+            image = images.computeIfAbsent(key, k -> new CachedImage(IMAGE_PREFIX + k));
+            image.machines.add(machineId);
+        }
+        try {
+            synchronized (image) {
+                if (image.built && exists(image.name)) {
+                    hits.incrementAndGet();
+                } else {
+                    misses.incrementAndGet();
+                    builder.build(image.name);
+                    image.built = true;
+                }
+            }
+        } catch (MachineException | RuntimeException e) {
+            synchronized (this) {
+                image.machines.remove(machineId);
+                if (!image.built && image.machines.isEmpty()) {
+                    images.remove(key, image);
+                }
+            }
+            throw e;
+        }
+        return image.name;
+    }
+
+    /**
+     * Releases images used by machines which don't exist anymore and removes least recently used images which
+     * aren't used by any machine if count of cached images exceeds max size.
+     *
+     * @param machineExists
+     *         tests whether machine with given identifier still exists
+     */
+    public void cleanUp(Predicate<String> machineExists) {
+        final List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            for (CachedImage image : images.values()) {
+                image.machines.removeIf(machineExists.negate());
+            }
+            final Iterator<CachedImage> it = images.values().iterator();
+            while (images.size() > maxSize && it.hasNext()) {
+                final CachedImage image = it.next();
+                if (image.machines.isEmpty()) {
+                    it.remove();
+                    if (image.built) {
+                        evicted.add(image.name);
+                    }
+                }
+            }
+        }
+        for (String image : evicted) {
+            try {
+                docker.removeImage(image, false);
+            } catch (IOException e) {
+                LOG.warn("Failed to remove cached recipe image '{}'. {}", image, e.getLocalizedMessage());
+            }
+        }
+        LOG.debug("Recipe image cache: {} images, {} hits, {} misses, {} evicted",
+                  size(), hits.get(), misses.get(), evicted.size());
+    }
+
+    /** Returns count of machines started from already built images. */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Returns count of image builds. */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /** Returns count of cached images. */
+    public synchronized int size() {
+        return images.size();
+    }
+
+    private boolean exists(String image) {
+        try {
+            docker.inspectImage(image);
+            return true;
+        } catch (IOException e) {
+            LOG.debug("Cached recipe image '{}' isn't available. {}", image, e.getLocalizedMessage());
+            return false;
+        }
+    }
+
+    private static final class CachedImage {
+        final String      name;
+        final Set<String> machines;
+
+        volatile boolean built;
+
+        CachedImage(String name) {
+            this.name = name;
+            this.machines = new HashSet<>();
+        }
+    }
+}
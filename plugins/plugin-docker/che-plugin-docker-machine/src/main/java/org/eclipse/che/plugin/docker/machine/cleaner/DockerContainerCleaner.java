@@ -18,6 +18,7 @@ import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
 import org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator;
+import org.eclipse.che.plugin.docker.machine.RecipeImageCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,7 +31,7 @@ import static org.eclipse.che.plugin.docker.client.params.RemoveContainerParams.
 import static org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator.ContainerNameInfo;
 
 /**
- * Job for periodically clean up inactive docker containers
+ * Job for periodically clean up inactive docker containers and unused cached recipe images
  *
  * @author Alexander Andrienko
  */
@@ -42,14 +43,17 @@ public class DockerContainerCleaner implements Runnable {
     private final MachineRegistry              machineRegistry;
     private final DockerConnector              dockerConnector;
     private final DockerContainerNameGenerator nameGenerator;
+    private final RecipeImageCache             recipeImageCache;
 
     @Inject
     public DockerContainerCleaner(MachineRegistry machineRegistry,
                                   DockerConnector dockerConnector,
-                                  DockerContainerNameGenerator nameGenerator) {
+                                  DockerContainerNameGenerator nameGenerator,
+                                  RecipeImageCache recipeImageCache) {
         this.machineRegistry = machineRegistry;
         this.dockerConnector = dockerConnector;
         this.nameGenerator = nameGenerator;
+        this.recipeImageCache = recipeImageCache;
     }
 
     @ScheduleRate(periodParameterName = "machine.docker.unused_containers_cleanup_period_min",
@@ -69,6 +73,11 @@ public class DockerContainerCleaner implements Runnable {
         } catch (Exception e) {
             LOG.error("Failed to clean up inactive containers", e);
         }
+        try {
+            recipeImageCache.cleanUp(machineRegistry::isExist);
+        } catch (Exception e) {
+            LOG.error("Failed to clean up cached recipe images", e);
+        }
     }
 
     private void cleanUp(ContainerListEntry container) {
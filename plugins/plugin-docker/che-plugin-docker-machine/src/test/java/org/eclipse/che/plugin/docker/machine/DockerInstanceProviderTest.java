@@ -37,6 +37,7 @@ import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
 import org.eclipse.che.plugin.docker.client.params.PullParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
 import org.eclipse.che.plugin.docker.client.params.TagParams;
@@ -52,6 +53,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -67,9 +69,11 @@ import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.DOCKE
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.DOCKER_IMAGE_TYPE;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.anyVararg;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.startsWith;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -123,6 +127,9 @@ public class DockerInstanceProviderTest {
     @Mock
     private RecipeRetriever recipeRetriever;
 
+    @Mock
+    private RecipeImageCache recipeImageCache;
+
     private DockerInstanceProvider dockerInstanceProvider;
 
     @BeforeMethod
@@ -136,6 +143,7 @@ public class DockerInstanceProviderTest {
                                                                 dockerInstanceStopDetector,
                                                                 containerNameGenerator,
                                                                 recipeRetriever,
+                                                                recipeImageCache,
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
@@ -201,6 +209,118 @@ public class DockerInstanceProviderTest {
                                            anyVararg());
     }
 
+    @Test
+    public void shouldReuseCachedImageOnInstanceCreationFromTheSameRecipe() throws Exception {
+        String generatedContainerId = "genContainerId";
+        doReturn(generatedContainerId).when(containerNameGenerator).generateContainerName(eq(WORKSPACE_ID),
+                                                                                          eq(MACHINE_ID),
+                                                                                          eq(USER_NAME),
+                                                                                          eq(MACHINE_NAME));
+        recipeImageCache = new RecipeImageCache(dockerConnector, 10);
+        dockerInstanceProvider = getDockerInstanceProvider(SNAPSHOT_USE_REGISTRY);
+        when(dockerConnector.inspectImage(anyString())).thenReturn(imageInfo("baseImageId"));
+
+        createInstanceFromRecipe();
+        createInstanceFromRecipe();
+
+        ArgumentCaptor<String> imageCaptor = ArgumentCaptor.forClass(String.class);
+        verify(dockerConnector).buildImage(imageCaptor.capture(),
+                                           any(ProgressMonitor.class),
+                                           any(AuthConfigs.class),
+                                           anyBoolean(),
+                                           eq((long)MEMORY_LIMIT_MB * 1024 * 1024),
+                                           eq((long)-1),
+                                           anyVararg());
+        assertTrue(imageCaptor.getValue().startsWith(RecipeImageCache.IMAGE_PREFIX));
+        verify(dockerConnector, times(2)).tag(eq(TagParams.create(imageCaptor.getValue(), "eclipse-che/" + generatedContainerId)));
+        assertEquals(recipeImageCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void shouldRebuildCachedImageIfItWasRemovedFromDocker() throws Exception {
+        recipeImageCache = new RecipeImageCache(dockerConnector, 10);
+        dockerInstanceProvider = getDockerInstanceProvider(SNAPSHOT_USE_REGISTRY);
+        when(dockerConnector.inspectImage(anyString())).thenThrow(new IOException("not found"));
+        doReturn(imageInfo("baseImageId")).when(dockerConnector).inspectImage("codenvy");
+
+        createInstanceFromRecipe();
+        createInstanceFromRecipe();
+
+        verify(dockerConnector, times(2)).buildImage(startsWith(RecipeImageCache.IMAGE_PREFIX),
+                                                     any(ProgressMonitor.class),
+                                                     any(AuthConfigs.class),
+                                                     anyBoolean(),
+                                                     anyLong(),
+                                                     anyLong(),
+                                                     anyVararg());
+    }
+
+    @Test
+    public void shouldPullBaseImageBeforeCacheLookupIfItIsNotAvailableLocally() throws Exception {
+        recipeImageCache = new RecipeImageCache(dockerConnector, 10);
+        dockerInstanceProvider = getDockerInstanceProvider(SNAPSHOT_USE_REGISTRY);
+        when(dockerConnector.inspectImage(anyString())).thenReturn(imageInfo("recipeImageId"));
+        when(dockerConnector.inspectImage("codenvy")).thenThrow(new IOException("not found"))
+                                                      .thenReturn(imageInfo("baseImageId"));
+
+        createInstanceFromRecipe();
+        createInstanceFromRecipe();
+
+        verify(dockerConnector).pull(eq(PullParams.create("codenvy").withTag("latest")), any(ProgressMonitor.class));
+        verify(dockerConnector).buildImage(startsWith(RecipeImageCache.IMAGE_PREFIX),
+                                           any(ProgressMonitor.class),
+                                           any(AuthConfigs.class),
+                                           anyBoolean(),
+                                           anyLong(),
+                                           anyLong(),
+                                           anyVararg());
+        assertEquals(recipeImageCache.getHitCount(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheImageIfBaseImageIsUnknown() throws Exception {
+        String generatedContainerId = "genContainerId";
+        doReturn(generatedContainerId).when(containerNameGenerator).generateContainerName(eq(WORKSPACE_ID),
+                                                                                          eq(MACHINE_ID),
+                                                                                          eq(USER_NAME),
+                                                                                          eq(MACHINE_NAME));
+        recipeImageCache = new RecipeImageCache(dockerConnector, 10);
+        dockerInstanceProvider = getDockerInstanceProvider(SNAPSHOT_USE_REGISTRY);
+        when(dockerConnector.inspectImage(anyString())).thenThrow(new IOException("not found"));
+
+        createInstanceFromRecipe();
+
+        verify(dockerConnector).buildImage(eq("eclipse-che/" + generatedContainerId),
+                                           any(ProgressMonitor.class),
+                                           any(AuthConfigs.class),
+                                           anyBoolean(),
+                                           anyLong(),
+                                           anyLong(),
+                                           anyVararg());
+        assertEquals(recipeImageCache.size(), 0);
+    }
+
+    @Test
+    public void shouldRebuildCachedImageWhenUpdatedBaseImageIsPulled() throws Exception {
+        recipeImageCache = new RecipeImageCache(dockerConnector, 10);
+        dockerInstanceProvider = getDockerInstanceProvider(SNAPSHOT_USE_REGISTRY, true);
+        when(dockerConnector.inspectImage(anyString())).thenReturn(imageInfo("recipeImageId"));
+        when(dockerConnector.inspectImage("codenvy")).thenReturn(imageInfo("baseImageId1"), imageInfo("baseImageId2"));
+
+        createInstanceFromRecipe();
+        createInstanceFromRecipe();
+
+        verify(dockerConnector, times(2)).pull(eq(PullParams.create("codenvy").withTag("latest")), any(ProgressMonitor.class));
+        verify(dockerConnector, times(2)).buildImage(anyString(),
+                                                     any(ProgressMonitor.class),
+                                                     any(AuthConfigs.class),
+                                                     eq(false),
+                                                     anyLong(),
+                                                     anyLong(),
+                                                     anyVararg());
+        assertEquals(recipeImageCache.getHitCount(), 0);
+    }
+
     @Test
     public void shouldPullDockerImageOnInstanceCreationFromSnapshot() throws Exception {
         String repo = "repo";
@@ -312,6 +432,7 @@ public class DockerInstanceProviderTest {
                                                                 dockerInstanceStopDetector,
                                                                 containerNameGenerator,
                                                                 recipeRetriever,
+                                                                recipeImageCache,
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
@@ -498,6 +619,7 @@ public class DockerInstanceProviderTest {
                                                                 dockerInstanceStopDetector,
                                                                 containerNameGenerator,
                                                                 recipeRetriever,
+                                                                recipeImageCache,
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
                                                                 Collections.emptySet(),
@@ -563,6 +685,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.emptySet(),
@@ -605,6 +728,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             commonServers,
                                                             Collections.emptySet(),
@@ -653,6 +777,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             devServers,
                                                             commonServers,
                                                             Collections.emptySet(),
@@ -695,6 +820,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             commonServers,
                                                             Collections.emptySet(),
@@ -738,6 +864,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -784,6 +911,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -830,6 +958,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -876,6 +1005,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -917,6 +1047,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -958,6 +1089,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -998,6 +1130,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1038,6 +1171,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1085,6 +1219,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1133,6 +1268,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1180,6 +1316,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1225,6 +1362,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1270,6 +1408,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1315,6 +1454,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1360,6 +1500,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1407,6 +1548,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             devVolumes,
@@ -1523,6 +1665,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1560,6 +1703,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1602,6 +1746,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1639,6 +1784,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1678,6 +1824,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1725,6 +1872,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1772,6 +1920,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1819,6 +1968,7 @@ public class DockerInstanceProviderTest {
                                                             dockerInstanceStopDetector,
                                                             containerNameGenerator,
                                                             recipeRetriever,
+                                                            recipeImageCache,
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
                                                             Collections.emptySet(),
@@ -1933,6 +2083,11 @@ public class DockerInstanceProviderTest {
     }
 
     private DockerInstanceProvider getDockerInstanceProvider(boolean snapshotUseRegistry) throws Exception {
+        return getDockerInstanceProvider(snapshotUseRegistry, false);
+    }
+
+    private DockerInstanceProvider getDockerInstanceProvider(boolean snapshotUseRegistry,
+                                                             boolean doForcePullOnBuild) throws Exception {
         return spy(new DockerInstanceProvider(dockerConnector,
                                               dockerConnectorConfiguration,
                                               credentialsReader,
@@ -1940,6 +2095,7 @@ public class DockerInstanceProviderTest {
                                               dockerInstanceStopDetector,
                                               containerNameGenerator,
                                               recipeRetriever,
+                                              recipeImageCache,
                                               Collections.emptySet(),
                                               Collections.emptySet(),
                                               Collections.emptySet(),
@@ -1947,7 +2103,7 @@ public class DockerInstanceProviderTest {
                                               null,
                                               workspaceFolderPathProvider,
                                               PROJECT_FOLDER_PATH,
-                                              false,
+                                              doForcePullOnBuild,
                                               false,
                                               Collections.emptySet(),
                                               Collections.emptySet(),
@@ -1955,6 +2111,12 @@ public class DockerInstanceProviderTest {
                                               MEMORY_SWAP_MULTIPLIER));
     }
 
+    private static ImageInfo imageInfo(String id) {
+        final ImageInfo imageInfo = new ImageInfo();
+        imageInfo.setId(id);
+        return imageInfo;
+    }
+
     private MachineConfigImpl.MachineConfigImplBuilder getMachineConfigBuilder() {
         return MachineConfigImpl.builder().fromConfig(new MachineConfigImpl(false,
                                                                             MACHINE_NAME,
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerfileParser;
+import org.eclipse.che.plugin.docker.client.json.Image;
+import org.eclipse.che.plugin.docker.machine.RecipeImageCache.ImageBuilder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+/**
+ * Tests for {@link RecipeImageCache}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class RecipeImageCacheTest {
+
+    @Mock
+    private DockerConnector docker;
+    @Mock
+    private ImageBuilder    builder;
+
+    private RecipeImageCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        cache = new RecipeImageCache(docker, 1);
+    }
+
+    @Test
+    public void keyShouldNotDependOnBlankLinesAndComments() throws Exception {
+        String key1 = RecipeImageCache.computeKey(DockerfileParser.parse("FROM codenvy/ubuntu_jdk8\nRUN echo test"), "baseImageId", 1024, -1);
+        String key2 = RecipeImageCache.computeKey(DockerfileParser.parse("# base image\nFROM codenvy/ubuntu_jdk8\n\n  RUN echo test  "),
+                                                  "baseImageId",
+                                                  1024,
+                                                  -1);
+
+        assertEquals(key1, key2);
+    }
+
+    @Test
+    public void keyShouldDependOnMemoryLimit() throws Exception {
+        String key1 = RecipeImageCache.computeKey(DockerfileParser.parse("FROM codenvy/ubuntu_jdk8"), "baseImageId", 1024, -1);
+        String key2 = RecipeImageCache.computeKey(DockerfileParser.parse("FROM codenvy/ubuntu_jdk8"), "baseImageId", 2048, -1);
+
+        assertNotEquals(key1, key2);
+    }
+
+    @Test
+    public void keyShouldDependOnBaseImage() throws Exception {
+        String key1 = RecipeImageCache.computeKey(DockerfileParser.parse("FROM codenvy/ubuntu_jdk8"), "baseImageId1", 1024, -1);
+        String key2 = RecipeImageCache.computeKey(DockerfileParser.parse("FROM codenvy/ubuntu_jdk8"), "baseImageId2", 1024, -1);
+
+        assertNotEquals(key1, key2);
+    }
+
+    @Test
+    public void shouldBuildImageOnlyOnce() throws Exception {
+        String image1 = cache.getImage("machine1", "key", builder);
+        String image2 = cache.getImage("machine2", "key", builder);
+
+        assertEquals(image1, RecipeImageCache.IMAGE_PREFIX + "key");
+        assertEquals(image2, image1);
+        verify(builder).build(image1);
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+    }
+
+    @Test
+    public void shouldNotKeepImageIfBuildFailed() throws Exception {
+        doThrow(new MachineException("build failed")).when(builder).build(anyString());
+
+        try {
+            cache.getImage("machine1", "key", builder);
+        } catch (MachineException ignored) {
+        }
+
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void shouldRemoveLeastRecentlyUsedImageWhichIsNotUsedByMachines() throws Exception {
+        cache.getImage("machine1", "key1", builder);
+        cache.getImage("machine2", "key2", builder);
+
+        cache.cleanUp("machine2"::equals);
+
+        verify(docker).removeImage(RecipeImageCache.IMAGE_PREFIX + "key1", false);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldReuseAndEvictImagesBuiltBeforeRestart() throws Exception {
+        when(docker.listImages()).thenReturn(asList(image(RecipeImageCache.IMAGE_PREFIX + "key1:latest"),
+                                                    image("codenvy/ubuntu_jdk8:latest")));
+        cache.loadImages();
+
+        cache.getImage("machine1", "key1", builder);
+        cache.getImage("machine2", "key2", builder);
+        cache.cleanUp("machine2"::equals);
+
+        verify(builder, never()).build(RecipeImageCache.IMAGE_PREFIX + "key1");
+        verify(docker).removeImage(RecipeImageCache.IMAGE_PREFIX + "key1", false);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void shouldNotRemoveImagesUsedByMachines() throws Exception {
+        cache.getImage("machine1", "key1", builder);
+        cache.getImage("machine2", "key2", builder);
+
+        cache.cleanUp(machineId -> true);
+
+        verify(docker, never()).removeImage(anyString(), anyBoolean());
+        assertEquals(cache.size(), 2);
+    }
+
+    private static Image image(String repoTag) {
+        final Image image = new Image();
+        image.setRepoTags(new String[] {repoTag});
+        return image;
+    }
+}
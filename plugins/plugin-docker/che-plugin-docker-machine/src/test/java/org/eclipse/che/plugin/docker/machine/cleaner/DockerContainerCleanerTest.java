@@ -17,6 +17,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator;
+import org.eclipse.che.plugin.docker.machine.RecipeImageCache;
 import org.mockito.InjectMocks;
 import org.mockito.Matchers;
 import org.mockito.Mock;
@@ -31,6 +32,7 @@ import java.util.Optional;
 import static java.util.Optional.of;
 import static java.util.Arrays.asList;
 import static org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator.ContainerNameInfo;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -69,6 +71,8 @@ public class DockerContainerCleanerTest {
     private DockerConnector              dockerConnector;
     @Mock
     private DockerContainerNameGenerator nameGenerator;
+    @Mock
+    private RecipeImageCache             recipeImageCache;
 
     @Mock
     private MachineImpl machineImpl1;
@@ -140,6 +144,13 @@ public class DockerContainerCleanerTest {
         verify(dockerConnector, never()).removeContainer(RemoveContainerParams.create(containerId1).withForce(true).withRemoveVolumes(true));
     }
 
+    @Test
+    public void cleanerShouldCleanUpCachedRecipeImages() {
+        cleaner.run();
+
+        verify(recipeImageCache).cleanUp(any());
+    }
+
     @Test
     public void cleanerShouldRemoveButShouldNotKillContainerWithStatusNotRunning() throws IOException, MachineException {
         when(container2.getStatus()).thenReturn(EXITED_STATUS);
@@ -192,13 +192,23 @@ public class ResourcesPlugin {
      */
     private static Workspace workspace = null;
     private static String          indexPath;
+    private static String          sharedIndexPath;
     private static String          workspacePath;
     private static String          pluginId;
 
     @Inject
-    public ResourcesPlugin(@Named("che.jdt.workspace.index.dir") String indexPath, @Named("che.user.workspaces.storage") String workspacePath,
+    public ResourcesPlugin(@Named("che.jdt.workspace.index.dir") String indexPath,
+                           @Named("che.jdt.shared_index_dir") String sharedIndexPath,
+                           @Named("che.user.workspaces.storage") String workspacePath,
                            Provider<ProjectRegistry> projectRegistry, Provider<ProjectManager> projectManager) {
+        this(indexPath, workspacePath, projectRegistry, projectManager);
+        ResourcesPlugin.sharedIndexPath = sharedIndexPath.isEmpty() ? null : sharedIndexPath;
+    }
+
+    public ResourcesPlugin(String indexPath, String workspacePath, Provider<ProjectRegistry> projectRegistry,
+                           Provider<ProjectManager> projectManager) {
         ResourcesPlugin.indexPath = indexPath;
+        ResourcesPlugin.sharedIndexPath = null;
         ResourcesPlugin.workspacePath = workspacePath;
         pluginId = "cheWsPlugin";
         EFS.setWsPath(workspacePath);
@@ -213,6 +223,14 @@ public class ResourcesPlugin {
         return indexPath;
     }
 
+    /**
+     * Returns the directory of the jar indexes shared by the workspaces of the node,
+     * or <code>null</code> if each workspace indexes jars on its own.
+     */
+    public static String getSharedIndexPath() {
+        return sharedIndexPath;
+    }
+
     public static String getPluginId() {
         return pluginId;
     }
@@ -19,6 +19,7 @@ import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
@@ -101,6 +102,28 @@ public class JavaReconciler {
             }
         }
 
+        return createResult(requestor, positions);
+    }
+
+    /**
+     * Reconciles working copy which is kept open by {@link ReconcileSession}.
+     *
+     * @return result of reconcile or {@code null} if reconcile was canceled
+     */
+    ReconcileResult reconcile(ICompilationUnit workingCopy,
+                              WorkingCopyOwner owner,
+                              ProblemRequestor requestor,
+                              IProgressMonitor monitor) throws JavaModelException {
+        requestor.reset();
+        CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, owner, monitor);
+        if (unit == null || monitor.isCanceled()) {
+            return null;
+        }
+        List<HighlightedPosition> positions = semanticHighlighting.reconcileSemanticHighlight(unit);
+        return createResult(requestor, positions);
+    }
+
+    private ReconcileResult createResult(ProblemRequestor requestor, List<HighlightedPosition> positions) {
         ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
         result.setProblems(convertProblems(requestor.problems));
         result.setHighlightedPositions(positions);
@@ -131,7 +154,7 @@ public class JavaReconciler {
         return result;
     }
 
-    private static class ProblemRequestor implements IProblemRequestor {
+    static class ProblemRequestor implements IProblemRequestor {
 
         private List<IProblem> problems = new ArrayList<>();
 
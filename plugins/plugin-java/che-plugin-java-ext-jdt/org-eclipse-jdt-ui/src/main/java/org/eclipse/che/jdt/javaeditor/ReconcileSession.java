@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.javaeditor;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Working copy of the compilation unit which is opened in the editor.
+ *
+ * <p>Content of the working copy is kept in memory and is changed by text changes sent by the editor,
+ * so nothing is saved to or read from the file while user types. Each portion of changes carries
+ * version of the document, portions which come out of order are kept until the missing ones arrive.
+ * If the missing portion doesn't arrive among the next {@link #MAX_PENDING_CHANGES} ones it is considered lost
+ * and changes are rejected, so the editor has to open new session.
+ *
+ * <p>Applying of changes cancels reconcile which is running at the moment. Result of reconcile contains
+ * all problems and highlighted positions of its version, only repeated reconcile of the same version
+ * contains just the parts which differ from the previous result, see {@link #diff(ReconcileResult)}.
+ */
+class ReconcileSession {
+    static final int MAX_PENDING_CHANGES = 16;
+
+    private final String                          id;
+    private final ICompilationUnit                workingCopy;
+    private final WorkingCopyOwner                owner;
+    private final JavaReconciler.ProblemRequestor requestor;
+    private final Map<Integer, List<Change>>      pending;
+
+    private volatile IProgressMonitor   runningMonitor;
+    private volatile long               lastAccessTime;
+    private          int                version;
+    private          ReconcileResult    lastResult;
+    private          int                lastResultVersion;
+    private          ScheduledFuture<?> scheduledReconcile;
+
+    ReconcileSession(String id, ICompilationUnit workingCopy, WorkingCopyOwner owner, JavaReconciler.ProblemRequestor requestor) {
+        this.id = id;
+        this.workingCopy = workingCopy;
+        this.owner = owner;
+        this.requestor = requestor;
+        this.pending = new TreeMap<>();
+        this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    String getId() {
+        return id;
+    }
+
+    long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    /**
+     * Applies changes of the document with the given version.
+     *
+     * @return {@code true} if document content was changed, {@code false} if changes are kept
+     * until previous ones arrive or these changes were already applied
+     * @throws ConflictException
+     *         if changes of some previous version were lost, the session can't be used anymore
+     */
+    boolean applyChanges(int version, List<Change> changes) throws JavaModelException, ConflictException {
+        cancelReconcile();
+        synchronized (this) {
+            if (version <= this.version) {
+                return false;
+            }
+            pending.put(version, changes);
+            if (pending.size() > MAX_PENDING_CHANGES) {
+                throw new ConflictException("Changes of version " + (this.version + 1) + " of reconcile session " + id + " are lost");
+            }
+            boolean changed = false;
+            List<Change> next;
+            while ((next = pending.remove(this.version + 1)) != null) {
+                final IBuffer buffer = workingCopy.getBuffer();
+                for (Change change : next) {
+                    buffer.replace(change.getOffset(), change.getLength(), change.getText() == null ? "" : change.getText());
+                }
+                this.version++;
+                changed = true;
+            }
+            if (changed) {
+                lastAccessTime = System.currentTimeMillis();
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * Reconciles current content of the working copy.
+     *
+     * @return result which should be sent to the editor or {@code null} if reconcile was canceled
+     * or nothing was changed since previous result
+     */
+    ReconcileResult reconcile(JavaReconciler reconciler) throws JavaModelException {
+        lastAccessTime = System.currentTimeMillis();
+        final IProgressMonitor monitor = new NullProgressMonitor();
+        runningMonitor = monitor;
+        try {
+            synchronized (this) {
+                if (monitor.isCanceled()) {
+                    return null;
+                }
+                final ReconcileResult result = reconciler.reconcile(workingCopy, owner, requestor, monitor);
+                if (result == null) {
+                    return null;
+                }
+                return diff(result);
+            }
+        } catch (OperationCanceledException e) {
+            return null;
+        } finally {
+            runningMonitor = null;
+        }
+    }
+
+    synchronized void setScheduledReconcile(ScheduledFuture<?> scheduledReconcile) {
+        if (this.scheduledReconcile != null) {
+            this.scheduledReconcile.cancel(false);
+        }
+        this.scheduledReconcile = scheduledReconcile;
+    }
+
+    void close() {
+        cancelReconcile();
+        synchronized (this) {
+            setScheduledReconcile(null);
+            try {
+                workingCopy.discardWorkingCopy();
+            } catch (JavaModelException e) {
+                //ignore
+            }
+        }
+    }
+
+    private void cancelReconcile() {
+        final IProgressMonitor monitor = runningMonitor;
+        if (monitor != null) {
+            monitor.setCanceled(true);
+        }
+    }
+
+    /**
+     * Compares result with the previous one only if both are computed for the same version of the document.
+     * Editor drops results of versions behind its document, so the result of a new version is always sent
+     * completely, otherwise parts of the dropped results would never be shown.
+     */
+    private ReconcileResult diff(ReconcileResult result) {
+        final ReconcileResult previous = lastResultVersion == version ? lastResult : null;
+        lastResult = result;
+        lastResultVersion = version;
+        final boolean problemsUnchanged = previous != null && Objects.equals(previous.getProblems(), result.getProblems());
+        final boolean positionsUnchanged = previous != null
+                                           && Objects.equals(previous.getHighlightedPositions(), result.getHighlightedPositions());
+        if (problemsUnchanged && positionsUnchanged) {
+            return null;
+        }
+        final ReconcileResult changes = DtoFactory.getInstance().createDto(ReconcileResult.class);
+        changes.setVersion(version);
+        if (problemsUnchanged) {
+            changes.setProblemsUnchanged(true);
+        } else {
+            changes.setProblems(result.getProblems());
+        }
+        if (positionsUnchanged) {
+            changes.setHighlightedPositionsUnchanged(true);
+        } else {
+            changes.setHighlightedPositions(result.getHighlightedPositions());
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.javaeditor;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IProblemRequestor;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.eclipse.che.api.core.notification.WebsocketDtoBroadcaster.broadcast;
+import static org.eclipse.che.ide.ext.java.shared.Constants.RECONCILE_CHANNEL_PREFIX;
+
+/**
+ * Manages reconcile sessions of the java editors.
+ *
+ * <p>Editor opens session with the current content of the document and then sends only text changes.
+ * Reconcile is performed in background when there were no changes during {@link #RECONCILE_DELAY_MS},
+ * its results are sent to the websocket channel of the session, see {@link ReconcileSession}.
+ * Sessions which are not used longer than {@link #SESSION_EXPIRE_MINUTES} are closed,
+ * e.g. when the browser tab was closed without closing the editor.
+ */
+@Singleton
+public class ReconcileSessionManager {
+    private static final Logger LOG = LoggerFactory.getLogger(ReconcileSessionManager.class);
+
+    static final long RECONCILE_DELAY_MS     = 500;
+    static final long SESSION_EXPIRE_MINUTES = 30;
+
+    private final JavaReconciler                          reconciler;
+    private final ConcurrentMap<String, ReconcileSession> sessions;
+    private final ScheduledExecutorService                executor;
+
+    @Inject
+    public ReconcileSessionManager(JavaReconciler reconciler) {
+        this.reconciler = reconciler;
+        this.sessions = new ConcurrentHashMap<>();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(1, runnable -> {
+            final Thread thread = new Thread(runnable, "JavaReconcile-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::closeExpiredSessions, SESSION_EXPIRE_MINUTES, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Opens session for the editor of the given type, previous session with the same id is closed.
+     *
+     * @param sessionId
+     *         id of the session which is generated by editor
+     * @param javaProject
+     *         project of the type
+     * @param fqn
+     *         fully qualified name of the type
+     * @param content
+     *         current content of the editor
+     * @throws NotFoundException
+     *         if source type with given name doesn't exist in the project
+     */
+    public void open(String sessionId, IJavaProject javaProject, String fqn, String content) throws NotFoundException,
+                                                                                                   JavaModelException {
+        final IType type = javaProject.findType(fqn);
+        if (type == null || type.isBinary()) {
+            throw new NotFoundException("Source type " + fqn + " not found in project " + javaProject.getPath().toOSString());
+        }
+        final JavaReconciler.ProblemRequestor requestor = new JavaReconciler.ProblemRequestor();
+        // default buffer of the working copy is kept in memory and isn't saved to the file
+        final WorkingCopyOwner owner = new WorkingCopyOwner() {
+            @Override
+            public IProblemRequestor getProblemRequestor(ICompilationUnit workingCopy) {
+                return requestor;
+            }
+        };
+        final ICompilationUnit workingCopy = type.getCompilationUnit().getWorkingCopy(owner, null);
+        workingCopy.getBuffer().setContents(content);
+
+        final ReconcileSession previous = sessions.put(sessionId, new ReconcileSession(sessionId, workingCopy, owner, requestor));
+        if (previous != null) {
+            previous.close();
+        }
+        scheduleReconcile(sessionId, 0);
+    }
+
+    /**
+     * Applies text changes of the editor document and schedules reconcile.
+     *
+     * @throws NotFoundException
+     *         if session doesn't exist or was expired, editor should open new one
+     * @throws ConflictException
+     *         if changes of some previous version were lost, session is closed and editor should open new one
+     */
+    public void applyChanges(String sessionId, int version, List<Change> changes) throws NotFoundException,
+                                                                                        ConflictException,
+                                                                                        JavaModelException {
+        final ReconcileSession session = getSession(sessionId);
+        final boolean changed;
+        try {
+            changed = session.applyChanges(version, changes);
+        } catch (ConflictException e) {
+            if (sessions.remove(sessionId, session)) {
+                session.close();
+            }
+            throw e;
+        }
+        if (changed) {
+            scheduleReconcile(sessionId, RECONCILE_DELAY_MS);
+        }
+    }
+
+    /**
+     * Reconciles the current content of the session immediately, e.g. after dependencies of the project were changed.
+     *
+     * @throws NotFoundException
+     *         if session doesn't exist or was expired
+     */
+    public void reconcile(String sessionId) throws NotFoundException {
+        getSession(sessionId);
+        scheduleReconcile(sessionId, 0);
+    }
+
+    /** Closes session and discards its working copy, does nothing if session doesn't exist. */
+    public void close(String sessionId) {
+        final ReconcileSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        sessions.keySet().forEach(this::close);
+    }
+
+    private ReconcileSession getSession(String sessionId) throws NotFoundException {
+        final ReconcileSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new NotFoundException("Reconcile session " + sessionId + " not found");
+        }
+        return session;
+    }
+
+    private void scheduleReconcile(String sessionId, long delayMs) {
+        final ReconcileSession session = sessions.get(sessionId);
+        if (session != null) {
+            session.setScheduledReconcile(executor.schedule(() -> reconcile(session), delayMs, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void reconcile(ReconcileSession session) {
+        if (sessions.get(session.getId()) != session) {
+            return;
+        }
+        try {
+            final ReconcileResult result = session.reconcile(reconciler);
+            if (result != null) {
+                broadcast(RECONCILE_CHANNEL_PREFIX + session.getId(), result);
+            }
+        } catch (Exception e) {
+            LOG.error("Can't reconcile session " + session.getId(), e);
+        }
+    }
+
+    private void closeExpiredSessions() {
+        final long expireTime = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(SESSION_EXPIRE_MINUTES);
+        for (ReconcileSession session : sessions.values()) {
+            if (session.getLastAccessTime() < expireTime && sessions.remove(session.getId(), session)) {
+                session.close();
+            }
+        }
+    }
+}
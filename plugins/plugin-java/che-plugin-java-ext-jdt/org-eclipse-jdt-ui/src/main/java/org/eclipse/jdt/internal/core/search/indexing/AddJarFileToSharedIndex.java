@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Indexes an external jar reusing the index shared by all workspaces of the node when one was already
+ * built for the same jar content, otherwise indexes the jar as {@link AddJarFileToIndex} does.
+ * The index built locally is copied to the shared location once it is saved.
+ */
+public class AddJarFileToSharedIndex extends IndexRequest {
+
+    public AddJarFileToSharedIndex(IPath jarPath, IndexManager manager) {
+        super(jarPath, manager);
+    }
+
+    public boolean execute(IProgressMonitor progressMonitor) {
+        if (this.isCancelled || progressMonitor != null && progressMonitor.isCanceled()) return true;
+
+        if (this.manager.addSharedIndex(this.containerPath)) return true;
+        return new AddJarFileToIndex(this.containerPath, null, this.manager, false).execute(progressMonitor);
+    }
+
+    public boolean equals(Object o) {
+        if (o instanceof AddJarFileToSharedIndex)
+            return this.containerPath.equals(((AddJarFileToSharedIndex)o).containerPath);
+        return false;
+    }
+
+    public int hashCode() {
+        return this.containerPath.hashCode();
+    }
+
+    protected Integer updatedIndexState() {
+        return IndexManager.REBUILDING_STATE;
+    }
+
+    public String toString() {
+        return "indexing " + this.containerPath.toString() + " using shared index"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -49,12 +49,19 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.CRC32;
 
 public class IndexManager extends JobManager implements IIndexConstants {
@@ -91,9 +98,14 @@ public class IndexManager extends JobManager implements IIndexConstants {
     private SimpleLookupTable participantsContainers = null;
     private boolean           participantUpdated     = false;
     private String indexLocation;
+    // directory of the jar indexes shared by the workspaces of the node, null if jar indexes are not shared
+    private String sharedIndexLocation;
+    // key = jar path with its length and modification time, value = checksum of the jar content
+    private final Map<String, String> jarChecksums = new ConcurrentHashMap<>();
 
-    public IndexManager(String indexLocation) {
+    public IndexManager(String indexLocation, String sharedIndexLocation) {
         this.indexLocation = indexLocation;
+        this.sharedIndexLocation = sharedIndexLocation;
         indexNamesMapFile = new File(getSavedIndexesDirectory(), "indexNamesMap.txt");
         savedIndexNamesFile = new File(getSavedIndexesDirectory(), "savedIndexNames.txt");
         participantIndexNamesFile = new File(getSavedIndexesDirectory(), "participantsIndexNames.txt");
@@ -617,7 +629,11 @@ public class IndexManager extends JobManager implements IIndexConstants {
 //		request = new AddJarFileToIndex((IFile) target, indexFile, this, forceIndexUpdate);
 //	} else
 //        if (target instanceof File) {
-        request = new AddJarFileToIndex(path, indexFile, this, forceIndexUpdate);
+        if (indexFile == null && this.sharedIndexLocation != null && JavaModelManager.getTarget(path, true) instanceof File) {
+            request = new AddJarFileToSharedIndex(path, this);
+        } else {
+            request = new AddJarFileToIndex(path, indexFile, this, forceIndexUpdate);
+        }
 //	} else if (target instanceof IContainer) {
 //		request = new IndexBinaryFolder((IContainer) target, this);
 //        } else {
@@ -642,6 +658,45 @@ public class IndexManager extends JobManager implements IIndexConstants {
         return true;
     }
 
+    /**
+     * Reuses the shared index built for a jar with the same content, if any.
+     * Returns false if there is no such index or the index saved by this workspace already exists, then the jar
+     * is indexed or its saved index is reused by {@link AddJarFileToIndex}. The jar content is hashed only when
+     * the workspace has no index for it.
+     */
+    boolean addSharedIndex(IPath jarPath) {
+        if (computeIndexLocation(jarPath).exists()) return false;
+        File sharedIndexFile = getSharedIndexFile(jarPath.toFile());
+        if (sharedIndexFile == null || !sharedIndexFile.exists()) return false;
+        String containerPathString = jarPath.getDevice() == null ? jarPath.toString() : jarPath.toOSString();
+        Index index;
+        try {
+            IndexLocation sharedLocation = IndexLocation.createIndexLocation(sharedIndexFile.toURI().toURL());
+            index = new Index(sharedLocation, containerPathString, true /*reuse index file*/);
+        } catch (IOException e) {
+            // corrupted or written by an incompatible version, the index built locally will replace it
+            if (JobManager.VERBOSE)
+                Util.verbose("-> cannot reuse shared index " + sharedIndexFile + " for " + jarPath); //-NLS-1$ //-NLS-2$
+            sharedIndexFile.delete();
+            return false;
+        }
+        addSharedIndex(jarPath, index);
+        if (JobManager.VERBOSE)
+            Util.verbose("-> reusing shared index " + sharedIndexFile + " for " + jarPath); //-NLS-1$ //-NLS-2$
+        return true;
+    }
+
+    private synchronized void addSharedIndex(IPath jarPath, Index index) {
+        IndexLocation localLocation = computeIndexLocation(jarPath);
+        IndexLocation sharedLocation = index.getIndexLocation();
+        getIndexStates().put(sharedLocation, REUSE_STATE);
+        this.indexLocations.put(jarPath, sharedLocation);
+        this.indexes.put(sharedLocation, index);
+        writeIndexMapFile();
+        if (!sharedLocation.equals(localLocation))
+            updateIndexState(localLocation, null);
+    }
+
     /**
      * Index the content of the given source folder.
      */
@@ -899,6 +954,14 @@ public class IndexManager extends JobManager implements IIndexConstants {
         this.javaPluginLocation = null;
     }
 
+    /**
+     * Stops the indexing and writes the in-memory index changes to disk, so they are reused on the next start.
+     */
+    public void shutdown() {
+        super.shutdown();
+        saveIndexes();
+    }
+
     /**
      * Resets the index for a given path.
      * Returns true if the index was reset, false otherwise.
@@ -931,7 +994,8 @@ public class IndexManager extends JobManager implements IIndexConstants {
 
     public void saveIndex(Index index) throws IOException {
         // must have permission to write from the write monitor
-        if (index.hasChanged()) {
+        boolean changed = index.hasChanged();
+        if (changed) {
             if (JobManager.VERBOSE)
                 Util.verbose("-> saving index " + index.getIndexLocation()); //$NON-NLS-1$
             index.save();
@@ -948,6 +1012,71 @@ public class IndexManager extends JobManager implements IIndexConstants {
             IndexLocation indexLocation = computeIndexLocation(containerPath);
             updateIndexState(indexLocation, SAVED_STATE);
         }
+        if (changed && index.isIndexForJar())
+            shareIndex(index);
+    }
+
+    /**
+     * Copies the saved index of an external jar to the shared location, unless an index for the same jar content is already there.
+     */
+    void shareIndex(Index index) {
+        File indexFile = index.getIndexFile();
+        File sharedIndexFile = getSharedIndexFile(new File(index.containerPath));
+        if (indexFile == null || sharedIndexFile == null || sharedIndexFile.exists() || sharedIndexFile.equals(indexFile)) return;
+
+        File tempFile = new File(this.sharedIndexLocation, sharedIndexFile.getName() + '.' + System.nanoTime() + ".tmp"); //$NON-NLS-1$
+        try {
+            tempFile.getParentFile().mkdirs();
+            Files.copy(indexFile.toPath(), tempFile.toPath());
+            Files.move(tempFile.toPath(), sharedIndexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (JobManager.VERBOSE)
+                Util.verbose("-> failed to share index " + indexFile + " for " + index.containerPath); //$NON-NLS-1$ //$NON-NLS-2$
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Returns the shared index file of an external jar, which is named after the checksum of the jar content,
+     * or null if jar indexes are not shared or the jar can't be read.
+     */
+    File getSharedIndexFile(File jar) {
+        if (this.sharedIndexLocation == null || !jar.isFile()) return null;
+
+        String key = jar.getPath() + '@' + jar.length() + '@' + jar.lastModified();
+        String checksum = this.jarChecksums.get(key);
+        if (checksum == null) {
+            try {
+                checksum = computeChecksum(jar);
+            } catch (IOException e) {
+                if (JobManager.VERBOSE)
+                    Util.verbose("-> failed to compute checksum of " + jar); //$NON-NLS-1$
+                return null;
+            }
+            this.jarChecksums.put(key, checksum);
+        }
+        return new File(this.sharedIndexLocation, checksum + ".index"); //$NON-NLS-1$
+    }
+
+    private static String computeChecksum(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder checksum = new StringBuilder();
+        for (byte b : digest.digest()) {
+            checksum.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return checksum.toString();
     }
 
     /**
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.core.JavaCorePreferenceInitializer;
+import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.corext.format.CheCodeFormatterInitializer;
 import org.eclipse.jdt.internal.corext.template.java.AbstractJavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.CodeTemplateContextType;
@@ -226,6 +227,7 @@ public class JavaPlugin {
         }
 
         QualifiedTypeNameHistory.getDefault().save();
+        JavaModelManager.getIndexManager().shutdown();
     }
 
     /**
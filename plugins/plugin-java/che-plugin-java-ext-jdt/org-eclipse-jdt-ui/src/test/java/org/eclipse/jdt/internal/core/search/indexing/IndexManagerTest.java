@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for sharing of jar indexes between workspaces.
+ */
+public class IndexManagerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File  sharedDir;
+    private File  jar;
+    private IPath jarPath;
+
+    @Before
+    public void setUp() throws Exception {
+        sharedDir = folder.newFolder("shared");
+        jar = folder.newFile("lib.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("a/A.class"));
+            out.write(new byte[]{(byte)0xCA, (byte)0xFE, (byte)0xBA, (byte)0xBE});
+            out.closeEntry();
+        }
+        jarPath = new Path(jar.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldShareSavedJarIndex() throws Exception {
+        IndexManager manager = newIndexManager("ws1");
+
+        File localIndexFile = buildIndex(manager);
+
+        File sharedIndexFile = manager.getSharedIndexFile(jar);
+        assertNotNull(sharedIndexFile);
+        assertEquals(sharedIndexFile.getParentFile(), sharedDir);
+        assertTrue(sharedIndexFile.exists());
+        assertArrayEquals(Files.readAllBytes(localIndexFile.toPath()), Files.readAllBytes(sharedIndexFile.toPath()));
+        // index is copied to temporary file first and then atomically moved in place
+        assertArrayEquals(new String[]{sharedIndexFile.getName()}, sharedDir.list());
+    }
+
+    @Test
+    public void shouldNotReplaceIndexAlreadySharedForSameJarContent() throws Exception {
+        IndexManager manager = newIndexManager("ws1");
+        File sharedIndexFile = manager.getSharedIndexFile(jar);
+        Files.write(sharedIndexFile.toPath(), "shared by another workspace".getBytes(StandardCharsets.UTF_8));
+
+        buildIndex(manager);
+
+        assertEquals("shared by another workspace", new String(Files.readAllBytes(sharedIndexFile.toPath()), StandardCharsets.UTF_8));
+        assertArrayEquals(new String[]{sharedIndexFile.getName()}, sharedDir.list());
+    }
+
+    @Test
+    public void shouldReuseIndexSharedByAnotherWorkspace() throws Exception {
+        buildIndex(newIndexManager("ws1"));
+        IndexManager manager = newIndexManager("ws2");
+
+        assertTrue(manager.addSharedIndex(jarPath));
+
+        File sharedIndexFile = manager.getSharedIndexFile(jar);
+        assertEquals(sharedIndexFile, manager.computeIndexLocation(jarPath).getIndexFile());
+        Index index = manager.getIndex(manager.computeIndexLocation(jarPath));
+        assertNotNull(index);
+        assertTrue(index.isIndexForJar());
+    }
+
+    @Test
+    public void shouldNotReuseSharedIndexWhenWorkspaceHasItsOwnIndex() throws Exception {
+        IndexManager manager = newIndexManager("ws1");
+        File localIndexFile = buildIndex(manager);
+
+        assertFalse(newIndexManager("ws1").addSharedIndex(jarPath));
+        assertEquals(localIndexFile, newIndexManager("ws1").computeIndexLocation(jarPath).getIndexFile());
+    }
+
+    @Test
+    public void shouldNotReuseSharedIndexOfJarWithDifferentContent() throws Exception {
+        buildIndex(newIndexManager("ws1"));
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("b/B.class"));
+            out.closeEntry();
+        }
+
+        assertFalse(newIndexManager("ws2").addSharedIndex(jarPath));
+    }
+
+    @Test
+    public void shouldDeleteCorruptedSharedIndex() throws Exception {
+        IndexManager manager = newIndexManager("ws1");
+        File sharedIndexFile = manager.getSharedIndexFile(jar);
+        Files.write(sharedIndexFile.toPath(), "not an index".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(manager.addSharedIndex(jarPath));
+
+        assertFalse(sharedIndexFile.exists());
+        assertNull(manager.getIndex(manager.computeIndexLocation(jarPath)));
+    }
+
+    @Test
+    public void shouldReplaceCorruptedSharedIndexWithIndexBuiltLocally() throws Exception {
+        IndexManager manager = newIndexManager("ws1");
+        File sharedIndexFile = manager.getSharedIndexFile(jar);
+        Files.write(sharedIndexFile.toPath(), "not an index".getBytes(StandardCharsets.UTF_8));
+        assertFalse(manager.addSharedIndex(jarPath));
+
+        File localIndexFile = buildIndex(manager);
+
+        assertArrayEquals(Files.readAllBytes(localIndexFile.toPath()), Files.readAllBytes(sharedIndexFile.toPath()));
+        assertTrue(newIndexManager("ws2").addSharedIndex(jarPath));
+    }
+
+    @Test
+    public void shouldNotShareIndexesWhenSharedLocationIsNotSet() throws Exception {
+        IndexManager manager = new IndexManager(folder.newFolder("ws").getAbsolutePath(), null);
+
+        buildIndex(manager);
+
+        assertNull(manager.getSharedIndexFile(jar));
+        assertFalse(manager.addSharedIndex(jarPath));
+        assertEquals(0, sharedDir.list().length);
+    }
+
+    private IndexManager newIndexManager(String workspace) throws IOException {
+        File indexDir = new File(folder.getRoot(), workspace);
+        if (!indexDir.exists()) {
+            indexDir = folder.newFolder(workspace);
+        }
+        return new IndexManager(indexDir.getAbsolutePath(), sharedDir.getAbsolutePath());
+    }
+
+    /** Builds and saves index of the jar the same way {@link AddJarFileToIndex} does, returns the saved index file. */
+    private File buildIndex(IndexManager manager) throws IOException {
+        Index index = new Index(manager.computeIndexLocation(jarPath), jarPath.toOSString(), false);
+        index.separator = Index.JAR_SEPARATOR;
+        index.addIndexEntry("typeDecl".toCharArray(), "A/a/C".toCharArray(), "a/A.class");
+        manager.saveIndex(index);
+        return index.getIndexFile();
+    }
+}
@@ -10,33 +10,61 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java.client.editor;
 
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.DocumentChanges;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.websocket.MessageBuilder;
+import org.eclipse.che.ide.websocket.MessageBus;
+import org.eclipse.che.ide.websocket.MessageBusProvider;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.RequestCallback;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+
+import static org.eclipse.che.ide.MimeType.APPLICATION_JSON;
+import static org.eclipse.che.ide.MimeType.TEXT_PLAIN;
+import static org.eclipse.che.ide.ext.java.shared.Constants.RECONCILE_CHANNEL_PREFIX;
+import static org.eclipse.che.ide.rest.HTTPHeader.CONTENTTYPE;
 
 /**
+ * Client of the java reconcile service.
+ *
+ * <p>Besides single reconcile of the saved file it manages reconcile sessions of editors over websocket:
+ * editor opens session with its content, then sends only text changes and receives reconcile results
+ * from the channel of the session.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class JavaReconcileClient {
+    private static final String SESSION_PATH = "/java/reconcile/session/";
 
     private final DtoUnmarshallerFactory dtoUnmarshallerFactory;
     private final AsyncRequestFactory    asyncRequestFactory;
-    private final AppContext appContext;
+    private final AppContext             appContext;
+    private final MessageBusProvider     messageBusProvider;
+    private final DtoFactory             dtoFactory;
 
     @Inject
     public JavaReconcileClient(DtoUnmarshallerFactory dtoUnmarshallerFactory,
                                AppContext appContext,
-                               AsyncRequestFactory asyncRequestFactory) {
+                               AsyncRequestFactory asyncRequestFactory,
+                               MessageBusProvider messageBusProvider,
+                               DtoFactory dtoFactory) {
         this.appContext = appContext;
         this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
         this.asyncRequestFactory = asyncRequestFactory;
+        this.messageBusProvider = messageBusProvider;
+        this.dtoFactory = dtoFactory;
     }
 
     public void reconcile(String projectPath, String fqn, final ReconcileCallback callback) {
@@ -55,6 +83,112 @@ public class JavaReconcileClient {
                            });
     }
 
+    /**
+     * Subscribes to results of the session and opens it with the given content of the editor.
+     * Callback receives results only for changed parts, see {@link ReconcileResult#isProblemsUnchanged()}.
+     *
+     * @return handler of the subscription which is needed to close the session
+     */
+    public SubscriptionHandler<ReconcileResult> openSession(String sessionId,
+                                                            String projectPath,
+                                                            String fqn,
+                                                            String content,
+                                                            final ReconcileCallback callback,
+                                                            AsyncCallback<Void> openCallback) {
+        final SubscriptionHandler<ReconcileResult> handler =
+                new SubscriptionHandler<ReconcileResult>(dtoUnmarshallerFactory.newWSUnmarshaller(ReconcileResult.class)) {
+                    @Override
+                    protected void onMessageReceived(ReconcileResult result) {
+                        callback.onReconcile(result);
+                    }
+
+                    @Override
+                    protected void onErrorReceived(Throwable exception) {
+                        Log.error(JavaReconcileClient.class, exception);
+                    }
+                };
+        final MessageBus messageBus = messageBusProvider.getMachineMessageBus();
+        if (messageBus == null) {
+            openCallback.onFailure(new IllegalStateException("Workspace agent isn't connected"));
+            return handler;
+        }
+        final MessageBuilder builder = new MessageBuilder(RequestBuilder.POST, SESSION_PATH + sessionId + "?projectpath=" + projectPath
+                                                                               + "&fqn=" + fqn);
+        builder.data(content).header(CONTENTTYPE, TEXT_PLAIN);
+        try {
+            messageBus.subscribe(RECONCILE_CHANNEL_PREFIX + sessionId, handler);
+            messageBus.send(builder.build(), new VoidCallback(openCallback));
+        } catch (WebSocketException e) {
+            openCallback.onFailure(e);
+        }
+        return handler;
+    }
+
+    /** Sends changes of the editor document to the session. */
+    public void sendChanges(String sessionId, DocumentChanges changes, AsyncCallback<Void> callback) {
+        final MessageBuilder builder = new MessageBuilder(RequestBuilder.POST, SESSION_PATH + sessionId + "/changes");
+        builder.data(dtoFactory.toJson(changes)).header(CONTENTTYPE, APPLICATION_JSON);
+        send(builder, callback);
+    }
+
+    /** Asks to reconcile the session without waiting for changes. */
+    public void reconcileSession(String sessionId, AsyncCallback<Void> callback) {
+        send(new MessageBuilder(RequestBuilder.POST, SESSION_PATH + sessionId + "/reconcile"), callback);
+    }
+
+    /** Closes the session and unsubscribes the handler returned by {@link #openSession}. */
+    public void closeSession(String sessionId, SubscriptionHandler<ReconcileResult> handler) {
+        final MessageBus messageBus = messageBusProvider.getMachineMessageBus();
+        if (messageBus == null) {
+            return;
+        }
+        try {
+            if (messageBus.isHandlerSubscribed(handler, RECONCILE_CHANNEL_PREFIX + sessionId)) {
+                messageBus.unsubscribe(RECONCILE_CHANNEL_PREFIX + sessionId, handler);
+            }
+            messageBus.send(new MessageBuilder(RequestBuilder.DELETE, SESSION_PATH + sessionId).build(), new VoidCallback(null));
+        } catch (WebSocketException e) {
+            Log.error(JavaReconcileClient.class, e);
+        }
+    }
+
+    private void send(MessageBuilder builder, AsyncCallback<Void> callback) {
+        final MessageBus messageBus = messageBusProvider.getMachineMessageBus();
+        if (messageBus == null) {
+            callback.onFailure(new IllegalStateException("Workspace agent isn't connected"));
+            return;
+        }
+        try {
+            messageBus.send(builder.build(), new VoidCallback(callback));
+        } catch (WebSocketException e) {
+            callback.onFailure(e);
+        }
+    }
+
+    private static class VoidCallback extends RequestCallback<Void> {
+        private final AsyncCallback<Void> callback;
+
+        VoidCallback(AsyncCallback<Void> callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        protected void onSuccess(Void result) {
+            if (callback != null) {
+                callback.onSuccess(null);
+            }
+        }
+
+        @Override
+        protected void onFailure(Throwable exception) {
+            if (callback != null) {
+                callback.onFailure(exception);
+            } else {
+                Log.error(JavaReconcileClient.class, exception);
+            }
+        }
+    }
+
     public interface ReconcileCallback {
         void onReconcile(ReconcileResult result);
     }
@@ -10,17 +10,24 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java.client.editor;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
 import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 
 import org.eclipse.che.ide.api.editor.EditorWithErrors;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeHandler;
 import org.eclipse.che.ide.api.resources.VirtualFile;
 import org.eclipse.che.ide.api.editor.text.Region;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEvent;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEventHandler;
 import org.eclipse.che.ide.ext.java.client.projecttree.JavaSourceFolderUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.DocumentChanges;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
@@ -28,11 +35,22 @@ import org.eclipse.che.ide.api.editor.document.Document;
 import org.eclipse.che.ide.api.editor.reconciler.DirtyRegion;
 import org.eclipse.che.ide.api.editor.reconciler.ReconcilingStrategy;
 import org.eclipse.che.ide.api.editor.texteditor.TextEditorPresenter;
+import org.eclipse.che.ide.util.UUID;
 import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Reconciling strategy of java editor.
+ *
+ * <p>Strategy keeps reconcile session on the server: the session is opened with the content of the document,
+ * then only text changes are sent and the server reconciles its working copy in background and sends back
+ * changed problems and highlighted positions. If the session can't be opened, e.g. for a file which isn't
+ * in source folder, the saved file is reconciled after each autosave.
+ */
 public class JavaReconcilerStrategy implements ReconcilingStrategy {
 
 
@@ -43,16 +61,28 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
     private       SemanticHighlightRenderer highlighter;
     private       JavaReconcileClient       client;
     private       VirtualFile               file;
+    private       Document                  document;
     private boolean first = true;
 
+    private final DtoFactory                           dtoFactory;
+    private final List<Change>                         pendingChanges = new ArrayList<>();
+    private       HandlerRegistration                  documentChangeRegistration;
+    private       SubscriptionHandler<ReconcileResult> sessionHandler;
+    private       String                               sessionId;
+    private       boolean                              sessionOpened;
+    private       boolean                              flushScheduled;
+    private       int                                  version;
+
     @AssistedInject
     public JavaReconcilerStrategy(@Assisted @NotNull final TextEditorPresenter<?> editor,
                                   @Assisted final JavaCodeAssistProcessor codeAssistProcessor,
                                   @Assisted final AnnotationModel annotationModel,
                                   final JavaReconcileClient client,
                                   final SemanticHighlightRenderer highlighter,
+                                  final DtoFactory dtoFactory,
                                   EventBus eventBus) {
         this.editor = editor;
+        this.dtoFactory = dtoFactory;
         this.client = client;
         this.codeAssistProcessor = codeAssistProcessor;
         this.annotationModel = annotationModel;
@@ -61,7 +91,20 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
         handlerRegistration = eventBus.addHandler(DependencyUpdatedEvent.TYPE, new DependencyUpdatedEventHandler() {
             @Override
             public void onDependencyUpdated() {
-                parse();
+                if (sessionOpened) {
+                    client.reconcileSession(sessionId, new AsyncCallback<Void>() {
+                        @Override
+                        public void onFailure(Throwable caught) {
+                            Log.error(JavaReconcilerStrategy.class, caught);
+                        }
+
+                        @Override
+                        public void onSuccess(Void result) {
+                        }
+                    });
+                } else {
+                    parse();
+                }
             }
         });
     }
@@ -70,11 +113,24 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
     public void setDocument(final Document document) {
         file = editor.getEditorInput().getFile();
         highlighter.init(editor.getHasTextMarkers(), document);
+        if (this.document == null) {
+            this.document = document;
+            DocumentChangeHandler changeHandler = new DocumentChangeHandler() {
+                @Override
+                public void onDocumentChange(DocumentChangeEvent event) {
+                    addChange(event);
+                }
+            };
+            documentChangeRegistration = document.getDocumentHandle().getDocEventBus().addHandler(DocumentChangeEvent.TYPE, changeHandler);
+            openSession();
+        }
     }
 
     @Override
     public void reconcile(final DirtyRegion dirtyRegion, final Region subRegion) {
-        parse();
+        if (sessionId == null) {
+            parse();
+        }
     }
 
     public void parse() {
@@ -100,7 +156,116 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
 
     @Override
     public void reconcile(final Region partition) {
-        parse();
+        if (sessionId == null) {
+            parse();
+        }
+    }
+
+    private void openSession() {
+        if (first) {
+            codeAssistProcessor.disableCodeAssistant();
+            first = false;
+        }
+        final String id = UUID.uuid();
+        sessionId = id;
+        sessionOpened = false;
+        version = 0;
+        pendingChanges.clear();
+        String fqn = JavaSourceFolderUtil.getFQNForFile(file);
+        sessionHandler = client.openSession(id, file.getProject().getProjectConfig().getPath(), fqn, document.getContents(),
+                                            new JavaReconcileClient.ReconcileCallback() {
+                                                @Override
+                                                public void onReconcile(ReconcileResult result) {
+                                                    onSessionReconcile(result);
+                                                }
+                                            },
+                                            new AsyncCallback<Void>() {
+                                                @Override
+                                                public void onSuccess(Void result) {
+                                                    if (id.equals(sessionId)) {
+                                                        sessionOpened = true;
+                                                        flushChanges();
+                                                    }
+                                                }
+
+                                                @Override
+                                                public void onFailure(Throwable caught) {
+                                                    if (id.equals(sessionId)) {
+                                                        // reconcile saved file as before
+                                                        closeSession();
+                                                        parse();
+                                                    }
+                                                }
+                                            });
+    }
+
+    private void closeSession() {
+        if (sessionId != null) {
+            client.closeSession(sessionId, sessionHandler);
+        }
+        sessionId = null;
+        sessionHandler = null;
+        sessionOpened = false;
+        pendingChanges.clear();
+    }
+
+    private void addChange(DocumentChangeEvent event) {
+        if (sessionId == null) {
+            return;
+        }
+        pendingChanges.add(dtoFactory.createDto(Change.class)
+                                     .withOffset(event.getOffset())
+                                     .withLength(event.getRemoveCharCount())
+                                     .withText(event.getText()));
+        if (sessionOpened && !flushScheduled) {
+            flushScheduled = true;
+            // changes made by one editor action are sent together
+            Scheduler.get().scheduleDeferred(new Scheduler.ScheduledCommand() {
+                @Override
+                public void execute() {
+                    flushScheduled = false;
+                    flushChanges();
+                }
+            });
+        }
+    }
+
+    private void flushChanges() {
+        if (!sessionOpened || pendingChanges.isEmpty()) {
+            return;
+        }
+        final String id = sessionId;
+        DocumentChanges changes = dtoFactory.createDto(DocumentChanges.class)
+                                            .withVersion(++version)
+                                            .withChanges(new ArrayList<>(pendingChanges));
+        pendingChanges.clear();
+        client.sendChanges(id, changes, new AsyncCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+            }
+
+            @Override
+            public void onFailure(Throwable caught) {
+                if (id.equals(sessionId)) {
+                    // session was expired or lost changes on the server, open new one with the current content
+                    closeSession();
+                    openSession();
+                }
+            }
+        });
+    }
+
+    private void onSessionReconcile(ReconcileResult result) {
+        if (result == null || result.getVersion() != version) {
+            // document was changed after reconcile, result for the latest changes will come later
+            return;
+        }
+        if (!result.isProblemsUnchanged()) {
+            doReconcile(result.getProblems());
+        }
+        if (!result.isHighlightedPositionsUnchanged()) {
+            highlighter.reconcile(result.getHighlightedPositions());
+        }
     }
 
     public VirtualFile getFile() {
@@ -155,5 +320,9 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
         if (handlerRegistration != null) {
             handlerRegistration.removeHandler();
         }
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+        }
+        closeSession();
     }
 }
@@ -13,17 +13,26 @@ package org.eclipse.che.plugin.java.server.rest;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.ide.ext.java.shared.dto.DocumentChanges;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.che.jdt.javaeditor.ReconcileSessionManager;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
 
 /**
  * @author Evgen Vidolob
@@ -36,6 +45,9 @@ public class JavaReconcileService {
     @Inject
     private JavaReconciler reconciler;
 
+    @Inject
+    private ReconcileSessionManager sessionManager;
+
     @GET
     @Produces("application/json")
     public ReconcileResult reconcile(@QueryParam("projectpath") String projectPath, @QueryParam("fqn") String fqn)
@@ -43,4 +55,45 @@ public class JavaReconcileService {
         IJavaProject javaProject = model.getJavaProject(projectPath);
         return reconciler.reconcile(javaProject, fqn);
     }
+
+    /**
+     * Opens reconcile session of the editor, results of reconcile are sent to websocket channel of the session.
+     *
+     * @param sessionId
+     *         id of the session generated by editor
+     * @param content
+     *         current content of the editor
+     */
+    @POST
+    @Path("session/{id}")
+    @Consumes(MediaType.TEXT_PLAIN)
+    public void openSession(@PathParam("id") String sessionId,
+                            @QueryParam("projectpath") String projectPath,
+                            @QueryParam("fqn") String fqn,
+                            String content) throws NotFoundException, JavaModelException {
+        sessionManager.open(sessionId, model.getJavaProject(projectPath), fqn, content);
+    }
+
+    /** Applies changes of the editor document to the working copy of the session. */
+    @POST
+    @Path("session/{id}/changes")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public void applyChanges(@PathParam("id") String sessionId, DocumentChanges changes) throws NotFoundException,
+                                                                                                ConflictException,
+                                                                                                JavaModelException {
+        sessionManager.applyChanges(sessionId, changes.getVersion(), changes.getChanges());
+    }
+
+    /** Reconciles the session without waiting for changes, e.g. after dependencies of the project were updated. */
+    @POST
+    @Path("session/{id}/reconcile")
+    public void reconcileSession(@PathParam("id") String sessionId) throws NotFoundException {
+        sessionManager.reconcile(sessionId);
+    }
+
+    @DELETE
+    @Path("session/{id}")
+    public void closeSession(@PathParam("id") String sessionId) {
+        sessionManager.close(sessionId);
+    }
 }
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.javaeditor;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
+import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ReconcileSession}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ReconcileSessionTest {
+
+    @Mock
+    private ICompilationUnit workingCopy;
+    @Mock
+    private IBuffer          buffer;
+    @Mock
+    private JavaReconciler   reconciler;
+
+    private ReconcileSession session;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(workingCopy.getBuffer()).thenReturn(buffer);
+        session = new ReconcileSession("session", workingCopy, new WorkingCopyOwner() {}, new JavaReconciler.ProblemRequestor());
+    }
+
+    @Test
+    public void shouldApplyChangesInVersionOrder() throws Exception {
+        assertFalse(session.applyChanges(2, singletonList(change(1, 0, "b"))));
+        verify(buffer, never()).replace(anyInt(), anyInt(), anyString());
+
+        assertTrue(session.applyChanges(1, singletonList(change(0, 0, "a"))));
+
+        InOrder inOrder = inOrder(buffer);
+        inOrder.verify(buffer).replace(0, 0, "a");
+        inOrder.verify(buffer).replace(1, 0, "b");
+    }
+
+    @Test
+    public void shouldNotApplyChangesTwice() throws Exception {
+        session.applyChanges(1, singletonList(change(0, 1, null)));
+
+        assertFalse(session.applyChanges(1, singletonList(change(0, 1, null))));
+
+        verify(buffer).replace(0, 1, "");
+    }
+
+    @Test
+    public void shouldSendOnlyChangedPartsOfResult() throws Exception {
+        List<Problem> problems = singletonList(DtoFactory.newDto(Problem.class).withMessage("problem"));
+        List<HighlightedPosition> positions = singletonList(position(10));
+        when(reconciler.reconcile(any(), any(), any(), any())).thenReturn(result(problems, positions),
+                                                                           result(problems, singletonList(position(11))),
+                                                                           result(problems, singletonList(position(11))));
+        session.applyChanges(1, singletonList(change(0, 0, "a")));
+
+        ReconcileResult first = session.reconcile(reconciler);
+        ReconcileResult second = session.reconcile(reconciler);
+        ReconcileResult third = session.reconcile(reconciler);
+
+        assertEquals(first.getVersion(), 1);
+        assertEquals(first.getProblems(), problems);
+        assertEquals(first.getHighlightedPositions(), positions);
+        assertTrue(second.isProblemsUnchanged());
+        assertTrue(second.getProblems().isEmpty());
+        assertFalse(second.isHighlightedPositionsUnchanged());
+        assertEquals(second.getHighlightedPositions(), singletonList(position(11)));
+        assertNull(third);
+    }
+
+    @Test
+    public void shouldSendWholeResultOfNewVersion() throws Exception {
+        List<Problem> problems = singletonList(DtoFactory.newDto(Problem.class).withMessage("problem"));
+        List<HighlightedPosition> positions = singletonList(position(10));
+        when(reconciler.reconcile(any(), any(), any(), any())).thenReturn(result(problems, positions), result(problems, positions));
+        session.applyChanges(1, singletonList(change(0, 0, "a")));
+        session.reconcile(reconciler);
+        session.applyChanges(2, singletonList(change(1, 0, "b")));
+
+        ReconcileResult result = session.reconcile(reconciler);
+
+        assertEquals(result.getVersion(), 2);
+        assertFalse(result.isProblemsUnchanged());
+        assertEquals(result.getProblems(), problems);
+        assertFalse(result.isHighlightedPositionsUnchanged());
+        assertEquals(result.getHighlightedPositions(), positions);
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldRejectChangesWhenPreviousVersionIsLost() throws Exception {
+        for (int version = 2; version <= ReconcileSession.MAX_PENDING_CHANGES + 2; version++) {
+            session.applyChanges(version, singletonList(change(0, 0, "a")));
+        }
+    }
+
+    @Test
+    public void shouldCancelRunningReconcileWhenChangesAreApplied() throws Exception {
+        CountDownLatch reconcileStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            IProgressMonitor monitor = (IProgressMonitor)invocation.getArguments()[3];
+            reconcileStarted.countDown();
+            for (int i = 0; i < 500 && !monitor.isCanceled(); i++) {
+                Thread.sleep(10);
+            }
+            return monitor.isCanceled() ? null : result(Collections.emptyList(), Collections.emptyList());
+        }).when(reconciler).reconcile(any(), any(), any(), any());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ReconcileResult> reconcile = executor.submit(() -> session.reconcile(reconciler));
+            assertTrue(reconcileStarted.await(5, TimeUnit.SECONDS));
+
+            assertTrue(session.applyChanges(1, singletonList(change(0, 0, "a"))));
+
+            assertNull(reconcile.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Change change(int offset, int length, String text) {
+        return DtoFactory.newDto(Change.class).withOffset(offset).withLength(length).withText(text);
+    }
+
+    private static HighlightedPosition position(int offset) {
+        HighlightedPosition position = DtoFactory.newDto(HighlightedPosition.class);
+        position.setOffset(offset);
+        position.setLength(3);
+        position.setType("field");
+        return position;
+    }
+
+    private static ReconcileResult result(List<Problem> problems, List<HighlightedPosition> positions) {
+        ReconcileResult result = DtoFactory.newDto(ReconcileResult.class);
+        result.setProblems(problems);
+        result.setHighlightedPositions(positions);
+        return result;
+    }
+}
@@ -28,6 +28,9 @@ public final class Constants {
 
     public static String JAVAC                       = "javac";
 
+    /** Prefix of websocket channel which delivers reconcile results of the editor session, followed by session id. */
+    public static String RECONCILE_CHANNEL_PREFIX    = "java:reconcile:";
+
     private Constants() {
         throw new UnsupportedOperationException("Unused constructor.");
     }
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Text changes of the document which is opened in the editor, sent to the reconcile session of the document.
+ */
+@DTO
+public interface DocumentChanges {
+
+    /**
+     * Returns version of the document after the changes are applied.
+     * Versions are counted by editor from 1, the document content which session is opened with has version 0.
+     */
+    int getVersion();
+
+    void setVersion(int version);
+
+    DocumentChanges withVersion(int version);
+
+    /** Returns changes in the order they were made, offsets of each change are relative to the text after previous one. */
+    List<Change> getChanges();
+
+    void setChanges(List<Change> changes);
+
+    DocumentChanges withChanges(List<Change> changes);
+}
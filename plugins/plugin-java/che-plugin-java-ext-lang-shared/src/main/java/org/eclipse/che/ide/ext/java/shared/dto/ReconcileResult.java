@@ -29,4 +29,18 @@ public interface ReconcileResult {
 
     void setHighlightedPositions(List<HighlightedPosition> positions);
 
+    /** Returns version of the document which was reconciled, see {@link DocumentChanges#getVersion()}. */
+    int getVersion();
+
+    void setVersion(int version);
+
+    /** Returns {@code true} if problems are the same as in previous result of the session and aren't sent. */
+    boolean isProblemsUnchanged();
+
+    void setProblemsUnchanged(boolean problemsUnchanged);
+
+    /** Returns {@code true} if highlighted positions are the same as in previous result of the session and aren't sent. */
+    boolean isHighlightedPositionsUnchanged();
+
+    void setHighlightedPositionsUnchanged(boolean highlightedPositionsUnchanged);
 }
@@ -56,6 +56,7 @@ import static org.eclipse.che.ide.ui.loaders.initialization.InitialLoadingInfo.O
 import static org.eclipse.che.ide.ui.loaders.initialization.OperationInfo.Status.ERROR;
 import static org.eclipse.che.ide.ui.loaders.initialization.OperationInfo.Status.IN_PROGRESS;
 import static org.eclipse.che.ide.ui.loaders.initialization.OperationInfo.Status.SUCCESS;
+import static org.eclipse.che.ide.websocket.rest.CompactDtoUnmarshaller.compactChannel;
 
 /**
  * Manager for machine operations.
@@ -344,7 +345,7 @@ public class MachineManagerImpl implements MachineManager, WorkspaceStoppedHandl
             machineConfig.getLink(LINK_REL_GET_MACHINE_STATUS_CHANNEL) != null) {
             final LinkParameter logsChannelLinkParameter = machineConfig.getLink(LINK_REL_GET_MACHINE_LOGS_CHANNEL).getParameter("channel");
             if (logsChannelLinkParameter != null) {
-                outputChannel = logsChannelLinkParameter.getDefaultValue();
+                outputChannel = compactChannel(logsChannelLinkParameter.getDefaultValue());
             }
             final LinkParameter statusChannelLinkParameter =
                     machineConfig.getLink(LINK_REL_GET_MACHINE_STATUS_CHANNEL).getParameter("channel");
@@ -353,7 +354,7 @@ public class MachineManagerImpl implements MachineManager, WorkspaceStoppedHandl
             }
         }
         if (outputChannel != null && statusChannel != null) {
-            wsAgentLogChannel = "workspace:" + appContext.getWorkspaceId() + ":ext-server:output";
+            wsAgentLogChannel = compactChannel("workspace:" + appContext.getWorkspaceId() + ":ext-server:output");
             subscribeToChannel(wsAgentLogChannel, outputHandler);
             subscribeToChannel(outputChannel, outputHandler);
             subscribeToChannel(statusChannel, statusHandler);
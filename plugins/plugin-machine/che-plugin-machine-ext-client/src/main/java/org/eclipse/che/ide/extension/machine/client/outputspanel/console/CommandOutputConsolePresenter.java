@@ -40,6 +40,7 @@ import java.util.List;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.eclipse.che.ide.extension.machine.client.command.edit.EditCommandsPresenter.PREVIEW_URL_ATTR;
+import static org.eclipse.che.ide.websocket.rest.CompactDtoUnmarshaller.compactChannel;
 
 /**
  * Console for command output.
@@ -131,7 +132,8 @@ public class CommandOutputConsolePresenter implements CommandOutputConsole, Outp
         view.enableStopButton(true);
         view.toggleScrollToEndButton(true);
 
-        outputChannel = wsChannel;
+        // compact channel gets output as arrays of lines when it is sent in batches
+        outputChannel = compactChannel(wsChannel);
         outputHandler = new SubscriptionHandler<String>(new OutputMessageUnmarshaller()) {
             @Override
             protected void onMessageReceived(String result) {
@@ -157,8 +159,8 @@ public class CommandOutputConsolePresenter implements CommandOutputConsole, Outp
 
         view.showCommandLine(process.getCommandLine());
 
-        final Unmarshallable<MachineProcessEvent> unmarshaller = dtoUnmarshallerFactory.newWSUnmarshaller(MachineProcessEvent.class);
-        final String processStateChannel = "machine:process:" + machineId;
+        final Unmarshallable<MachineProcessEvent> unmarshaller = dtoUnmarshallerFactory.newWSCompactUnmarshaller(MachineProcessEvent.class);
+        final String processStateChannel = compactChannel("machine:process:" + machineId);
         final MessageHandler handler = new SubscriptionHandler<MachineProcessEvent>(unmarshaller) {
             @Override
             protected void onMessageReceived(MachineProcessEvent result) {
@@ -36,21 +36,45 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
     private static final Logger LOG = LoggerFactory.getLogger(MavenServerWrapper.class);
     private MavenCustomization customization;
 
+    /** Workspace cache which the wrapped server has a copy of. */
+    private MavenWorkspaceCache syncedCache;
+    /** Generation of the copy of workspace cache which the wrapped server has. */
+    private long                syncedGeneration;
+
     @Override
     protected void wrappedCreated() throws RemoteException {
         super.wrappedCreated();
+        syncedCache = null;
         if (customization != null) {
             customizeMaven();
         }
     }
 
     private void customizeMaven() throws RemoteException {
-        getOrCreateWrappedObject()
-                .setComponents(customization.cache,
-                               customization.failOnUnresolvedDependency,
-                               customization.mavenTerminal,
-                               customization.notifier,
-                               customization.alwaysUpdateSnapshot);
+        MavenServer server = getOrCreateWrappedObject();
+        syncWorkspaceCache(server, customization.cache);
+        server.setComponents(customization.failOnUnresolvedDependency,
+                             customization.mavenTerminal,
+                             customization.notifier,
+                             customization.alwaysUpdateSnapshot);
+    }
+
+    /**
+     * Sends to the server only changes of workspace cache made since the last customization,
+     * whole cache is sent only if the server doesn't have a copy of the cache yet or changes aren't kept anymore.
+     */
+    private void syncWorkspaceCache(MavenServer server, MavenWorkspaceCache cache) throws RemoteException {
+        if (cache == syncedCache) {
+            MavenWorkspaceCache.Update update = cache.getUpdate(syncedGeneration);
+            if (update != null && (update.isEmpty() || server.updateWorkspaceCache(update))) {
+                syncedGeneration = update.getGeneration();
+                return;
+            }
+        }
+        MavenWorkspaceCache copy = cache.copy();
+        server.setWorkspaceCache(copy);
+        syncedCache = cache;
+        syncedGeneration = copy.getGeneration();
     }
 
 
@@ -23,6 +23,7 @@ import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
@@ -32,6 +33,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +68,7 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final PomModelCache         pomModelCache;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
@@ -78,12 +81,14 @@ public class MavenProjectManager {
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
-                               EclipseWorkspaceProvider workspaceProvider) {
+                               EclipseWorkspaceProvider workspaceProvider,
+                               PomModelCache pomModelCache) {
         this.wrapperManager = wrapperManager;
         this.serverManager = serverManager;
         this.terminal = terminal;
         this.mavenNotifier = mavenNotifier;
         this.workspaceProvider = workspaceProvider;
+        this.pomModelCache = pomModelCache;
         mavenWorkspaceCache = new MavenWorkspaceCache();
         keyToProjectMap = new HashMap<>();
         projectToMavenProjectMap = new HashMap<>();
@@ -117,8 +122,8 @@ public class MavenProjectManager {
         try {
 
             mavenNotifier.setText("Resolving project: " + mavenProject.getName());
-            mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
+            mavenServer.customize(mavenWorkspaceCache, terminal, mavenNotifier, false, true);
+            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager, pomModelCache);
             dispatcher.projectResolved(mavenProject, modifications);
 
         } finally {
@@ -196,7 +201,7 @@ public class MavenProjectManager {
         }
         MavenProjectModifications modifications = new MavenProjectModifications();
         //re read maven project meta info from pom.xml
-        modifications = modifications.addChanges(mavenProject.read(serverManager));
+        modifications = modifications.addChanges(mavenProject.read(serverManager, pomModelCache));
 
         writeLock.lock();
         try {
@@ -407,13 +412,12 @@ public class MavenProjectManager {
         }
     }
 
-    public MavenWorkspaceCache copyWorkspaceCache() {
-        readLock.lock();
-        try {
-            return mavenWorkspaceCache.copy();
-        } finally {
-            readLock.unlock();
-        }
+    /**
+     * Returns workspace cache of all maven projects. Returned cache is changed along with projects,
+     * {@link MavenServerWrapper} sends only changes of the cache to maven server.
+     */
+    public MavenWorkspaceCache getWorkspaceCache() {
+        return mavenWorkspaceCache;
     }
 
     public List<MavenProject> findDependentProjects(List<MavenProject> projects) {
@@ -458,6 +462,32 @@ public class MavenProjectManager {
         }
     }
 
+    /**
+     * Returns workspace projects which given project refers to as its parent or dependencies.
+     * Dependencies are known only after the project was resolved at least once.
+     */
+    public List<MavenProject> findRequiredProjects(MavenProject mavenProject) {
+        readLock.lock();
+        try {
+            Set<MavenProject> result = new LinkedHashSet<>();
+            MavenProject parent = keyToProjectMap.get(mavenProject.getParentKey());
+            if (parent != null) {
+                result.add(parent);
+            }
+            for (MavenArtifact artifact : mavenProject.getDependencies()) {
+                MavenProject dependency =
+                        keyToProjectMap.get(new MavenKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+                if (dependency != null) {
+                    result.add(dependency);
+                }
+            }
+            result.remove(mavenProject);
+            return new ArrayList<>(result);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     private boolean contains(Set<MavenKey> mavenKeys, String artifactId, String groupId, String version) {
         return mavenKeys.stream().filter(key -> Objects.equals(key.getArtifactId(), artifactId)
                                                 && Objects.equals(key.getGroupId(), groupId)
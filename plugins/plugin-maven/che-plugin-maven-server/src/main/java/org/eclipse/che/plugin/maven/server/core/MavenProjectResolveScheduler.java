@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Resolves maven projects one by one using {@link MavenExecutorService}.
+ *
+ * <p>Project is resolved only after its parent and dependencies from the workspace which are scheduled
+ * as well, so required modules of reactor go first. If the waiting projects require each other, the first
+ * scheduled one is resolved to break the cycle.
+ * Project which is already waiting for resolving isn't scheduled twice, project which is being resolved
+ * at the moment is scheduled again to pick up the latest changes of its pom.
+ *
+ * <p>Projects resolved since the scheduler was idle last time are passed to the batch task at once
+ * when there is nothing left to resolve, e.g. to update classpath of the whole reactor in one go.
+ */
+public class MavenProjectResolveScheduler {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProjectResolveScheduler.class);
+
+    private final MavenExecutorService  service;
+    private final MavenProgressNotifier notifier;
+    private final MavenProjectManager   projectManager;
+
+    private final Consumer<Set<MavenProject>> afterResolveAll;
+
+    private final Map<MavenProject, Pending> queue    = new LinkedHashMap<>();
+    private final Set<MavenProject>          running  = new HashSet<>();
+    private final Set<MavenProject>          resolved = new LinkedHashSet<>();
+    private       int                        done;
+    private       boolean                    batchRunning;
+
+    /**
+     * @param afterResolveAll
+     *         task which is performed for all the resolved projects when there is nothing left to resolve, may be {@code null}
+     */
+    public MavenProjectResolveScheduler(MavenExecutorService service,
+                                        MavenProgressNotifier notifier,
+                                        MavenProjectManager projectManager,
+                                        Consumer<Set<MavenProject>> afterResolveAll) {
+        this.service = service;
+        this.notifier = notifier;
+        this.projectManager = projectManager;
+        this.afterResolveAll = afterResolveAll;
+    }
+
+    /**
+     * Schedules resolving of given projects. Order of resolving is computed over all the given projects
+     * and projects which were scheduled before.
+     *
+     * @param mavenProjects
+     *         projects to resolve
+     * @param afterResolve
+     *         task which is performed for each project after it is resolved
+     */
+    public void schedule(Collection<MavenProject> mavenProjects, Consumer<MavenProject> afterResolve) {
+        if (mavenProjects.isEmpty()) {
+            return;
+        }
+        final Map<MavenProject, Pending> scheduled = new LinkedHashMap<>();
+        for (MavenProject mavenProject : mavenProjects) {
+            scheduled.put(mavenProject, new Pending(projectManager.findRequiredProjects(mavenProject), afterResolve));
+        }
+        synchronized (this) {
+            if (isIdle()) {
+                notifier.start();
+            }
+            scheduled.forEach(queue::putIfAbsent);
+            dispatch();
+        }
+    }
+
+    /**
+     * Waits until all scheduled projects are resolved.
+     * For test only.
+     */
+    public synchronized void waitForEndAllTasks() {
+        try {
+            while (!isIdle()) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.debug(e.getMessage(), e);
+        }
+    }
+
+    private void dispatch() {
+        // embedders of maven server share local repository, so projects are not resolved concurrently
+        if (!running.isEmpty()) {
+            return;
+        }
+        final MavenProject next = findReady();
+        if (next != null) {
+            final Pending pending = queue.remove(next);
+            running.add(next);
+            service.submit(() -> resolve(next, pending.afterResolve));
+        }
+    }
+
+    /** Returns the first waiting project which doesn't require other waiting or running projects. */
+    private MavenProject findReady() {
+        MavenProject firstIdle = null;
+        for (Map.Entry<MavenProject, Pending> entry : queue.entrySet()) {
+            final MavenProject candidate = entry.getKey();
+            if (running.contains(candidate)) {
+                continue;
+            }
+            if (firstIdle == null) {
+                firstIdle = candidate;
+            }
+            if (isReady(entry.getValue())) {
+                return candidate;
+            }
+        }
+        // nothing is running, so nothing can make waiting projects ready, there is a cycle
+        return running.isEmpty() ? firstIdle : null;
+    }
+
+    private boolean isReady(Pending pending) {
+        for (MavenProject required : pending.required) {
+            if (queue.containsKey(required) || running.contains(required)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isIdle() {
+        return queue.isEmpty() && running.isEmpty() && !batchRunning;
+    }
+
+    private void resolve(MavenProject mavenProject, Consumer<MavenProject> afterResolve) {
+        try {
+            projectManager.resolveMavenProject(mavenProject.getProject(), mavenProject);
+            if (afterResolve != null) {
+                afterResolve.accept(mavenProject);
+            }
+        } catch (Throwable throwable) {
+            LOG.error(throwable.getMessage(), throwable);
+        } finally {
+            Set<MavenProject> batch = null;
+            synchronized (this) {
+                running.remove(mavenProject);
+                resolved.add(mavenProject);
+                done++;
+                if (queue.isEmpty() && running.isEmpty()) {
+                    batch = takeBatch();
+                    if (batch == null && isIdle()) {
+                        finish();
+                    }
+                } else {
+                    notifier.setPercent((double)done / (double)(done + queue.size() + running.size()));
+                    dispatch();
+                }
+            }
+            while (batch != null) {
+                runBatch(batch);
+                synchronized (this) {
+                    batchRunning = false;
+                    // projects may be scheduled and resolved while the batch task is performed
+                    batch = queue.isEmpty() && running.isEmpty() ? takeBatch() : null;
+                    if (batch == null && isIdle()) {
+                        finish();
+                    }
+                }
+            }
+        }
+    }
+
+    /** Returns resolved projects if batch task should be performed by the caller, otherwise returns {@code null}. */
+    private Set<MavenProject> takeBatch() {
+        if (batchRunning) {
+            // projects are left for the thread which performs batch task at the moment
+            return null;
+        }
+        if (afterResolveAll == null || resolved.isEmpty()) {
+            resolved.clear();
+            return null;
+        }
+        final Set<MavenProject> batch = new LinkedHashSet<>(resolved);
+        resolved.clear();
+        batchRunning = true;
+        return batch;
+    }
+
+    private void runBatch(Set<MavenProject> batch) {
+        try {
+            afterResolveAll.accept(batch);
+        } catch (Throwable throwable) {
+            LOG.error(throwable.getMessage(), throwable);
+        }
+    }
+
+    private void finish() {
+        done = 0;
+        notifier.stop();
+        notifyAll();
+    }
+
+    private static class Pending {
+        final List<MavenProject>     required;
+        final Consumer<MavenProject> afterResolve;
+
+        Pending(List<MavenProject> required, Consumer<MavenProject> afterResolve) {
+            this.required = required;
+            this.afterResolve = afterResolve;
+        }
+    }
+}
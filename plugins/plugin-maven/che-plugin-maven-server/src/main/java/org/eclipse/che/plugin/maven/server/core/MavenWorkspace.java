@@ -63,8 +63,8 @@ public class MavenWorkspace {
     private final MavenCommunication        communication;
     private final ClasspathManager          classpathManager;
 
-    private MavenTaskExecutor resolveExecutor;
-    private MavenTaskExecutor classPathExecutor;
+    private MavenProjectResolveScheduler resolveScheduler;
+    private MavenTaskExecutor            classPathExecutor;
 
     private Set<MavenProject> projectsToResolve = new CopyOnWriteArraySet<>();
 
@@ -82,7 +82,7 @@ public class MavenWorkspace {
         this.communication = communication;
         this.classpathManager = classpathManager;
         this.manager = manager;
-        resolveExecutor = new MavenTaskExecutor(executorService, notifier);
+        resolveScheduler = new MavenProjectResolveScheduler(executorService, notifier, manager, classpathManager::updateClasspath);
         eventService.subscribe(new EventSubscriber<ProjectDeletedEvent>() {
             @Override
             public void onEvent(ProjectDeletedEvent event) {
@@ -152,14 +152,8 @@ public class MavenWorkspace {
         Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
         projectsToResolve.clear();
 
-        for (MavenProject mavenProject : needResolve) {
-
-            resolveExecutor.submitTask(new MavenProjectResolveTask(mavenProject, manager, () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
-            }));
-        }
-
+        // classpath containers of all the resolved projects are updated at once by the scheduler
+        resolveScheduler.schedule(needResolve, this::addSourcesFromBuildHelperPlugin);
     }
 
     private void updateJavaProject(MavenProject project) {
@@ -230,6 +224,6 @@ public class MavenWorkspace {
      * For test only.
      */
     public void waitForUpdate() {
-        resolveExecutor.waitForEndAllTasks();
+        resolveScheduler.waitForEndAllTasks();
     }
 }
@@ -40,8 +40,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Evgen Vidolob
@@ -65,6 +70,9 @@ public class ClasspathManager {
     private final MavenProgressNotifier notifier;
     private File                        localRepository;
 
+    /** Sources jars found in local repository, missing sources are looked up again as they may be downloaded any time. */
+    private final ConcurrentMap<MavenArtifactKey, Path> sourcesCache = new ConcurrentHashMap<>();
+
     @Inject
     public ClasspathManager(@Named("che.user.workspaces.storage") String workspacePath,
                             MavenWrapperManager wrapperManager,
@@ -91,19 +99,47 @@ public class ClasspathManager {
     }
 
     public void updateClasspath(MavenProject mavenProject) {
-        IJavaProject javaProject = JavaCore.create(mavenProject.getProject());
-        if (javaProject != null) {
+        updateClasspath(Collections.singletonList(mavenProject));
+    }
+
+    /**
+     * Updates maven classpath container of the given projects with a single
+     * {@link JavaCore#setClasspathContainer} call, so JDT computes classpath delta, re-indexes
+     * and reconciles once for all of them. Projects whose container entries are not changed are skipped.
+     */
+    public void updateClasspath(Collection<MavenProject> mavenProjects) {
+        final List<IJavaProject> javaProjects = new ArrayList<>(mavenProjects.size());
+        final List<IClasspathContainer> containers = new ArrayList<>(mavenProjects.size());
+        for (MavenProject mavenProject : mavenProjects) {
+            IJavaProject javaProject = JavaCore.create(mavenProject.getProject());
+            if (javaProject == null) {
+                continue;
+            }
             IClasspathEntry[] entries = getClasspath(mavenProject);
-            MavenClasspathContainer container = new MavenClasspathContainer(entries);
-            try {
-                JavaCore.setClasspathContainer(new Path(MavenClasspathContainer.CONTAINER_ID),
-                                               new IJavaProject[]{javaProject},
-                                               new IClasspathContainer[]{container},
-                                               new NullProgressMonitor());
-            } catch (JavaModelException e) {
-                LOG.error(e.getMessage(), e);
+            if (isContainerUpToDate(javaProject, entries)) {
+                continue;
             }
+            javaProjects.add(javaProject);
+            containers.add(new MavenClasspathContainer(entries));
         }
+        if (javaProjects.isEmpty()) {
+            return;
+        }
+        try {
+            JavaCore.setClasspathContainer(new Path(MavenClasspathContainer.CONTAINER_ID),
+                                           javaProjects.toArray(new IJavaProject[javaProjects.size()]),
+                                           containers.toArray(new IClasspathContainer[containers.size()]),
+                                           new NullProgressMonitor());
+        } catch (JavaModelException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private boolean isContainerUpToDate(IJavaProject javaProject, IClasspathEntry[] entries) {
+        // containerGet doesn't trigger container initializer, unlike JavaCore.getClasspathContainer
+        IClasspathContainer current = JavaModelManager.getJavaModelManager()
+                                                      .containerGet(javaProject, new Path(MavenClasspathContainer.CONTAINER_ID));
+        return current instanceof MavenClasspathContainer && Arrays.equals(current.getClasspathEntries(), entries);
     }
 
     private IClasspathEntry[] getClasspath(MavenProject mavenProject) {
@@ -139,18 +175,22 @@ public class ClasspathManager {
     }
 
     private void attachSources(ClasspathEntryHelper entry) {
-
         MavenArtifactKey artifactKey = entry.getArtifactKey();
         if (artifactKey != null) {
-            File artifact = MavenLocalRepositoryUtil
-                    .getFileForArtifact(localRepository, artifactKey.getGroupId(), artifactKey.getArtifactId(), artifactKey.getVersion(),
-                                        SOURCES, artifactKey.getPackaging());
-            if(artifact.exists()){
-                entry.setSourcePath(new Path(artifact.getAbsolutePath()));
+            Path sources = sourcesCache.computeIfAbsent(artifactKey, this::findSources);
+            if (sources != null) {
+                entry.setSourcePath(sources);
             }
         }
     }
 
+    private Path findSources(MavenArtifactKey artifactKey) {
+        File artifact = MavenLocalRepositoryUtil
+                .getFileForArtifact(localRepository, artifactKey.getGroupId(), artifactKey.getArtifactId(), artifactKey.getVersion(),
+                                    SOURCES, artifactKey.getPackaging());
+        return artifact.exists() ? new Path(artifact.getAbsolutePath()) : null;
+    }
+
 
     public boolean downloadSources(String projectPath, String fqn) {
         IJavaProject javaProject = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(projectPath);
@@ -187,7 +227,7 @@ public class ClasspathManager {
             MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.DOWNLOAD);
 
             try {
-                mavenServer.customize(projectManager.copyWorkspaceCache(), terminal, notifier, false, false);
+                mavenServer.customize(projectManager.getWorkspaceCache(), terminal, notifier, false, false);
 
                 MavenArtifactKey sourceKey =
                         new MavenArtifactKey(artifactKey.getGroupId(), artifactKey.getArtifactId(), artifactKey.getVersion(),
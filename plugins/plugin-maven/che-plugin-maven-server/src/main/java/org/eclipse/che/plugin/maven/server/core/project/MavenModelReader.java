@@ -51,6 +51,12 @@ import static org.eclipse.che.plugin.maven.shared.MavenAttributes.DEFAULT_TEST_S
 public class MavenModelReader {
     private static final Logger LOG = LoggerFactory.getLogger(MavenModelReader.class);
 
+    private final PomModelCache pomModelCache;
+
+    public MavenModelReader(PomModelCache pomModelCache) {
+        this.pomModelCache = pomModelCache;
+    }
+
     public MavenModelReaderResult resolveMavenProject(File pom, MavenServerWrapper mavenServer, List<String> activeProfiles,
                                                       List<String> inactiveProfiles, MavenServerManager serverManager) {
         try {
@@ -109,7 +115,7 @@ public class MavenModelReader {
 
         Model model = null;
         try {
-            model = Model.readFrom(pom);
+            model = pomModelCache.getModel(pom);
         } catch (IOException e) {
             problems.add(MavenProjectProblem.newProblem(pom.getPath(), e.getMessage(), MavenProblemType.SYNTAX));
         }
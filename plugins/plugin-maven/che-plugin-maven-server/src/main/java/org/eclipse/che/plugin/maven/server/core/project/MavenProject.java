@@ -155,10 +155,14 @@ public class MavenProject {
      * Invoke maven to build project model.
      * @param project to resolve
      * @param mavenServer the maven server
+     * @param pomModelCache cache of parsed pom files
      * @return the modification types that applied to this project
      */
-    public MavenProjectModifications resolve(IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
-        MavenModelReader reader = new MavenModelReader();
+    public MavenProjectModifications resolve(IProject project,
+                                             MavenServerWrapper mavenServer,
+                                             MavenServerManager serverManager,
+                                             PomModelCache pomModelCache) {
+        MavenModelReader reader = new MavenModelReader(pomModelCache);
 
         MavenModelReaderResult modelReaderResult =
                 reader.resolveMavenProject(getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
@@ -166,12 +170,12 @@ public class MavenProject {
         return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
     }
 
-    public MavenProjectModifications read(MavenServerManager manager) {
-        return read(project, manager);
+    public MavenProjectModifications read(MavenServerManager manager, PomModelCache pomModelCache) {
+        return read(project, manager, pomModelCache);
     }
 
-    public MavenProjectModifications read(IProject project, MavenServerManager serverManager) {
-        MavenModelReader reader = new MavenModelReader();
+    public MavenProjectModifications read(IProject project, MavenServerManager serverManager, PomModelCache pomModelCache) {
+        MavenModelReader reader = new MavenModelReader(pomModelCache);
         return setModel(reader.readMavenProject(getPom(project), serverManager), false, true);
     }
 
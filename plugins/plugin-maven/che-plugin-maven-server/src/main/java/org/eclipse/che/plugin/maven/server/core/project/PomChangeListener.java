@@ -17,10 +17,10 @@ import com.google.inject.name.Named;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.shared.dto.event.VfsWatchEvent;
 import org.eclipse.che.commons.schedule.executor.ThreadPullLauncher;
 import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
-import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.runtime.Path;
@@ -42,6 +42,7 @@ public class PomChangeListener {
 
     private final MavenWorkspace           mavenWorkspace;
     private final EclipseWorkspaceProvider eclipseWorkspaceProvider;
+    private final PomModelCache            pomModelCache;
     private final String                   workspacePath;
     private CopyOnWriteArraySet<String> projectToUpdate = new CopyOnWriteArraySet<>();
 
@@ -50,9 +51,11 @@ public class PomChangeListener {
                              MavenWorkspace mavenWorkspace,
                              EclipseWorkspaceProvider eclipseWorkspaceProvider,
                              ThreadPullLauncher launcher,
+                             PomModelCache pomModelCache,
                              @Named("che.user.workspaces.storage") String workspacePath) {
         this.mavenWorkspace = mavenWorkspace;
         this.eclipseWorkspaceProvider = eclipseWorkspaceProvider;
+        this.pomModelCache = pomModelCache;
         this.workspacePath = workspacePath;
 
         launcher.scheduleWithFixedDelay(this::updateProms, 20, 3, TimeUnit.SECONDS);
@@ -61,6 +64,7 @@ public class PomChangeListener {
             @Override
             public void onEvent(ProjectItemModifiedEvent event) {
                 String eventPath = event.getPath();
+                invalidateModels(event);
                 if (!event.isFolder() && eventPath.endsWith("pom.xml")) {
                     //TODO update only pom file that in root of project
 //                    if(event.getProject().equals(eventPath.substring(0, eventPath.lastIndexOf("pom.xml") - 1))) {
@@ -71,11 +75,32 @@ public class PomChangeListener {
                 }
             }
         });
+
+        // catches changes made outside of the project API, e.g. from terminal or by build tools
+        eventService.subscribe(new EventSubscriber<VfsWatchEvent>() {
+            @Override
+            public void onEvent(VfsWatchEvent event) {
+                invalidateModel(event.getPath(), !event.isFile());
+            }
+        });
+    }
+
+    private void invalidateModels(ProjectItemModifiedEvent event) {
+        invalidateModel(event.getPath(), event.isFolder());
+        if (event.getOldPath() != null) {
+            invalidateModel(event.getOldPath(), event.isFolder());
+        }
+    }
+
+    private void invalidateModel(String path, boolean isFolder) {
+        if (isFolder || path.endsWith("pom.xml")) {
+            pomModelCache.invalidate(new File(workspacePath, path));
+        }
     }
 
     private boolean pomIsValid(String path) {
         try {
-            Model.readFrom(new File(workspacePath, path));
+            pomModelCache.getModel(new File(workspacePath, path));
         } catch (Exception e) {
             JavaPlugin.log(e);
             return false;
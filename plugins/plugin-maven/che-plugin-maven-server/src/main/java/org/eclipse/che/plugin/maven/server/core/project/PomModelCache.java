@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.ide.maven.tools.Model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps parsed <i>pom.xml</i> models of the workspace, so the same pom isn't parsed again while it isn't changed.
+ *
+ * <p>Models are keyed by path of the pom file and are reused while modification time, length and
+ * file key (inode) of the file stay the same. Modification time is read with the precision of the file system
+ * rather than {@link File#lastModified()} which is truncated to seconds on some platforms, and file key
+ * catches a pom replaced by another file. Entries are also dropped explicitly by {@link #invalidate(File)}
+ * when the project API or the file watcher reports changes of the file or of one of its parent folders,
+ * see {@link PomChangeListener}.
+ *
+ * <p><b>Note: returned models are shared and must not be modified</b>, use {@link Model#readFrom(File)}
+ * to get a model which may be changed and saved.
+ */
+@Singleton
+public class PomModelCache {
+
+    private final ConcurrentMap<Path, CachedModel> models = new ConcurrentHashMap<>();
+
+    /**
+     * Returns model of the given pom file, the file is parsed only if it was changed since the last read.
+     *
+     * @throws IOException
+     *         if any i/o error occurs
+     * @throws org.eclipse.che.commons.xml.XMLTreeException
+     *         when file contains not valid xml content
+     */
+    public Model getModel(File pom) throws IOException {
+        final Path key = toKey(pom);
+        final Model model;
+        final BasicFileAttributes attributes;
+        try {
+            // file stamp is taken before parsing, so a change made during parsing causes re-read on next access
+            attributes = Files.readAttributes(key, BasicFileAttributes.class);
+            final CachedModel cached = models.get(key);
+            if (cached != null && cached.isValid(attributes)) {
+                return cached.model;
+            }
+            model = Model.readFrom(pom);
+        } catch (IOException | RuntimeException e) {
+            models.remove(key);
+            throw e;
+        }
+        models.put(key, new CachedModel(model, attributes));
+        return model;
+    }
+
+    /**
+     * Returns model of the given pom virtual file. Only files which are backed by local file
+     * system are cached, others are parsed on each call.
+     *
+     * @see #getModel(File)
+     */
+    public Model getModel(VirtualFile pom) throws ServerException, ForbiddenException, IOException {
+        final File ioFile = pom.toIoFile();
+        if (ioFile == null) {
+            return Model.readFrom(pom);
+        }
+        return getModel(ioFile);
+    }
+
+    /**
+     * Removes cached model of the given file, if the file is a directory removes models
+     * of all the pom files under it.
+     */
+    public void invalidate(File file) {
+        final Path key = toKey(file);
+        if (models.remove(key) == null) {
+            models.keySet().removeIf(path -> path.startsWith(key));
+        }
+    }
+
+    /** Returns count of cached models. */
+    public int size() {
+        return models.size();
+    }
+
+    private static Path toKey(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    private static final class CachedModel {
+        final Model    model;
+        final FileTime lastModified;
+        final long     length;
+        final Object   fileKey;
+
+        CachedModel(Model model, BasicFileAttributes attributes) {
+            this.model = model;
+            this.lastModified = attributes.lastModifiedTime();
+            this.length = attributes.size();
+            this.fileKey = attributes.fileKey();
+        }
+
+        boolean isValid(BasicFileAttributes attributes) {
+            return lastModified.equals(attributes.lastModifiedTime())
+                   && length == attributes.size()
+                   && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+}
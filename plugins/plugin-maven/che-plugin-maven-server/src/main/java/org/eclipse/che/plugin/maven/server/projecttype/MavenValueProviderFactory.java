@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.projecttype;
 
+import com.google.inject.Inject;
+
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.server.FileEntry;
@@ -22,6 +24,7 @@ import org.eclipse.che.commons.xml.XMLTreeException;
 import org.eclipse.che.ide.maven.tools.Build;
 import org.eclipse.che.ide.maven.tools.Model;
 import org.eclipse.che.ide.maven.tools.Resource;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -49,12 +52,19 @@ import static org.eclipse.che.plugin.maven.shared.MavenAttributes.VERSION;
  */
 public class MavenValueProviderFactory implements ValueProviderFactory {
 
+    private final PomModelCache pomModelCache;
+
+    @Inject
+    public MavenValueProviderFactory(PomModelCache pomModelCache) {
+        this.pomModelCache = pomModelCache;
+    }
+
     protected Model readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
         FileEntry pomFile = (FileEntry)projectFolder.getChild("pom.xml");
         if (pomFile == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
-        return Model.readFrom(pomFile.getInputStream());
+        return pomModelCache.getModel(pomFile.getVirtualFile());
     }
 
     protected void throwReadException(Exception e) throws ValueStorageException {
@@ -133,7 +133,7 @@ public class MavenServerService {
         MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.DOWNLOAD);
 
         try {
-            mavenServer.customize(projectManager.copyWorkspaceCache(), terminal, notifier, false, false);
+            mavenServer.customize(projectManager.getWorkspaceCache(), terminal, notifier, false, false);
             VirtualFileEntry pomFile = project.getBaseFolder().getChild("pom.xml");
             if (pomFile == null) {
                 throw new NotFoundException("pom.xml doesn't exist");
@@ -34,6 +34,7 @@ import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.plugin.java.server.projecttype.JavaProjectType;
 import org.eclipse.che.plugin.java.server.projecttype.JavaValueProviderFactory;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 import org.eclipse.che.plugin.maven.server.projecttype.MavenProjectType;
 import org.eclipse.che.plugin.maven.server.projecttype.MavenValueProviderFactory;
 import org.eclipse.che.jdt.core.resources.ResourceChangedEvent;
@@ -132,7 +133,7 @@ public abstract class BaseTest {
         projectTypeRegistry = new ProjectTypeRegistry(new HashSet<>());
         projectTypeRegistry.registerProjectType(new TestProjectType());
         projectTypeRegistry.registerProjectType(new JavaProjectType(new JavaValueProviderFactory()));
-        projectTypeRegistry.registerProjectType(new MavenProjectType(new MavenValueProviderFactory()));
+        projectTypeRegistry.registerProjectType(new MavenProjectType(new MavenValueProviderFactory(new PomModelCache())));
 
         projectHandlerRegistry = new ProjectHandlerRegistry(new HashSet<>());
 
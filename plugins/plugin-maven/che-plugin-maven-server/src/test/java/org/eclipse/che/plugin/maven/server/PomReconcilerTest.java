@@ -24,6 +24,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 import org.eclipse.che.plugin.maven.server.rest.MavenServerService;
 import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
 import org.eclipse.che.maven.server.MavenTerminal;
@@ -74,7 +75,8 @@ public class PomReconcilerTest extends BaseTest {
 
         MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
         projectManager =
-                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider());
+                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider(),
+                                        new PomModelCache());
 
 
         ClasspathManager classpathManager =
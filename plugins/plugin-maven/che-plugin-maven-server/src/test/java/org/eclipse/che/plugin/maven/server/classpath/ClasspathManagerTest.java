@@ -18,18 +18,22 @@ import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.plugin.maven.server.BaseTest;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
+import org.eclipse.che.plugin.maven.server.core.MavenClasspathContainer;
 import org.eclipse.che.plugin.maven.server.core.MavenCommunication;
 import org.eclipse.che.plugin.maven.server.core.MavenExecutorService;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
 import org.eclipse.che.plugin.maven.shared.MessageType;
 import org.eclipse.che.plugin.maven.shared.dto.NotificationMessage;
 import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathContainer;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
@@ -47,6 +51,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -77,7 +82,8 @@ public class ClasspathManagerTest extends BaseTest {
         mavenServerManager.setLocalRepository(localRepository);
         MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
         mavenProjectManager =
-                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider());
+                new MavenProjectManager(wrapperManager, mavenServerManager, terminal, mavenNotifier, new EclipseWorkspaceProvider(),
+                                        new PomModelCache());
         classpathManager = new ClasspathManager(root.getAbsolutePath(), wrapperManager, mavenProjectManager, terminal, mavenNotifier);
         mavenWorkspace = new MavenWorkspace(mavenProjectManager, mavenNotifier, new MavenExecutorService(), projectRegistryProvider,
                                             new MavenCommunication() {
@@ -149,4 +155,31 @@ public class ClasspathManagerTest extends BaseTest {
         IType type2 = javaProject.findType("org.junit.Test");
         assertNotNull(type2.getClassFile().getSourceRange());
     }
+
+    @Test
+    public void testShouldNotReplaceUnchangedClasspathContainer() throws Exception {
+        String pom = "<groupId>test</groupId>" +
+                     "<artifactId>testArtifact</artifactId>" +
+                     "<version>42</version>" +
+                     "<dependencies>" +
+                     "    <dependency>" +
+                     "        <groupId>junit</groupId>" +
+                     "        <artifactId>junit</artifactId>" +
+                     "        <version>4.12</version>" +
+                     "    </dependency>" +
+                     "</dependencies>";
+        createTestProject("test3", pom);
+
+        IProject test = ResourcesPlugin.getWorkspace().getRoot().getProject("test3");
+        mavenWorkspace.update(Collections.singletonList(test));
+        mavenWorkspace.waitForUpdate();
+        IJavaProject javaProject = JavaCore.create(test);
+        Path containerPath = new Path(MavenClasspathContainer.CONTAINER_ID);
+        IClasspathContainer container = JavaCore.getClasspathContainer(containerPath, javaProject);
+        assertNotNull(container);
+
+        classpathManager.updateClasspath(Collections.singletonList(mavenProjectManager.findMavenProject(test)));
+
+        assertSame(JavaCore.getClasspathContainer(containerPath, javaProject), container);
+    }
 }
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link MavenProjectResolveScheduler}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class MavenProjectResolveSchedulerTest {
+
+    @Mock
+    private MavenProjectManager   projectManager;
+    @Mock
+    private MavenProgressNotifier notifier;
+
+    private MavenExecutorService executorService;
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldResolveParentBeforeModules() throws Exception {
+        MavenProjectResolveScheduler scheduler = createScheduler();
+        MavenProject parent = project();
+        MavenProject module1 = project(parent);
+        MavenProject module2 = project(parent);
+        List<MavenProject> resolved = recordResolved();
+
+        scheduler.schedule(asList(module1, module2, parent), null);
+        scheduler.waitForEndAllTasks();
+
+        assertEquals(resolved.size(), 3);
+        assertEquals(resolved.get(0), parent);
+    }
+
+    @Test
+    public void shouldNotResolveWaitingProjectTwice() throws Exception {
+        MavenProjectResolveScheduler scheduler = createScheduler();
+        MavenProject first = project();
+        MavenProject second = project();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(projectManager).resolveMavenProject(any(), any());
+
+        scheduler.schedule(singletonList(first), null);
+        scheduler.schedule(singletonList(second), null);
+        scheduler.schedule(singletonList(second), null);
+        release.countDown();
+        scheduler.waitForEndAllTasks();
+
+        verify(projectManager).resolveMavenProject(any(), eq(second));
+        verify(projectManager, times(2)).resolveMavenProject(any(), any());
+    }
+
+    @Test
+    public void shouldResolveProjectsWhichRequireEachOther() throws Exception {
+        MavenProjectResolveScheduler scheduler = createScheduler();
+        MavenProject project1 = project();
+        MavenProject project2 = project(project1);
+        when(projectManager.findRequiredProjects(project1)).thenReturn(singletonList(project2));
+        List<MavenProject> resolved = recordResolved();
+
+        scheduler.schedule(asList(project1, project2), null);
+        scheduler.waitForEndAllTasks();
+
+        assertEquals(resolved, asList(project1, project2));
+    }
+
+    @Test
+    public void shouldPerformTaskAfterProjectIsResolved() throws Exception {
+        MavenProjectResolveScheduler scheduler = createScheduler();
+        MavenProject project = project();
+        List<MavenProject> resolved = recordResolved();
+        List<MavenProject> afterResolve = new CopyOnWriteArrayList<>();
+
+        scheduler.schedule(singletonList(project), mavenProject -> {
+            assertEquals(resolved, singletonList(mavenProject));
+            afterResolve.add(mavenProject);
+        });
+        scheduler.waitForEndAllTasks();
+
+        assertEquals(afterResolve, singletonList(project));
+    }
+
+    @Test
+    public void shouldPerformBatchTaskForAllResolvedProjects() throws Exception {
+        List<Set<MavenProject>> batches = new CopyOnWriteArrayList<>();
+        MavenProjectResolveScheduler scheduler = createScheduler(batches::add);
+        MavenProject parent = project();
+        MavenProject module1 = project(parent);
+        MavenProject module2 = project(parent);
+
+        scheduler.schedule(asList(parent, module1, module2), null);
+        scheduler.waitForEndAllTasks();
+
+        assertEquals(batches.size(), 1);
+        assertEquals(batches.get(0), new HashSet<>(asList(parent, module1, module2)));
+        verify(notifier).stop();
+    }
+
+    private MavenProjectResolveScheduler createScheduler() {
+        return createScheduler(null);
+    }
+
+    private MavenProjectResolveScheduler createScheduler(Consumer<Set<MavenProject>> afterResolveAll) {
+        executorService = new MavenExecutorService();
+        return new MavenProjectResolveScheduler(executorService, notifier, projectManager, afterResolveAll);
+    }
+
+    private MavenProject project(MavenProject... required) {
+        MavenProject project = mock(MavenProject.class);
+        when(projectManager.findRequiredProjects(project)).thenReturn(asList(required));
+        return project;
+    }
+
+    private List<MavenProject> recordResolved() {
+        List<MavenProject> resolved = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> resolved.add((MavenProject)invocation.getArguments()[1])).when(projectManager)
+                                                                                         .resolveMavenProject(any(), any());
+        return resolved;
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.ide.maven.tools.Model;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link PomModelCache}.
+ */
+public class PomModelCacheTest {
+
+    private File          root;
+    private PomModelCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("pom-cache").toFile();
+        cache = new PomModelCache();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldNotParseUnchangedPomAgain() throws Exception {
+        File pom = writePom("module", "1.0");
+
+        Model model = cache.getModel(pom);
+
+        assertSame(cache.getModel(pom), model);
+        assertEquals(model.getArtifactId(), "module");
+    }
+
+    @Test
+    public void shouldParseChangedPom() throws Exception {
+        File pom = writePom("module", "1.0");
+        Model model = cache.getModel(pom);
+
+        writePom("module", "1.0.1");
+        Model changed = cache.getModel(pom);
+
+        assertNotSame(changed, model);
+        assertEquals(changed.getVersion(), "1.0.1");
+    }
+
+    @Test
+    public void shouldParsePomReplacedWithSameLengthAndModificationTime() throws Exception {
+        File pom = writePom("module", "1.0.1");
+        FileTime lastModified = Files.getLastModifiedTime(pom.toPath());
+        Model model = cache.getModel(pom);
+
+        File replacement = new File(root, "pom.xml.tmp");
+        String content = new String(Files.readAllBytes(pom.toPath()), UTF_8);
+        Files.write(replacement.toPath(), content.replace("1.0.1", "1.0.2").getBytes(UTF_8));
+        Files.setLastModifiedTime(replacement.toPath(), lastModified);
+        Files.move(replacement.toPath(), pom.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        Model changed = cache.getModel(pom);
+
+        assertNotSame(changed, model);
+        assertEquals(changed.getVersion(), "1.0.2");
+    }
+
+    @Test
+    public void shouldRemoveModelsUnderInvalidatedFolder() throws Exception {
+        File pom = writePom("module", "1.0");
+        Model model = cache.getModel(pom);
+
+        cache.invalidate(root);
+
+        assertEquals(cache.size(), 0);
+        assertNotSame(cache.getModel(pom), model);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldForgetRemovedPom() throws Exception {
+        File pom = writePom("module", "1.0");
+        cache.getModel(pom);
+        Files.delete(pom.toPath());
+
+        try {
+            cache.getModel(pom);
+        } finally {
+            assertEquals(cache.size(), 0);
+        }
+    }
+
+    private File writePom(String artifactId, String version) throws IOException {
+        File module = new File(root, artifactId);
+        module.mkdirs();
+        File pom = new File(module, "pom.xml");
+        Files.write(pom.toPath(), ("<project>\n" +
+                                   "    <modelVersion>4.0.0</modelVersion>\n" +
+                                   "    <groupId>org.eclipse.che.test</groupId>\n" +
+                                   "    <artifactId>" + artifactId + "</artifactId>\n" +
+                                   "    <version>" + version + "</version>\n" +
+                                   "</project>\n").getBytes(UTF_8));
+        return pom;
+    }
+}
@@ -27,6 +27,7 @@ import org.eclipse.che.commons.test.SelfReturningAnswer;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.plugin.java.server.projecttype.JavaProjectType;
 import org.eclipse.che.plugin.java.server.projecttype.JavaValueProviderFactory;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 import org.eclipse.che.plugin.maven.server.projecttype.handler.GeneratorStrategy;
 import org.eclipse.che.plugin.maven.server.projecttype.handler.MavenProjectGenerator;
 import org.eclipse.che.plugin.maven.shared.MavenAttributes;
@@ -68,7 +69,7 @@ public class MavenProjectTypeTest {
         MockitoAnnotations.initMocks(this);
         Set<ProjectTypeDef> projTypes = new HashSet<>();
         projTypes.add(new JavaProjectType(new JavaValueProviderFactory()));
-        projTypes.add(new MavenProjectType(new MavenValueProviderFactory()));
+        projTypes.add(new MavenProjectType(new MavenValueProviderFactory(new PomModelCache())));
 
         ptRegistry = new ProjectTypeRegistry(projTypes);
 
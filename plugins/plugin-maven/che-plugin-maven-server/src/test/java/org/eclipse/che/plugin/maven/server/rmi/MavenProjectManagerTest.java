@@ -18,6 +18,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenTerminalImpl;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.PomModelCache;
 import org.eclipse.che.maven.data.MavenConstants;
 import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.core.resources.IFile;
@@ -53,6 +54,8 @@ public class MavenProjectManagerTest {
 
     private MavenServerManager manager = new MavenServerManager(mavenServerPath);
 
+    private PomModelCache pomModelCache = new PomModelCache();
+
     private MavenProjectManager projectManager;
 
     @Mock
@@ -81,7 +84,8 @@ public class MavenProjectManagerTest {
     public void setUp() throws Exception {
         MavenWrapperManager wrapperManager = new MavenWrapperManager(manager);
         projectManager = new MavenProjectManager(wrapperManager, manager, new MavenTerminalImpl(),
-                                                 new MavenServerManagerTest.MyMavenServerProgressNotifier(), workspaceProvider);
+                                                 new MavenServerManagerTest.MyMavenServerProgressNotifier(), workspaceProvider,
+                                                 pomModelCache);
         when(workspaceProvider.get()).thenReturn(workspace);
         when(workspace.getRoot()).thenReturn(workspaceRoot);
     }
@@ -100,7 +104,7 @@ public class MavenProjectManagerTest {
 
         projectManager.addListener(listener);
         MavenProject mavenProject = new MavenProject(project, workspace);
-        mavenProject.read(project, manager);
+        mavenProject.read(project, manager, pomModelCache);
         MavenKey mavenKey = mavenProject.getMavenKey();
         assertThat(mavenKey).isNotNull();
 
@@ -117,7 +121,7 @@ public class MavenProjectManagerTest {
 
         projectManager.addListener(listener);
         MavenProject mavenProject = new MavenProject(project, workspace);
-        mavenProject.read(project, manager);
+        mavenProject.read(project, manager, pomModelCache);
         MavenKey mavenKey = mavenProject.getMavenKey();
         assertThat(mavenKey).isNotNull();
 
@@ -136,7 +140,7 @@ public class MavenProjectManagerTest {
 
         projectManager.addListener(listener);
         MavenProject mavenProject = new MavenProject(project, workspace);
-        mavenProject.read(project, manager);
+        mavenProject.read(project, manager, pomModelCache);
         MavenKey mavenKey = mavenProject.getMavenKey();
         assertThat(mavenKey).isNotNull();
 
@@ -175,7 +179,7 @@ public class MavenProjectManagerTest {
 
         projectManager.addListener(listener);
         MavenProject mavenProject = new MavenProject(project, workspace);
-        mavenProject.read(project, manager);
+        mavenProject.read(project, manager, pomModelCache);
         MavenKey mavenKey = mavenProject.getMavenKey();
         assertThat(mavenKey).isNotNull();
 
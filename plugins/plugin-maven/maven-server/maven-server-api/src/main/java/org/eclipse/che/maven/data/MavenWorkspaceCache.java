@@ -12,42 +12,120 @@ package org.eclipse.che.maven.data;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Stores all maven key(artifacts) in our workspace.
+ * <p/>
+ * Each change of the cache increases its generation, last changes are kept,
+ * so copy of the cache may be brought up to date with {@link #getUpdate(long)}
+ * and {@link #apply(Update)} instead of copying whole cache again.
  *
  * @author Evgen Vidolob
  */
 public class MavenWorkspaceCache implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /** Max number of last changes which are kept for updating copies of the cache. */
+    private static final int MAX_CHANGES = 1000;
+
     private final Map<MavenKey, Entry> cache = new HashMap<MavenKey, Entry>();
 
+    private long generation;
+
+    private transient LinkedList<Change> changes;
+
     public void put(MavenKey key, File file) {
         put(key, file, null);
     }
 
-    public void put(MavenKey key, File file, File output) {
+    public synchronized void put(MavenKey key, File file, File output) {
+        doPut(key, file, output);
+        addChange(new Change(key, file, output));
+    }
+
+    public synchronized void invalidate(MavenKey key) {
+        doInvalidate(key);
+        addChange(new Change(key, null, null));
+    }
+
+    public Set<MavenKey> getAllKeys() {
+        return cache.keySet();
+    }
+
+    public synchronized Entry findEntry(MavenKey key) {
+        return cache.get(key);
+    }
+
+    /** Returns generation of the cache, which is increased on each change. */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns changes made after given generation of the cache.
+     *
+     * @param since
+     *         generation of the cache copy which should be updated
+     * @return changes of the cache or {@code null} if they aren't kept anymore and whole cache should be copied
+     */
+    public synchronized Update getUpdate(long since) {
+        final int count = (int)Math.min(generation - since, Integer.MAX_VALUE);
+        if (count < 0 || count > (changes == null ? 0 : changes.size())) {
+            return null;
+        }
+        final List<Change> update = count == 0 ? Collections.<Change>emptyList()
+                                               : new ArrayList<Change>(changes.subList(changes.size() - count, changes.size()));
+        return new Update(since, generation, update);
+    }
+
+    /**
+     * Applies changes to this copy of the cache.
+     *
+     * @return {@code false} if changes aren't based on the current generation of this cache and weren't applied
+     */
+    public synchronized boolean apply(Update update) {
+        if (update.since != generation) {
+            return false;
+        }
+        for (Change change : update.changes) {
+            if (change.file == null) {
+                doInvalidate(change.key);
+            } else {
+                doPut(change.key, change.file, change.output);
+            }
+        }
+        generation = update.generation;
+        return true;
+    }
+
+    private void doPut(MavenKey key, File file, File output) {
         for (MavenKey mavenKey : getAllPossibleKeys(key)) {
             cache.put(mavenKey, new Entry(mavenKey, file, output));
         }
     }
 
-    public void invalidate(MavenKey key) {
+    private void doInvalidate(MavenKey key) {
         for (MavenKey mavenKey : getAllPossibleKeys(key)) {
             cache.remove(mavenKey);
         }
     }
 
-    public Set<MavenKey> getAllKeys() {
-        return cache.keySet();
-    }
-
-    public Entry findEntry(MavenKey key) {
-        return cache.get(key);
+    private void addChange(Change change) {
+        generation++;
+        if (changes == null) {
+            changes = new LinkedList<Change>();
+        }
+        changes.add(change);
+        if (changes.size() > MAX_CHANGES) {
+            changes.removeFirst();
+        }
     }
 
     private MavenKey[] getAllPossibleKeys(MavenKey key) {
@@ -61,12 +139,53 @@ public class MavenWorkspaceCache implements Serializable {
         }
     }
 
-    public MavenWorkspaceCache copy() {
+    public synchronized MavenWorkspaceCache copy() {
         MavenWorkspaceCache copy = new MavenWorkspaceCache();
         copy.cache.putAll(cache);
+        copy.generation = generation;
         return copy;
     }
 
+    /** Changes of the cache between two generations. */
+    public static class Update implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long         since;
+        private final long         generation;
+        private final List<Change> changes;
+
+        Update(long since, long generation, List<Change> changes) {
+            this.since = since;
+            this.generation = generation;
+            this.changes = changes;
+        }
+
+        /** Returns generation of the cache after the changes are applied. */
+        public long getGeneration() {
+            return generation;
+        }
+
+        public boolean isEmpty() {
+            return changes.isEmpty();
+        }
+    }
+
+    private static class Change implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        /** Key which was put or invalidated. */
+        private final MavenKey key;
+        /** File of the key or {@code null} if key was invalidated. */
+        private final File     file;
+        private final File     output;
+
+        Change(MavenKey key, File file, File output) {
+            this.key = key;
+            this.file = file;
+            this.output = output;
+        }
+    }
+
     public static class Entry implements Serializable {
         private static final long serialVersionUID = 1L;
 
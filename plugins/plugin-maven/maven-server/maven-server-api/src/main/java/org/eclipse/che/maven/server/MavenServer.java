@@ -24,12 +24,26 @@ import java.util.List;
  * @author Evgen Vidolob
  */
 public interface MavenServer extends Remote {
-    void setComponents(MavenWorkspaceCache cache,
-                       boolean failOnUnresolvedDependency,
+    /**
+     * Sets components used by the server, workspace cache which is set or updated
+     * before this call is used for resolving.
+     */
+    void setComponents(boolean failOnUnresolvedDependency,
                        MavenTerminal mavenTerminal,
                        MavenServerProgressNotifier notifier,
                        boolean alwaysUpdateSnapshot) throws RemoteException;
 
+    /** Replaces workspace cache of the server. */
+    void setWorkspaceCache(MavenWorkspaceCache cache) throws RemoteException;
+
+    /**
+     * Applies changes to workspace cache of the server.
+     *
+     * @return {@code false} if the server doesn't have workspace cache of generation the changes are based on,
+     * whole cache should be set with {@link #setWorkspaceCache(MavenWorkspaceCache)} in this case
+     */
+    boolean updateWorkspaceCache(MavenWorkspaceCache.Update update) throws RemoteException;
+
     String getEffectivePom(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException;
 
     MavenServerResult resolveProject(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException;
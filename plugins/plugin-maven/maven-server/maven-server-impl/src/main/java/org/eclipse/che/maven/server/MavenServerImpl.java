@@ -345,8 +345,7 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
     }
 
     @Override
-    public void setComponents(MavenWorkspaceCache cache,
-                              boolean failOnUnresolvedDependency,
+    public void setComponents(boolean failOnUnresolvedDependency,
                               MavenTerminal mavenTerminal,
                               MavenServerProgressNotifier notifier,
                               boolean alwaysUpdateSnapshot) throws RemoteException {
@@ -354,16 +353,26 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         container.addComponent(getMavenComponent(ArtifactResolver.class, "che"), ArtifactResolver.ROLE);
         ArtifactResolver artifactResolver = getMavenComponent(ArtifactResolver.class);
         if (artifactResolver instanceof CheArtifactResolver) {
-            ((CheArtifactResolver)artifactResolver).setWorkspaceCache(cache, failOnUnresolvedDependency);
+            ((CheArtifactResolver)artifactResolver).setWorkspaceCache(workspaceCache, failOnUnresolvedDependency);
         }
 
         buildDate = new Date();
-        workspaceCache = cache;
         updateSnapshots = updateSnapshots || alwaysUpdateSnapshot;
         terminalLogger.setTerminal(mavenTerminal);
         mavenProgressNotifier = new MavenServerProgressNotifierImpl(notifier);
     }
 
+    @Override
+    public void setWorkspaceCache(MavenWorkspaceCache cache) throws RemoteException {
+        workspaceCache = cache;
+    }
+
+    @Override
+    public boolean updateWorkspaceCache(MavenWorkspaceCache.Update update) throws RemoteException {
+        // cache is updated in place, so artifact resolver sees changes as well
+        return workspaceCache != null && workspaceCache.apply(update);
+    }
+
     @Override
     public String getEffectivePom(File pom, List<String> activeProfiles, List<String> inactiveProfiles)
             throws RemoteException {
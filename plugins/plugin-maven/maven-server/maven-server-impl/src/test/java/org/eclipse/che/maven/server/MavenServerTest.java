@@ -12,6 +12,7 @@ package org.eclipse.che.maven.server;
 
 import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -48,7 +49,7 @@ public class MavenServerTest {
         mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_DEBUG);
         MavenServerImpl mavenServerImpl = new MavenServerImpl(mavenSettings);
         boolean[] isPrintCalled = new boolean[] {false};
-        mavenServerImpl.setComponents(null, false, new MavenTerminal() {
+        mavenServerImpl.setComponents(false, new MavenTerminal() {
 
             @Override
             public void print(int level, String message, Throwable throwable) throws RemoteException {
@@ -61,6 +62,31 @@ public class MavenServerTest {
         Assert.assertTrue(isPrintCalled[0]);
     }
 
+    @Test
+    public void testUpdateWorkspaceCache() throws Exception {
+        MavenSettings mavenSettings = new MavenSettings();
+        mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
+        MavenServerImpl mavenServerImpl = new MavenServerImpl(mavenSettings);
+        MavenWorkspaceCache cache = new MavenWorkspaceCache();
+        MavenKey key1 = new MavenKey("org.eclipse.che", "module1", "1.0");
+        MavenKey key2 = new MavenKey("org.eclipse.che", "module2", "1.0");
+        cache.put(key1, new File("module1/pom.xml"));
+        MavenWorkspaceCache.Update notSynced = cache.getUpdate(0);
+
+        Assert.assertFalse(mavenServerImpl.updateWorkspaceCache(notSynced));
+
+        MavenWorkspaceCache serverCache = cache.copy();
+        mavenServerImpl.setWorkspaceCache(serverCache);
+        cache.put(key2, new File("module2/pom.xml"));
+        cache.invalidate(key1);
+
+        Assert.assertTrue(mavenServerImpl.updateWorkspaceCache(cache.getUpdate(serverCache.getGeneration())));
+        Assert.assertEquals(serverCache.getGeneration(), cache.getGeneration());
+        Assert.assertNull(serverCache.findEntry(key1));
+        Assert.assertEquals(serverCache.findEntry(key2).getFile("pom"), new File("module2/pom.xml"));
+        Assert.assertFalse(mavenServerImpl.updateWorkspaceCache(notSynced));
+    }
+
     @Test
     public void testInterpolateModel() throws Exception {
         MavenModel model = new MavenModel();
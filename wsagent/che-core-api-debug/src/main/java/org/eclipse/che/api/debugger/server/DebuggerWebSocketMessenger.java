@@ -12,9 +12,6 @@ package org.eclipse.che.api.debugger.server;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
-import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
-import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +20,7 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import static org.eclipse.che.api.core.notification.WebsocketDtoBroadcaster.broadcast;
 import static org.eclipse.che.api.debugger.server.DtoConverter.asDto;
 
 /**
@@ -53,11 +51,7 @@ public class DebuggerWebSocketMessenger implements EventSubscriber<DebuggerMessa
     @Override
     public void onEvent(DebuggerMessage msg) {
         try {
-            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
-            final String channel = String.format(CHANNEL, msg.getDebuggerType());
-            bm.setChannel(channel);
-            bm.setBody(DtoFactory.getInstance().toJson(asDto(msg.getDebuggerEvent())));
-            WSConnectionContext.sendMessage(bm);
+            broadcast(String.format(CHANNEL, msg.getDebuggerType()), asDto(msg.getDebuggerEvent()));
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
         }
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * File found by search together with occurrences of searched text in it.
+ */
+@DTO
+public interface SearchHitDto {
+    /** Get found file. */
+    ItemReference getItemReference();
+
+    void setItemReference(ItemReference itemReference);
+
+    SearchHitDto withItemReference(ItemReference itemReference);
+
+    /** Get occurrences of searched text in file. */
+    List<SearchOccurrenceDto> getOccurrences();
+
+    void setOccurrences(List<SearchOccurrenceDto> occurrences);
+
+    SearchHitDto withOccurrences(List<SearchOccurrenceDto> occurrences);
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Single occurrence of searched text in file.
+ */
+@DTO
+public interface SearchOccurrenceDto {
+    /** Get number of line that contains occurrence, first line has number 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrenceDto withLineNumber(int lineNumber);
+
+    /** Get position of occurrence in line, first character of line has position 1. */
+    int getColumn();
+
+    void setColumn(int column);
+
+    SearchOccurrenceDto withColumn(int column);
+
+    /** Get offset of first character of occurrence from the beginning of file. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchOccurrenceDto withStartOffset(int startOffset);
+
+    /** Get offset of character next after the last character of occurrence from the beginning of file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchOccurrenceDto withEndOffset(int endOffset);
+
+    /** Get content of line that contains occurrence. */
+    String getLineContent();
+
+    void setLineContent(String lineContent);
+
+    SearchOccurrenceDto withLineContent(String lineContent);
+}
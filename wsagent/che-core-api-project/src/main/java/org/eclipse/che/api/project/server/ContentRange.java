@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+/**
+ * Single byte range of HTTP {@code Range} request header, e.g. {@code bytes=0-499}, {@code bytes=500-} or
+ * {@code bytes=-500}. Requests with multiple ranges are served with whole content which is allowed by RFC 7233.
+ */
+final class ContentRange {
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long first;
+    private final long last;
+    private final long contentLength;
+
+    private ContentRange(long first, long last, long contentLength) {
+        this.first = first;
+        this.last = last;
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * Parses value of {@code Range} header.
+     *
+     * @param header
+     *         value of header, may be {@code null}
+     * @param contentLength
+     *         length of the requested content
+     * @return requested range or {@code null} if header is not set, malformed or contains multiple ranges, so whole
+     * content should be sent
+     */
+    static ContentRange parse(String header, long contentLength) {
+        if (header == null || !header.startsWith(BYTES_UNIT) || header.indexOf(',') >= 0) {
+            return null;
+        }
+        final String spec = header.substring(BYTES_UNIT.length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            final String firstSpec = spec.substring(0, dash).trim();
+            final String lastSpec = spec.substring(dash + 1).trim();
+            if (firstSpec.isEmpty()) {
+                if (lastSpec.isEmpty()) {
+                    return null;
+                }
+                // suffix range, last N bytes
+                final long suffixLength = Long.parseLong(lastSpec);
+                if (suffixLength < 0) {
+                    return null;
+                }
+                if (suffixLength == 0 || contentLength == 0) {
+                    return new ContentRange(-1, -1, contentLength);
+                }
+                return new ContentRange(Math.max(0, contentLength - suffixLength), contentLength - 1, contentLength);
+            }
+            final long first = Long.parseLong(firstSpec);
+            final long last = lastSpec.isEmpty() ? Long.MAX_VALUE : Long.parseLong(lastSpec);
+            if (first < 0 || last < first) {
+                return null;
+            }
+            if (first >= contentLength) {
+                return new ContentRange(-1, -1, contentLength);
+            }
+            return new ContentRange(first, Math.min(last, contentLength - 1), contentLength);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Returns {@code false} if range doesn't overlap content and {@code 416 Range Not Satisfiable} should be sent. */
+    boolean isSatisfiable() {
+        return first >= 0;
+    }
+
+    long getFirst() {
+        return first;
+    }
+
+    long getLength() {
+        return last - first + 1;
+    }
+
+    /** Returns value of {@code Content-Range} response header. */
+    String toContentRangeHeader() {
+        if (isSatisfiable()) {
+            return "bytes " + first + '-' + last + '/' + contentLength;
+        }
+        return "bytes */" + contentLength;
+    }
+}
@@ -137,6 +137,19 @@ public final class ProjectManager {
         return new FolderEntry(vfs.getRoot(), projectRegistry);
     }
 
+    /**
+     * Returns version of projects tree, it is changed after any modification of file system or of registered projects.
+     *
+     * @return version of projects tree or {@code null} if file system doesn't track modifications
+     */
+    public String getTreeVersion() {
+        final long fileSystemModifications = vfs.getModificationCount();
+        if (fileSystemModifications < 0) {
+            return null;
+        }
+        return fileSystemModifications + "-" + projectRegistry.getModificationCount();
+    }
+
     public Searcher getSearcher() throws NotFoundException, ServerException {
         final SearcherProvider provider = vfs.getSearcherProvider();
         if (provider == null) {
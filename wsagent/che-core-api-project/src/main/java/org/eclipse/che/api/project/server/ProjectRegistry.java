@@ -38,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -56,6 +57,7 @@ public class ProjectRegistry {
     private final ProjectHandlerRegistry         handlers;
     private final FolderEntry                    root;
     private final EventService eventService;
+    private final AtomicLong   modificationCount;
 
     private boolean initialized;
 
@@ -67,6 +69,7 @@ public class ProjectRegistry {
                            EventService eventService) throws ServerException {
         this.eventService = eventService;
         this.projects = new ConcurrentHashMap<>();
+        this.modificationCount = new AtomicLong();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.projectTypeRegistry = projectTypeRegistry;
@@ -103,6 +106,7 @@ public class ProjectRegistry {
         initUnconfiguredFolders();
 
         initialized = true;
+        modificationCount.incrementAndGet();
 
         for (RegisteredProject project : projects.values()) {
             // only for projects with sources
@@ -113,6 +117,13 @@ public class ProjectRegistry {
     }
 
 
+    /**
+     * @return counter of modifications of registered projects, it is changed after each registration or removal of project
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     /**
      * @return all the registered projects
      */
@@ -207,6 +218,7 @@ public class ProjectRegistry {
 
         final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
         projects.put(project.getPath(), project);
+        modificationCount.incrementAndGet();
 
         return project;
     }
@@ -226,6 +238,7 @@ public class ProjectRegistry {
         Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
         getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
                                                .ifPresent(removed::add));
+        modificationCount.incrementAndGet();
 
         removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
     }
@@ -349,6 +362,7 @@ public class ProjectRegistry {
         } else if (newType.equals(type)) {
             if (project.isDetected()) {
                 projects.remove(project.getPath());
+                modificationCount.incrementAndGet();
                 return null;
             }
 
@@ -17,8 +17,10 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
 import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.disk.DiskFileItem;
 import org.apache.tika.Tika;
 import org.eclipse.che.WorkspaceIdProvider;
+import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -28,6 +30,7 @@ import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.model.project.type.Value;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.core.rest.VersionedResponseCache;
 import org.eclipse.che.api.core.rest.annotations.Description;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
@@ -36,6 +39,7 @@ import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchHitDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
@@ -58,19 +62,28 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -78,6 +91,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 import static javax.ws.rs.HttpMethod.DELETE;
@@ -112,14 +128,23 @@ public class ProjectService extends Service {
     private static final Logger LOG  = LoggerFactory.getLogger(ProjectService.class);
     private static final Tika   TIKA = new Tika();
 
-    private final ProjectManager projectManager;
-    private final EventService   eventService;
-    private final String         workspace;
+    private static final String RANGE                           = "Range";
+    private static final String ACCEPT_RANGES                   = "Accept-Ranges";
+    private static final String CONTENT_RANGE                   = "Content-Range";
+    private static final String BYTES                           = "bytes";
+    private static final int    PARTIAL_CONTENT                 = 206;
+    private static final int    REQUESTED_RANGE_NOT_SATISFIABLE = 416;
+
+    private final ProjectManager         projectManager;
+    private final EventService           eventService;
+    private final VersionedResponseCache responseCache;
+    private final String                 workspace;
 
     @Inject
-    public ProjectService(ProjectManager projectManager, EventService eventService) {
+    public ProjectService(ProjectManager projectManager, EventService eventService, VersionedResponseCache responseCache) {
         this.projectManager = projectManager;
         this.eventService = eventService;
+        this.responseCache = responseCache;
         this.workspace = WorkspaceIdProvider.getWorkspaceId();
     }
 
@@ -448,12 +473,13 @@ public class ProjectService extends Service {
     @GET
     @Path("/file/{path:.*}")
     public Response getFile(@ApiParam(value = "Path to a file", required = true)
-                            @PathParam("path") String path) throws IOException, NotFoundException, ForbiddenException, ServerException {
+                            @PathParam("path") String path,
+                            @HeaderParam(RANGE) String range) throws IOException, NotFoundException, ForbiddenException, ServerException {
         final FileEntry file = projectManager.asFile(path);
         if (file == null) {
             throw new NotFoundException("File not found for " + path);
         }
-        return Response.ok().entity(file.getInputStream()).type(TIKA.detect(file.getName())).build();
+        return fileContent(file.getVirtualFile(), range).type(TIKA.detect(file.getName())).build();
     }
 
     @PUT
@@ -636,8 +662,13 @@ public class ProjectService extends Service {
             throw new ServerException("Cannot find zip file for upload.");
         }
 
-        try (InputStream zip = contentItem.getInputStream()) {
-            baseProjectFolder.getVirtualFile().unzip(zip, true, stripNumber);
+        if (contentItem instanceof DiskFileItem && !contentItem.isInMemory()) {
+            // uploaded file is already stored on disk, read entries directly from it
+            baseProjectFolder.getVirtualFile().unzip(((DiskFileItem)contentItem).getStoreLocation(), true, stripNumber);
+        } else {
+            try (InputStream zip = contentItem.getInputStream()) {
+                baseProjectFolder.getVirtualFile().unzip(zip, true, stripNumber);
+            }
         }
 
         return resolveSources(path);
@@ -706,7 +737,8 @@ public class ProjectService extends Service {
     @Path("/export/file/{path:.*}")
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     public Response exportFile(@ApiParam(value = "Path to resource to be imported")
-                               @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+                               @PathParam("path") String path,
+                               @HeaderParam(RANGE) String range) throws NotFoundException, ForbiddenException, ServerException {
 
         final FileEntry file = projectManager.asFile(path);
 
@@ -716,11 +748,11 @@ public class ProjectService extends Service {
 
         final VirtualFile virtualFile = file.getVirtualFile();
 
-        return Response.ok(virtualFile.getContent(), TIKA.detect(virtualFile.getName()))
-                       .lastModified(new Date(virtualFile.getLastModificationDate()))
-                       .header(HttpHeaders.CONTENT_LENGTH, Long.toString(virtualFile.getLength()))
-                       .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + virtualFile.getName() + '"')
-                       .build();
+        return fileContent(virtualFile, range).type(TIKA.detect(virtualFile.getName()))
+                                              .lastModified(new Date(virtualFile.getLastModificationDate()))
+                                              .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                      "attachment; filename=\"" + virtualFile.getName() + '"')
+                                              .build();
     }
 
     @GET
@@ -764,22 +796,24 @@ public class ProjectService extends Service {
                   notes = "Get project tree. Depth is specified in a query parameter",
                   response = TreeElement.class)
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 304, message = "Not modified"),
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public TreeElement getTree(@ApiParam(value = "Path to resource. Can be project or its folders", required = true)
-                               @PathParam("parent") String path,
-                               @ApiParam(value = "Tree depth. This parameter can be dropped. If not specified ?depth=1 is used by default")
-                               @DefaultValue("1") @QueryParam("depth") int depth,
-                               @ApiParam(value = "include children files (in addition to children folders). This parameter can be dropped" +
-                                                 ". If not specified ?includeFiles=false is used by default")
-                               @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles) throws NotFoundException,
-                                                                                                               ForbiddenException,
-                                                                                                               ServerException {
-        final FolderEntry folder = projectManager.asFolder(path);
-
-        return newDto(TreeElement.class).withNode(injectFolderLinks(asDto(folder)))
-                                        .withChildren(getTree(folder, depth, includeFiles));
+    public Response getTree(@ApiParam(value = "Path to resource. Can be project or its folders", required = true)
+                            @PathParam("parent") String path,
+                            @ApiParam(value = "Tree depth. This parameter can be dropped. If not specified ?depth=1 is used by default")
+                            @DefaultValue("1") @QueryParam("depth") int depth,
+                            @ApiParam(value = "include children files (in addition to children folders). This parameter can be dropped" +
+                                              ". If not specified ?includeFiles=false is used by default")
+                            @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles,
+                            @Context Request request) throws ApiException {
+        return responseCache.get(request, uriInfo.getRequestUri(), projectManager.getTreeVersion(), () -> {
+            final FolderEntry folder = projectManager.asFolder(path);
+
+            return newDto(TreeElement.class).withNode(injectFolderLinks(asDto(folder)))
+                                            .withChildren(getTree(folder, depth, includeFiles));
+        });
     }
 
     @GET
@@ -868,6 +902,163 @@ public class ProjectService extends Service {
         return items;
     }
 
+    @GET
+    @Path("/hits/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for occurrences of text in files",
+                  notes = "Search for files applying a number of search filters as query parameters. Each found file is sent " +
+                          "as soon as it is found together with line numbers, offsets and content of lines of all occurrences. " +
+                          "Response is JSON object with found files in field 'hits' and cursor for retrieving next page in " +
+                          "field 'nextPageCursor'",
+                  response = SearchHitDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public Response searchHits(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                               @PathParam("path") String path,
+                               @ApiParam(value = "Resource name")
+                               @QueryParam("name") String name,
+                               @ApiParam(value = "Search keywords")
+                               @QueryParam("text") String text,
+                               @ApiParam(value = "Substring of file content, case sensitive")
+                               @QueryParam("substring") String substring,
+                               @ApiParam(value = "Regular expression for file content")
+                               @QueryParam("regex") String regex,
+                               @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                               @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                               @ApiParam(value = "Cursor for retrieving next page, it is provided with previous page")
+                               @QueryParam("cursor") String cursor) throws NotFoundException,
+                                                                          ForbiddenException,
+                                                                          ConflictException,
+                                                                          ServerException {
+        final Searcher searcher;
+        try {
+            searcher = projectManager.getSearcher();
+        } catch (NotFoundException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return Response.ok("{\"hits\":[]}", MediaType.APPLICATION_JSON_TYPE).build();
+        }
+
+        if (regex != null) {
+            try {
+                Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw new ConflictException(String.format("Invalid 'regex' parameter: %s", e.getMessage()));
+            }
+        }
+
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(name)
+                .setText(text)
+                .setSubstring(substring)
+                .setRegex(regex)
+                .setMaxItems(maxItems)
+                .setCursor(cursor)
+                .setIncludeOccurrences(true);
+        final FolderEntry root = projectManager.getProjectsRoot();
+
+        final StreamingOutput output = stream -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            final SearchHitsWriter hitsWriter = new SearchHitsWriter(writer, root);
+            writer.write("{\"hits\":[");
+            final SearchResult result;
+            try {
+                result = searcher.search(expr, hitsWriter);
+            } catch (ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.write("],\"totalHits\":");
+            writer.write(Integer.toString(result.getTotalHits()));
+            if (result.getNextPageQueryExpression().isPresent()) {
+                writer.write(",\"nextPageCursor\":\"");
+                writer.write(result.getNextPageQueryExpression().get().getCursor());
+                writer.write('"');
+            }
+            writer.write('}');
+            writer.flush();
+        };
+        return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+    /** Writes found files to response as soon as they are found. */
+    private class SearchHitsWriter implements Consumer<SearchResultEntry> {
+        private final Writer      writer;
+        private final FolderEntry root;
+        private       boolean     first;
+
+        SearchHitsWriter(Writer writer, FolderEntry root) {
+            this.writer = writer;
+            this.root = root;
+            this.first = true;
+        }
+
+        @Override
+        public void accept(SearchResultEntry entry) {
+            try {
+                final VirtualFileEntry child = root.getChild(entry.getFilePath());
+                if (child == null || !child.isFile()) {
+                    return;
+                }
+                final SearchHitDto hit = newDto(SearchHitDto.class)
+                        .withItemReference(injectFileLinks(asDto((FileEntry)child)))
+                        .withOccurrences(entry.getOccurrences().stream().map(DtoConverter::asDto).collect(Collectors.toList()));
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writer.write(DtoFactory.getInstance().toJson(hit));
+                writer.flush();
+            } catch (ServerException e) {
+                throw new UncheckedIOException(new IOException(e.getMessage(), e));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Creates response which sends content of the file. If {@code range} is set only the requested part of the content
+     * is sent. Content is streamed directly from the file, if the file is modified while it is sent the response is
+     * aborted, so client gets broken response instead of mix of old and new content.
+     */
+    private static Response.ResponseBuilder fileContent(VirtualFile file, String range) throws ServerException {
+        final long length = file.getLength();
+        final long lastModified = file.getLastModificationDate();
+        final ContentRange contentRange = ContentRange.parse(range, length);
+        if (contentRange != null && !contentRange.isSatisfiable()) {
+            return Response.status(REQUESTED_RANGE_NOT_SATISFIABLE)
+                           .header(ACCEPT_RANGES, BYTES)
+                           .header(CONTENT_RANGE, contentRange.toContentRangeHeader());
+        }
+        final long offset = contentRange == null ? 0 : contentRange.getFirst();
+        final long count = contentRange == null ? length : contentRange.getLength();
+        final StreamingOutput output = stream -> {
+            final long written;
+            try {
+                written = file.writeContent(stream, offset, count);
+                if (written != count || file.getLength() != length || file.getLastModificationDate() != lastModified) {
+                    throw new IOException(String.format("File '%s' was modified while its content was sent", file.getPath()));
+                }
+            } catch (ForbiddenException | ServerException e) {
+                // status and length are already sent, only way to report error is to break the response
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        final Response.ResponseBuilder response = contentRange == null
+                                                  ? Response.ok()
+                                                  : Response.status(PARTIAL_CONTENT)
+                                                            .header(CONTENT_RANGE, contentRange.toContentRangeHeader());
+        return response.entity(output)
+                       .header(ACCEPT_RANGES, BYTES)
+                       .header(HttpHeaders.CONTENT_LENGTH, Long.toString(count));
+    }
+
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
         LOG.info("EVENT#project-created# PROJECT#{}# TYPE#{}# WS#{}# USER#{}# PAAS#default#",
                  projectName,
@@ -20,6 +20,7 @@ import org.eclipse.che.api.project.server.importer.ProjectImporter;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Map;
 
@@ -80,12 +81,22 @@ public class ZipProjectImporter implements ProjectImporter {
         }
 
         Map<String, String> parameters = storage.getParameters();
-        try (InputStream zip = url.openStream()) {
-            int stripNumber = 0;
-            if (parameters != null && parameters.containsKey("skipFirstLevel")) {
-                stripNumber = Boolean.parseBoolean(parameters.get("skipFirstLevel")) ? 1 : 0;
+        int stripNumber = 0;
+        if (parameters != null && parameters.containsKey("skipFirstLevel")) {
+            stripNumber = Boolean.parseBoolean(parameters.get("skipFirstLevel")) ? 1 : 0;
+        }
+        if ("file".equals(url.getProtocol())) {
+            final java.io.File file;
+            try {
+                file = new java.io.File(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            baseFolder.getVirtualFile().unzip(file, true, stripNumber);
+        } else {
+            try (InputStream zip = url.openStream()) {
+                baseFolder.getVirtualFile().unzip(zip, true, stripNumber);
             }
-            baseFolder.getVirtualFile().unzip(zip, true, stripNumber);
         }
     }
 
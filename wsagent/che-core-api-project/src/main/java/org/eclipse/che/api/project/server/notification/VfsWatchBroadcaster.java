@@ -13,9 +13,6 @@ package org.eclipse.che.api.project.server.notification;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.shared.dto.event.VfsWatchEvent;
-import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
-import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,6 +20,8 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import static org.eclipse.che.api.core.notification.WebsocketDtoBroadcaster.broadcast;
+
 /**
  *
  * Subscribes on VFS Watcher events and broadcasts them with websockets
@@ -43,10 +42,7 @@ public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent> {
     public void onEvent(VfsWatchEvent event) {
 
         try {
-            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
-            bm.setChannel(VfsWatchEvent.VFS_CHANNEL);
-            bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            broadcast(VfsWatchEvent.VFS_CHANNEL, event);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
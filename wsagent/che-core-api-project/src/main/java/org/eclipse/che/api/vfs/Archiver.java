@@ -14,6 +14,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -56,4 +57,23 @@ public abstract class Archiver {
      */
     public abstract void extract(InputStream compressedInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException;
+
+    /**
+     * Extract content of compressed file to {@code folder}. Implementation may use random access to the file for faster
+     * extraction, by default file is read as stream.
+     *
+     * @param compressedFile
+     *         compressed file that needed to be extracted
+     * @param overwrite
+     *         overwrite existing files
+     * @param stripNumber
+     *         strip number leading components from file names on extraction.
+     * @see #extract(InputStream, boolean, int)
+     */
+    public void extract(java.io.File compressedFile, boolean overwrite, int stripNumber)
+            throws IOException, ForbiddenException, ConflictException, ServerException {
+        try (InputStream compressedInput = new FileInputStream(compressedFile)) {
+            extract(compressedInput, overwrite, stripNumber);
+        }
+    }
 }
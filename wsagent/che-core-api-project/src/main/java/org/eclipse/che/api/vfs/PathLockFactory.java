@@ -10,9 +10,23 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
+ * Locks are kept in a tree of path nodes. Before locking a path, intention locks are taken on all its ancestors, so
+ * conflicts between parent and child paths are detected without scanning all held locks and locks in unrelated
+ * subtrees never block each other. State of each node is updated with compare-and-set, threads that can't get lock
+ * release intention locks they took on the way, wait on the node they are blocked on and start again from the root
+ * when lock on this node is released, so waiting threads never hold locks which other threads may need. Locks held by
+ * the current thread never block it, thread that holds shared or exclusive lock of the path gets exclusive lock of it
+ * immediately.
+ * <p/>
  * Usage:
  * <pre>
  *      PathLockFactory lockFactory = ...
@@ -35,10 +49,34 @@ package org.eclipse.che.api.vfs;
  */
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+
+    private static final int INTENTION_SHARED    = 0;
+    private static final int INTENTION_EXCLUSIVE = 1;
+    private static final int SHARED              = 2;
+    private static final int EXCLUSIVE           = 3;
+
+    /** For each lock mode: bit mask of modes, held by other threads, that prevent getting lock. */
+    private static final int[] CONFLICTS = {
+            1 << EXCLUSIVE,
+            1 << SHARED | 1 << EXCLUSIVE,
+            1 << INTENTION_EXCLUSIVE | 1 << EXCLUSIVE,
+            1 << INTENTION_SHARED | 1 << INTENTION_EXCLUSIVE | 1 << SHARED | 1 << EXCLUSIVE
+    };
+
+    // State of node holds number of threads that own lock in each mode, 16 bits per mode.
+    private static final long MODE_MASK = 0xFFFFL;
+    // Node is removed from the tree and must not be used anymore. Never matches any valid state.
+    private static final long REMOVED   = -1L;
+
+    private static final int GRANTED = 1;
+    private static final int BLOCKED = 0;
+    private static final int STALE   = -1;
+
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int                           maxThreads;
+    private final Node                          root;
+    /** Number of locks of each mode held by current thread for each node. */
+    private final ThreadLocal<Map<Node, int[]>> threadHolds;
 
     /**
      * @param maxThreads
@@ -50,145 +88,276 @@ public final class PathLockFactory {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        root = new Node(null, null);
+        threadHolds = ThreadLocal.withInitial(HashMap::new);
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    private void acquire(Path path, boolean exclusive, long timeoutMilliseconds) {
+        final long endTime = timeoutMilliseconds < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMilliseconds;
+        final Map<Node, int[]> holds = threadHolds.get();
+        for (; ; ) {
+            final Node blocker = tryAcquire(holds, path, exclusive);
+            if (blocker == null) {
+                return;
             }
+            awaitRelease(holds, blocker, lockMode(path.length(), path.length(), exclusive), endTime, path);
         }
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * Tries to lock all nodes of the path.
+     *
+     * @return {@code null} if lock is acquired or node on which lock is blocked, in this case all locks taken by this
+     * method are released
+     */
+    private Node tryAcquire(Map<Node, int[]> holds, Path path, boolean exclusive) {
+        final int length = path.length();
+        final Node[] nodes = new Node[length + 1];
+        int lockedCount = 0;
+        try {
+            for (int i = 0; i <= length; i++) {
+                final int mode = lockMode(i, length, exclusive);
+                for (; ; ) {
+                    final Node node = i == 0 ? root : nodes[i - 1].getChild(path.element(i - 1));
+                    final int result = tryAcquire(holds, node, mode);
+                    if (result == GRANTED) {
+                        nodes[i] = node;
+                        break;
+                    }
+                    if (result == BLOCKED) {
+                        return node;
+                    }
+                    // Node was removed after we got it from the tree, drop it and try again.
+                    nodes[i - 1].removeChild(node);
+                }
+                lockedCount = i + 1;
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            return null;
+        } finally {
+            if (lockedCount <= length) {
+                for (int i = lockedCount - 1; i >= 0; i--) {
+                    release(holds, nodes[i], lockMode(i, length, exclusive));
+                }
             }
-            waitTime = endTime - now;
         }
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+    private static int lockMode(int depth, int length, boolean exclusive) {
+        if (depth == length) {
+            return exclusive ? EXCLUSIVE : SHARED;
+        }
+        return exclusive ? INTENTION_EXCLUSIVE : INTENTION_SHARED;
+    }
+
+    /** Waits until lock of the node is released or node is removed from the tree. */
+    private void awaitRelease(Map<Node, int[]> holds, Node node, int mode, long endTime, Path path) {
+        try {
+            synchronized (node) {
+                node.waiters++;
+                try {
+                    for (; ; ) {
+                        final long state = node.state;
+                        if (state == REMOVED || !isBlocked(holds.get(node), state, mode)) {
+                            return;
+                        }
+                        long waitTime = endTime - System.currentTimeMillis();
+                        if (waitTime <= 0) {
+                            throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                        }
+                        try {
+                            node.wait(endTime == Long.MAX_VALUE ? 0 : waitTime);
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
                     }
-                } else {
-                    --prev.threadDeep;
+                } finally {
+                    node.waiters--;
                 }
             }
-            node = node.prev;
+        } finally {
+            tryRemove(node);
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
-                }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
+    private int tryAcquire(Map<Node, int[]> holds, Node node, int mode) {
+        int[] own = holds.get(node);
+        if (own != null && own[mode] > 0) {
+            // Current thread already has the same lock for this node
+            if (own[mode] > MAX_RECURSIVE_LOCKS) {
+                throw new Error("Max number of recursive locks exceeded. ");
+            }
+            ++own[mode];
+            return GRANTED;
+        }
+        // Owner of shared or exclusive lock of the path gets exclusive lock immediately, as it always did.
+        final boolean upgrade = mode == EXCLUSIVE && own != null && own[SHARED] > 0;
+        for (; ; ) {
+            final long state = node.state;
+            if (state == REMOVED) {
+                return STALE;
+            }
+            if (!upgrade && isBlocked(own, state, mode)) {
+                return BLOCKED;
+            }
+            final int holders = count(state, mode);
+            if (holders == MODE_MASK) {
+                throw new Error("Max number of threads that hold lock exceeded. ");
+            }
+            if (node.compareAndSetState(state, state + (1L << (mode << 4)))) {
+                if (own == null) {
+                    holds.put(node, own = new int[EXCLUSIVE + 1]);
                 }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
+                own[mode] = 1;
+                return GRANTED;
+            }
+        }
+    }
+
+    /** Checks whether lock that prevents getting the mode is held by other thread. */
+    private boolean isBlocked(int[] own, long state, int mode) {
+        final int conflicts = CONFLICTS[mode];
+        for (int m = INTENTION_SHARED; m <= EXCLUSIVE; m++) {
+            if ((conflicts & (1 << m)) != 0 && count(state, m) > (own != null && own[m] > 0 ? 1 : 0)) {
+                return true;
+            }
+        }
+        return mode == SHARED && count(state, SHARED) >= maxThreads;
+    }
+
+    private static int count(long state, int mode) {
+        return (int)((state >>> (mode << 4)) & MODE_MASK);
+    }
+
+    private void release(Path path, boolean exclusive) {
+        final int length = path.length();
+        final Node[] nodes = new Node[length + 1];
+        nodes[0] = root;
+        for (int i = 1; i <= length; i++) {
+            nodes[i] = nodes[i - 1].findChild(path.element(i - 1));
+            if (nodes[i] == null) {
+                // Lock is not held.
+                return;
+            }
+        }
+        final Map<Node, int[]> holds = threadHolds.get();
+        if (!release(holds, nodes[length], lockMode(length, length, exclusive))) {
+            return;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            release(holds, nodes[i], lockMode(i, length, exclusive));
+        }
+    }
+
+    private boolean release(Map<Node, int[]> holds, Node node, int mode) {
+        final int[] own = holds.get(node);
+        if (own == null || own[mode] == 0) {
+            return false;
+        }
+        if (--own[mode] == 0) {
+            if (own[INTENTION_SHARED] == 0 && own[INTENTION_EXCLUSIVE] == 0 && own[SHARED] == 0 && own[EXCLUSIVE] == 0) {
+                holds.remove(node);
+            }
+            Node.STATE.addAndGet(node, -(1L << (mode << 4)));
+            if (node.waiters > 0) {
+                synchronized (node) {
+                    node.notifyAll();
                 }
             }
-            node = node.prev;
+            tryRemove(node);
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
         return true;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    /** Removes node from the tree if nobody holds or waits for its lock. */
+    private void tryRemove(Node node) {
+        if (node.parent != null && node.waiters == 0 && node.compareAndSetState(0, REMOVED)) {
+            node.parent.removeChild(node);
+        }
+    }
+
+    public void checkClean() {
+        assert root.state == 0 && !root.hasChildren();
     }
 
    /* =============================================== */
 
     private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+        static final AtomicLongFieldUpdater<Node> STATE = AtomicLongFieldUpdater.newUpdater(Node.class, "state");
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+        final Node parent;
+        final String name;
+        volatile long                      state;
+        volatile int                       waiters;
+        volatile ConcurrentMap<String, Node> children;
+
+        Node(Node parent, String name) {
+            this.parent = parent;
+            this.name = name;
+        }
+
+        boolean compareAndSetState(long expect, long update) {
+            return STATE.compareAndSet(this, expect, update);
+        }
+
+        Node getChild(String childName) {
+            ConcurrentMap<String, Node> myChildren = children;
+            if (myChildren == null) {
+                synchronized (this) {
+                    if ((myChildren = children) == null) {
+                        children = myChildren = new ConcurrentHashMap<>(4);
+                    }
+                }
+            }
+            Node child = myChildren.get(childName);
+            if (child == null) {
+                child = new Node(this, childName);
+                Node existing = myChildren.putIfAbsent(childName, child);
+                if (existing != null) {
+                    child = existing;
+                }
+            }
+            return child;
+        }
+
+        Node findChild(String childName) {
+            ConcurrentMap<String, Node> myChildren = children;
+            return myChildren == null ? null : myChildren.get(childName);
+        }
+
+        void removeChild(Node child) {
+            ConcurrentMap<String, Node> myChildren = children;
+            if (myChildren != null) {
+                myChildren.remove(child.name, child);
+            }
+        }
+
+        boolean hasChildren() {
+            ConcurrentMap<String, Node> myChildren = children;
+            return myChildren != null && !myChildren.isEmpty();
         }
 
         @Override
         public String toString() {
             return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   "name=" + name +
+                   ", state=" + Long.toHexString(state) +
+                   ", waiters=" + waiters +
+                   ", children=" + (children == null ? "[]" : children.keySet()) +
                    '}';
         }
     }
 
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path    path;
+        private final boolean exclusive;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, boolean exclusive) {
             this.path = path;
-            this.permits = permits;
+            this.exclusive = exclusive;
         }
 
         /**
@@ -197,7 +366,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, exclusive, -1);
             return this;
         }
 
@@ -212,18 +381,18 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(path, exclusive, timeoutMilliseconds);
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path, exclusive);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return exclusive;
         }
     }
 }
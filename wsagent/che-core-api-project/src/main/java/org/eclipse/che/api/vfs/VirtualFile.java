@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -128,6 +129,25 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     byte[] getContentAsBytes() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of the file or its part to the output stream. Unlike {@link #getContent()} content isn't copied to
+     * any intermediate buffer or temporary file.
+     *
+     * @param output
+     *         output stream
+     * @param offset
+     *         offset of the first byte to write
+     * @param length
+     *         max number of bytes to write, negative value means all bytes up to the end of the file
+     * @return number of bytes written to the stream
+     * @throws ForbiddenException
+     *         if this item is not a file or {@code offset} is greater than length of the file
+     * @throws ServerException
+     *         if file is modified while its content is written or other error occurs
+     * @see #isFile()
+     */
+    long writeContent(OutputStream output, long offset, long length) throws ForbiddenException, ServerException;
+
     /**
      * Gets content of the file as String decoding bytes using the platform's default charset.
      *
@@ -526,6 +546,20 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     void unzip(InputStream zipped, boolean overwrite, int stripNumber) throws ForbiddenException, ConflictException, ServerException;
 
+    /**
+     * Extracts zip file to the folder denoted by this VirtualFile. Unlike {@link #unzip(InputStream, boolean, int)} entries
+     * of zip file may be extracted in parallel.
+     *
+     * @param zipped
+     *         ZIP file
+     * @param overwrite
+     *         overwrite existing files
+     * @param stripNumber
+     *         strip number leading components from file names on extraction.
+     * @see #unzip(InputStream, boolean, int)
+     */
+    void unzip(java.io.File zipped, boolean overwrite, int stripNumber) throws ForbiddenException, ConflictException, ServerException;
+
     /**
      * Gets content of folder denoted by this VirtualFile as TAR archive.
      *
@@ -33,6 +33,12 @@ public interface VirtualFileSystem {
      */
     SearcherProvider getSearcherProvider();
 
+    /**
+     * Get counter of modifications of this VirtualFileSystem. Counter is changed after any change of items, it is cheap version of
+     * file system content. Method returns {@code -1} if implementation doesn't track modifications.
+     */
+    long getModificationCount();
+
     /** Release used resources, e.g. clear caches, searcher index, etc */
     void close() throws ServerException;
 
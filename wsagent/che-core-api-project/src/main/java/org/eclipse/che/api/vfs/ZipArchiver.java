@@ -10,22 +10,61 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import com.google.common.base.Throwables;
 import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
+import org.eclipse.che.api.vfs.util.ZipBombCheckingInputStream;
 import org.eclipse.che.api.vfs.util.ZipContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
+/**
+ * Archiver for zip format.
+ *
+ * <p>Zip archive is checked for zip bomb while it is extracted. If extraction fails, e.g. zip bomb is detected or some
+ * file causes name conflict, files and folders which are created by extraction are removed and existing files stay
+ * untouched.
+ */
 public class ZipArchiver extends Archiver {
+    private static final Logger LOG = LoggerFactory.getLogger(ZipArchiver.class);
+
+    private static final ExecutorService EXTRACTOR =
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                                         new ThreadFactoryBuilder().setNameFormat("ZipArchiver-%d")
+                                                                   .setDaemon(true)
+                                                                   .build());
+
     public ZipArchiver(VirtualFile folder) {
         super(folder);
     }
@@ -87,49 +126,312 @@ public class ZipArchiver extends Archiver {
     @Override
     public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException {
-        try (ZipInputStream zip = new ZipInputStream(ZipContent.of(zipInput).getContent())) {
-            InputStream notClosableInputStream = new NotClosableInputStream(zip);
+        final Extraction extraction = new Extraction(overwrite);
+        final ZipBombCheckingInputStream zip = new ZipBombCheckingInputStream(zipInput);
+        try {
+            final InputStream notClosableInputStream = new NotClosableInputStream(zip);
             ZipEntry zipEntry;
             while ((zipEntry = zip.getNextEntry()) != null) {
-                VirtualFile extractFolder = folder;
+                final Path relativePath = stripPath(zipEntry.getName(), stripNumber);
+                if (relativePath != null) {
+                    if (zipEntry.isDirectory()) {
+                        extraction.getFolder(relativePath);
+                    } else {
+                        extraction.writeFile(relativePath, notClosableInputStream);
+                    }
+                }
+                zip.closeEntry();
+            }
+            extraction.commit();
+        } catch (IOException | ForbiddenException | ConflictException | ServerException | RuntimeException e) {
+            extraction.rollback();
+            if (zip.isZipBombDetected() && !(e instanceof IOException)) {
+                throw new IOException(ZipContent.ZIP_BOMB_DETECTED, e);
+            }
+            throw e;
+        } finally {
+            zip.close();
+        }
+    }
+
+    /**
+     * Extracts content of zip file. Unlike {@link #extract(InputStream, boolean, int)} content of files is inflated
+     * and written in parallel, since zip file allows reading of entries independently.
+     */
+    @Override
+    public void extract(File zipFile, boolean overwrite, int stripNumber)
+            throws IOException, ForbiddenException, ConflictException, ServerException {
+        final Extraction extraction = new Extraction(overwrite);
+        final ZipBombChecker checker = new ZipBombChecker(zipFile.length());
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (ZipEntry zipEntry : Collections.list(zip.entries())) {
+                final Path relativePath = stripPath(zipEntry.getName(), stripNumber);
+                if (relativePath == null) {
+                    continue;
+                }
+                if (zipEntry.isDirectory()) {
+                    extraction.getFolder(relativePath);
+                } else {
+                    // files are created sequentially, only content is written in parallel
+                    final EntryTarget target = extraction.prepareFile(relativePath);
+                    tasks.add(() -> {
+                        try (InputStream content = checker.check(zip.getInputStream(zipEntry))) {
+                            target.write(content);
+                        }
+                        return null;
+                    });
+                }
+            }
+            runAll(tasks);
+            extraction.commit();
+        } catch (IOException | ForbiddenException | ConflictException | ServerException | RuntimeException e) {
+            extraction.rollback();
+            if (checker.zipBombDetected && !(e instanceof IOException)) {
+                throw new IOException(ZipContent.ZIP_BOMB_DETECTED, e);
+            }
+            throw e;
+        }
+    }
 
-                Path relativePath = Path.of(zipEntry.getName());
+    /** Returns path of entry without {@code stripNumber} leading components or {@code null} if entry should be skipped. */
+    private static Path stripPath(String entryName, int stripNumber) {
+        Path relativePath = Path.of(entryName);
+        if (stripNumber > 0) {
+            if (relativePath.length() <= stripNumber) {
+                return null;
+            }
+            relativePath = relativePath.subPath(stripNumber);
+        }
+        return relativePath;
+    }
 
-                if (stripNumber > 0) {
-                    if (relativePath.length() <= stripNumber) {
-                        continue;
+    /**
+     * Runs tasks with {@link #EXTRACTOR}. After the first failure tasks which are not started yet are skipped. Waits
+     * until all the running tasks are finished, otherwise they may write files which are rolled back.
+     */
+    private static void runAll(List<Callable<Void>> tasks) throws IOException, ForbiddenException, ServerException {
+        final AtomicReference<Exception> error = new AtomicReference<>();
+        final List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (Callable<Void> task : tasks) {
+            futures.add(EXTRACTOR.submit(() -> {
+                if (error.get() == null) {
+                    try {
+                        task.call();
+                    } catch (Exception e) {
+                        error.compareAndSet(null, e);
                     }
-                    relativePath = relativePath.subPath(stripNumber);
                 }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                Uninterruptibles.getUninterruptibly(future);
+            } catch (ExecutionException e) {
+                error.compareAndSet(null, new ServerException(e.getCause().getMessage(), e.getCause()));
+            }
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ServerException("Extraction of zip archive is interrupted");
+        }
+        final Exception cause = error.get();
+        if (cause != null) {
+            Throwables.propagateIfPossible(cause, IOException.class);
+            Throwables.propagateIfPossible(cause, ForbiddenException.class, ServerException.class);
+            throw new ServerException(cause.getMessage(), cause);
+        }
+    }
 
-                if (zipEntry.isDirectory()) {
-                    if (!extractFolder.hasChild(relativePath)) {
-                        extractFolder.createFolder(relativePath.toString());
+    /**
+     * Keeps track of changes made during extraction. Files and folders created by extraction are removed if extraction
+     * fails. New content of existing files is spooled to temporary files and applied only when the whole archive is
+     * extracted successfully, so existing files are never left half-updated.
+     */
+    private class Extraction {
+        private final boolean                overwrite;
+        private final Map<Path, VirtualFile> folders;
+        private final List<VirtualFile>      created;
+        private final Map<VirtualFile, File> deferred;
+
+        Extraction(boolean overwrite) {
+            this.overwrite = overwrite;
+            this.folders = new HashMap<>();
+            this.created = new ArrayList<>();
+            this.deferred = new LinkedHashMap<>();
+        }
+
+        /** Gets folder with specified relative path, creates it and all its missing parents. */
+        VirtualFile getFolder(Path relativePath) throws ForbiddenException, ConflictException, ServerException {
+            if (relativePath.length() == 0) {
+                return folder;
+            }
+            VirtualFile result = folders.get(relativePath);
+            if (result == null) {
+                result = folder.getChild(relativePath);
+                if (result == null) {
+                    final VirtualFile parent = getFolder(getParent(relativePath));
+                    result = parent.createFolder(relativePath.getName());
+                    created.add(result);
+                }
+                folders.put(relativePath, result);
+            }
+            return result;
+        }
+
+        /** Writes content of new file or spools content of existing file until {@link #commit()}. */
+        void writeFile(Path relativePath, InputStream content)
+                throws IOException, ForbiddenException, ConflictException, ServerException {
+            final VirtualFile parent = getFolder(getParent(relativePath));
+            final String fileName = relativePath.getName();
+            final VirtualFile file = parent.getChild(Path.of(fileName));
+            if (file != null) {
+                new EntryTarget(file, defer(file)).write(content);
+                return;
+            }
+            try {
+                created.add(parent.createFile(fileName, content));
+            } catch (ForbiddenException | ConflictException | ServerException | RuntimeException e) {
+                // file may be created but its content not written
+                final VirtualFile partial = parent.getChild(Path.of(fileName));
+                if (partial != null) {
+                    created.add(partial);
+                }
+                throw e;
+            }
+        }
+
+        /** Creates empty file or prepares spooling of content of existing file, content may be written later. */
+        EntryTarget prepareFile(Path relativePath) throws IOException, ForbiddenException, ConflictException, ServerException {
+            final VirtualFile parent = getFolder(getParent(relativePath));
+            final String fileName = relativePath.getName();
+            final VirtualFile file = parent.getChild(Path.of(fileName));
+            if (file != null) {
+                return new EntryTarget(file, defer(file));
+            }
+            final VirtualFile newFile = parent.createFile(fileName, new byte[0]);
+            created.add(newFile);
+            return new EntryTarget(newFile, null);
+        }
+
+        /** Applies deferred updates of existing files. */
+        void commit() throws IOException, ForbiddenException, ServerException {
+            try {
+                for (Map.Entry<VirtualFile, File> entry : deferred.entrySet()) {
+                    try (InputStream content = new FileInputStream(entry.getValue())) {
+                        entry.getKey().updateContent(content);
                     }
-                    continue;
                 }
+            } finally {
+                deleteSpools();
+            }
+        }
 
-                if (relativePath.length() > 1) {
-                    Path neededParentPath = relativePath.getParent();
-                    VirtualFile neededParent = extractFolder.getChild(neededParentPath);
-                    if (neededParent == null) {
-                        neededParent = extractFolder.createFolder(neededParentPath.toString());
+        /** Removes everything created by extraction. */
+        void rollback() {
+            deleteSpools();
+            for (int i = created.size() - 1; i >= 0; i--) {
+                final VirtualFile virtualFile = created.get(i);
+                try {
+                    if (virtualFile.exists()) {
+                        virtualFile.delete();
                     }
-                    extractFolder = neededParent;
+                } catch (ForbiddenException | ServerException e) {
+                    LOG.warn("Unable remove {} after failed extraction of zip archive. Error: {}", virtualFile.getPath(), e.getMessage());
                 }
+            }
+        }
 
-                String fileName = relativePath.getName();
-                VirtualFile file = extractFolder.getChild(Path.of(fileName));
-                if (file == null) {
-                    extractFolder.createFile(fileName, notClosableInputStream);
-                } else {
-                    if (overwrite) {
-                        file.updateContent(notClosableInputStream);
-                    } else {
-                        throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
+        private File defer(VirtualFile file) throws IOException, ForbiddenException, ConflictException, ServerException {
+            if (!overwrite) {
+                throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
+            }
+            // fail before anything is extracted rather than when deferred content is applied
+            if (file.isFile() && file.isLocked()) {
+                throw new ForbiddenException(String.format("Unable update content of file '%s'. File is locked", file.getPath()));
+            }
+            File spool = deferred.get(file);
+            if (spool == null) {
+                spool = File.createTempFile("import", ".tmp");
+                deferred.put(file, spool);
+            }
+            return spool;
+        }
+
+        private void deleteSpools() {
+            for (File spool : deferred.values()) {
+                if (!spool.delete() && spool.exists()) {
+                    FileCleaner.addFile(spool);
+                }
+            }
+            deferred.clear();
+        }
+
+        private Path getParent(Path relativePath) {
+            return relativePath.length() > 1 ? relativePath.getParent() : Path.of("");
+        }
+    }
+
+    /** File which receives content of zip entry, either directly or through spool file. */
+    private static class EntryTarget {
+        final VirtualFile file;
+        final File        spool;
+
+        EntryTarget(VirtualFile file, File spool) {
+            this.file = file;
+            this.spool = spool;
+        }
+
+        void write(InputStream content) throws IOException, ForbiddenException, ServerException {
+            if (spool == null) {
+                file.updateContent(content);
+            } else {
+                try (OutputStream output = new FileOutputStream(spool)) {
+                    ByteStreams.copy(content, output);
+                }
+            }
+        }
+    }
+
+    /** Checks total number of bytes inflated from zip file against its size. */
+    private static class ZipBombChecker {
+        final long       compressed;
+        final AtomicLong uncompressed;
+
+        volatile boolean zipBombDetected;
+
+        ZipBombChecker(long compressed) {
+            this.compressed = compressed;
+            this.uncompressed = new AtomicLong();
+        }
+
+        InputStream check(InputStream entryContent) {
+            return new FilterInputStream(entryContent) {
+                @Override
+                public int read() throws IOException {
+                    final int b = super.read();
+                    if (b != -1) {
+                        count(1);
                     }
+                    return b;
                 }
-                zip.closeEntry();
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    final int n = super.read(b, off, len);
+                    if (n > 0) {
+                        count(n);
+                    }
+                    return n;
+                }
+            };
+        }
+
+        private void count(int n) throws IOException {
+            try {
+                ZipContent.checkCompressionRatio(uncompressed.addAndGet(n), compressed);
+            } catch (IOException e) {
+                zipBombDetected = true;
+                throw e;
             }
         }
     }
@@ -72,6 +72,7 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         try {
             LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
             Path vfsPath = Path.of(subPath);
+            virtualFileSystem.invalidateListing(vfsPath);
             VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(vfsPath);
             if (virtualFile == null) {
                 virtualFile = new DeletedLocalVirtualFile(new File(root, subPath), vfsPath, virtualFileSystem, isDir);
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.api.vfs.Path;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of directory listings of {@link LocalVirtualFileSystem}.
+ *
+ * <p>Listing is read with single pass over directory, type of each child is read in the same pass, so children may be
+ * sorted without additional access to the file system. Cached listings are invalidated by the file system when it
+ * modifies directories and by file watcher events. Besides, cached listing is used only while modification time of the
+ * directory stays the same, so changes which are not reported by file watcher yet are not missed.
+ */
+class DirectoryListingCache {
+    /** Child of directory. Ordered in the same way as {@link LocalVirtualFile}: folders first, then files. */
+    static final class Entry implements Comparable<Entry> {
+        final String  name;
+        final boolean directory;
+
+        Entry(String name, boolean directory) {
+            this.name = name;
+            this.directory = directory;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (directory != other.directory) {
+                return directory ? -1 : 1;
+            }
+            return name.compareTo(other.name);
+        }
+    }
+
+    private static final class Listing {
+        final FileTime    modified;
+        final List<Entry> entries;
+
+        Listing(FileTime modified, List<Entry> entries) {
+            this.modified = modified;
+            this.entries = entries;
+        }
+    }
+
+    private final Cache<Path, Listing>                       listings;
+    private final DirectoryStream.Filter<java.nio.file.Path> filter;
+    /** Incremented on each invalidation, listings read concurrently with invalidation are not cached. */
+    private final AtomicLong                                 generation;
+
+    DirectoryListingCache(int maxSize, DirectoryStream.Filter<java.nio.file.Path> filter) {
+        this.listings = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(8)
+                                    .maximumSize(maxSize)
+                                    .build();
+        this.filter = filter;
+        this.generation = new AtomicLong();
+    }
+
+    /**
+     * Returns sorted children of directory.
+     *
+     * @param path
+     *         virtual path of directory, key in the cache
+     * @param directory
+     *         directory on the file system
+     */
+    List<Entry> getEntries(Path path, File directory) throws IOException {
+        final java.nio.file.Path ioPath = directory.toPath();
+        final FileTime modified = Files.getLastModifiedTime(ioPath);
+        final Listing cached = listings.getIfPresent(path);
+        if (cached != null && cached.modified.equals(modified)) {
+            return cached.entries;
+        }
+        final long readGeneration = generation.get();
+        final List<Entry> entries = read(ioPath);
+        if (generation.get() == readGeneration) {
+            listings.put(path, new Listing(modified, entries));
+            if (generation.get() != readGeneration) {
+                // invalidated while listing was put in the cache
+                listings.invalidate(path);
+            }
+        }
+        return entries;
+    }
+
+    /** Invalidates listing of directory. */
+    void invalidate(Path path) {
+        generation.incrementAndGet();
+        listings.invalidate(path);
+    }
+
+    /** Invalidates listing of directory and listings of all its descendants. */
+    void invalidateTree(Path path) {
+        generation.incrementAndGet();
+        listings.asMap().keySet().removeIf(cachedPath -> cachedPath.equals(path) || cachedPath.isChild(path));
+    }
+
+    void invalidateAll() {
+        generation.incrementAndGet();
+        listings.invalidateAll();
+    }
+
+    private List<Entry> read(java.nio.file.Path directory) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<java.nio.file.Path> children = Files.newDirectoryStream(directory, filter)) {
+            for (java.nio.file.Path child : children) {
+                boolean isDirectory;
+                try {
+                    isDirectory = Files.readAttributes(child, BasicFileAttributes.class).isDirectory();
+                } catch (IOException e) {
+                    // removed concurrently or broken link
+                    isDirectory = false;
+                }
+                entries.add(new Entry(child.getFileName().toString(), isDirectory));
+            }
+        }
+        Collections.sort(entries);
+        return Collections.unmodifiableList(entries);
+    }
+}
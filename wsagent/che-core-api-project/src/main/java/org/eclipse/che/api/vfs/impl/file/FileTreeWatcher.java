@@ -34,11 +34,13 @@ import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -46,9 +48,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.Files.getLastModifiedTime;
+import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
@@ -59,21 +62,35 @@ import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Watches file tree and notifies {@link FileWatcherNotificationHandler} about created, modified and deleted items.
+ * <p/>
+ * Watch keys are polled by single thread which coalesces events by directory until file system becomes quiet for
+ * {@link #EVENT_PROCESS_TIMEOUT_SEC} seconds. Collected events are then processed by a pool of worker threads. All
+ * directories of the same top level subtree (usually project) are handled by the same worker so events of one project
+ * are processed in order while independent projects are processed in parallel. Only items reported by the watch
+ * service are checked, the whole directory is rescanned only when events were lost ({@code OVERFLOW}) or watch key
+ * became invalid.
+ */
 @Singleton
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
     private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
-
-    private final File                           watchRoot;
-    private final Path                           watchRootPath;
-    private final Map<Path, WatchedDirectory>    watchedDirectories;
-    private final List<PathMatcher>              excludePatterns;
-    private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
-    private final ExecutorService                executor;
-    private final AtomicBoolean                  running;
-    private       WatchService                   watchService;
-    private       WatchEvent.Modifier[]          watchEventModifiers;
+    private static final int  WORKER_THREADS            = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    /** Number of leading path segments that select a worker for an event, e.g. /project/src. */
+    private static final int  STRIPE_DEPTH              = 2;
+
+    private final File                                  watchRoot;
+    private final Path                                  watchRootPath;
+    private final ConcurrentMap<Path, WatchedDirectory> watchedDirectories;
+    private final List<PathMatcher>                     excludePatterns;
+    private final FileWatcherNotificationHandler        fileWatcherNotificationHandler;
+    private final ExecutorService                       executor;
+    private final ExecutorService[]                     workers;
+    private final AtomicBoolean                         running;
+    private       WatchService                          watchService;
+    private       WatchEvent.Modifier[]                 watchEventModifiers;
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
@@ -82,13 +99,18 @@ public class FileTreeWatcher {
         watchEventModifiers = new WatchEvent.Modifier[0];
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
-        this.excludePatterns = newArrayList(excludePatterns);
+        this.excludePatterns = new CopyOnWriteArrayList<>(excludePatterns);
         this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
 
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTreeWatcher-%d").build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
+        ThreadFactory workerThreadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTreeWatcherWorker-%d").build();
+        workers = new ExecutorService[WORKER_THREADS];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = Executors.newSingleThreadExecutor(workerThreadFactory);
+        }
         running = new AtomicBoolean();
-        watchedDirectories = newHashMap();
+        watchedDirectories = new ConcurrentHashMap<>();
     }
 
     private static File toCanonicalFile(File file) {
@@ -127,7 +149,11 @@ public class FileTreeWatcher {
 
     public void shutdown() {
         boolean interrupted = false;
+        running.set(false);
         executor.shutdown();
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
         try {
             if (!executor.awaitTermination(3, SECONDS)) {
                 executor.shutdownNow();
@@ -135,16 +161,26 @@ public class FileTreeWatcher {
                     LOG.warn("Unable terminate Executor");
                 }
             }
+            for (ExecutorService worker : workers) {
+                if (!worker.awaitTermination(3, SECONDS)) {
+                    worker.shutdownNow();
+                    if (!worker.awaitTermination(3, SECONDS)) {
+                        LOG.warn("Unable terminate Executor");
+                    }
+                }
+            }
         } catch (InterruptedException e) {
             interrupted = true;
             executor.shutdownNow();
+            for (ExecutorService worker : workers) {
+                worker.shutdownNow();
+            }
         }
 
-        try {
-            walkTreeAndRemoveWatches(watchRootPath);
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
+        for (WatchedDirectory watchedDirectory : watchedDirectories.values()) {
+            watchedDirectory.getWatchKey().cancel();
         }
+        watchedDirectories.clear();
 
         try {
             watchService.close();
@@ -169,15 +205,19 @@ public class FileTreeWatcher {
         Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                Path relativePath = watchRootPath.relativize(dir);
-                if (shouldNotify(relativePath)) {
-                    setupDirectoryWatcher(dir);
+                if (!shouldWatch(dir)) {
+                    return SKIP_SUBTREE;
                 }
+                setupDirectoryWatcher(dir, false);
                 return CONTINUE;
             }
         });
     }
 
+    private boolean shouldWatch(Path directory) {
+        return directory.equals(watchRootPath) || shouldNotify(watchRootPath.relativize(directory));
+    }
+
     private boolean shouldNotify(Path subPath) {
         for (PathMatcher excludePattern : excludePatterns) {
             if (excludePattern.matches(subPath)) {
@@ -187,59 +227,56 @@ public class FileTreeWatcher {
         return true;
     }
 
-    private void walkTreeAndRemoveWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                cancelDirectoryWatcher(dir);
-                return CONTINUE;
-            }
-        });
-    }
-
-    private void walkTreeAndFireCreatedEvents(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                if (!dir.equals(root)) {
-                    fireWatchEvent(CREATED, dir, true);
-                }
-                return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                fireWatchEvent(CREATED, file, false);
-                return CONTINUE;
+    /**
+     * Registers watch key for directory and remembers its items. If {@code notifyCreated} is {@code true} then all
+     * items found in directory are reported as created and sub-directories are watched recursively.
+     */
+    private void setupDirectoryWatcher(Path directory, boolean notifyCreated) throws IOException {
+        if (watchedDirectories.get(directory) != null) {
+            return;
+        }
+        WatchKey watchKey = directory.register(watchService,
+                                               new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
+                                               watchEventModifiers);
+        WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
+        synchronized (watchedDirectory) {
+            if (watchedDirectories.putIfAbsent(directory, watchedDirectory) != null) {
+                return;
             }
-        });
-    }
-
-    private void setupDirectoryWatcher(Path directory) throws IOException {
-        if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
+            List<Path> subDirectories = newArrayList();
             try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
                 for (Path entry : entries) {
-                    watchedDirectory
-                            .addItem(new DirectoryItem(entry.getFileName(), Files.isDirectory(entry), getLastModifiedInMillis(entry)));
+                    BasicFileAttributes attributes = readAttributes(entry);
+                    if (attributes == null) {
+                        continue;
+                    }
+                    DirectoryItem directoryItem = new DirectoryItem(entry.getFileName(),
+                                                                    attributes.isDirectory(),
+                                                                    attributes.lastModifiedTime().toMillis());
+                    watchedDirectory.addItem(directoryItem);
+                    if (notifyCreated) {
+                        fireWatchEvent(CREATED, entry, directoryItem.isDirectory());
+                        if (directoryItem.isDirectory()) {
+                            subDirectories.add(entry);
+                        }
+                    }
+                }
+            }
+            for (Path subDirectory : subDirectories) {
+                if (shouldWatch(subDirectory)) {
+                    setupDirectoryWatcher(subDirectory, true);
                 }
             }
-            watchedDirectories.put(directory, watchedDirectory);
         }
     }
 
-    private void cancelDirectoryWatcher(Path path) {
-        WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
-            watchedDirectory.getWatchKey().cancel();
-        }
+    private void cancelDirectoryWatcher(WatchedDirectory watchedDirectory) {
+        watchedDirectories.remove(watchedDirectory.getPath(), watchedDirectory);
+        watchedDirectory.cancel();
     }
 
     private class WatchEventTask implements Runnable {
-        final Set<PendingEvent> pendingEvents = newLinkedHashSet();
+        final Map<Path, PendingEvent> pendingEvents = newLinkedHashMap();
 
         @Override
         public void run() {
@@ -251,19 +288,96 @@ public class FileTreeWatcher {
                     } else {
                         watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
                         if (watchKey == null) {
-                            processPendingEvents(pendingEvents);
+                            dispatchPendingEvents(pendingEvents.values());
                             pendingEvents.clear();
                         }
                     }
                     if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
-                        watchKey.reset();
+                        Path directory = (Path)watchKey.watchable();
+                        PendingEvent pendingEvent = pendingEvents.get(directory);
+                        if (pendingEvent == null) {
+                            pendingEvents.put(directory, pendingEvent = new PendingEvent(directory));
+                        }
+                        for (WatchEvent<?> event : watchKey.pollEvents()) {
+                            if (event.kind() == OVERFLOW || event.context() == null) {
+                                pendingEvent.rescan();
+                            } else {
+                                pendingEvent.addItem((Path)event.context());
+                            }
+                        }
+                        if (!watchKey.reset()) {
+                            pendingEvent.rescan();
+                        }
                     }
                 } catch (InterruptedException | ClosedWatchServiceException e) {
                     running.set(false);
                 } catch (Throwable e) {
-                    running.set(false);
+                    if (running.compareAndSet(true, false)) {
+                        fileWatcherNotificationHandler.errorOccurred(watchRoot, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Distributes pending events between workers. Events that belong to the same subtree of the second level (e.g.
+     * /project/src) are always sent to the same worker. Events of watch root and of top level directories are split by
+     * item, so creation of a directory is processed by the same worker as events inside of it.
+     */
+    private void dispatchPendingEvents(Collection<PendingEvent> pendingEvents) {
+        Map<Integer, List<PendingEvent>> stripes = newHashMap();
+        for (PendingEvent pendingEvent : pendingEvents) {
+            Path relativePath = watchRootPath.relativize(pendingEvent.getPath());
+            if (getDepth(relativePath) < STRIPE_DEPTH && !pendingEvent.isRescan()) {
+                for (Path item : pendingEvent.getItems()) {
+                    PendingEvent itemEvent = new PendingEvent(pendingEvent.getPath());
+                    itemEvent.addItem(item);
+                    addToStripe(stripes, getStripe(relativePath.resolve(item)), itemEvent);
+                }
+            } else {
+                addToStripe(stripes, getStripe(relativePath), pendingEvent);
+            }
+        }
+        for (Map.Entry<Integer, List<PendingEvent>> stripe : stripes.entrySet()) {
+            workers[stripe.getKey()].execute(new ProcessEventsTask(stripe.getValue()));
+        }
+    }
+
+    private void addToStripe(Map<Integer, List<PendingEvent>> stripes, int stripe, PendingEvent pendingEvent) {
+        List<PendingEvent> events = stripes.get(stripe);
+        if (events == null) {
+            stripes.put(stripe, events = newArrayList());
+        }
+        events.add(pendingEvent);
+    }
+
+    private int getDepth(Path relativePath) {
+        return relativePath.toString().isEmpty() ? 0 : relativePath.getNameCount();
+    }
+
+    private int getStripe(Path relativePath) {
+        Path stripeKey = getDepth(relativePath) > STRIPE_DEPTH ? relativePath.subpath(0, STRIPE_DEPTH) : relativePath;
+        return (stripeKey.hashCode() & Integer.MAX_VALUE) % workers.length;
+    }
+
+    private class ProcessEventsTask implements Runnable {
+        final List<PendingEvent> pendingEvents;
+
+        ProcessEventsTask(List<PendingEvent> pendingEvents) {
+            this.pendingEvents = pendingEvents;
+        }
+
+        @Override
+        public void run() {
+            if (!running.get()) {
+                return;
+            }
+            try {
+                processPendingEvents(pendingEvents);
+            } catch (Throwable e) {
+                if (running.compareAndSet(true, false)) {
+                    executor.shutdownNow();
                     fileWatcherNotificationHandler.errorOccurred(watchRoot, e);
                 }
             }
@@ -272,57 +386,114 @@ public class FileTreeWatcher {
 
     private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
         for (PendingEvent pendingEvent : pendingEvents) {
-            Path eventDirectoryPath = pendingEvent.getPath();
-            WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
-            if (Files.exists(eventDirectoryPath)) {
-                final int hitCounter = watchedDirectory.incrementHitCounter();
-                try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
-                    for (Path fsItem : entries) {
-                        DirectoryItem directoryItem = watchedDirectory.getItem(fsItem.getFileName());
-                        if (directoryItem == null) {
-                            try {
-                                boolean directory = Files.isDirectory(fsItem);
-                                directoryItem = new DirectoryItem(fsItem.getFileName(), directory, getLastModifiedInMillis(fsItem));
-                                watchedDirectory.addItem(directoryItem);
-                                fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
-                                if (directory) {
-                                    walkTreeAndFireCreatedEvents(fsItem);
-                                    setupDirectoryWatcher(fsItem);
-                                }
-                            } catch (IOException ignored) {
-                            }
-                        } else {
-                            long lastModified;
-                            try {
-                                lastModified = getLastModifiedInMillis(fsItem);
-                            } catch (IOException ignored) {
-                                continue;
-                            }
-                            if (lastModified != directoryItem.getLastModified() && Files.isRegularFile(fsItem)) {
-                                fireWatchEvent(MODIFIED, fsItem, false);
-                            }
-                            directoryItem.touch(lastModified);
-                            directoryItem.updateHitCounter(hitCounter);
-                        }
+            WatchedDirectory watchedDirectory = watchedDirectories.get(pendingEvent.getPath());
+            if (watchedDirectory == null) {
+                continue;
+            }
+            synchronized (watchedDirectory) {
+                if (watchedDirectory.isCancelled()) {
+                    continue;
+                }
+                if (!Files.isDirectory(watchedDirectory.getPath(), NOFOLLOW_LINKS)) {
+                    deleteAllItems(watchedDirectory);
+                } else if (pendingEvent.isRescan()) {
+                    rescan(watchedDirectory);
+                } else {
+                    for (Path item : pendingEvent.getItems()) {
+                        checkItem(watchedDirectory, item);
                     }
                 }
+            }
+        }
+    }
 
-                for (Iterator<DirectoryItem> iterator = watchedDirectory.getItems().iterator(); iterator.hasNext(); ) {
-                    DirectoryItem directoryItem = iterator.next();
-                    if (hitCounter != directoryItem.getHitCount()) {
-                        iterator.remove();
-                        fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
-                    }
+    private void rescan(WatchedDirectory watchedDirectory) throws IOException {
+        Set<Path> names = newLinkedHashSet(watchedDirectory.getItemNames());
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(watchedDirectory.getPath())) {
+            for (Path entry : entries) {
+                names.add(entry.getFileName());
+            }
+        }
+        for (Path name : names) {
+            checkItem(watchedDirectory, name);
+        }
+    }
+
+    private void checkItem(WatchedDirectory watchedDirectory, Path name) throws IOException {
+        Path itemPath = watchedDirectory.getPath().resolve(name);
+        DirectoryItem directoryItem = watchedDirectory.getItem(name);
+        BasicFileAttributes attributes = readAttributes(itemPath);
+        if (attributes == null) {
+            if (directoryItem != null) {
+                itemDeleted(watchedDirectory, directoryItem);
+            }
+        } else if (directoryItem == null) {
+            itemCreated(watchedDirectory, itemPath, attributes);
+        } else if (directoryItem.isDirectory() != attributes.isDirectory()) {
+            itemDeleted(watchedDirectory, directoryItem);
+            itemCreated(watchedDirectory, itemPath, attributes);
+        } else {
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            if (lastModified != directoryItem.getLastModified() && attributes.isRegularFile()) {
+                fireWatchEvent(MODIFIED, itemPath, false);
+            }
+            directoryItem.touch(lastModified);
+            if (directoryItem.isDirectory() && watchedDirectories.get(itemPath) == null && shouldWatch(itemPath)) {
+                // directory was removed and created again with the same name
+                setupDirectoryWatcher(itemPath, true);
+            }
+        }
+    }
+
+    private void itemCreated(WatchedDirectory watchedDirectory, Path itemPath, BasicFileAttributes attributes) throws IOException {
+        DirectoryItem directoryItem = new DirectoryItem(itemPath.getFileName(),
+                                                        attributes.isDirectory(),
+                                                        attributes.lastModifiedTime().toMillis());
+        watchedDirectory.addItem(directoryItem);
+        fireWatchEvent(CREATED, itemPath, directoryItem.isDirectory());
+        if (directoryItem.isDirectory() && shouldWatch(itemPath)) {
+            try {
+                setupDirectoryWatcher(itemPath, true);
+            } catch (IOException e) {
+                if (Files.exists(itemPath, NOFOLLOW_LINKS)) {
+                    throw e;
                 }
-            } else {
-                for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
-                    fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
+                // directory was removed before we started watching it, deletion is reported by next event
+            }
+        }
+    }
+
+    private void itemDeleted(WatchedDirectory watchedDirectory, DirectoryItem directoryItem) {
+        watchedDirectory.removeItem(directoryItem.getName());
+        Path itemPath = watchedDirectory.getPath().resolve(directoryItem.getName());
+        fireWatchEvent(DELETED, itemPath, directoryItem.isDirectory());
+        if (directoryItem.isDirectory()) {
+            WatchedDirectory deletedDirectory = watchedDirectories.get(itemPath);
+            if (deletedDirectory != null) {
+                synchronized (deletedDirectory) {
+                    if (!deletedDirectory.isCancelled()) {
+                        deleteAllItems(deletedDirectory);
+                    }
                 }
-                watchedDirectories.remove(eventDirectoryPath);
             }
         }
     }
 
+    private void deleteAllItems(WatchedDirectory watchedDirectory) {
+        cancelDirectoryWatcher(watchedDirectory);
+        for (DirectoryItem directoryItem : newArrayList(watchedDirectory.getItems())) {
+            itemDeleted(watchedDirectory, directoryItem);
+        }
+    }
+
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
         Path relativePath = watchRootPath.relativize(eventPath);
         if (shouldNotify(relativePath)) {
@@ -330,21 +501,39 @@ public class FileTreeWatcher {
         }
     }
 
-    private long getLastModifiedInMillis(Path path) throws IOException {
-        return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
-    }
-
     static class PendingEvent {
-        final Path path;
+        final Path      path;
+        final Set<Path> items;
+        boolean rescan;
 
         PendingEvent(Path path) {
             this.path = path;
+            items = newLinkedHashSet();
         }
 
         Path getPath() {
             return path;
         }
 
+        Set<Path> getItems() {
+            return items;
+        }
+
+        void addItem(Path name) {
+            if (!rescan) {
+                items.add(name);
+            }
+        }
+
+        boolean isRescan() {
+            return rescan;
+        }
+
+        void rescan() {
+            rescan = true;
+            items.clear();
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -364,15 +553,15 @@ public class FileTreeWatcher {
     }
 
     static class WatchedDirectory {
-        final Path                path;
-        final WatchKey            watchKey;
-        final List<DirectoryItem> items;
-        int hitCounter;
+        final Path                     path;
+        final WatchKey                 watchKey;
+        final Map<Path, DirectoryItem> items;
+        boolean cancelled;
 
         WatchedDirectory(Path path, WatchKey watchKey) {
             this.path = path;
             this.watchKey = watchKey;
-            items = newArrayList();
+            items = newHashMap();
         }
 
         WatchKey getWatchKey() {
@@ -384,25 +573,32 @@ public class FileTreeWatcher {
         }
 
         DirectoryItem getItem(Path name) {
-            for (DirectoryItem item : items) {
-                if (item.getName().equals(name)) {
-                    return item;
-                }
-            }
-            return null;
+            return items.get(name);
         }
 
         void addItem(DirectoryItem item) {
-            item.updateHitCounter(this.hitCounter);
-            items.add(item);
+            items.put(item.getName(), item);
         }
 
-        List<DirectoryItem> getItems() {
-            return items;
+        void removeItem(Path name) {
+            items.remove(name);
+        }
+
+        Collection<DirectoryItem> getItems() {
+            return items.values();
         }
 
-        int incrementHitCounter() {
-            return ++hitCounter;
+        Set<Path> getItemNames() {
+            return items.keySet();
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+            watchKey.cancel();
         }
     }
 
@@ -410,7 +606,6 @@ public class FileTreeWatcher {
         final Path    name;
         final boolean directory;
         long lastModified;
-        int  hitCounter;
 
         DirectoryItem(Path name, boolean directory, long lastModified) {
             this.name = name;
@@ -433,13 +628,5 @@ public class FileTreeWatcher {
         void touch(long lastModified) {
             this.lastModified = lastModified;
         }
-
-        int getHitCount() {
-            return hitCounter;
-        }
-
-        void updateHitCounter(int hitCounter) {
-            this.hitCounter = hitCounter;
-        }
     }
 }
@@ -25,6 +25,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -107,6 +108,11 @@ public class LocalVirtualFile implements VirtualFile {
         return fileSystem.getContent(this);
     }
 
+    @Override
+    public long writeContent(OutputStream output, long offset, long length) throws ForbiddenException, ServerException {
+        return fileSystem.writeContent(this, output, offset, length);
+    }
+
     @Override
     public byte[] getContentAsBytes() throws ForbiddenException, ServerException {
         if (getLength() > MAX_BUFFER_SIZE) {
@@ -252,6 +258,12 @@ public class LocalVirtualFile implements VirtualFile {
         fileSystem.unzip(this, zipped, overwrite, stripNumber);
     }
 
+    @Override
+    public void unzip(java.io.File zipped, boolean overwrite, int stripNumber)
+            throws ForbiddenException, ConflictException, ServerException {
+        fileSystem.unzip(this, zipped, overwrite, stripNumber);
+    }
+
     @Override
     public InputStream tar() throws ForbiddenException, ServerException {
         return fileSystem.tar(this);
@@ -52,11 +52,17 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
@@ -89,7 +95,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
 
-    private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
+    private static final int LISTING_CACHE_MAX_SIZE = 1024;
 
     private static final FilenameFilter VFS_LOCK_FILTER =
             (dir, name) -> !(dir.getAbsolutePath().endsWith(FILE_LOCKS_DIR) || name.endsWith(LOCK_FILE_SUFFIX));
@@ -136,6 +142,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final DirectoryListingCache listingCache;
+    /** Incremented after each modification of file system, including modifications reported by file watcher. */
+    private final AtomicLong            modificationCount;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +172,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        listingCache = new DirectoryListingCache(LISTING_CACHE_MAX_SIZE,
+                                                 entry -> !VFS_SERVICE_DIR.equals(entry.getFileName().toString()));
+        modificationCount = new AtomicLong();
     }
 
     @Override
@@ -174,9 +188,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return searcherProvider;
     }
 
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        listingCache.invalidateAll();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -243,34 +263,32 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
-            return children;
+            return doGetChildren(parent, filter);
         }
         return emptyList();
     }
 
 
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
-        }
-
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+    /** Children are returned in order of {@link LocalVirtualFile#compareTo(VirtualFile)}, listing cache keeps them sorted. */
+    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, VirtualFileFilter vfsFilter) throws ServerException {
+        final List<DirectoryListingCache.Entry> entries;
+        try {
+            entries = listingCache.getEntries(parent.getPath(), parent.toIoFile());
+        } catch (IOException e) {
+            String errorMessage = String.format("Unable get children of '%s'", parent.getPath());
+            LOG.error(errorMessage + "\n" + e.getMessage(), e);
+            throw new ServerException(errorMessage);
         }
 
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
+        final List<VirtualFile> children = newArrayListWithCapacity(entries.size());
+        for (DirectoryListingCache.Entry entry : entries) {
+            final Path childPath = parent.getPath().newPath(entry.name);
             final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
             if (vfsFilter.accept(child)) {
                 children.add(child);
@@ -281,6 +299,19 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    /**
+     * Drops cached listings which may be affected by change of item with specified path: listing of its parent and,
+     * if item is folder, listings of the folder and its descendants.
+     */
+    void invalidateListing(Path path) {
+        if (!path.isRoot()) {
+            listingCache.invalidate(path.getParent());
+        }
+        listingCache.invalidateTree(path);
+        modificationCount.incrementAndGet();
+    }
+
+
     LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
             throws ForbiddenException, ConflictException, ServerException {
         checkName(name);
@@ -297,6 +328,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 if (!newIoFile.createNewFile()) {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
+                listingCache.invalidate(parent.getPath());
             } catch (IOException e) {
                 String errorMessage = String.format("Unable create new file '%s'", newPath);
                 LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -308,6 +340,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             if (content != null) {
                 doUpdateContent(newVirtualFile, content);
             }
+            modificationCount.incrementAndGet();
 
             addInSearcher(newVirtualFile);
 
@@ -325,7 +358,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (parent.isFolder()) {
             final Path newPath = parent.getPath().newPath(name);
             final File newIoFile = new File(ioRoot, toIoPath(newPath));
-            if (!newIoFile.mkdirs()) {
+            final boolean created = newIoFile.mkdirs();
+            // name may contain few levels of folders, all of them may be created
+            for (Path createdPath = newPath; !createdPath.equals(parent.getPath()); createdPath = createdPath.getParent()) {
+                invalidateListing(createdPath);
+            }
+            if (!created) {
                 if (newIoFile.exists()) {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
@@ -386,6 +424,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
             throw new ServerException(errorMessage);
+        } finally {
+            invalidateListing(to.getPath());
         }
     }
 
@@ -518,6 +558,55 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    /**
+     * Transfers content of file directly from the file channel without holding the path lock. Instead of locking,
+     * size, modification time and identity of the file are compared before and after the transfer, and error is thrown
+     * if file is modified in the meantime.
+     */
+    long writeContent(LocalVirtualFile virtualFile, OutputStream output, long offset, long length)
+            throws ForbiddenException, ServerException {
+        if (!virtualFile.isFile()) {
+            throw new ForbiddenException(String.format("Unable get content. Item '%s' is not a file", virtualFile.getPath()));
+        }
+        final java.nio.file.Path ioPath = virtualFile.toIoFile().toPath();
+        try {
+            final BasicFileAttributes before = java.nio.file.Files.readAttributes(ioPath, BasicFileAttributes.class);
+            if (offset < 0 || offset > before.size()) {
+                throw new ForbiddenException(String.format("Offset %d is out of content of file '%s'", offset, virtualFile.getPath()));
+            }
+            final long count = length < 0 ? before.size() - offset : Math.min(length, before.size() - offset);
+            try (FileChannel channel = FileChannel.open(ioPath, StandardOpenOption.READ)) {
+                final WritableByteChannel target = Channels.newChannel(output);
+                long position = offset;
+                final long end = offset + count;
+                while (position < end) {
+                    final long transferred = channel.transferTo(position, end - position, target);
+                    if (transferred <= 0) {
+                        // file is truncated
+                        throw fileModifiedWhileRead(virtualFile);
+                    }
+                    position += transferred;
+                }
+            }
+            final BasicFileAttributes after = java.nio.file.Files.readAttributes(ioPath, BasicFileAttributes.class);
+            if (before.size() != after.size()
+                || !before.lastModifiedTime().equals(after.lastModifiedTime())
+                || !Objects.equals(before.fileKey(), after.fileKey())) {
+                throw fileModifiedWhileRead(virtualFile);
+            }
+            return count;
+        } catch (IOException e) {
+            String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
+            LOG.error(errorMessage + "\n" + e.getMessage(), e);
+            throw new ServerException(errorMessage);
+        }
+    }
+
+    private ServerException fileModifiedWhileRead(LocalVirtualFile virtualFile) {
+        return new ServerException(String.format("File '%s' was modified while its content was read", virtualFile.getPath()));
+    }
+
+
     void updateContent(LocalVirtualFile virtualFile, InputStream content, String lockToken)
             throws ForbiddenException, ServerException {
         if (virtualFile.isFile()) {
@@ -544,6 +633,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String errorMessage = String.format("Unable set content of '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
             throw new ServerException(errorMessage);
+        } finally {
+            modificationCount.incrementAndGet();
         }
     }
 
@@ -589,7 +680,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
-        if (!deleteRecursive(virtualFile.toIoFile())) {
+        final boolean deleted = deleteRecursive(virtualFile.toIoFile());
+        invalidateListing(virtualFile.getPath());
+        if (!deleted) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
@@ -614,7 +707,32 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            } finally {
+                listingCache.invalidateTree(parent.getPath());
+                modificationCount.incrementAndGet();
+            }
+            addInSearcher(parent);
+        } else {
+            throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
+        }
+    }
+
+    void unzip(LocalVirtualFile parent, File zipped, boolean overwrite, int stripNumber)
+            throws ForbiddenException, ConflictException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (parent.isFolder()) {
+            try {
+                archiverFactory.createArchiver(parent, "zip").extract(zipped, overwrite, stripNumber);
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            } finally {
+                listingCache.invalidateTree(parent.getPath());
+                modificationCount.incrementAndGet();
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -639,7 +757,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            } finally {
+                listingCache.invalidateTree(parent.getPath());
+                modificationCount.incrementAndGet();
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
@@ -874,6 +997,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             metadataCache.put(virtualFile.getPath(), properties);
+            modificationCount.incrementAndGet();
 
             if (!virtualFile.toIoFile().setLastModified(System.currentTimeMillis())) {
                 LOG.warn("Unable to set timestamp to '{}'", virtualFile.toIoFile());
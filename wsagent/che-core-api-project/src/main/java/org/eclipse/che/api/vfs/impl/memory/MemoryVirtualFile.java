@@ -34,6 +34,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -302,6 +303,21 @@ public class MemoryVirtualFile implements VirtualFile {
         throw new ForbiddenException(String.format("We were unable to retrieve the content. Item '%s' is not a file", getPath()));
     }
 
+    @Override
+    public long writeContent(OutputStream output, long offset, long length) throws ForbiddenException, ServerException {
+        final byte[] bytes = getContentAsBytes();
+        if (offset < 0 || offset > bytes.length) {
+            throw new ForbiddenException(String.format("Offset %d is out of content of file '%s'", offset, getPath()));
+        }
+        final int count = length < 0 ? bytes.length - (int)offset : (int)Math.min(length, bytes.length - offset);
+        try {
+            output.write(bytes, (int)offset, count);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        return count;
+    }
+
     @Override
     public String getContentAsString() throws ForbiddenException {
         return new String(getContentAsBytes());
@@ -601,6 +617,23 @@ public class MemoryVirtualFile implements VirtualFile {
         }
     }
 
+    @Override
+    public void unzip(java.io.File zipped, boolean overwrite, int stripNumber)
+            throws ForbiddenException, ServerException, ConflictException {
+        checkExistence();
+
+        if (isFolder()) {
+            try {
+                fileSystem.getArchiverFactory().createArchiver(this, "zip").extract(zipped, overwrite, stripNumber);
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            }
+            addInSearcher(this);
+        } else {
+            throw new ForbiddenException(String.format("Unable import zip. Item '%s' is not a folder", getPath()));
+        }
+    }
+
     @Override
     public InputStream tar() throws ForbiddenException, ServerException {
         checkExistence();
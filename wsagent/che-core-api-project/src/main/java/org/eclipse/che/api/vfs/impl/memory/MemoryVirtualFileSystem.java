@@ -72,6 +72,11 @@ public class MemoryVirtualFileSystem implements VirtualFileSystem {
         return searcherProvider;
     }
 
+    @Override
+    public long getModificationCount() {
+        return -1;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Progress and throughput of indexing file trees by {@link Searcher}.
+ */
+public class IndexingStatistics {
+    private final long    indexedFiles;
+    private final long    indexedBytes;
+    private final long    elapsedTimeMillis;
+    private final boolean inProgress;
+    private final int     pendingUpdates;
+    private final long    updateLagMillis;
+
+    public IndexingStatistics(long indexedFiles, long indexedBytes, long elapsedTimeMillis, boolean inProgress) {
+        this(indexedFiles, indexedBytes, elapsedTimeMillis, inProgress, 0, 0);
+    }
+
+    public IndexingStatistics(long indexedFiles,
+                              long indexedBytes,
+                              long elapsedTimeMillis,
+                              boolean inProgress,
+                              int pendingUpdates,
+                              long updateLagMillis) {
+        this.indexedFiles = indexedFiles;
+        this.indexedBytes = indexedBytes;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+        this.inProgress = inProgress;
+        this.pendingUpdates = pendingUpdates;
+        this.updateLagMillis = updateLagMillis;
+    }
+
+    /** Number of files added in index. */
+    public long getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    /** Total size of content of files added in index. */
+    public long getIndexedBytes() {
+        return indexedBytes;
+    }
+
+    /** Time spent on indexing. */
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    /** Returns {@code true} if indexing of some file tree is running at the moment. */
+    public boolean isInProgress() {
+        return inProgress;
+    }
+
+    /** Number of updates of index waiting in the queue, see {@link QueuedSearcher}. */
+    public int getPendingUpdates() {
+        return pendingUpdates;
+    }
+
+    /** Time the oldest pending update of index is waiting for. */
+    public long getUpdateLagMillis() {
+        return updateLagMillis;
+    }
+
+    /** Average number of files added in index per second. */
+    public double getFilesPerSecond() {
+        return elapsedTimeMillis == 0 ? 0 : indexedFiles * 1000.0 / elapsedTimeMillis;
+    }
+
+    /** Average number of bytes added in index per second. */
+    public double getBytesPerSecond() {
+        return elapsedTimeMillis == 0 ? 0 : indexedBytes * 1000.0 / elapsedTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingStatistics{" +
+               "indexedFiles=" + indexedFiles +
+               ", indexedBytes=" + indexedBytes +
+               ", elapsedTimeMillis=" + elapsedTimeMillis +
+               ", inProgress=" + inProgress +
+               ", pendingUpdates=" + pendingUpdates +
+               ", updateLagMillis=" + updateLagMillis +
+               '}';
+    }
+}
@@ -15,8 +15,12 @@ public class QueryExpression {
     private String name;
     private String path;
     private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String substring;
+    private String regex;
+    private String  cursor;
+    private int     skipCount;
+    private int     maxItems;
+    private boolean includeOccurrences;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +52,43 @@ public class QueryExpression {
         return this;
     }
 
+    /** Optional substring parameter. Only files which content contains specified string (case sensitive) are included in result. */
+    public String getSubstring() {
+        return substring;
+    }
+
+    public QueryExpression setSubstring(String substring) {
+        this.substring = substring;
+        return this;
+    }
+
+    /**
+     * Optional regular expression parameter. Only files which content contains at least one match of specified expression are
+     * included in result. Expression is compiled in {@link java.util.regex.Pattern#MULTILINE} mode.
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(String regex) {
+        this.regex = regex;
+        return this;
+    }
+
+    /**
+     * Position in search result after which next page of results starts. Cursor is obtained from query expression for
+     * retrieving next page, see {@link SearchResult#getNextPageQueryExpression()}. If cursor is set then {@link #getSkipCount()}
+     * is ignored and search continues from position of cursor without scanning all previous results.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -68,14 +109,28 @@ public class QueryExpression {
         return this;
     }
 
+    /** If {@code true} then search result contains line numbers, offsets and content of lines of all occurrences of searched text. */
+    public boolean isIncludeOccurrences() {
+        return includeOccurrences;
+    }
+
+    public QueryExpression setIncludeOccurrences(boolean includeOccurrences) {
+        this.includeOccurrences = includeOccurrences;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
+               ", substring='" + substring + '\'' +
+               ", regex='" + regex + '\'' +
+               ", cursor='" + cursor + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", includeOccurrences=" + includeOccurrences +
                '}';
     }
 }
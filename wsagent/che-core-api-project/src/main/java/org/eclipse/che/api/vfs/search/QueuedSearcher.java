@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Searcher that doesn't update index in the thread which modifies files. Updates of index are put in the queue and
+ * applied to the wrapped searcher in background in batches.
+ *
+ * <p>Queue keeps single update per path, the last one wins, e.g. file saved several times in a row is read and indexed
+ * once. Deleting of a folder drops pending updates of its descendants. Updates wait in the queue no longer than
+ * {@code maxStalenessMillis}, or less if {@code maxBatchSize} updates are pending.
+ *
+ * <p>Search doesn't see stale index: before delegating the query it waits until pending updates of items under path of
+ * the query are applied.
+ */
+public class QueuedSearcher implements Searcher {
+    private static final Logger LOG = LoggerFactory.getLogger(QueuedSearcher.class);
+
+    /** Max time search waits for pending updates, search is performed over stale index after that. */
+    private static final long MAX_SEARCH_WAIT_MILLIS = 30_000;
+
+    private enum Operation {
+        ADD, UPDATE, DELETE
+    }
+
+    private static final class Update {
+        final String      path;
+        final Operation   operation;
+        final VirtualFile file;
+        final boolean     isFile;
+        /** Item with this path is deleted before the operation, see {@link #enqueue(Update)}. */
+        boolean deleteBefore;
+        boolean deletedIsFile;
+        long    enqueuedAt;
+
+        Update(String path, Operation operation, VirtualFile file, boolean isFile) {
+            this.path = path;
+            this.operation = operation;
+            this.file = file;
+            this.isFile = isFile;
+            this.enqueuedAt = System.nanoTime();
+        }
+    }
+
+    private final Searcher                 delegate;
+    private final long                     maxStalenessMillis;
+    private final int                      maxBatchSize;
+    private final ScheduledExecutorService executor;
+    private final ReentrantLock            lock;
+    private final Condition                applied;
+    private final Map<String, Update>      pending;
+    private final List<Update>             applying;
+    private final AtomicLong               appliedUpdates;
+    private final AtomicLong               coalescedUpdates;
+
+    private boolean flushScheduled;
+    private boolean closed;
+
+    /**
+     * @param delegate
+     *         searcher which index is updated
+     * @param maxStalenessMillis
+     *         max time that update waits in the queue
+     * @param maxBatchSize
+     *         max number of updates applied in one batch, when this number of updates is pending they are applied
+     *         without waiting {@code maxStalenessMillis}
+     */
+    public QueuedSearcher(Searcher delegate, long maxStalenessMillis, int maxBatchSize) {
+        this.delegate = delegate;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                                                                                             .setNameFormat("IndexUpdater-%d")
+                                                                                             .build());
+        this.lock = new ReentrantLock();
+        this.applied = lock.newCondition();
+        this.pending = new LinkedHashMap<>();
+        this.applying = new ArrayList<>();
+        this.appliedUpdates = new AtomicLong();
+        this.coalescedUpdates = new AtomicLong();
+    }
+
+    public Searcher getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public SearchResult search(QueryExpression query) throws ServerException {
+        awaitPendingUpdates(query.getPath());
+        return delegate.search(query);
+    }
+
+    @Override
+    public SearchResult search(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException {
+        awaitPendingUpdates(query.getPath());
+        return delegate.search(query, consumer);
+    }
+
+    @Override
+    public void add(VirtualFile virtualFile) throws ServerException {
+        enqueue(new Update(virtualFile.getPath().toString(), Operation.ADD, virtualFile, virtualFile.isFile()));
+    }
+
+    @Override
+    public void delete(String path, boolean isFile) throws ServerException {
+        enqueue(new Update(path, Operation.DELETE, null, isFile));
+    }
+
+    @Override
+    public void update(VirtualFile virtualFile) throws ServerException {
+        enqueue(new Update(virtualFile.getPath().toString(), Operation.UPDATE, virtualFile, true));
+    }
+
+    /** Pending updates are dropped, index isn't reused after closing. */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending.clear();
+            applied.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        executor.shutdownNow();
+        delegate.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public boolean addIndexFilter(VirtualFileFilter indexFilter) {
+        return delegate.addIndexFilter(indexFilter);
+    }
+
+    @Override
+    public boolean removeIndexFilter(VirtualFileFilter indexFilter) {
+        return delegate.removeIndexFilter(indexFilter);
+    }
+
+    /** Returns number of updates which are waiting in the queue or are being applied at the moment. */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size() + applying.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns time in milliseconds the oldest not applied update is waiting for, {@code 0} if there is no such updates. */
+    public long getLagMillis() {
+        lock.lock();
+        try {
+            long oldest = Long.MAX_VALUE;
+            for (Update update : pending.values()) {
+                oldest = Math.min(oldest, update.enqueuedAt);
+            }
+            for (Update update : applying) {
+                oldest = Math.min(oldest, update.enqueuedAt);
+            }
+            return oldest == Long.MAX_VALUE ? 0 : NANOSECONDS.toMillis(System.nanoTime() - oldest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns number of updates applied to the index. */
+    public long getAppliedUpdates() {
+        return appliedUpdates.get();
+    }
+
+    /** Returns number of updates which are replaced by later updates of the same items before being applied. */
+    public long getCoalescedUpdates() {
+        return coalescedUpdates.get();
+    }
+
+    /**
+     * Blocks until updates of items under specified path, its ancestors included, are applied to the index.
+     *
+     * @param path
+     *         path of item, {@code null} or root path means all items
+     */
+    public void awaitPendingUpdates(String path) {
+        lock.lock();
+        try {
+            if (!hasPendingUpdates(path)) {
+                return;
+            }
+            flushNow();
+            long remaining = MILLISECONDS.toNanos(MAX_SEARCH_WAIT_MILLIS);
+            while (!closed && hasPendingUpdates(path)) {
+                if (remaining <= 0) {
+                    LOG.warn("Pending updates of index under '{}' are not applied in {} ms, search may return stale results",
+                             path, MAX_SEARCH_WAIT_MILLIS);
+                    return;
+                }
+                remaining = applied.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts update in the queue. Pending update of the same path is replaced, but if it is replaced update deletes item
+     * then documents of the old item are deleted before applying new update to make sure that index doesn't keep
+     * documents of files which don't exist any more.
+     */
+    private void enqueue(Update update) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            final Update previous = pending.remove(update.path);
+            if (previous != null) {
+                coalescedUpdates.incrementAndGet();
+                update.enqueuedAt = previous.enqueuedAt;
+                if (update.operation != Operation.DELETE) {
+                    if (previous.operation == Operation.DELETE) {
+                        update.deleteBefore = true;
+                        update.deletedIsFile = previous.isFile;
+                    } else {
+                        update.deleteBefore = previous.deleteBefore;
+                        update.deletedIsFile = previous.deletedIsFile;
+                    }
+                }
+            }
+            if (update.operation == Operation.DELETE && !update.isFile) {
+                final String prefix = update.path + '/';
+                for (Iterator<String> it = pending.keySet().iterator(); it.hasNext(); ) {
+                    if (it.next().startsWith(prefix)) {
+                        it.remove();
+                        coalescedUpdates.incrementAndGet();
+                    }
+                }
+            }
+            // re-added update goes to the end of the queue to keep order relatively to updates of other paths
+            pending.put(update.path, update);
+            if (pending.size() >= maxBatchSize) {
+                flushNow();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                executor.schedule(this::flush, maxStalenessMillis, MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Index update of '{}' is dropped, searcher is closed", update.path);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushNow() {
+        try {
+            executor.execute(this::flush);
+        } catch (RejectedExecutionException ignored) {
+            // searcher is closed
+        }
+    }
+
+    /** Applies all pending updates. Always runs in single thread of {@link #executor}. */
+    private void flush() {
+        lock.lock();
+        try {
+            flushScheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || pending.isEmpty()) {
+                    return;
+                }
+                final Iterator<Update> it = pending.values().iterator();
+                while (it.hasNext() && applying.size() < maxBatchSize) {
+                    applying.add(it.next());
+                    it.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (Update update : applying) {
+                apply(update);
+            }
+            lock.lock();
+            try {
+                appliedUpdates.addAndGet(applying.size());
+                applying.clear();
+                applied.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void apply(Update update) {
+        try {
+            if (update.deleteBefore) {
+                delegate.delete(update.path, update.deletedIsFile);
+            }
+            switch (update.operation) {
+                case ADD:
+                    delegate.add(update.file);
+                    break;
+                case UPDATE:
+                    delegate.update(update.file);
+                    break;
+                case DELETE:
+                    delegate.delete(update.path, update.isFile);
+                    break;
+            }
+        } catch (ServerException | RuntimeException e) {
+            LOG.error(String.format("Unable update index of '%s'", update.path), e);
+        }
+    }
+
+    private boolean hasPendingUpdates(String path) {
+        for (String updated : pending.keySet()) {
+            if (affects(updated, path)) {
+                return true;
+            }
+        }
+        for (Update update : applying) {
+            if (affects(update.path, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Checks whether update of item with {@code updated} path may change results of search under {@code searched} path. */
+    private static boolean affects(String updated, String searched) {
+        if (searched == null || searched.isEmpty() || "/".equals(searched)) {
+            return true;
+        }
+        return updated.equals(searched) || updated.startsWith(searched + '/') || searched.startsWith(updated + '/');
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Single occurrence of searched text in file.
+ */
+public class SearchOccurrence {
+    private final int    lineNumber;
+    private final int    column;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final String lineContent;
+
+    public SearchOccurrence(int lineNumber, int column, int startOffset, int endOffset, String lineContent) {
+        this.lineNumber = lineNumber;
+        this.column = column;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineContent = lineContent;
+    }
+
+    /** Number of line that contains occurrence, first line has number 1. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Position of occurrence in line, first character of line has position 1. */
+    public int getColumn() {
+        return column;
+    }
+
+    /** Offset of first character of occurrence from the beginning of file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset of character next after the last character of occurrence from the beginning of file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Content of line that contains occurrence, too long lines are cut around occurrence. */
+    public String getLineContent() {
+        return lineContent;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "lineNumber=" + lineNumber +
+               ", column=" + column +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", lineContent='" + lineContent + '\'' +
+               '}';
+    }
+}
@@ -10,18 +10,36 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
 /**
  * Single item in {@code SearchResult}.
  */
 public class SearchResultEntry {
-    private final String filePath;
+    private final String                 filePath;
+    private final List<SearchOccurrence> occurrences;
 
     public SearchResultEntry(String filePath) {
+        this(filePath, emptyList());
+    }
+
+    public SearchResultEntry(String filePath, List<SearchOccurrence> occurrences) {
         this.filePath = filePath;
+        this.occurrences = occurrences;
     }
 
     /** Path of file that matches the search criteria. */
     public String getFilePath() {
         return filePath;
     }
+
+    /**
+     * Occurrences of searched text in file. Occurrences are provided only if they are requested with {@link
+     * QueryExpression#setIncludeOccurrences(boolean)}, otherwise list is empty.
+     */
+    public List<SearchOccurrence> getOccurrences() {
+        return occurrences;
+    }
 }
@@ -14,6 +14,8 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
+import java.util.function.Consumer;
+
 public interface Searcher {
     /**
      * Return paths of matched items on virtual filesystem.
@@ -26,6 +28,24 @@ public interface Searcher {
      */
     SearchResult search(QueryExpression query) throws ServerException;
 
+    /**
+     * Return paths of matched items on virtual filesystem. Each item is passed to {@code consumer} as soon as it is found,
+     * before the whole page of results is collected.
+     *
+     * @param query
+     *         query expression
+     * @param consumer
+     *         consumer of found items
+     * @return results of search
+     * @throws ServerException
+     *         if an error occurs
+     */
+    default SearchResult search(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException {
+        final SearchResult result = search(query);
+        result.getResults().forEach(consumer);
+        return result;
+    }
+
     /**
      * Add VirtualFile to index.
      *
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
+import com.google.common.base.Optional;
+
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 
@@ -41,6 +43,13 @@ public interface SearcherProvider {
      */
     Searcher getSearcher(VirtualFileSystem virtualFileSystem) throws ServerException;
 
+    /**
+     * Get statistics of indexing files by Searcher of this SearcherProvider.
+     *
+     * @return statistics of indexing or absent value if Searcher is not initialized yet
+     */
+    Optional<IndexingStatistics> getIndexingStatistics();
+
     /** Closes all Searcher related to this SearcherProvider. */
     void close() throws ServerException;
 }
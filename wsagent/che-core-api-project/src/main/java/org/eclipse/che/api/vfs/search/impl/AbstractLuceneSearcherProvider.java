@@ -10,13 +10,18 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.base.Optional;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStatistics;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
+import org.eclipse.che.api.vfs.search.QueuedSearcher;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
@@ -30,10 +35,21 @@ import java.util.concurrent.atomic.AtomicReference;
 import static com.google.common.collect.Lists.newArrayList;
 
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
+    public static final String INDEX_UPDATE_MAX_STALENESS_MS = "vfs.index_update.max_staleness_ms";
+    public static final String INDEX_UPDATE_MAX_BATCH_SIZE   = "vfs.index_update.max_batch_size";
+
     protected final VirtualFileFilter fileIndexFilter;
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
 
+    @Inject(optional = true)
+    @Named(INDEX_UPDATE_MAX_STALENESS_MS)
+    private long indexUpdateMaxStalenessMillis = 500;
+
+    @Inject(optional = true)
+    @Named(INDEX_UPDATE_MAX_BATCH_SIZE)
+    private int indexUpdateMaxBatchSize = 1000;
+
     /**
      * @param fileIndexFilters
      *         set filter for files that should not be indexed
@@ -63,8 +79,12 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
-            if (searcherReference.compareAndSet(null, searcher)) {
+            QueuedSearcher queuedSearcher = new QueuedSearcher(searcher, indexUpdateMaxStalenessMillis, indexUpdateMaxBatchSize);
+            if (searcherReference.compareAndSet(null, queuedSearcher)) {
                 searcher.initAsynchronously(executor, virtualFileSystem);
+            } else {
+                // searcher is not initialized, so closing it releases update queue only and doesn't call close callback
+                queuedSearcher.close();
             }
             cachedSearcher = searcherReference.get();
         }
@@ -83,6 +103,27 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
 
     protected abstract LuceneSearcher createLuceneSearcher(CloseCallback closeCallback);
 
+    @Override
+    public Optional<IndexingStatistics> getIndexingStatistics() {
+        Searcher searcher = searcherReference.get();
+        if (searcher instanceof QueuedSearcher) {
+            QueuedSearcher queuedSearcher = (QueuedSearcher)searcher;
+            if (queuedSearcher.getDelegate() instanceof LuceneSearcher) {
+                IndexingStatistics statistics = ((LuceneSearcher)queuedSearcher.getDelegate()).getIndexingStatistics();
+                return Optional.of(new IndexingStatistics(statistics.getIndexedFiles(),
+                                                          statistics.getIndexedBytes(),
+                                                          statistics.getElapsedTimeMillis(),
+                                                          statistics.isInProgress(),
+                                                          queuedSearcher.getQueueDepth(),
+                                                          queuedSearcher.getLagMillis()));
+            }
+        }
+        if (searcher instanceof LuceneSearcher) {
+            return Optional.of(((LuceneSearcher)searcher).getIndexingStatistics());
+        }
+        return Optional.absent();
+    }
+
     @Override
     public void close() throws ServerException {
         Searcher searcher = searcherReference.get();
@@ -39,7 +39,14 @@ public class FSLuceneSearcher extends LuceneSearcher {
     }
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
-        super(filter, closeCallback);
+        this(indexDirectory, filter, closeCallback, false);
+    }
+
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     boolean substringIndex) {
+        super(filter, closeCallback, substringIndex);
         this.indexDirectory = indexDirectory;
     }
 
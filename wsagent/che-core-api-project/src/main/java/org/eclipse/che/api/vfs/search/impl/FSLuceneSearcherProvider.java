@@ -10,10 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 
-import javax.inject.Inject;
-import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
@@ -26,8 +27,19 @@ import static com.google.common.collect.Sets.newHashSet;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
+    public static final String SUBSTRING_INDEX = "vfs.local.fs_index_substring";
+
     private final File indexRootDirectory;
 
+    /**
+     * Trigrams of files content are indexed if {@code true}, index becomes several times bigger. Without trigrams
+     * substring and regular expression search reads content of every file which matches other conditions of query,
+     * on large projects such search takes much longer. Disabled by default.
+     */
+    @Inject(optional = true)
+    @Named(SUBSTRING_INDEX)
+    private boolean substringIndex;
+
     /**
      * @param indexRootDirectory
      *         root directory for creation index
@@ -43,8 +55,22 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param substringIndex
+     *         if {@code true} trigram index is built for fast substring and regular expression search
+     * @see LuceneSearcher
+     */
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns, boolean substringIndex) throws IOException {
+        this(indexRootDirectory, excludePatterns);
+        this.substringIndex = substringIndex;
+    }
+
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback, substringIndex);
     }
 }
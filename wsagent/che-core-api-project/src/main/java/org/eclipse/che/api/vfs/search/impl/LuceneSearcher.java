@@ -10,15 +10,24 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
@@ -26,40 +35,76 @@ import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStatistics;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.util.LinkedList;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16BE;
+import static java.nio.charset.StandardCharsets.UTF_16LE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Lucene based searcher.
@@ -69,13 +114,62 @@ import static com.google.common.collect.Lists.newArrayList;
 public abstract class LuceneSearcher implements Searcher {
     private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
 
-    private static final int RESULT_LIMIT = 1000;
+    private static final int  RESULT_LIMIT = 1000;
+    /**
+     * Results of queries which are not scored are ordered by path, so position of page cursor doesn't depend on internal
+     * document ids which are changed when files are re-indexed or index segments are merged.
+     */
+    private static final Sort PATH_SORT    = new Sort(new SortField("path", SortField.Type.STRING));
+    /** Results of text queries are ordered by relevance, path breaks ties between documents with the same score. */
+    private static final Sort SCORE_SORT   = new Sort(SortField.FIELD_SCORE, new SortField("path", SortField.Type.STRING));
+
+    /** Content of files larger than this size is not indexed, such files may be found by name and path only. */
+    private static final long MAX_INDEXED_CONTENT_SIZE = 2 * 1024 * 1024;
+    private static final int  INDEX_QUEUE_SIZE         = 1000;
+    private static final int  INDEX_BATCH_SIZE         = 100;
+    private static final long INDEX_BATCH_CONTENT_SIZE = 4 * 1024 * 1024;
+    private static final int  INDEXER_THREADS          = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long POLL_TIMEOUT_MILLIS      = 100;
+
+    /** Version of documents structure, must be changed when fields of documents are changed. */
+    private static final String INDEX_FORMAT     = "2";
+    private static final String INDEX_FORMAT_KEY = "che.index.format";
+
+    private static final String    TRIGRAMS_FIELD      = "trigrams";
+    /** Max number of trigrams used for selecting candidates, more trigrams make query slower but not more selective. */
+    private static final int       MAX_QUERY_TRIGRAMS  = 32;
+    private static final FieldType TRIGRAMS_FIELD_TYPE = new FieldType();
+
+    static {
+        TRIGRAMS_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+        TRIGRAMS_FIELD_TYPE.setTokenized(true);
+        TRIGRAMS_FIELD_TYPE.setOmitNorms(true);
+        TRIGRAMS_FIELD_TYPE.freeze();
+    }
 
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final boolean                                      substringIndex;
+
+    private final AtomicLong    indexedFiles;
+    private final AtomicLong    indexedBytes;
+    private final AtomicLong    indexingTimeMillis;
+    private final AtomicLong    indexingStartTime;
+    private final AtomicInteger runningIndexingTasks;
+
+    /*
+     * While initial indexing is running documents are added in index without deleting previous version. Paths
+     * indexed or deleted by other operations during this time are remembered and skipped by initial indexing.
+     */
+    private final Set<String>   updatedDuringInitialIndexing;
+    private final ReadWriteLock initialIndexingLock;
+    private volatile boolean    initialIndexing;
 
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
+    private ExecutorService indexingExecutor;
+
+    private volatile VirtualFileSystem virtualFileSystem;
 
     private boolean closed = true;
 
@@ -93,9 +187,31 @@ public abstract class LuceneSearcher implements Searcher {
      *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
      */
     protected LuceneSearcher(VirtualFileFilter indexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(indexFilter, closeCallback, false);
+    }
+
+    /**
+     * @param indexFilter
+     *         common filter for files that should not be indexed. If complex excluding rules needed then few filters might be combined
+     *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
+     * @param substringIndex
+     *         if {@code true} trigrams of content of files are indexed. Such index is bigger but substring and regular expression
+     *         queries check only files that contain all trigrams of query instead of checking all files
+     */
+    protected LuceneSearcher(VirtualFileFilter indexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             boolean substringIndex) {
         this.closeCallback = closeCallback;
+        this.substringIndex = substringIndex;
         indexFilters = new CopyOnWriteArrayList<>();
         indexFilters.add(indexFilter);
+        indexedFiles = new AtomicLong();
+        indexedBytes = new AtomicLong();
+        indexingTimeMillis = new AtomicLong();
+        indexingStartTime = new AtomicLong();
+        runningIndexingTasks = new AtomicInteger();
+        updatedDuringInitialIndexing = ConcurrentHashMap.newKeySet();
+        initialIndexingLock = new ReentrantReadWriteLock();
     }
 
     @Override
@@ -119,6 +235,18 @@ public abstract class LuceneSearcher implements Searcher {
         };
     }
 
+    /** Analyzer for substring index, content of files is split on overlapped lower cased trigrams. */
+    protected Analyzer makeTrigramAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(3, 3);
+                TokenStream filter = new LowerCaseFilter(tokenizer);
+                return new TokenStreamComponents(tokenizer, filter);
+            }
+        };
+    }
+
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
@@ -131,15 +259,18 @@ public abstract class LuceneSearcher implements Searcher {
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        this.virtualFileSystem = virtualFileSystem;
+        addTree(virtualFileSystem.getRoot(), isIndexEmpty());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
+        this.virtualFileSystem = virtualFileSystem;
+        final boolean initial = isIndexEmpty();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot(), initial);
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -149,16 +280,46 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            final Analyzer analyzer = new PerFieldAnalyzerWrapper(makeAnalyzer(), singletonMap(TRIGRAMS_FIELD, makeTrigramAnalyzer()));
+            final Directory directory = makeDirectory();
+            // Existing index is reused and updated, index written with other fields is dropped and built from scratch.
+            final IndexWriterConfig.OpenMode openMode = indexFormat().equals(readIndexFormat(directory))
+                                                        ? IndexWriterConfig.OpenMode.CREATE_OR_APPEND
+                                                        : IndexWriterConfig.OpenMode.CREATE;
+            luceneIndexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(openMode));
+            luceneIndexWriter.setCommitData(singletonMap(INDEX_FORMAT_KEY, indexFormat()));
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            indexingExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(true)
+                                                                                       .setNameFormat("LuceneIndexer-%d")
+                                                                                       .build());
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
+    /** Returns format of documents written by this searcher, it is saved with each commit of index. */
+    private String indexFormat() {
+        return substringIndex ? INDEX_FORMAT + "-" + TRIGRAMS_FIELD : INDEX_FORMAT;
+    }
+
+    private static String readIndexFormat(Directory directory) throws IOException {
+        if (!DirectoryReader.indexExists(directory)) {
+            return null;
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            return reader.getIndexCommit().getUserData().get(INDEX_FORMAT_KEY);
+        }
+    }
+
+    /** Returns {@code true} if index doesn't contain any documents, so files may be added without deleting previous versions. */
+    private synchronized boolean isIndexEmpty() {
+        return getIndexWriter().numDocs() == 0;
+    }
+
     public final synchronized void close() {
         if (!closed) {
+            indexingExecutor.shutdownNow();
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
@@ -184,8 +345,27 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /** Returns statistics of indexing file trees since this searcher was initialized. */
+    public IndexingStatistics getIndexingStatistics() {
+        long elapsedTimeMillis = indexingTimeMillis.get();
+        final boolean inProgress = runningIndexingTasks.get() > 0;
+        if (inProgress) {
+            elapsedTimeMillis += System.currentTimeMillis() - indexingStartTime.get();
+        }
+        return new IndexingStatistics(indexedFiles.get(), indexedBytes.get(), elapsedTimeMillis, inProgress);
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
+        return search(query, entry -> {
+        });
+    }
+
+    @Override
+    public SearchResult search(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException {
+        if (query.getSubstring() != null || query.getRegex() != null) {
+            return searchContent(query, consumer);
+        }
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
@@ -193,30 +373,48 @@ public abstract class LuceneSearcher implements Searcher {
             luceneSearcher = searcherManager.acquire();
 
             Query luceneQuery = createLuceneQuery(query);
+            final Sort sort = getSort(query);
+            final OccurrencesFinder occurrencesFinder = query.isIncludeOccurrences()
+                                                        ? createOccurrencesFinder(luceneSearcher, query)
+                                                        : null;
 
             ScoreDoc after = null;
-            final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+            int numSkipDocs = Math.max(0, query.getSkipCount());
+            if (query.getCursor() != null) {
+                final PageCursor cursor = PageCursor.parse(query.getCursor());
+                after = cursor.after(sort);
+                numSkipDocs = cursor.position;
+            } else if (numSkipDocs > 0) {
+                after = skipScoreDocs(luceneSearcher, luceneQuery, sort, numSkipDocs);
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
-            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
+            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs, sort);
             final int totalHitsNum = topDocs.totalHits;
 
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                final SearchResultEntry entry;
+                if (occurrencesFinder == null) {
+                    entry = new SearchResultEntry(filePath);
+                } else {
+                    entry = new SearchResultEntry(filePath, findOccurrences(filePath, occurrencesFinder));
+                }
+                results.add(entry);
+                consumer.accept(entry);
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            final int numRetrievedDocs = topDocs.scoreDocs.length;
+            boolean hasMoreToRetrieve = numRetrievedDocs > 0 && numSkipDocs + numRetrievedDocs < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                nextPageQueryExpression = createNextPageQuery(query,
+                                                              PageCursor.of(topDocs.scoreDocs[numRetrievedDocs - 1],
+                                                                            numSkipDocs + numRetrievedDocs));
             }
 
             return SearchResult.aSearchResult()
@@ -236,6 +434,160 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Searches files which content contains substring or matches regular expression. Candidates are selected with index,
+     * if substring index is enabled only files that contain all trigrams of substring and of literal parts of regular
+     * expression are selected, then content of each candidate is checked. Total hits of such search is number of matched
+     * files found to fill requested page and may be less than real number of matched files.
+     */
+    private SearchResult searchContent(QueryExpression query, Consumer<SearchResultEntry> consumer) throws ServerException {
+        final Predicate<String> contentMatcher = createContentMatcher(query);
+        IndexSearcher luceneSearcher = null;
+        try {
+            final long startTime = System.currentTimeMillis();
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+
+            final Query luceneQuery = createLuceneQuery(query);
+            final Sort sort = getSort(query);
+            final OccurrencesFinder occurrencesFinder = query.isIncludeOccurrences()
+                                                        ? createOccurrencesFinder(luceneSearcher, query)
+                                                        : null;
+            ScoreDoc after = null;
+            int numSkipDocs = Math.max(0, query.getSkipCount());
+            int matchedFiles = 0;
+            if (query.getCursor() != null) {
+                final PageCursor cursor = PageCursor.parse(query.getCursor());
+                after = cursor.after(sort);
+                numSkipDocs = cursor.position;
+                matchedFiles = cursor.position;
+            }
+            final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+
+            List<SearchResultEntry> results = newArrayList();
+            ScoreDoc lastResult = null;
+            boolean hasMoreToRetrieve = false;
+            TopDocs topDocs;
+            do {
+                topDocs = luceneSearcher.searchAfter(after, luceneQuery, RESULT_LIMIT, sort);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    after = scoreDoc;
+                    final String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
+                    final String content = readContent(filePath);
+                    if (content == null || !contentMatcher.test(content)) {
+                        continue;
+                    }
+                    if (matchedFiles++ < numSkipDocs) {
+                        continue;
+                    }
+                    if (results.size() == numDocs) {
+                        hasMoreToRetrieve = true;
+                        break;
+                    }
+                    final SearchResultEntry entry;
+                    if (occurrencesFinder == null) {
+                        entry = new SearchResultEntry(filePath);
+                    } else {
+                        entry = new SearchResultEntry(filePath, occurrencesFinder.find(content));
+                    }
+                    results.add(entry);
+                    consumer.accept(entry);
+                    lastResult = scoreDoc;
+                }
+            } while (!hasMoreToRetrieve && topDocs.scoreDocs.length == RESULT_LIMIT);
+
+            final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
+
+            QueryExpression nextPageQueryExpression = null;
+            if (hasMoreToRetrieve) {
+                nextPageQueryExpression = createNextPageQuery(query, PageCursor.of(lastResult, numSkipDocs + results.size()));
+            }
+
+            return SearchResult.aSearchResult()
+                               .withResults(results)
+                               .withTotalHits(matchedFiles)
+                               .withNextPageQueryExpression(nextPageQueryExpression)
+                               .withElapsedTimeMillis(elapsedTimeMillis)
+                               .build();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+    }
+
+    private Predicate<String> createContentMatcher(QueryExpression query) throws ServerException {
+        Predicate<String> matcher = content -> true;
+        final String substring = query.getSubstring();
+        if (substring != null) {
+            matcher = matcher.and(content -> content.contains(substring));
+        }
+        final Pattern pattern = compilePattern(query);
+        if (pattern != null) {
+            matcher = matcher.and(content -> pattern.matcher(content).find());
+        }
+        return matcher;
+    }
+
+    private Pattern compilePattern(QueryExpression query) throws ServerException {
+        if (query.getRegex() == null) {
+            return null;
+        }
+        try {
+            return Pattern.compile(query.getRegex(), Pattern.MULTILINE);
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    private OccurrencesFinder createOccurrencesFinder(IndexSearcher luceneSearcher, QueryExpression query) throws ServerException,
+                                                                                                                  IOException {
+        final Set<String> terms = newHashSet();
+        if (query.getText() != null) {
+            final Set<Term> queryTerms = newHashSet();
+            try {
+                luceneSearcher.rewrite(new QueryParser("text", makeAnalyzer()).parse(query.getText())).extractTerms(queryTerms);
+            } catch (ParseException e) {
+                throw new ServerException(e.getMessage());
+            } catch (UnsupportedOperationException e) {
+                // Query doesn't provide its terms, e.g. wildcard query, occurrences of such terms are not found.
+            }
+            for (Term term : queryTerms) {
+                if ("text".equals(term.field())) {
+                    terms.add(term.text());
+                }
+            }
+        }
+        return new OccurrencesFinder(query.getSubstring(), compilePattern(query), terms, "text", makeAnalyzer());
+    }
+
+    private List<SearchOccurrence> findOccurrences(String filePath, OccurrencesFinder occurrencesFinder) throws ServerException,
+                                                                                                              IOException {
+        final String content = readContent(filePath);
+        return content == null ? emptyList() : occurrencesFinder.find(content);
+    }
+
+    /**
+     * Reads content of file with specified path.
+     *
+     * @return content of file or {@code null} if file doesn't exist or its content is not indexed
+     */
+    private String readContent(String filePath) throws ServerException {
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        if (fileSystem == null) {
+            throw new ServerException("Searcher is not initialized");
+        }
+        final VirtualFile file = fileSystem.getRoot().getChild(Path.of(filePath));
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        return readContent(file);
+    }
+
     private Query createLuceneQuery(QueryExpression query) throws ServerException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
@@ -255,16 +607,38 @@ public abstract class LuceneSearcher implements Searcher {
                 throw new ServerException(e.getMessage());
             }
         }
+        if (substringIndex) {
+            final Set<String> trigrams = new LinkedHashSet<>();
+            if (query.getSubstring() != null) {
+                trigrams.addAll(Trigrams.of(query.getSubstring()));
+            }
+            if (query.getRegex() != null) {
+                for (String literal : Trigrams.requiredLiterals(query.getRegex())) {
+                    trigrams.addAll(Trigrams.of(literal));
+                }
+            }
+            trigrams.stream()
+                    .limit(MAX_QUERY_TRIGRAMS)
+                    .forEach(trigram -> luceneQuery.add(new TermQuery(new Term(TRIGRAMS_FIELD, trigram)), BooleanClause.Occur.MUST));
+        }
+        if (luceneQuery.clauses().isEmpty()) {
+            luceneQuery.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
         return luceneQuery;
     }
 
-    private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
+    /** Queries with text are scored and their results are ordered by relevance, other results are ordered by path. */
+    private Sort getSort(QueryExpression query) {
+        return query.getText() == null ? PATH_SORT : SCORE_SORT;
+    }
+
+    private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, Sort sort, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
         int retrievedDocs = 0;
         TopDocs topDocs;
         do {
-            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize);
+            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize, sort);
             if (topDocs.scoreDocs.length > 0) {
                 scoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
             }
@@ -279,12 +653,85 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, PageCursor cursor) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
-                                    .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setSubstring(originalQuery.getSubstring())
+                                    .setRegex(originalQuery.getRegex())
+                                    .setSkipCount(cursor.position)
+                                    .setCursor(cursor.toString())
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIncludeOccurrences(originalQuery.isIncludeOccurrences());
+    }
+
+    /**
+     * Position in search result. Next page is retrieved with {@link IndexSearcher#searchAfter} starting after the sort
+     * values of the last file of previous page, i.e. its path or its score and path, so previous pages are not searched
+     * again. Cursor stays valid when index is changed between pages, files added or removed before the cursor don't shift
+     * next pages.
+     */
+    private static class PageCursor {
+        final String lastPath;
+        final Float  lastScore;
+        final int    position;
+
+        PageCursor(String lastPath, Float lastScore, int position) {
+            this.lastPath = lastPath;
+            this.lastScore = lastScore;
+            this.position = position;
+        }
+
+        /** Creates cursor which points to the document retrieved with {@link #PATH_SORT} or {@link #SCORE_SORT}. */
+        static PageCursor of(ScoreDoc scoreDoc, int position) {
+            final Object[] fields = ((FieldDoc)scoreDoc).fields;
+            if (fields.length == 1) {
+                return new PageCursor(((BytesRef)fields[0]).utf8ToString(), null, position);
+            }
+            return new PageCursor(((BytesRef)fields[1]).utf8ToString(), (Float)fields[0], position);
+        }
+
+        static PageCursor parse(String cursor) throws ServerException {
+            final int separator = cursor.indexOf(':');
+            if (separator == -1) {
+                throw new ServerException(String.format("Invalid search cursor '%s'", cursor));
+            }
+            try {
+                final int position = Integer.parseInt(cursor.substring(0, separator));
+                final String rest = cursor.substring(separator + 1);
+                // path always starts with '/', otherwise path is preceded with score
+                if (rest.startsWith("/")) {
+                    return new PageCursor(rest, null, position);
+                }
+                final int scoreSeparator = rest.indexOf(':');
+                if (scoreSeparator == -1) {
+                    throw new ServerException(String.format("Invalid search cursor '%s'", cursor));
+                }
+                return new PageCursor(rest.substring(scoreSeparator + 1), Float.valueOf(rest.substring(0, scoreSeparator)), position);
+            } catch (NumberFormatException e) {
+                throw new ServerException(String.format("Invalid search cursor '%s'", cursor));
+            }
+        }
+
+        /** Returns sort position which is placed after all documents with sort values of the cursor. */
+        FieldDoc after(Sort sort) throws ServerException {
+            final BytesRef path = new BytesRef(lastPath);
+            if (sort == SCORE_SORT) {
+                if (lastScore == null) {
+                    throw new ServerException(String.format("Invalid search cursor '%s'", this));
+                }
+                return new FieldDoc(Integer.MAX_VALUE, lastScore, new Object[]{lastScore, path});
+            }
+            return new FieldDoc(Integer.MAX_VALUE, Float.NaN, new Object[]{path});
+        }
+
+        @Override
+        public String toString() {
+            if (lastScore == null) {
+                return Integer.toString(position) + ':' + lastPath;
+            }
+            return Integer.toString(position) + ':' + lastScore + ':' + lastPath;
+        }
     }
 
     @Override
@@ -301,47 +748,304 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void addTree(VirtualFile tree) throws ServerException {
+        addTree(tree, false);
+    }
+
+    /**
+     * Walks file tree and adds all files in index.
+     *
+     * @param tree
+     *         root of file tree
+     * @param initial
+     *         {@code true} if index is just created and doesn't contain any documents yet, in this case documents are
+     *         added without looking up and deleting previous versions. Existing index is updated file by file
+     */
+    private void addTree(VirtualFile tree, boolean initial) throws ServerException {
         final long start = System.currentTimeMillis();
-        final LinkedList<VirtualFile> q = new LinkedList<>();
-        q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
+        if (initial) {
+            initialIndexing = true;
+        } else {
+            markUpdated(tree.getPath().toString());
+        }
+        if (runningIndexingTasks.getAndIncrement() == 0) {
+            indexingStartTime.set(start);
+        }
+        final TreeIndexingTask task = new TreeIndexingTask(initial);
+        try {
+            task.run(tree);
+        } finally {
+            final long end = System.currentTimeMillis();
+            if (runningIndexingTasks.decrementAndGet() == 0) {
+                indexingTimeMillis.addAndGet(end - indexingStartTime.get());
+            }
+            if (initial) {
+                initialIndexing = false;
+                updatedDuringInitialIndexing.clear();
+            }
+            LOG.debug("Indexed {} files ({} bytes) from {}, time: {} ms",
+                      task.indexedFiles.get(), task.indexedBytes.get(), tree.getPath(), (end - start));
+        }
+    }
+
+    /**
+     * Indexing of single file tree. Tree walkers take folders from the queue of folders, list them and put files in
+     * the bounded queue of files, document builders take files from this queue, read their content and write
+     * documents in index in batches.
+     */
+    private class TreeIndexingTask {
+        final boolean                    initial;
+        final BlockingQueue<VirtualFile> folders;
+        final BlockingQueue<VirtualFile> files;
+        final AtomicInteger              pendingFolders;
+        final CountDownLatch             workersDone;
+        final AtomicReference<Throwable> error;
+        final AtomicLong                 indexedFiles;
+        final AtomicLong                 indexedBytes;
+
+        TreeIndexingTask(boolean initial) {
+            this.initial = initial;
+            folders = new LinkedBlockingQueue<>();
+            files = new ArrayBlockingQueue<>(INDEX_QUEUE_SIZE);
+            pendingFolders = new AtomicInteger();
+            workersDone = new CountDownLatch(2 * INDEXER_THREADS);
+            error = new AtomicReference<>();
+            indexedFiles = new AtomicLong();
+            indexedBytes = new AtomicLong();
+        }
+
+        void run(VirtualFile tree) throws ServerException {
+            pendingFolders.incrementAndGet();
+            folders.add(tree);
+            int started = 0;
+            try {
+                for (; started < INDEXER_THREADS; started++) {
+                    indexingExecutor.execute(this::walkFolders);
+                }
+                for (; started < 2 * INDEXER_THREADS; started++) {
+                    indexingExecutor.execute(this::buildDocuments);
+                }
+            } catch (RejectedExecutionException e) {
+                error.compareAndSet(null, new ServerException("Searcher is closed"));
+                for (; started < 2 * INDEXER_THREADS; started++) {
+                    workersDone.countDown();
+                }
+            }
+            try {
+                workersDone.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error.compareAndSet(null, e);
+            }
+            final Throwable failure = error.get();
+            if (failure instanceof OutOfMemoryError) {
+                close();
+                throw (OutOfMemoryError)failure;
+            } else if (failure instanceof ServerException) {
+                throw (ServerException)failure;
+            } else if (failure != null) {
+                throw new ServerException(failure.getMessage(), failure);
+            }
+        }
+
+        void walkFolders() {
+            try {
+                while (error.get() == null) {
+                    final VirtualFile folder = folders.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+                    if (folder == null) {
+                        if (pendingFolders.get() == 0) {
+                            break;
+                        }
+                        continue;
+                    }
+                    try {
+                        if (folder.exists()) {
+                            final List<VirtualFile> children;
+                            try {
+                                children = folder.getChildren();
+                            } catch (ServerException e) {
+                                LOG.warn("Unable list folder '{}' for indexing, it is skipped. {}", folder.getPath(), e.getMessage());
+                                continue;
+                            }
+                            for (VirtualFile child : children) {
+                                if (child.isFolder()) {
+                                    pendingFolders.incrementAndGet();
+                                    folders.add(child);
+                                } else {
+                                    while (!files.offer(child, POLL_TIMEOUT_MILLIS, MILLISECONDS)) {
+                                        if (error.get() != null) {
+                                            return;
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    } finally {
+                        pendingFolders.decrementAndGet();
                     }
                 }
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+            } finally {
+                workersDone.countDown();
+            }
+        }
+
+        void buildDocuments() {
+            final List<Document> batch = newArrayList();
+            long batchContentSize = 0;
+            try {
+                while (error.get() == null) {
+                    final VirtualFile file = files.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+                    if (file == null) {
+                        if (pendingFolders.get() == 0 && files.isEmpty()) {
+                            break;
+                        }
+                        continue;
+                    }
+                    if (!file.exists()) {
+                        continue;
+                    }
+                    byte[] bytes;
+                    try {
+                        bytes = readContentBytes(file);
+                    } catch (ServerException e) {
+                        LOG.warn("Unable read content of file '{}', it is indexed by name and path only. {}", file.getPath(), e.getMessage());
+                        bytes = null;
+                    }
+                    batch.add(createDocument(file, bytes == null ? null : decode(bytes)));
+                    final long contentSize = bytes == null ? 0 : bytes.length;
+                    batchContentSize += contentSize;
+                    indexedFiles.incrementAndGet();
+                    indexedBytes.addAndGet(contentSize);
+                    LuceneSearcher.this.indexedFiles.incrementAndGet();
+                    LuceneSearcher.this.indexedBytes.addAndGet(contentSize);
+                    if (batch.size() >= INDEX_BATCH_SIZE || batchContentSize >= INDEX_BATCH_CONTENT_SIZE) {
+                        writeDocuments(batch);
+                        batch.clear();
+                        batchContentSize = 0;
+                    }
+                }
+                if (!batch.isEmpty() && error.get() == null) {
+                    writeDocuments(batch);
+                }
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+            } finally {
+                workersDone.countDown();
+            }
+        }
+
+        void writeDocuments(List<Document> documents) throws IOException {
+            if (initial) {
+                initialIndexingLock.readLock().lock();
+                try {
+                    final List<Document> notUpdated = newArrayList();
+                    for (Document document : documents) {
+                        if (!isUpdatedDuringInitialIndexing(document.get("path"))) {
+                            notUpdated.add(document);
+                        }
+                    }
+                    getIndexWriter().addDocuments(notUpdated);
+                } finally {
+                    initialIndexingLock.readLock().unlock();
+                }
+            } else {
+                for (Document document : documents) {
+                    getIndexWriter().updateDocument(new Term("path", document.get("path")), document);
+                }
             }
         }
-        final long end = System.currentTimeMillis();
-        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+    }
+
+    /**
+     * Reads content of file for indexing. Charset of content is detected with byte order mark, content that is not valid
+     * UTF-8 is read as ISO-8859-1.
+     *
+     * @return content of file or {@code null} if content of file should not be indexed
+     */
+    private String readContent(VirtualFile virtualFile) throws ServerException {
+        final byte[] bytes = readContentBytes(virtualFile);
+        return bytes == null ? null : decode(bytes);
+    }
+
+    /** Reads raw content of file for indexing, returns {@code null} if content of file should not be indexed. */
+    private byte[] readContentBytes(VirtualFile virtualFile) throws ServerException {
+        if (virtualFile.getLength() > MAX_INDEXED_CONTENT_SIZE || !shouldIndexContent(virtualFile)) {
+            return null;
+        }
+        try (InputStream content = virtualFile.getContent()) {
+            return ByteStreams.toByteArray(ByteStreams.limit(content, MAX_INDEXED_CONTENT_SIZE));
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    private static String decode(byte[] bytes) {
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            return new String(bytes, 3, bytes.length - 3, UTF_8);
+        }
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+            return new String(bytes, 2, bytes.length - 2, UTF_16BE);
+        }
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE) {
+            return new String(bytes, 2, bytes.length - 2, UTF_16LE);
+        }
+        try {
+            return UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT)
+                        .decode(ByteBuffer.wrap(bytes))
+                        .toString();
+        } catch (CharacterCodingException e) {
+            return new String(bytes, ISO_8859_1);
+        }
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
+            markUpdated(virtualFile.getPath().toString());
+            final String content = readContent(virtualFile);
+            try {
                 getIndexWriter()
-                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, fContentReader));
+                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, content));
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
             } catch (IOException e) {
                 throw new ServerException(e.getMessage(), e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
             }
         }
     }
 
+    /** Remembers path updated by operation other than initial indexing, see {@link #updatedDuringInitialIndexing}. */
+    private void markUpdated(String path) {
+        if (initialIndexing) {
+            initialIndexingLock.writeLock().lock();
+            try {
+                updatedDuringInitialIndexing.add(path);
+            } finally {
+                initialIndexingLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private boolean isUpdatedDuringInitialIndexing(String path) {
+        if (updatedDuringInitialIndexing.isEmpty()) {
+            return false;
+        }
+        for (String parent = path; !parent.isEmpty(); parent = parent.substring(0, parent.lastIndexOf('/'))) {
+            if (updatedDuringInitialIndexing.contains(parent)) {
+                return true;
+            }
+        }
+        return updatedDuringInitialIndexing.contains("/");
+    }
+
     @Override
     public final void delete(String path, boolean isFile) throws ServerException {
+        markUpdated(path);
         try {
             if (isFile) {
                 Term term = new Term("path", path);
@@ -364,26 +1068,28 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        markUpdated(virtualFile.getPath().toString());
+        final String content = readContent(virtualFile);
+        try {
+            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, content));
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
-        } catch (ForbiddenException e) {
-            throw new ServerException(e.getServiceError());
         }
     }
 
-    protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+    protected Document createDocument(VirtualFile virtualFile, String content) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
+        doc.add(new SortedDocValuesField("path", new BytesRef(virtualFile.getPath().toString())));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
-        if (reader != null) {
-            doc.add(new TextField("text", reader));
+        if (content != null) {
+            doc.add(new TextField("text", new StringReader(content)));
+            if (substringIndex) {
+                doc.add(new Field(TRIGRAMS_FIELD, content, TRIGRAMS_FIELD_TYPE));
+            }
         }
         return doc;
     }
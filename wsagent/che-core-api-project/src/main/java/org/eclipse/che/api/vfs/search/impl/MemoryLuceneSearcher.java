@@ -26,6 +26,10 @@ public class MemoryLuceneSearcher extends LuceneSearcher {
         super(filter, closeCallback);
     }
 
+    MemoryLuceneSearcher(VirtualFileFilter filter, AbstractLuceneSearcherProvider.CloseCallback closeCallback, boolean substringIndex) {
+        super(filter, closeCallback, substringIndex);
+    }
+
     @Override
     protected Directory makeDirectory() {
         return new RAMDirectory();
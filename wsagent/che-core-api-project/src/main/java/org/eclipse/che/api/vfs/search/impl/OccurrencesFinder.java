@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static java.util.Comparator.comparingInt;
+
+/**
+ * Finds occurrences of searched text in content of file which is already found by {@link LuceneSearcher}. Occurrences
+ * of text query are found by tokenizing content with the same analyzer that is used for indexing, so they match the
+ * terms of query exactly as index does.
+ */
+class OccurrencesFinder {
+    static final int MAX_OCCURRENCES         = 100;
+    static final int MAX_LINE_CONTENT_LENGTH = 200;
+
+    private final String      substring;
+    private final Pattern     pattern;
+    private final Set<String> terms;
+    private final String      field;
+    private final Analyzer    analyzer;
+
+    /**
+     * @param substring
+     *         substring to find, may be {@code null}
+     * @param pattern
+     *         regular expression to find, may be {@code null}
+     * @param terms
+     *         terms of text query
+     * @param field
+     *         name of field that is used for tokenizing content
+     * @param analyzer
+     *         analyzer which is used for indexing content
+     */
+    OccurrencesFinder(String substring, Pattern pattern, Set<String> terms, String field, Analyzer analyzer) {
+        this.substring = substring;
+        this.pattern = pattern;
+        this.terms = terms;
+        this.field = field;
+        this.analyzer = analyzer;
+    }
+
+    List<SearchOccurrence> find(String content) throws IOException {
+        final List<int[]> ranges = newArrayList();
+        if (substring != null && !substring.isEmpty()) {
+            int found = 0;
+            for (int i = content.indexOf(substring); i >= 0 && found < MAX_OCCURRENCES; i = content.indexOf(substring, i + substring.length())) {
+                ranges.add(new int[]{i, i + substring.length()});
+                found++;
+            }
+        }
+        if (pattern != null) {
+            final Matcher matcher = pattern.matcher(content);
+            int found = 0;
+            while (found < MAX_OCCURRENCES && matcher.find()) {
+                if (matcher.end() > matcher.start()) {
+                    ranges.add(new int[]{matcher.start(), matcher.end()});
+                    found++;
+                }
+            }
+        }
+        if (!terms.isEmpty()) {
+            try (TokenStream tokenStream = analyzer.tokenStream(field, content)) {
+                final CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+                final OffsetAttribute offset = tokenStream.addAttribute(OffsetAttribute.class);
+                tokenStream.reset();
+                int found = 0;
+                while (found < MAX_OCCURRENCES && tokenStream.incrementToken()) {
+                    if (terms.contains(term.toString())) {
+                        ranges.add(new int[]{offset.startOffset(), offset.endOffset()});
+                        found++;
+                    }
+                }
+                tokenStream.end();
+            }
+        }
+        ranges.sort(comparingInt((int[] range) -> range[0]).thenComparingInt(range -> range[1]));
+        return toOccurrences(content, ranges);
+    }
+
+    private static List<SearchOccurrence> toOccurrences(String content, List<int[]> ranges) {
+        final List<SearchOccurrence> occurrences = newArrayListWithCapacity(Math.min(ranges.size(), MAX_OCCURRENCES));
+        int lineNumber = 1;
+        int lineStart = 0;
+        int position = 0;
+        int[] previous = null;
+        for (int[] range : ranges) {
+            if (occurrences.size() == MAX_OCCURRENCES) {
+                break;
+            }
+            if (previous != null && previous[0] == range[0] && previous[1] == range[1]) {
+                continue;
+            }
+            previous = range;
+            for (; position < range[0]; position++) {
+                if (content.charAt(position) == '\n') {
+                    lineNumber++;
+                    lineStart = position + 1;
+                }
+            }
+            int lineEnd = content.indexOf('\n', range[0]);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            occurrences.add(new SearchOccurrence(lineNumber,
+                                                 range[0] - lineStart + 1,
+                                                 range[0],
+                                                 range[1],
+                                                 lineContent(content, lineStart, lineEnd, range[0])));
+        }
+        return occurrences;
+    }
+
+    private static String lineContent(String content, int lineStart, int lineEnd, int occurrenceStart) {
+        if (lineEnd - lineStart <= MAX_LINE_CONTENT_LENGTH) {
+            return content.substring(lineStart, lineEnd);
+        }
+        final int end = Math.min(lineEnd, Math.max(lineStart, occurrenceStart - MAX_LINE_CONTENT_LENGTH / 2) + MAX_LINE_CONTENT_LENGTH);
+        return content.substring(end - MAX_LINE_CONTENT_LENGTH, end);
+    }
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+/**
+ * Helps to select candidates for substring and regular expression search with trigram index. Trigrams are lower cased
+ * in the same way as {@link org.apache.lucene.analysis.core.LowerCaseFilter} does it when index is built.
+ *
+ * @see LuceneSearcher
+ */
+final class Trigrams {
+    private static final int TRIGRAM_LENGTH = 3;
+
+    /** Gets all distinct lower cased trigrams of specified string. */
+    static Set<String> of(String literal) {
+        final int[] codePoints = literal.codePoints().map(Character::toLowerCase).toArray();
+        final Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= codePoints.length; i++) {
+            trigrams.add(new String(codePoints, i, TRIGRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Gets literal strings that must be present in any text that matches specified regular expression. Only literals which
+     * are long enough to produce trigram are returned. Analysis is conservative: if expression contains alternation or
+     * constructions that are not recognized then empty list is returned, so all files have to be checked.
+     */
+    static List<String> requiredLiterals(String regex) {
+        final List<String> literals = newArrayList();
+        final StringBuilder literal = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '|':
+                    return Collections.emptyList();
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        return Collections.emptyList();
+                    }
+                    final char escaped = regex.charAt(i + 1);
+                    if (escaped == 'Q') {
+                        int end = regex.indexOf("\\E", i + 2);
+                        if (end < 0) {
+                            end = regex.length();
+                        }
+                        if (depth == 0) {
+                            literal.append(regex, i + 2, end);
+                        }
+                        i = end + 2;
+                        continue;
+                    } else if ("dDsSwWbB".indexOf(escaped) >= 0) {
+                        flush(literal, literals);
+                    } else if (Character.isLetterOrDigit(escaped)) {
+                        // Escapes with arguments (\x41, \p{L}, back references, etc.) are not analysed.
+                        return Collections.emptyList();
+                    } else if (depth == 0) {
+                        literal.append(escaped);
+                    }
+                    i += 2;
+                    continue;
+                case '(':
+                    if (regex.startsWith("(?", i) && hasCommentsFlag(regex, i + 2)) {
+                        return Collections.emptyList();
+                    }
+                    flush(literal, literals);
+                    depth++;
+                    break;
+                case ')':
+                    depth--;
+                    break;
+                case '[':
+                    flush(literal, literals);
+                    i = skipCharacterClass(regex, i);
+                    continue;
+                case '?':
+                case '*':
+                case '{':
+                    // Preceding character is optional.
+                    if (literal.length() > 0) {
+                        literal.setLength(literal.offsetByCodePoints(literal.length(), -1));
+                    }
+                    flush(literal, literals);
+                    if (c == '{') {
+                        final int end = regex.indexOf('}', i);
+                        i = end < 0 ? regex.length() : end + 1;
+                        continue;
+                    }
+                    break;
+                case '+':
+                case '.':
+                case '^':
+                case '$':
+                    flush(literal, literals);
+                    break;
+                default:
+                    if (depth == 0) {
+                        literal.append(c);
+                    }
+            }
+            i++;
+        }
+        flush(literal, literals);
+        return literals;
+    }
+
+    private static void flush(StringBuilder literal, List<String> literals) {
+        if (literal.codePointCount(0, literal.length()) >= TRIGRAM_LENGTH) {
+            literals.add(literal.toString());
+        }
+        literal.setLength(0);
+    }
+
+    /** Checks inline flags that start at specified position for flag 'x' which makes whitespaces in expression meaningless. */
+    private static boolean hasCommentsFlag(String regex, int start) {
+        for (int i = start; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == 'x') {
+                return true;
+            }
+            if (!Character.isLetter(c)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /** Returns position next after the end of character class that starts at specified position. */
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int nested = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                nested++;
+            } else if (c == ']') {
+                if (nested == 0) {
+                    return i + 1;
+                }
+                nested--;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private Trigrams() {
+    }
+}
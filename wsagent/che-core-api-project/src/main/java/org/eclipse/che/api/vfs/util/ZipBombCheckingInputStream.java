@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.util;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Zip input stream which checks compression ratio while entries are read, so content of archive may be checked for zip
+ * bomb and extracted in single pass. Fails with {@link IOException} as soon as number of inflated bytes exceeds number
+ * of read compressed bytes too much, see {@link ZipContent#checkCompressionRatio(long, long)}.
+ */
+public class ZipBombCheckingInputStream extends ZipInputStream {
+    private final CountingInputStream compressed;
+
+    private long    uncompressed;
+    private boolean zipBombDetected;
+
+    public ZipBombCheckingInputStream(InputStream in) {
+        this(new CountingInputStream(in));
+    }
+
+    private ZipBombCheckingInputStream(CountingInputStream compressed) {
+        super(compressed);
+        this.compressed = compressed;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (zipBombDetected) {
+            throw new IOException(ZipContent.ZIP_BOMB_DETECTED);
+        }
+        final int n = super.read(b, off, len);
+        if (n > 0) {
+            uncompressed += n;
+            try {
+                ZipContent.checkCompressionRatio(uncompressed, compressed.getByteCount());
+            } catch (IOException e) {
+                zipBombDetected = true;
+                throw e;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Returns {@code true} if zip bomb is detected. Consumers of entries may wrap {@link IOException} which is thrown
+     * by this stream, this method helps to find out the reason of failure.
+     */
+    public boolean isZipBombDetected() {
+        return zipBombDetected;
+    }
+}
@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.util;
 
-import org.apache.commons.io.input.CountingInputStream;
-
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
@@ -21,7 +19,12 @@ import java.io.InputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
-/** @author andrew00x */
+/**
+ * Zip archive which is checked for zip bomb. Content is read twice, prefer {@link ZipBombCheckingInputStream} which
+ * checks archive while it is extracted.
+ *
+ * @author andrew00x
+ */
 public final class ZipContent {
     /** Memory threshold. If zip stream over this size it spooled in file. */
     private static final int  KEEP_IN_MEMORY_THRESHOLD = 200 * 1024;
@@ -35,6 +38,20 @@ public final class ZipContent {
      */
     private static final int  ZIP_RATIO                = 100;
 
+    public static final String ZIP_BOMB_DETECTED = "Zip bomb detected";
+
+    /**
+     * Checks ratio of uncompressed and compressed data read from zip archive so far.
+     *
+     * @throws IOException
+     *         if archive looks like zip bomb
+     */
+    public static void checkCompressionRatio(long uncompressedBytes, long compressedBytes) throws IOException {
+        if (uncompressedBytes > ZIP_THRESHOLD && uncompressedBytes > (ZIP_RATIO * compressedBytes)) {
+            throw new IOException(ZIP_BOMB_DETECTED);
+        }
+    }
+
     public static ZipContent of(InputStream in) throws IOException {
         java.io.File file = null;
         byte[] inMemory = null;
@@ -64,21 +81,12 @@ public final class ZipContent {
             spool = new ByteArrayInputStream(inMemory);
         }
 
-        try (CountingInputStream compressedDataCounter = new CountingInputStream(spool);
-             ZipInputStream zip = new ZipInputStream(compressedDataCounter)) {
-            try (CountingInputStream uncompressedDataCounter = new CountingInputStream(zip)) {
-                ZipEntry zipEntry;
-                while ((zipEntry = zip.getNextEntry()) != null) {
-                    if (!zipEntry.isDirectory()) {
-                        while (uncompressedDataCounter.read(buff) != -1) {
-                            long uncompressedBytes = uncompressedDataCounter.getByteCount();
-                            if (uncompressedBytes > ZIP_THRESHOLD) {
-                                long compressedBytes = compressedDataCounter.getByteCount();
-                                if (uncompressedBytes > (ZIP_RATIO * compressedBytes)) {
-                                    throw new IOException("Zip bomb detected");
-                                }
-                            }
-                        }
+        try (ZipInputStream zip = new ZipBombCheckingInputStream(spool)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                if (!zipEntry.isDirectory()) {
+                    while (zip.read(buff) != -1) {
+                        // inflate to check compression ratio
                     }
                 }
             }
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ContentRangeTest {
+    @Test
+    public void parsesRange() {
+        ContentRange range = ContentRange.parse("bytes=10-19", 100);
+
+        assertTrue(range.isSatisfiable());
+        assertEquals(range.getFirst(), 10);
+        assertEquals(range.getLength(), 10);
+        assertEquals(range.toContentRangeHeader(), "bytes 10-19/100");
+    }
+
+    @Test
+    public void parsesOpenEndedRange() {
+        ContentRange range = ContentRange.parse("bytes=90-", 100);
+
+        assertEquals(range.getFirst(), 90);
+        assertEquals(range.getLength(), 10);
+    }
+
+    @Test
+    public void parsesSuffixRange() {
+        ContentRange range = ContentRange.parse("bytes=-30", 100);
+
+        assertEquals(range.toContentRangeHeader(), "bytes 70-99/100");
+    }
+
+    @Test
+    public void limitsRangeByContentLength() {
+        ContentRange range = ContentRange.parse("bytes=50-500", 100);
+
+        assertEquals(range.toContentRangeHeader(), "bytes 50-99/100");
+    }
+
+    @Test
+    public void rangeThatStartsAfterContentIsNotSatisfiable() {
+        ContentRange range = ContentRange.parse("bytes=100-", 100);
+
+        assertFalse(range.isSatisfiable());
+        assertEquals(range.toContentRangeHeader(), "bytes */100");
+    }
+
+    @Test
+    public void ignoresMalformedAndMultipleRanges() {
+        assertNull(ContentRange.parse(null, 100));
+        assertNull(ContentRange.parse("items=0-1", 100));
+        assertNull(ContentRange.parse("bytes=5-1", 100));
+        assertNull(ContentRange.parse("bytes=a-b", 100));
+        assertNull(ContentRange.parse("bytes=0-1,5-6", 100));
+    }
+}
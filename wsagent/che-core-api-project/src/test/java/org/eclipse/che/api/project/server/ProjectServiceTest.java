@@ -22,6 +22,7 @@ import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.core.rest.VersionedResponseCache;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.core.util.ValueHolder;
@@ -38,6 +39,8 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchHitDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.dao.UserDao;
@@ -67,6 +70,7 @@ import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.EverrestProcessor;
 import org.everrest.core.impl.ProviderBinder;
+import org.everrest.core.impl.provider.json.JsonValue;
 import org.everrest.core.impl.ResourceBinderImpl;
 import org.everrest.core.tools.ByteArrayContainerResponseWriter;
 import org.everrest.core.tools.DependencySupplierImpl;
@@ -90,6 +94,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -255,6 +260,7 @@ public class ProjectServiceTest {
         dependencies.addComponent(ProjectImporterRegistry.class, importerRegistry);
         dependencies.addComponent(ProjectHandlerRegistry.class, phRegistry);
         dependencies.addComponent(EventService.class, eventService);
+        dependencies.addComponent(VersionedResponseCache.class, new VersionedResponseCache());
 
         ResourceBinder resources = new ResourceBinderImpl();
         ProviderBinder providers = new ApplicationProviderBinder();
@@ -828,6 +834,33 @@ public class ProjectServiceTest {
         assertEquals(new String(writer.getBody()), myContent);
     }
 
+    @Test
+    public void testGetFileContentRange() throws Exception {
+        String myContent = "to be or not to be";
+        pm.getProject("my_project").getBaseFolder().createFile("test.txt", myContent.getBytes());
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Range", singletonList("bytes=3-7"));
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/file/my_project/test.txt",
+                                                      "http://localhost:8080/api", headers, null, writer, null);
+        assertEquals(response.getStatus(), 206, "Error: " + response.getEntity());
+        assertEquals(response.getHttpHeaders().getFirst("Content-Range"), "bytes 3-7/18");
+        assertEquals(new String(writer.getBody()), "be or");
+    }
+
+    @Test
+    public void testGetFileContentUnsatisfiableRange() throws Exception {
+        pm.getProject("my_project").getBaseFolder().createFile("test.txt", "to be or not to be".getBytes());
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Range", singletonList("bytes=100-"));
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/file/my_project/test.txt",
+                                                      "http://localhost:8080/api", headers, null, null);
+        assertEquals(response.getStatus(), 416);
+        assertEquals(response.getHttpHeaders().getFirst("Content-Range"), "bytes */18");
+    }
+
     @Test
     public void testUpdateFileContent() throws Exception {
         String myContent = "<test>hello</test>";
@@ -1537,6 +1570,33 @@ public class ProjectServiceTest {
         Assert.assertTrue(names.contains("x"));
     }
 
+    @Test
+    public void testGetTreeNotModified() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b");
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/tree/my_project/a",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        Object eTag = response.getHttpHeaders().getFirst("ETag");
+        assertNotNull(eTag);
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", singletonList(eTag.toString()));
+        response = launcher.service(GET,
+                                    "http://localhost:8080/api/project/tree/my_project/a",
+                                    "http://localhost:8080/api", headers, null, null);
+        assertEquals(response.getStatus(), 304);
+
+        a.createFolder("x");
+        response = launcher.service(GET,
+                                    "http://localhost:8080/api/project/tree/my_project/a",
+                                    "http://localhost:8080/api", headers, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        assertEquals(((TreeElement)response.getEntity()).getChildren().size(), 2);
+    }
+
     @Test
     public void testGetTreeWithDepth() throws Exception {
         RegisteredProject myProject = pm.getProject("my_project");
@@ -1854,6 +1914,32 @@ public class ProjectServiceTest {
         Assert.assertTrue(result.get(0).getPath().equals("/my_project/c/test.txt"));
     }
 
+    @Test
+    public void testSearchHitsWithOccurrences() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        myProject.getBaseFolder().createFolder("x/y").createFile("hit.txt", "first line\nsecond searchhit line".getBytes());
+
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/hits/my_project?text=searchhit",
+                                                      "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        JsonValue body = JsonHelper.parseJson(new String(writer.getBody()));
+        assertEquals(body.getElement("totalHits").getIntValue(), 1);
+        Iterator<JsonValue> hits = body.getElement("hits").getElements();
+        SearchHitDto hit = DtoFactory.getInstance().createDtoFromJson(hits.next().toString(), SearchHitDto.class);
+        Assert.assertFalse(hits.hasNext());
+        assertEquals(hit.getItemReference().getPath(), "/my_project/x/y/hit.txt");
+        assertEquals(hit.getOccurrences().size(), 1);
+        SearchOccurrenceDto occurrence = hit.getOccurrences().get(0);
+        assertEquals(occurrence.getLineNumber(), 2);
+        assertEquals(occurrence.getColumn(), 8);
+        assertEquals(occurrence.getStartOffset(), 18);
+        assertEquals(occurrence.getEndOffset(), 27);
+        assertEquals(occurrence.getLineContent(), "second searchhit line");
+    }
+
     private void validateFileLinks(ItemReference item) {
         Link link = item.getLink("delete");
         assertNotNull(link);
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import junit.framework.TestCase;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of {@link PathLockFactory} under contention, runs only with the benchmarks profile.
+ */
+public class PathLockFactoryBenchmark extends TestCase {
+    private static final Logger LOG = LoggerFactory.getLogger(PathLockFactoryBenchmark.class);
+
+    public void testContention() throws Throwable {
+        final int threads = 16;
+        final int iterations = 20000;
+        final PathLockFactory lockFactory = new PathLockFactory(1024);
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch waiter = new CountDownLatch(threads);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final Path project = Path.of("/project-" + i);
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        starter.await();
+                        for (int j = 0; j < iterations; j++) {
+                            Path file = project.newPath("src", "file-" + (j % 100));
+                            PathLockFactory.PathLock lock = lockFactory.getLock(file, j % 4 == 0).acquire(10000);
+                            lock.release();
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    } finally {
+                        waiter.countDown();
+                    }
+                }
+            }.start();
+        }
+        long start = System.nanoTime();
+        starter.countDown();
+        waiter.await();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOG.info("{} threads acquired and released {} locks in {} ms", threads, threads * iterations, elapsed);
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+        lockFactory.checkClean();
+    }
+}
@@ -14,7 +14,9 @@ import junit.framework.TestCase;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -236,4 +238,115 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testLocksInUnrelatedSubtreesDoNotBlockEachOther() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+                try {
+                    starter.countDown();
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            PathLockFactory.PathLock sibling = pathLockFactory.getLock(path.getParent().newPath("d"), true).acquire(100);
+            sibling.release();
+            PathLockFactory.PathLock parentShared = pathLockFactory.getLock(path.getParent(), false);
+            try {
+                // Exclusive lock of child must prevent getting shared lock of its parent.
+                parentShared.acquire(100);
+                fail();
+            } catch (RuntimeException e) {
+                // OK
+            }
+        } finally {
+            finisher.countDown();
+            t.join();
+        }
+        pathLockFactory.checkClean();
+    }
+
+    public void testSharedLockCanBeUpgradedBySameThread() throws Exception {
+        PathLockFactory.PathLock shared = pathLockFactory.getLock(path, false).acquire(100);
+        PathLockFactory.PathLock exclusive = pathLockFactory.getLock(path, true).acquire(100);
+        PathLockFactory.PathLock childExclusive = pathLockFactory.getLock(path.newPath("d"), true).acquire(100);
+        childExclusive.release();
+        exclusive.release();
+        shared.release();
+        pathLockFactory.checkClean();
+    }
+
+    public void testConcurrentUpgradesOfSharedLock() throws Throwable {
+        final int threads = 2;
+        final CountDownLatch shared = new CountDownLatch(threads);
+        final CountDownLatch waiter = new CountDownLatch(threads);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        PathLockFactory.PathLock sharedLock = pathLockFactory.getLock(path, false).acquire(1000);
+                        shared.countDown();
+                        shared.await();
+                        // Both threads hold shared lock and must not wait for each other.
+                        PathLockFactory.PathLock exclusiveLock = pathLockFactory.getLock(path, true).acquire(1000);
+                        exclusiveLock.release();
+                        sharedLock.release();
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    } finally {
+                        waiter.countDown();
+                    }
+                }
+            }.start();
+        }
+        assertTrue(waiter.await(5, TimeUnit.SECONDS));
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+        pathLockFactory.checkClean();
+    }
+
+    public void testWaitingThreadDoesNotHoldIntentionLocksOfAncestors() throws Throwable {
+        final CountDownLatch waiting = new CountDownLatch(1);
+        final CountDownLatch waiter = new CountDownLatch(1);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        PathLockFactory.PathLock exclusiveLock = pathLockFactory.getLock(path, true).acquire(100);
+        try {
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        waiting.countDown();
+                        pathLockFactory.getLock(path, true).acquire(5000).release();
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    } finally {
+                        waiter.countDown();
+                    }
+                }
+            }.start();
+            waiting.await();
+            Thread.sleep(100);
+            // Other thread waits for the path, it must not prevent locking of the ancestor by the lock owner.
+            pathLockFactory.getLock(path.getParent(), false).acquire(1000).release();
+        } finally {
+            exclusiveLock.release();
+        }
+        assertTrue(waiter.await(5, TimeUnit.SECONDS));
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+        pathLockFactory.checkClean();
+    }
 }
@@ -30,8 +30,10 @@ import org.junit.rules.ExpectedException;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.ZipEntry;
@@ -42,6 +44,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -185,6 +188,113 @@ public class ZipArchiverTest {
         }
     }
 
+    @Test
+    public void extractsArchiveFileToFolder() throws Exception {
+        File archive = writeToFile(createTestZipArchive());
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        new ZipArchiver(folder).extract(archive, false, 0);
+
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .collect(toMap(f -> getZipEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        assertEquals(readArchiveEntries(new FileInputStream(archive)), entries);
+    }
+
+    @Test
+    public void extractsArchiveFileWithManyEntriesToFolderAndOverwriteExistedFiles() throws Exception {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+            for (int i = 0; i < 200; i++) {
+                zipOut.putNextEntry(new ZipEntry("dir" + (i % 10) + "/file" + i + ".txt"));
+                zipOut.write((TEST_CONTENT + i).getBytes());
+            }
+        }
+        File archive = writeToFile(byteOut.toByteArray());
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        VirtualFile existedFile = folder.createFolder("dir0").createFile("file0.txt", "xxx");
+        new ZipArchiver(folder).extract(archive, true, 0);
+
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .filter(VirtualFile::isFile)
+                                                               .collect(toMap(f -> getZipEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        assertEquals(readArchiveEntries(new FileInputStream(archive)), entries);
+        assertEquals(TEST_CONTENT + 0, existedFile.getContentAsString());
+    }
+
+    @Test
+    public void removesExtractedItemsWhenArchiveContainsItemWithSameNameAndOverwritingIsDisabled() throws Exception {
+        byte[] archive = createTestZipArchive();
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        VirtualFile existedFile = folder.createFolder("arc").createFolder("c").createFile("_c.txt", "xxx");
+
+        try {
+            new ZipArchiver(folder).extract(new ByteArrayInputStream(archive), false, 0);
+            thrown.expect(ConflictException.class);
+        } catch (ConflictException expected) {
+            assertFalse(folder.hasChild(Path.of("arc/a")));
+            assertFalse(folder.hasChild(Path.of("arc/b")));
+            assertEquals("xxx", existedFile.getContentAsString());
+        }
+    }
+
+    @Test
+    public void failsExtractZipBombAndRemovesExtractedItems() throws Exception {
+        byte[] archive = createZipBomb();
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        VirtualFile existedFile = folder.createFile("_a.txt", "xxx");
+
+        try {
+            new ZipArchiver(folder).extract(new ByteArrayInputStream(archive), true, 0);
+            thrown.expect(IOException.class);
+        } catch (IOException expected) {
+            assertEquals("Zip bomb detected", expected.getMessage());
+            assertEquals(newArrayList(existedFile), folder.getChildren());
+            assertEquals("xxx", existedFile.getContentAsString());
+        }
+    }
+
+    @Test
+    public void failsExtractZipBombFileAndRemovesExtractedItems() throws Exception {
+        File archive = writeToFile(createZipBomb());
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        VirtualFile existedFile = folder.createFile("_a.txt", "xxx");
+
+        try {
+            new ZipArchiver(folder).extract(archive, true, 0);
+            thrown.expect(IOException.class);
+        } catch (IOException expected) {
+            assertEquals("Zip bomb detected", expected.getMessage());
+            assertEquals(newArrayList(existedFile), folder.getChildren());
+            assertEquals("xxx", existedFile.getContentAsString());
+        }
+    }
+
+    private byte[] createZipBomb() throws IOException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+            zipOut.putNextEntry(new ZipEntry("_a.txt"));
+            zipOut.write(TEST_CONTENT_BYTES);
+            zipOut.putNextEntry(new ZipEntry("dir/_b.txt"));
+            zipOut.write(TEST_CONTENT_BYTES);
+            zipOut.putNextEntry(new ZipEntry("dir/zeros"));
+            byte[] zeros = new byte[1024 * 1024];
+            for (int i = 0; i < 10; i++) {
+                zipOut.write(zeros);
+            }
+        }
+        return byteOut.toByteArray();
+    }
+
+    private File writeToFile(byte[] content) throws IOException {
+        File file = new File(testDirectory.getParentFile(), NameGenerator.generate("zip-", 4) + ".zip");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content);
+        return file;
+    }
+
     private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
         Map<String, String> entries = newHashMap();
         try (ZipInputStream zip = new ZipInputStream(archive)) {
@@ -91,4 +91,11 @@ public class DefaultFileWatcherNotificationHandlerTest {
         verify(notificationListener).shouldBeNotifiedFor(virtualFile);
         verify(notificationListener).onFileWatcherEvent(virtualFile, MODIFIED);
     }
+
+    @Test
+    public void invalidatesDirectoryListingsOnFileWatcherEvent() throws Exception {
+        notificationHandler.handleFileWatcherEvent(CREATED, testDirectory, "/a/b/c", true);
+
+        verify(virtualFileSystem).invalidateListing(virtualFilePath);
+    }
 }
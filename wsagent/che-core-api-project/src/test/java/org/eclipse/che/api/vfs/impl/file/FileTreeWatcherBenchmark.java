@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Replays a burst of concurrent create/modify/delete operations in independent projects and measures
+ * time which {@link FileTreeWatcher} needs to report all of them, runs only with the benchmarks profile.
+ * Number of projects may be changed with 'che.watcher.benchmark.projects' system property.
+ */
+public class FileTreeWatcherBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcherBenchmark.class);
+
+    private static final int PROJECTS = Integer.getInteger("che.watcher.benchmark.projects", 8);
+
+    private FileTreeWatcher     fileTreeWatcher;
+    private File                testDirectory;
+    private FileWatcherTestTree fileWatcherTestTree;
+
+    @Before
+    public void setUp() throws Exception {
+        File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
+        testDirectory = new File(targetDir, NameGenerator.generate("watcher-", 4));
+        assertTrue(testDirectory.mkdir());
+        fileWatcherTestTree = new FileWatcherTestTree(testDirectory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (fileTreeWatcher != null) {
+            fileTreeWatcher.shutdown();
+        }
+        IoUtil.deleteRecursive(testDirectory);
+    }
+
+    @Test
+    public void benchmarkBurstOfMixedActionsInIndependentSubtrees() throws Exception {
+        List<String> projects = newArrayList();
+        for (int i = 0; i < PROJECTS; i++) {
+            String project = fileWatcherTestTree.createDirectory("");
+            fileWatcherTestTree.createTree(project, 5, 4);
+            projects.add(project);
+        }
+        Thread.sleep(100);
+
+        FileWatcherNotificationHandler notificationListener = mock(FileWatcherNotificationHandler.class);
+        fileTreeWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationListener);
+        fileTreeWatcher.startup();
+        Thread.sleep(5000);
+
+        List<String> allFiles = fileWatcherTestTree.findAllFilesInTree("");
+        List<String> updated = allFiles.stream().filter(path -> path.hashCode() % 2 == 0).collect(Collectors.toList());
+        List<String> deleted = allFiles.stream().filter(path -> path.hashCode() % 2 != 0).collect(Collectors.toList());
+        List<String> created = projects.parallelStream().flatMap(project -> {
+            List<String> createdInProject = newArrayList();
+            try {
+                for (String directory : fileWatcherTestTree.findAllDirectoriesInTree(project)) {
+                    createdInProject.add(fileWatcherTestTree.createFile(directory));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return createdInProject.stream();
+        }).collect(Collectors.toList());
+        updated.parallelStream().forEach(file -> {
+            try {
+                fileWatcherTestTree.updateFile(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        deleted.parallelStream().forEach(fileWatcherTestTree::delete);
+
+        long burstEnd = System.currentTimeMillis();
+        verify(notificationListener, timeout(60000).times(created.size()))
+                .handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationListener, timeout(60000).times(updated.size()))
+                .handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationListener, timeout(60000).times(deleted.size()))
+                .handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
+        LOG.info("{} created, {} modified and {} deleted items processed in {} ms after burst",
+                 created.size(), updated.size(), deleted.size(), System.currentTimeMillis() - burstEnd);
+
+        verify(notificationListener, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        assertEvents(notificationListener, CREATED, created);
+        assertEvents(notificationListener, MODIFIED, updated);
+        assertEvents(notificationListener, DELETED, deleted);
+    }
+
+    private void assertEvents(FileWatcherNotificationHandler notificationListener,
+                              FileWatcherEventType type,
+                              List<String> expected) {
+        ArgumentCaptor<String> eventsCaptor = ArgumentCaptor.forClass(String.class);
+        verify(notificationListener, times(expected.size())).handleFileWatcherEvent(eq(type),
+                                                                                     eq(testDirectory),
+                                                                                     eventsCaptor.capture(),
+                                                                                     anyBoolean());
+        assertEquals(newHashSet(expected), newHashSet(eventsCaptor.getAllValues()));
+    }
+}
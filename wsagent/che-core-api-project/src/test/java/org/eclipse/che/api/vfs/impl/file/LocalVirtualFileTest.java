@@ -45,11 +45,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
@@ -341,6 +347,75 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, root.getChildren());
     }
 
+    @Test
+    public void getsChildrenCreatedOutsideOfVirtualFileSystemAfterFileWatcherEvent() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        File ioFile = new File(folder.toIoFile(), generateFileName());
+        assertTrue(ioFile.createNewFile());
+        fileSystem.invalidateListing(folder.getPath().newPath(ioFile.getName()));
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(ioFile.getName())));
+        Collections.sort(expectedResult);
+
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
+    @Test
+    public void doesNotReturnDeletedChildren() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        VirtualFile file2 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        VirtualFile subFolder = folder.createFolder(generateFolderName());
+        List<VirtualFile> expectedResult = newArrayList(file1, file2, subFolder);
+        Collections.sort(expectedResult);
+        assertEquals(expectedResult, folder.getChildren());
+
+        file1.delete();
+        subFolder.delete();
+
+        assertEquals(newArrayList(file2), folder.getChildren());
+    }
+
+    @Test
+    public void getsChildrenOfFolderCreatedWithNestedName() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        assertTrue(folder.getChildren().isEmpty());
+
+        VirtualFile nested = folder.createFolder("a/b");
+
+        assertEquals(newArrayList(nested.getParent()), folder.getChildren());
+        assertEquals(newArrayList(nested), nested.getParent().getChildren());
+    }
+
+    @Test
+    public void getsChildrenConcurrently() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        for (int i = 0; i < 20; i++) {
+            folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        }
+        List<VirtualFile> expectedResult = newArrayList(folder.getChildren());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<VirtualFile>>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> folder.getChildren()));
+            }
+            for (Future<List<VirtualFile>> result : results) {
+                assertEquals(expectedResult, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void getsChildrenWithFilter() throws Exception {
         VirtualFile root = getRoot();
@@ -421,6 +496,53 @@ public class LocalVirtualFileTest {
         assertEquals(DEFAULT_CONTENT, content);
     }
 
+    @Test
+    public void writesContentToStream() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = file.writeContent(output, 0, -1);
+
+        assertEquals(DEFAULT_CONTENT_BYTES.length, written);
+        assertEquals(DEFAULT_CONTENT, output.toString());
+    }
+
+    @Test
+    public void writesPartOfContentToStream() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long written = file.writeContent(output, 2, 100);
+
+        assertEquals(DEFAULT_CONTENT_BYTES.length - 2, written);
+        assertEquals(DEFAULT_CONTENT.substring(2), output.toString());
+    }
+
+    @Test
+    public void writesContentOfLargeFileToStream() throws Exception {
+        VirtualFile root = getRoot();
+        byte[] bytes = new byte[3 * 1024 * 1024];
+        new Random().nextBytes(bytes);
+        VirtualFile file = root.createFile(generateFileName(), new ByteArrayInputStream(bytes));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        file.writeContent(output, 0, -1);
+
+        assertTrue(Arrays.equals(bytes, output.toByteArray()));
+    }
+
+    @Test
+    public void failsWriteContentOfFolderToStream() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+
+        thrown.expect(ForbiddenException.class);
+
+        folder.writeContent(new ByteArrayOutputStream(), 0, -1);
+    }
+
     @Test
     public void failsGetContentOfFolderAsStream() throws Exception {
         VirtualFile root = getRoot();
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QueuedSearcherTest {
+    private Searcher       delegate;
+    private QueuedSearcher searcher;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(Searcher.class);
+        searcher = new QueuedSearcher(delegate, 60_000, 1000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        searcher.close();
+    }
+
+    @Test
+    public void doesNotUpdateIndexInCallingThread() throws Exception {
+        searcher.update(mockFile("/a/b.txt"));
+
+        verify(delegate, never()).update(any(VirtualFile.class));
+        assertEquals(1, searcher.getQueueDepth());
+    }
+
+    @Test
+    public void appliesUpdatesAfterMaxStaleness() throws Exception {
+        QueuedSearcher searcher = new QueuedSearcher(delegate, 10, 1000);
+        VirtualFile file = mockFile("/a/b.txt");
+
+        searcher.add(file);
+
+        verify(delegate, timeout(5000)).add(file);
+        searcher.close();
+    }
+
+    @Test
+    public void appliesUpdatesWhenBatchIsFull() throws Exception {
+        QueuedSearcher searcher = new QueuedSearcher(delegate, 60_000, 2);
+        VirtualFile file1 = mockFile("/a/1.txt");
+        VirtualFile file2 = mockFile("/a/2.txt");
+
+        searcher.add(file1);
+        searcher.add(file2);
+
+        verify(delegate, timeout(5000)).add(file1);
+        verify(delegate, timeout(5000)).add(file2);
+        searcher.close();
+    }
+
+    @Test
+    public void coalescesUpdatesOfSameFile() throws Exception {
+        VirtualFile file = mockFile("/a/b.txt");
+
+        searcher.update(file);
+        searcher.update(file);
+        searcher.update(file);
+        searcher.awaitPendingUpdates("/");
+
+        verify(delegate, times(1)).update(file);
+        assertEquals(2, searcher.getCoalescedUpdates());
+        assertEquals(1, searcher.getAppliedUpdates());
+    }
+
+    @Test
+    public void searchWaitsForPendingUpdatesUnderPathOfQuery() throws Exception {
+        VirtualFile file = mockFile("/a/b.txt");
+        QueryExpression query = new QueryExpression().setPath("/a").setName("b.txt");
+
+        searcher.add(file);
+        searcher.search(query);
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).add(file);
+        inOrder.verify(delegate).search(query);
+        assertEquals(0, searcher.getQueueDepth());
+    }
+
+    @Test
+    public void searchDoesNotWaitForUpdatesOutsideOfPathOfQuery() throws Exception {
+        VirtualFile file = mockFile("/x/b.txt");
+        QueryExpression query = new QueryExpression().setPath("/a").setName("b.txt");
+
+        searcher.add(file);
+        searcher.search(query);
+
+        verify(delegate).search(query);
+        verify(delegate, never()).add(file);
+        assertEquals(1, searcher.getQueueDepth());
+    }
+
+    @Test
+    public void deletingOfFolderDropsPendingUpdatesOfItsChildren() throws Exception {
+        VirtualFile file = mockFile("/a/b.txt");
+
+        searcher.update(file);
+        searcher.delete("/a", false);
+        searcher.awaitPendingUpdates("/");
+
+        verify(delegate, never()).update(file);
+        verify(delegate).delete("/a", false);
+    }
+
+    @Test
+    public void deletesOldDocumentsBeforeAddingItemWithSamePath() throws Exception {
+        VirtualFile folder = mockFile("/a");
+        when(folder.isFile()).thenReturn(false);
+
+        searcher.delete("/a", false);
+        searcher.add(folder);
+        searcher.awaitPendingUpdates("/");
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).delete("/a", false);
+        inOrder.verify(delegate).add(folder);
+    }
+
+    @Test
+    public void reportsLagOfPendingUpdates() throws Exception {
+        searcher.add(mockFile("/a/b.txt"));
+        Thread.sleep(20);
+
+        assertTrue(searcher.getLagMillis() >= 20);
+        searcher.awaitPendingUpdates("/");
+        assertEquals(0, searcher.getLagMillis());
+    }
+
+    private VirtualFile mockFile(String path) {
+        VirtualFile file = mock(VirtualFile.class);
+        when(file.getPath()).thenReturn(Path.of(path));
+        when(file.isFile()).thenReturn(true);
+        return file;
+    }
+}
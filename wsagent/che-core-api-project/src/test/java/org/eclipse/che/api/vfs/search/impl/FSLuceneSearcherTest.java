@@ -25,12 +25,15 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -41,6 +44,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class FSLuceneSearcherTest {
+    private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcherTest.class);
+
     private static final String[] TEST_CONTENT = {
             "Apollo set several major human spaceflight milestones",
             "Maybe you should think twice",
@@ -84,6 +89,29 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void updatesIndexLeftFromPreviousSearcherInsteadOfRecreatingIt() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+        // index is left in directory when previous searcher isn't closed properly
+        searcher.getIndexWriter().commit();
+        File leftIndexDirectory = new File(indexDirectory.getParentFile(), NameGenerator.generate("index-", 4));
+        IoUtil.copy(indexDirectory, leftIndexDirectory, null);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+
+        FSLuceneSearcher restarted = new FSLuceneSearcher(leftIndexDirectory, filter, closeCallback);
+        try {
+            restarted.init(virtualFileSystem);
+
+            assertEquals(newArrayList("/folder/xxx.txt"), restarted.search(new QueryExpression().setText("be")).getFilePaths());
+            assertEquals(newArrayList("/folder/zzz.txt"), restarted.search(new QueryExpression().setText("should")).getFilePaths());
+        } finally {
+            restarted.close();
+        }
+    }
+
     @Test
     public void addsSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -294,6 +322,57 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void comparesSubstringSearchWithAndWithoutSubstringIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 20; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i);
+            for (int j = 0; j < 50; j++) {
+                StringBuilder content = new StringBuilder();
+                for (int k = 0; k < 20; k++) {
+                    content.append(TEST_CONTENT[(i + j + k) % TEST_CONTENT.length]).append('\n');
+                }
+                if (j == 0) {
+                    content.append("this.getFoo();\n");
+                }
+                folder.createFile(String.format("file%d.txt", j), content.toString());
+            }
+        }
+        File trigramIndexDirectory = new File(indexDirectory.getParentFile(), NameGenerator.generate("index-", 4));
+        assertTrue(trigramIndexDirectory.mkdir());
+        FSLuceneSearcher trigramSearcher = new FSLuceneSearcher(trigramIndexDirectory, filter, closeCallback, true);
+        try {
+            searcher.init(virtualFileSystem);
+            trigramSearcher.init(virtualFileSystem);
+            searcher.getIndexWriter().commit();
+            trigramSearcher.getIndexWriter().commit();
+
+            QueryExpression query = new QueryExpression().setSubstring("getFoo").setMaxItems(100);
+            SearchResult result = searcher.search(query);
+            SearchResult trigramResult = trigramSearcher.search(query);
+
+            assertEquals(20, result.getFilePaths().size());
+            assertEquals(newHashSet(result.getFilePaths()), newHashSet(trigramResult.getFilePaths()));
+            LOG.info("Index size: {} bytes, substring search time: {} ms",
+                     sizeOf(indexDirectory), result.getElapsedTimeMillis());
+            LOG.info("Index size with trigrams: {} bytes, substring search time: {} ms",
+                     sizeOf(trigramIndexDirectory), trigramResult.getElapsedTimeMillis());
+        } finally {
+            trigramSearcher.close();
+        }
+    }
+
+    private static long sizeOf(File directory) {
+        long size = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
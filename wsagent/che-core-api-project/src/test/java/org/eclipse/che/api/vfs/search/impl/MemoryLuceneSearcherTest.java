@@ -12,12 +12,15 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
 import org.junit.Before;
@@ -28,12 +31,16 @@ import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -284,6 +291,252 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void indexesAllFilesOfDeepFileTree() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot();
+        for (int i = 0; i < 10; i++) {
+            folder = folder.createFolder("folder" + i);
+            for (int j = 0; j < 30; j++) {
+                folder.createFile(String.format("file%d.txt", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher.init(virtualFileSystem);
+
+        assertEquals(80, searcher.search(new QueryExpression().setText("think").setMaxItems(1000)).getFilePaths().size());
+        assertEquals(300, searcher.getIndexingStatistics().getIndexedFiles());
+        assertFalse(searcher.getIndexingStatistics().isInProgress());
+    }
+
+    @Test
+    public void indexesContentThatIsNotValidUtf8AsLatin1() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("latin.txt", "caf\u00e9 cr\u00e8me".getBytes("ISO-8859-1"));
+        folder.createFile("utf8.txt", "na\u00efve r\u00e9sum\u00e9".getBytes("UTF-8"));
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newArrayList("/folder/latin.txt"), searcher.search(new QueryExpression().setText("caf\u00e9")).getFilePaths());
+        assertEquals(newArrayList("/folder/utf8.txt"), searcher.search(new QueryExpression().setText("na\u00efve")).getFilePaths());
+    }
+
+    @Test
+    public void searchesBySubstringOfWord() throws Exception {
+        searcher = new MemoryLuceneSearcher(filter, closeCallback, true);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("Foo.java", "class Foo { void bar() { this.getFoo(); } }");
+        folder.createFile("Bar.java", "class Bar { Foo getfoo() { return null; } }");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setSubstring("getFoo")).getFilePaths();
+        assertEquals(newArrayList("/folder/Foo.java"), paths);
+        paths = searcher.search(new QueryExpression().setText("getFoo")).getFilePaths();
+        assertTrue(paths.isEmpty());
+    }
+
+    @Test
+    public void searchesByRegularExpression() throws Exception {
+        searcher = new MemoryLuceneSearcher(filter, closeCallback, true);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("Foo.java", "class Foo {\n    private int count;\n}");
+        folder.createFile("Bar.java", "class Bar {\n    private String name;\n}");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setRegex("^\\s+private int \\w+;$")).getFilePaths();
+        assertEquals(newArrayList("/folder/Foo.java"), paths);
+        paths = searcher.search(new QueryExpression().setRegex("private (int|String)")).getFilePaths();
+        assertEquals(2, paths.size());
+    }
+
+    @Test
+    public void searchesBySubstringWithoutSubstringIndex() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("Foo.java", "class Foo { void bar() { this.getFoo(); } }");
+        folder.createFile("Bar.java", "class Bar { Foo getfoo() { return null; } }");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setSubstring("getFoo")).getFilePaths();
+        assertEquals(newArrayList("/folder/Foo.java"), paths);
+    }
+
+    @Test
+    public void retrievesSubstringSearchResultWithPages() throws Exception {
+        searcher = new MemoryLuceneSearcher(filter, closeCallback, true);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < 30; i++) {
+            folder.createFile(String.format("file%02d.txt", i), i % 2 == 0 ? TEST_CONTENT[0] : TEST_CONTENT[1]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setSubstring("spaceflight").setMaxItems(10));
+        assertEquals(10, firstPage.getFilePaths().size());
+        assertTrue(firstPage.getNextPageQueryExpression().isPresent());
+
+        SearchResult lastPage = searcher.search(firstPage.getNextPageQueryExpression().get());
+        assertEquals(5, lastPage.getFilePaths().size());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void providesOccurrencesOfTextQuery() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", "To be\nor not to be");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludeOccurrences(true));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertEquals(1, occurrences.get(0).getLineNumber());
+        assertEquals(4, occurrences.get(0).getColumn());
+        assertEquals("To be", occurrences.get(0).getLineContent());
+        assertEquals(2, occurrences.get(1).getLineNumber());
+        assertEquals(11, occurrences.get(1).getColumn());
+        assertEquals(16, occurrences.get(1).getStartOffset());
+        assertEquals(18, occurrences.get(1).getEndOffset());
+        assertEquals("or not to be", occurrences.get(1).getLineContent());
+    }
+
+    @Test
+    public void providesOccurrencesOfSubstring() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("Foo.java", "class Foo {\n    Foo getFoo() { return this.getFoo(); }\n}");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setSubstring("getFoo").setIncludeOccurrences(true));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertEquals(2, occurrences.get(0).getLineNumber());
+        assertEquals(9, occurrences.get(0).getColumn());
+        assertEquals(2, occurrences.get(1).getLineNumber());
+        assertEquals(32, occurrences.get(1).getColumn());
+    }
+
+    @Test
+    public void doesNotProvideOccurrencesIfTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void retrievesSearchResultWithPagesByCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = newArrayList();
+        QueryExpression query = new QueryExpression().setText("spaceflight").setMaxItems(10);
+        for (; ; ) {
+            SearchResult page = searcher.search(query);
+            paths.addAll(page.getFilePaths());
+            if (!page.getNextPageQueryExpression().isPresent()) {
+                break;
+            }
+            query = page.getNextPageQueryExpression().get();
+            assertNotNull(query.getCursor());
+            // Cursor is used instead of skip count.
+            query.setSkipCount(0);
+        }
+
+        assertEquals(25, paths.size());
+        assertEquals(25, newHashSet(paths).size());
+    }
+
+    @Test
+    public void ordersResultsOfTextSearchByRelevance() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("a.txt", "Apollo set several major human spaceflight milestones, maybe you should think twice");
+        folder.createFile("b.txt", "think think think");
+        folder.createFile("c.txt", "think twice");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = newArrayList();
+        QueryExpression query = new QueryExpression().setText("think").setMaxItems(1);
+        for (; ; ) {
+            SearchResult page = searcher.search(query);
+            paths.addAll(page.getFilePaths());
+            if (!page.getNextPageQueryExpression().isPresent()) {
+                break;
+            }
+            query = page.getNextPageQueryExpression().get();
+        }
+
+        assertEquals(newArrayList("/folder/b.txt", "/folder/c.txt", "/folder/a.txt"), paths);
+    }
+
+    @Test
+    public void doesNotRepeatOrSkipResultsWhenIndexIsChangedBetweenPages() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        List<String> expected = newArrayList();
+        for (int i = 0; i < 30; i++) {
+            expected.add(virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[0]).getPath().toString());
+        }
+        searcher.init(virtualFileSystem);
+
+        QueryExpression query = new QueryExpression().setName("file*").setMaxItems(10);
+        SearchResult page = searcher.search(query);
+        List<String> paths = newArrayList(page.getFilePaths());
+        // re-indexed file gets new internal document id, new file is placed before the cursor
+        searcher.update(virtualFileSystem.getRoot().getChild(Path.of("file05")));
+        searcher.add(virtualFileSystem.getRoot().createFile("file-new", TEST_CONTENT[0]));
+        while (page.getNextPageQueryExpression().isPresent()) {
+            page = searcher.search(page.getNextPageQueryExpression().get());
+            paths.addAll(page.getFilePaths());
+        }
+
+        assertEquals(expected, paths);
+    }
+
+    @Test
+    public void indexesOtherFilesWhenContentOfFileCannotBeRead() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+        VirtualFile realFolder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile readable = realFolder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile folder = spy(realFolder);
+        VirtualFile unreadable = mock(VirtualFile.class);
+        when(unreadable.exists()).thenReturn(true);
+        when(unreadable.isFile()).thenReturn(true);
+        when(unreadable.getName()).thenReturn("yyy.txt");
+        when(unreadable.getPath()).thenReturn(Path.of("/folder/yyy.txt"));
+        when(unreadable.getContent()).thenThrow(new ServerException("Unable read file"));
+        doReturn(newArrayList(unreadable, readable)).when(folder).getChildren();
+
+        searcher.add(folder);
+
+        assertEquals(newArrayList("/folder/xxx.txt"), searcher.search(new QueryExpression().setText("be")).getFilePaths());
+        assertEquals(newArrayList("/folder/yyy.txt"), searcher.search(new QueryExpression().setName("yyy.txt")).getFilePaths());
+    }
+
+    @Test
+    public void passesFoundItemsToConsumer() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        List<String> consumed = newArrayList();
+        SearchResult result = searcher.search(new QueryExpression().setText("be"), entry -> consumed.add(entry.getFilePath()));
+
+        assertEquals(result.getFilePaths(), consumed);
+        assertEquals(2, consumed.size());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
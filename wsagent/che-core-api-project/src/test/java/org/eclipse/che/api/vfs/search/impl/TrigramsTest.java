@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.junit.Test;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TrigramsTest {
+    @Test
+    public void splitsLiteralOnLowerCasedTrigrams() {
+        assertEquals(newLinkedHashSet(newArrayList("get", "etf", "tfo", "foo")), Trigrams.of("getFoo"));
+    }
+
+    @Test
+    public void returnsNoTrigramsForShortLiteral() {
+        assertTrue(Trigrams.of("ab").isEmpty());
+    }
+
+    @Test
+    public void extractsRequiredLiteralsFromRegularExpression() {
+        assertEquals(newArrayList("private int ", " count;"), Trigrams.requiredLiterals("^\\s+private int \\w+ count;$"));
+    }
+
+    @Test
+    public void excludesOptionalCharactersFromLiterals() {
+        assertEquals(newArrayList("colo"), Trigrams.requiredLiterals("colou?r"));
+        assertEquals(newArrayList("abc"), Trigrams.requiredLiterals("abcd*e"));
+        assertEquals(newArrayList("abc"), Trigrams.requiredLiterals("abcd{0,2}"));
+    }
+
+    @Test
+    public void excludesLiteralsInGroupsAndCharacterClasses() {
+        assertEquals(newArrayList("foo", "bar"), Trigrams.requiredLiterals("foo(abc)?[xyz]+bar"));
+    }
+
+    @Test
+    public void treatsEscapedAndQuotedCharactersAsLiterals() {
+        assertEquals(newArrayList("this.get"), Trigrams.requiredLiterals("this\\.get"));
+        assertEquals(newArrayList("a.b*c"), Trigrams.requiredLiterals("\\Qa.b*c\\E"));
+    }
+
+    @Test
+    public void returnsNoLiteralsForAlternation() {
+        assertTrue(Trigrams.requiredLiterals("foo|bar").isEmpty());
+        assertTrue(Trigrams.requiredLiterals("(?x) foo bar").isEmpty());
+        assertTrue(Trigrams.requiredLiterals("foo\\x41bar").isEmpty());
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.api.machine.server;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -25,6 +26,7 @@ import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.util.BufferedWebsocketLineConsumer;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
 import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
@@ -55,7 +57,6 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
@@ -72,6 +73,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static org.eclipse.che.api.core.notification.WebsocketDtoBroadcaster.compactChannel;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -98,6 +100,8 @@ public class MachineManager {
     private final MachineCleaner           machineCleaner;
     private final WsAgentLauncher          wsAgentLauncher;
 
+    private long logsFlushPeriodMs = 200;
+
     @VisibleForTesting
     final ExecutorService executor;
 
@@ -123,6 +127,16 @@ public class MachineManager {
         this.machineCleaner = new MachineCleaner();
     }
 
+    /**
+     * Enables batching of machine and process output. When period is greater than {@code 0} output is sent to the
+     * compact variant of websocket channel as arrays of lines and log files are flushed with the same period instead
+     * of flushing each line. Regular websocket channel gets output line by line, only when it has subscribers.
+     */
+    @Inject(optional = true)
+    public void setLogsFlushPeriod(@Named("machine.logs.flush_period_ms") long logsFlushPeriodMs) {
+        this.logsFlushPeriodMs = logsFlushPeriodMs;
+    }
+
     /**
      * Synchronously creates and starts machine from scratch.
      *
@@ -881,7 +895,7 @@ public class MachineManager {
 
     private FileLineConsumer getMachineFileLogger(String machineId) throws MachineException {
         try {
-            return new FileLineConsumer(getMachineLogsFile(machineId));
+            return new FileLineConsumer(getMachineLogsFile(machineId), logsFlushPeriodMs);
         } catch (IOException e) {
             throw new MachineException(String.format("Unable create log file for machine '%s'. %s", machineId, e.getMessage()));
         }
@@ -897,7 +911,7 @@ public class MachineManager {
 
     private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            return new FileLineConsumer(getProcessLogsFile(machineId, pid), logsFlushPeriodMs);
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -920,7 +934,11 @@ public class MachineManager {
 
     private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
         if (outputChannel != null) {
-            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+            // compact channel gets arrays of lines, regular channel keeps json string per line for existing clients,
+            // both of them skip output when nobody is subscribed
+            return new CompositeLineConsumer(fileLogger,
+                                             new WebsocketLineConsumer(outputChannel),
+                                             new BufferedWebsocketLineConsumer(compactChannel(outputChannel), logsFlushPeriodMs));
         }
         return fileLogger;
     }
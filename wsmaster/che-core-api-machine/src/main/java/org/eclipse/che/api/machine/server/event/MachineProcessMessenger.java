@@ -13,9 +13,6 @@ package org.eclipse.che.api.machine.server.event;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
-import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
-import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +21,8 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import static org.eclipse.che.api.core.notification.WebsocketDtoBroadcaster.broadcast;
+
 /**
  * Send machine process events using websocket channel to the clients
  *
@@ -43,10 +42,7 @@ public class MachineProcessMessenger implements EventSubscriber<MachineProcessEv
     @Override
     public void onEvent(MachineProcessEvent event) {
         try {
-            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
-            bm.setChannel("machine:process:" + event.getMachineId());
-            bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            broadcast("machine:process:" + event.getMachineId(), event);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
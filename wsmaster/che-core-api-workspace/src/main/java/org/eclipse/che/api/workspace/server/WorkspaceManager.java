@@ -267,6 +267,21 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Returns counter of workspaces modifications, it is changed after each modification
+     * of workspace or of its runtime. It is cheap version of workspaces used for answering
+     * conditional requests, workspaces of all users share the same counter.
+     *
+     * <p>Workspace modifications are counted by {@link WorkspaceDao}, so modifications which
+     * don't go through this manager are counted too.
+     *
+     * @return modification counter or {@code -1} if workspace DAO doesn't track modifications
+     */
+    public long getModificationCount() {
+        final long workspacesCount = workspaceDao.getModificationCount();
+        return workspacesCount < 0 ? -1 : workspacesCount + runtimes.getModificationCount();
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
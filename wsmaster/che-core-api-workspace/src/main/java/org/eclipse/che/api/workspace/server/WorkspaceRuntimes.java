@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -34,20 +35,30 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
 
@@ -90,17 +101,26 @@ public class WorkspaceRuntimes {
     private final EventService                        eventService;
     private final EventSubscriber<MachineStatusEvent> addMachineEventSubscriber;
     private final EventSubscriber<MachineStatusEvent> removeMachineEventSubscriber;
+    private final AtomicLong                          modificationCount;
+    private final ExecutorService                     startExecutor;
 
     private volatile boolean isPreDestroyInvoked;
 
     @Inject
-    public WorkspaceRuntimes(MachineManager machineManager, EventService eventService) {
+    public WorkspaceRuntimes(MachineManager machineManager,
+                             EventService eventService,
+                             @Named("workspace.runtime.machine_start_pool_size") int startPoolSize) {
         this.machineManager = machineManager;
         this.eventService = eventService;
         this.descriptors = new HashMap<>();
         this.startQueues = new HashMap<>();
         this.addMachineEventSubscriber = new AddMachineEventSubscriber();
         this.removeMachineEventSubscriber = new RemoveMachineEventSubscriber();
+        this.modificationCount = new AtomicLong();
+        this.startExecutor = Executors.newFixedThreadPool(startPoolSize,
+                                                          new ThreadFactoryBuilder().setNameFormat("WorkspaceRuntimes-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
     }
 
     /**
@@ -140,6 +160,9 @@ public class WorkspaceRuntimes {
      * If dev-machine start failed then method will throw appropriate
      * {@link ServerException}. During the start of the workspace its
      * runtime is visible with {@link WorkspaceStatus#STARTING} status.
+     * Other machines depend only on the dev-machine, so they are started
+     * concurrently, the count of machines started at the same time
+     * by all the workspaces is limited by the start pool size.
      *
      * <p>If {@link #stop} method executed after dev machine is started but
      * another machines haven't been started yet then {@link ConflictException}
@@ -329,6 +352,14 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Returns counter of runtimes modifications, it is changed after each modification
+     * of runtime descriptors. It is cheap version of runtimes used for answering conditional requests.
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     @PostConstruct
     private void subscribe() {
         eventService.subscribe(addMachineEventSubscriber);
@@ -348,6 +379,9 @@ public class WorkspaceRuntimes {
         eventService.unsubscribe(addMachineEventSubscriber);
         eventService.unsubscribe(removeMachineEventSubscriber);
 
+        // Machines which are starting will be destroyed by MachineManager
+        startExecutor.shutdown();
+
         // Acquire all the locks
         for (int i = 0; i < STRIPED.size(); i++) {
             STRIPED.getAt(i).writeLock().lock();
@@ -442,77 +476,33 @@ public class WorkspaceRuntimes {
                                                     ConflictException {
         publishEvent(EventType.STARTING, workspaceId, null);
 
-        // Starting all the machines one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
-        MachineConfigImpl config = queuePeekOrFail(workspaceId);
-        while (config != null) {
-
-            // According to WorkspaceStatus specification the workspace start
-            // is failed when dev-machine start is failed, so if any error
-            // occurs during machine creation and the machine is dev-machine
-            // then start fail is reported and start resources such as queue
-            // and descriptor must be cleaned up
-            MachineImpl machine = null;
-            try {
-                machine = startMachine(config, workspaceId, envName, recover);
-            } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
-                if (config.isDev()) {
-                    publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
-                    cleanupStartResources(workspaceId);
-                    throw x;
-                }
-                LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
-                                 config.getName(),
-                                 workspaceId,
-                                 envName),
-                          x);
-            }
+        // Dev-machine is in the queue head and it is started first,
+        // as other machines of the environment depend on it
+        List<MachineConfigImpl> configs = queuedConfigsOrFail(workspaceId);
+        if (!configs.isEmpty()) {
+            startQueuedMachine(configs.get(0), workspaceId, envName, recover);
+            configs = queuedConfigsOrFail(workspaceId);
+        }
 
-            // Machine destroying is an expensive operation which must be
-            // performed outside of the lock, this section checks if
-            // the workspace wasn't stopped while it is starting and sets
-            // polled flag to true if the workspace wasn't stopped plus
-            // polls the proceeded machine configuration from the queue
-            boolean queuePolled = false;
-            acquireWriteLock(workspaceId);
+        // Other machines don't depend on each other, so they are started concurrently.
+        // Machine configs are removed from the queue one by one when machines are started
+        if (!configs.isEmpty()) {
+            final List<Future<?>> starts = new ArrayList<>(configs.size());
             try {
-                ensurePreDestroyIsNotExecuted();
-                final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
-                if (queue != null) {
-                    queue.poll();
-                    queuePolled = true;
-                    if (machine != null) {
-                        final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
-                        if (config.isDev()) {
-                            descriptor.getRuntime().setDevMachine(machine);
-                            descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
-                        }
-                        descriptor.getRuntime().getMachines().add(machine);
-                    }
+                for (MachineConfigImpl config : configs) {
+                    starts.add(startExecutor.submit(ThreadLocalPropagateContext.wrap(() -> {
+                        // machine isn't started if workspace start was interrupted
+                        // before the machine was taken by start pool
+                        queuedConfigsOrFail(workspaceId);
+                        startQueuedMachine(config, workspaceId, envName, recover);
+                        return null;
+                    })));
                 }
-            } finally {
-                releaseWriteLock(workspaceId);
+            } catch (RejectedExecutionException x) {
+                cancel(starts);
+                throw new ServerException("Could not perform operation because application server is stopping");
             }
-
-            // Event publication should be performed outside of the lock
-            // as it may take some time to notify subscribers
-            if (machine != null && config.isDev()) {
-                publishEvent(EventType.RUNNING, workspaceId, null);
-            }
-
-            // If machine config is not polled from the queue
-            // then workspace was stopped and newly created machine
-            // must be destroyed(if such exists)
-            if (!queuePolled) {
-                if (machine != null) {
-                    machineManager.destroy(machine.getId(), false);
-                }
-                throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
-                                                   workspaceId));
-            }
-
-            config = queuePeekOrFail(workspaceId);
+            awaitStarts(workspaceId, starts);
         }
 
         // All the machines tried to start which means that queue
@@ -535,21 +525,173 @@ public class WorkspaceRuntimes {
     }
 
     /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
+     * Starts the machine from the queued configuration and adds it to the workspace runtime.
      *
-     * <p>Note that this method won't actually poll the queue.
+     * @throws ConflictException
+     *         when workspace was stopped while machine was starting, started machine is destroyed in this case
+     * @throws ServerException
+     *         when dev-machine start failed or pre destroy has been invoked
+     */
+    private void startQueuedMachine(MachineConfigImpl config,
+                                    String workspaceId,
+                                    String envName,
+                                    boolean recover) throws ServerException,
+                                                            NotFoundException,
+                                                            ConflictException {
+        // According to WorkspaceStatus specification the workspace start
+        // is failed when dev-machine start is failed, so if any error
+        // occurs during machine creation and the machine is dev-machine
+        // then start fail is reported and start resources such as queue
+        // and descriptor must be cleaned up
+        MachineImpl machine = null;
+        try {
+            machine = startMachine(config, workspaceId, envName, recover);
+        } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
+            if (config.isDev()) {
+                publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
+                cleanupStartResources(workspaceId);
+                throw x;
+            }
+            LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
+                             config.getName(),
+                             workspaceId,
+                             envName),
+                      x);
+        }
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the workspace wasn't stopped while it is starting and sets
+        // removed flag to true if the workspace wasn't stopped plus
+        // removes the proceeded machine configuration from the queue
+        boolean configRemoved = false;
+        acquireWriteLock(workspaceId);
+        try {
+            ensurePreDestroyIsNotExecuted();
+            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+            if (queue != null) {
+                queue.remove(config);
+                configRemoved = true;
+                if (machine != null) {
+                    final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
+                    if (config.isDev()) {
+                        descriptor.getRuntime().setDevMachine(machine);
+                        descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
+                    }
+                    descriptor.getRuntime().getMachines().add(machine);
+                }
+            }
+        } finally {
+            releaseWriteLock(workspaceId);
+        }
+
+        // Event publication should be performed outside of the lock
+        // as it may take some time to notify subscribers
+        if (machine != null && config.isDev()) {
+            publishEvent(EventType.RUNNING, workspaceId, null);
+        }
+
+        // If machine config is not removed from the queue
+        // then workspace was stopped and newly created machine
+        // must be destroyed(if such exists)
+        if (!configRemoved) {
+            if (machine != null) {
+                machineManager.destroy(machine.getId(), false);
+            }
+            throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
+                                               workspaceId));
+        }
+    }
+
+    /**
+     * Waits until all the machine starts are completed. When any start fails,
+     * the starts which are not running yet are cancelled and the first failure is rethrown
+     * after the running starts are completed, so no machine is left behind the start.
+     * If waiting is interrupted, the workspace start is interrupted, see {@link #interruptStart(String)}.
+     */
+    private void awaitStarts(String workspaceId, List<Future<?>> starts) throws ServerException, NotFoundException, ConflictException {
+        Throwable failure = null;
+        for (Future<?> start : starts) {
+            try {
+                start.get();
+            } catch (ExecutionException x) {
+                if (failure == null) {
+                    failure = x.getCause();
+                    cancel(starts);
+                }
+            } catch (CancellationException ignored) {
+                // start was cancelled because of the failure of another machine start
+            } catch (InterruptedException x) {
+                cancel(starts);
+                interruptStart(workspaceId);
+                Thread.currentThread().interrupt();
+                throw new ServerException("Interrupted while waiting for machines start", x);
+            }
+        }
+        if (failure instanceof ServerException) {
+            throw (ServerException)failure;
+        } else if (failure instanceof NotFoundException) {
+            throw (NotFoundException)failure;
+        } else if (failure instanceof ConflictException) {
+            throw (ConflictException)failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException)failure;
+        } else if (failure instanceof Error) {
+            throw (Error)failure;
+        } else if (failure != null) {
+            throw new ServerException(failure.getLocalizedMessage(), failure);
+        }
+    }
+
+    /**
+     * Removes start resources of the workspace and destroys its machines which are already started.
+     * Machines which are still starting are destroyed by their start tasks as the start queue doesn't exist anymore.
+     */
+    private void interruptStart(String workspaceId) {
+        final List<MachineImpl> machines;
+        acquireWriteLock(workspaceId);
+        try {
+            final RuntimeDescriptor descriptor = descriptors.remove(workspaceId);
+            startQueues.remove(workspaceId);
+            machines = descriptor == null ? new ArrayList<>() : new ArrayList<>(descriptor.getRuntime().getMachines());
+        } finally {
+            releaseWriteLock(workspaceId);
+        }
+        publishEvent(EventType.ERROR, workspaceId, "Workspace start interrupted");
+        for (MachineImpl machine : machines) {
+            try {
+                machineManager.destroy(machine.getId(), false);
+            } catch (NotFoundException ignore) {
+                // machine is already destroyed by direct call to the Machine API
+            } catch (RuntimeException | ServerException ex) {
+                LOG.error(format("Could not destroy machine '%s' of workspace '%s' after its start was interrupted",
+                                 machine.getId(),
+                                 workspaceId),
+                          ex);
+            }
+        }
+    }
+
+    private static void cancel(List<Future<?>> starts) {
+        for (Future<?> start : starts) {
+            start.cancel(false);
+        }
+    }
+
+    /**
+     * Gets copy of the queue associated with the given {@code workspaceId},
+     * queue head is dev-machine config if it isn't started yet.
      *
      * <p>Fails if workspace start was interrupted by stop(queue doesn't exist).
      *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
+     * @return machine configs which are not started yet
      * @throws ConflictException
      *         when queue doesn't exist which means that {@link #stop(String)} executed
      *         before all the machines started
      * @throws ServerException
-     *         only if pre destroy has been invoked before peek config retrieved
+     *         only if pre destroy has been invoked before configs retrieved
      */
-    private MachineConfigImpl queuePeekOrFail(String workspaceId) throws ConflictException, ServerException {
+    private List<MachineConfigImpl> queuedConfigsOrFail(String workspaceId) throws ConflictException, ServerException {
         acquireReadLock(workspaceId);
         try {
             ensurePreDestroyIsNotExecuted();
@@ -559,7 +701,7 @@ public class WorkspaceRuntimes {
                         format("Workspace '%s' start interrupted. Workspace was stopped before all its machines were started",
                                workspaceId));
             }
-            return queue.peek();
+            return new ArrayList<>(queue);
         } finally {
             releaseReadLock(workspaceId);
         }
@@ -823,8 +965,12 @@ public class WorkspaceRuntimes {
         STRIPED.get(workspaceId).writeLock().lock();
     }
 
-    /** Short alias for releasing write lock for the given workspace. */
-    private static void releaseWriteLock(String workspaceId) {
+    /**
+     * Short alias for releasing write lock for the given workspace.
+     * Runtimes are modified only under write lock, so modification counter is changed here.
+     */
+    private void releaseWriteLock(String workspaceId) {
+        modificationCount.incrementAndGet();
         STRIPED.get(workspaceId).writeLock().unlock();
     }
 }
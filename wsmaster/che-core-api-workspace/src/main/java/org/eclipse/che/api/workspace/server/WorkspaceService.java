@@ -20,12 +20,14 @@ import io.swagger.annotations.ExampleProperty;
 
 import com.google.common.collect.Maps;
 
+import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.core.rest.VersionedResponseCache;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.machine.server.MachineManager;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -54,7 +56,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import java.util.List;
@@ -82,6 +86,7 @@ public class WorkspaceService extends Service {
     private final WorkspaceValidator validator;
     private final MachineManager     machineManager;
     private final WorkspaceServiceLinksInjector linksInjector;
+    private final VersionedResponseCache        responseCache;
 
     @Context
     private SecurityContext securityContext;
@@ -90,11 +95,13 @@ public class WorkspaceService extends Service {
     public WorkspaceService(WorkspaceManager workspaceManager,
                             MachineManager machineManager,
                             WorkspaceValidator validator,
-                            WorkspaceServiceLinksInjector workspaceServiceLinksInjector) {
+                            WorkspaceServiceLinksInjector workspaceServiceLinksInjector,
+                            VersionedResponseCache responseCache) {
         this.workspaceManager = workspaceManager;
         this.machineManager = machineManager;
         this.validator = validator;
         this.linksInjector = workspaceServiceLinksInjector;
+        this.responseCache = responseCache;
     }
 
     @POST
@@ -154,20 +161,21 @@ public class WorkspaceService extends Service {
                   notes = "Composite key can be just workspace ID or in the " +
                           "namespace:workspace_name form, where namespace is optional (e.g :workspace_name is valid key too.")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested workspace entity"),
+                   @ApiResponse(code = 304, message = "The workspace is not modified"),
                    @ApiResponse(code = 404, message = "The workspace with specified id does not exist"),
                    @ApiResponse(code = 403, message = "The user is not workspace owner"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public WorkspaceDto getByKey(@ApiParam(value = "Composite key",
-                                           examples = @Example({@ExampleProperty("workspace12345678"),
-                                                                @ExampleProperty("namespace:workspace_name"),
-                                                                @ExampleProperty(":workspace_name")}))
-                                 @PathParam("key") String key) throws NotFoundException,
-                                                                      ServerException,
-                                                                      ForbiddenException,
-                                                                      BadRequestException {
+    public Response getByKey(@ApiParam(value = "Composite key",
+                                       examples = @Example({@ExampleProperty("workspace12345678"),
+                                                            @ExampleProperty("namespace:workspace_name"),
+                                                            @ExampleProperty(":workspace_name")}))
+                             @PathParam("key") String key,
+                             @Context Request request) throws ApiException {
         validateKey(key);
-        final WorkspaceImpl workspace = workspaceManager.getWorkspace(key);
-        return linksInjector.injectLinks(asDto(workspace), getServiceContext());
+        return responseCache.get(request,
+                                 uriInfo.getRequestUri(),
+                                 workspacesVersion(),
+                                 () -> linksInjector.injectLinks(asDto(workspaceManager.getWorkspace(key)), getServiceContext()));
     }
 
     @GET
@@ -178,24 +186,31 @@ public class WorkspaceService extends Service {
                   response = WorkspaceDto.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "The workspaces successfully fetched"),
+                   @ApiResponse(code = 304, message = "The workspaces are not modified"),
                    @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")})
-    public List<WorkspaceDto> getWorkspaces(@ApiParam("The number of the items to skip")
-                                            @DefaultValue("0")
-                                            @QueryParam("skipCount")
-                                            Integer skipCount,
-                                            @ApiParam("The limit of the items in the response, default is 30")
-                                            @DefaultValue("30")
-                                            @QueryParam("maxItems")
-                                            Integer maxItems,
-                                            @ApiParam("Workspace status")
-                                            @QueryParam("status")
-                                            String status) throws ServerException, BadRequestException {
+    public Response getWorkspaces(@ApiParam("The number of the items to skip")
+                                  @DefaultValue("0")
+                                  @QueryParam("skipCount")
+                                  Integer skipCount,
+                                  @ApiParam("The limit of the items in the response, default is 30")
+                                  @DefaultValue("30")
+                                  @QueryParam("maxItems")
+                                  Integer maxItems,
+                                  @ApiParam("Workspace status")
+                                  @QueryParam("status")
+                                  String status,
+                                  @Context Request request) throws ApiException {
         //TODO add maxItems & skipCount to manager
-        return workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId())
-                               .stream()
-                               .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-                               .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-                               .collect(toList());
+        final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+        return responseCache.get(request,
+                                 uriInfo.getRequestUri(),
+                                 workspacesVersion(),
+                                 () -> new GenericEntity<List<WorkspaceDto>>(
+                                         workspaceManager.getWorkspaces(userId)
+                                                         .stream()
+                                                         .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                                                         .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+                                                         .collect(toList())) {});
     }
 
     @PUT
@@ -724,6 +739,11 @@ public class WorkspaceService extends Service {
         return res;
     }
 
+    private String workspacesVersion() {
+        final long modificationCount = workspaceManager.getModificationCount();
+        return modificationCount < 0 ? null : Long.toString(modificationCount);
+    }
+
     /**
      * Checks object reference is not {@code null}
      *
@@ -112,4 +112,14 @@ public interface StackDao {
      *         when {@code skipCount} or {@code maxItems} is negative
      */
     List<StackImpl> searchStacks(String user, @Nullable List<String> tags, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Returns counter of stack modifications, it is changed after each creation, update or removal of stack.
+     * It is cheap version of stacks used for answering conditional requests.
+     *
+     * @return modification counter or {@code -1} if implementation doesn't track modifications
+     */
+    default long getModificationCount() {
+        return -1;
+    }
 }
@@ -142,4 +142,14 @@ public interface WorkspaceDao {
      *         when any other error occurs during workspaces fetching
      */
     List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
+
+    /**
+     * Returns counter of workspace modifications, it is changed after each creation, update or removal of workspace.
+     * It is cheap version of workspaces used for answering conditional requests.
+     *
+     * @return modification counter or {@code -1} if implementation doesn't track modifications
+     */
+    default long getModificationCount() {
+        return -1;
+    }
 }
@@ -24,6 +24,7 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.core.rest.VersionedResponseCache;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.util.LinksHelper;
@@ -44,6 +45,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import java.util.ArrayList;
@@ -75,11 +79,13 @@ import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_UPLOAD_ICO
 @Path("/stack")
 public class StackService extends Service {
 
-    private final StackDao stackDao;
+    private final StackDao               stackDao;
+    private final VersionedResponseCache responseCache;
 
     @Inject
-    public StackService(StackDao stackDao) {
+    public StackService(StackDao stackDao, VersionedResponseCache responseCache) {
         this.stackDao = stackDao;
+        this.responseCache = responseCache;
     }
 
     @POST
@@ -128,13 +134,16 @@ public class StackService extends Service {
     @Produces(APPLICATION_JSON)
     @GenerateLink(rel = LINK_REL_GET_STACK_BY_ID)
     @ApiOperation(value = "Get the stack by id",
-                  notes = "This operation can be performed for stack owner, or for predefined stacks")
+                  notes = "This operation can be performed for stack owner, or for predefined stacks",
+                  response = StackDto.class)
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested stack entity"),
+                   @ApiResponse(code = 304, message = "The stack is not modified"),
                    @ApiResponse(code = 404, message = "The requested stack was not found"),
                    @ApiResponse(code = 403, message = "The user has not permission get requested stack"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public StackDto getStack(@ApiParam("The stack id") @PathParam("id") final String id) throws ApiException {
-        return asStackDto(stackDao.getById(id));
+    public Response getStack(@ApiParam("The stack id") @PathParam("id") final String id,
+                             @Context Request request) throws ApiException {
+        return responseCache.get(request, uriInfo.getRequestUri(), stacksVersion(), () -> asStackDto(stackDao.getById(id)));
     }
 
     @PUT
@@ -197,9 +206,10 @@ public class StackService extends Service {
                   response = StackDto.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested list stack entity with required tags"),
+                   @ApiResponse(code = 304, message = "The stacks are not modified"),
                    @ApiResponse(code = 403, message = "The user does not have access to get stack entity list with required tags"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public List<StackDto> searchStacks(@ApiParam("List tags for search")
+    public Response searchStacks(@ApiParam("List tags for search")
                                        @QueryParam("tags")
                                        final List<String> tags,
                                        @ApiParam(value = "The number of the items to skip")
@@ -209,12 +219,16 @@ public class StackService extends Service {
                                        @ApiParam("The limit of the items in the response, default is 30")
                                        @DefaultValue("30")
                                        @QueryParam("maxItems")
-                                       final Integer maxItems) throws ServerException {
+                                       final Integer maxItems,
+                                       @Context Request request) throws ApiException {
         final String currentUser = EnvironmentContext.getCurrent().getSubject().getUserId();
-        return stackDao.searchStacks(currentUser, tags, skipCount, maxItems)
-                       .stream()
-                       .map(this::asStackDto)
-                       .collect(Collectors.toList());
+        return responseCache.get(request,
+                                 uriInfo.getRequestUri(),
+                                 stacksVersion(),
+                                 () -> new GenericEntity<List<StackDto>>(stackDao.searchStacks(currentUser, tags, skipCount, maxItems)
+                                                                                 .stream()
+                                                                                 .map(this::asStackDto)
+                                                                                 .collect(Collectors.toList())) {});
     }
 
     @GET
@@ -334,6 +348,11 @@ public class StackService extends Service {
         return asDto(stack).withLinks(links);
     }
 
+    private String stacksVersion() {
+        final long modificationCount = stackDao.getModificationCount();
+        return modificationCount < 0 ? null : Long.toString(modificationCount);
+    }
+
     private void requireNonNull(Object object, String message) throws BadRequestException {
         if (object == null) {
             throw new BadRequestException(message);
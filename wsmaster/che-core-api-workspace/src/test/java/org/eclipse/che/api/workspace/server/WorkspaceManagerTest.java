@@ -272,6 +272,22 @@ public class WorkspaceManagerTest {
         assertNotNull(workspace.getAttributes().get(UPDATED_ATTRIBUTE_NAME));
     }
 
+    @Test
+    public void modificationCountShouldIncludeWorkspacesAndRuntimesModifications() throws Exception {
+        when(workspaceDao.getModificationCount()).thenReturn(3L);
+        when(runtimes.getModificationCount()).thenReturn(2L);
+
+        assertEquals(workspaceManager.getModificationCount(), 5L);
+    }
+
+    @Test
+    public void modificationCountShouldNotBeProvidedWhenWorkspaceDaoDoesNotTrackModifications() throws Exception {
+        when(workspaceDao.getModificationCount()).thenReturn(-1L);
+        when(runtimes.getModificationCount()).thenReturn(2L);
+
+        assertEquals(workspaceManager.getModificationCount(), -1L);
+    }
+
     @Test
     public void workspaceUpdateShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final WorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
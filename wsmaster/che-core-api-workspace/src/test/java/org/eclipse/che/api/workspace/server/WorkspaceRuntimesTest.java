@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server;
 
+import com.google.common.collect.ImmutableMap;
+
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -31,7 +33,10 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -43,6 +48,15 @@ import org.testng.annotations.Test;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -60,6 +74,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -67,6 +82,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Yevhenii Voevodin
@@ -74,8 +90,9 @@ import static org.testng.Assert.assertTrue;
 @Listeners(MockitoTestNGListener.class)
 public class WorkspaceRuntimesTest {
 
-    private static final String WORKSPACE_ID = "workspace123";
-    private static final String ENV_NAME     = "default-env";
+    private static final String WORKSPACE_ID    = "workspace123";
+    private static final String ENV_NAME        = "default-env";
+    private static final int    START_POOL_SIZE = 4;
 
     @Mock
     private MachineManager machineManager;
@@ -92,7 +109,7 @@ public class WorkspaceRuntimesTest {
     public void setUp() throws Exception {
         when(machineManager.createMachineSync(any(), any(), any()))
                 .thenAnswer(invocation -> createMachine((MachineConfig)invocation.getArguments()[0]));
-        runtimes = new WorkspaceRuntimes(machineManager, eventService);
+        runtimes = new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE);
     }
 
     @Test(expectedExceptions = NotFoundException.class,
@@ -113,7 +130,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void workspaceShouldBeInStartingStatusUntilDevMachineIsNotStarted() throws Exception {
         final MachineManager machineManagerMock = mock(MachineManager.class);
-        final WorkspaceRuntimes runtimes = new WorkspaceRuntimes(machineManagerMock, eventService);
+        final WorkspaceRuntimes runtimes = new WorkspaceRuntimes(machineManagerMock, eventService, START_POOL_SIZE);
         final WorkspaceImpl workspace = createWorkspace();
 
         // check if workspace in starting status before dev machine is started
@@ -132,10 +149,67 @@ public class WorkspaceRuntimesTest {
         verify(machineManagerMock, times(2)).createMachineSync(anyObject(), anyString(), anyString());
     }
 
+    @Test
+    public void modificationCountShouldBeChangedAfterWorkspaceStart() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final long modificationCount = runtimes.getModificationCount();
+
+        runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertTrue(runtimes.getModificationCount() > modificationCount);
+    }
+
+    @Test
+    public void nonDevMachinesShouldBeStartedConcurrentlyAfterDevMachine() throws Exception {
+        // each non-dev machine start takes some time and waits until all the non-dev machines are starting,
+        // so the start can't be completed if machines are started one by one
+        final Map<String, Long> startLatencies = ImmutableMap.of("dev-machine", 50L, "db", 300L, "app", 100L, "cache", 10L);
+        final CountDownLatch nonDevStarting = new CountDownLatch(startLatencies.size() - 1);
+        final WorkspaceImpl workspace = createWorkspace("db", "app", "cache");
+        when(machineManager.createMachineSync(any(), any(), any())).thenAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            if (cfg.isDev()) {
+                assertEquals(nonDevStarting.getCount(), startLatencies.size() - 1, "Non-dev machine started before dev machine");
+            } else {
+                nonDevStarting.countDown();
+                assertTrue(nonDevStarting.await(10, TimeUnit.SECONDS), "Non-dev machines are not started concurrently");
+            }
+            Thread.sleep(startLatencies.get(cfg.getName()));
+            return createMachine(cfg);
+        });
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(descriptor.getRuntimeStatus(), RUNNING);
+        assertEquals(descriptor.getRuntime().getDevMachine().getConfig().getName(), "dev-machine");
+        assertEquals(descriptor.getRuntime().getMachines().size(), startLatencies.size());
+        assertFalse(runtimes.startQueues.containsKey(workspace.getId()));
+    }
+
+    @Test
+    public void nonDevMachinesShouldBeStartedWithSubjectOfWorkspaceStarter() throws Exception {
+        final Subject subject = new SubjectImpl("user", "user123", "token", false);
+        final List<Subject> startSubjects = new CopyOnWriteArrayList<>();
+        final WorkspaceImpl workspace = createWorkspace("db", "app");
+        when(machineManager.createMachineSync(any(), any(), any())).thenAnswer(invocation -> {
+            startSubjects.add(EnvironmentContext.getCurrent().getSubject());
+            return createMachine((MachineConfig)invocation.getArguments()[0]);
+        });
+        EnvironmentContext.getCurrent().setSubject(subject);
+
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+        } finally {
+            EnvironmentContext.reset();
+        }
+
+        assertEquals(startSubjects, asList(subject, subject, subject));
+    }
+
     @Test
     public void workspaceShouldNotHaveRuntimeIfDevMachineCreationFailed() throws Exception {
         final MachineManager machineManagerMock = mock(MachineManager.class);
-        final WorkspaceRuntimes runtimes = new WorkspaceRuntimes(machineManagerMock, eventService);
+        final WorkspaceRuntimes runtimes = new WorkspaceRuntimes(machineManagerMock, eventService, START_POOL_SIZE);
         final WorkspaceImpl workspaceMock = createWorkspace();
         when(machineManagerMock.createMachineSync(any(), any(), any()))
                 .thenThrow(new MachineException("Creation error"));
@@ -172,7 +246,7 @@ public class WorkspaceRuntimesTest {
                                             "Workspace can be stopped only if it is 'RUNNING'")
     public void shouldNotStopWorkspaceIfItIsStarting() throws Exception {
         final MachineManager machineManagerMock = mock(MachineManager.class);
-        final WorkspaceRuntimes registry = new WorkspaceRuntimes(machineManagerMock, eventService);
+        final WorkspaceRuntimes registry = new WorkspaceRuntimes(machineManagerMock, eventService, START_POOL_SIZE);
         final WorkspaceImpl workspace = createWorkspace();
 
         when(machineManagerMock.createMachineSync(any(), any(), any())).thenAnswer(invocationOnMock -> {
@@ -204,6 +278,41 @@ public class WorkspaceRuntimesTest {
         verify(machineManager, times(2)).destroy(any(), anyBoolean());
     }
 
+    @Test
+    public void shouldDestroyMachinesIfWorkspaceStartIsInterrupted() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace("db", "app");
+        final CountDownLatch nonDevStarting = new CountDownLatch(2);
+        final CountDownLatch nonDevRelease = new CountDownLatch(1);
+        when(machineManager.createMachineSync(any(), any(), any())).thenAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            if (!cfg.isDev()) {
+                nonDevStarting.countDown();
+                nonDevRelease.await();
+            }
+            return createMachine(cfg);
+        });
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Future<RuntimeDescriptor> start = executor.submit(() -> runtimes.start(workspace,
+                                                                                     workspace.getConfig().getDefaultEnv()));
+        assertTrue(nonDevStarting.await(10, TimeUnit.SECONDS), "Non-dev machines are not starting");
+
+        executor.shutdownNow();
+        try {
+            start.get(10, TimeUnit.SECONDS);
+            fail("Workspace start is not interrupted");
+        } catch (ExecutionException x) {
+            assertTrue(x.getCause() instanceof ServerException);
+            assertEquals(x.getCause().getMessage(), "Interrupted while waiting for machines start");
+        }
+
+        assertFalse(runtimes.hasRuntime(workspace.getId()));
+        assertFalse(runtimes.startQueues.containsKey(workspace.getId()));
+        // dev-machine is destroyed at once, non-dev machines are destroyed when their start is finished
+        verify(machineManager).destroy(any(), anyBoolean());
+        nonDevRelease.countDown();
+        verify(machineManager, timeout(10_000).times(3)).destroy(any(), anyBoolean());
+    }
+
     @Test
     public void testCleanup() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
@@ -317,7 +426,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void startingEventShouldBePublishedBeforeStart() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).publishEvent(any(), any(), any());
 
         doAnswer(invocation -> {
@@ -331,7 +440,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void runningEventShouldBePublishedAfterDevMachineStarted() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).publishEvent(any(), any(), any());
 
         doAnswer(invocation -> {
@@ -348,7 +457,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void errorEventShouldBePublishedIfDevMachineFailedToStart() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).publishEvent(any(), any(), any());
         doNothing().when(runtimes).cleanupStartResources(any());
 
@@ -370,7 +479,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void stoppingEventShouldBePublishedBeforeStop() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).publishEvent(any(), any(), any());
 
         doAnswer(invocation -> {
@@ -391,7 +500,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void stoppedEventShouldBePublishedAfterDevMachineStopped() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).publishEvent(any(), any(), any());
 
         runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
@@ -403,7 +512,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void errorEventShouldBePublishedIfDevMachineFailedToStop() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).publishEvent(any(), any(), any());
 
         doAnswer(invocation -> {
@@ -508,7 +617,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void shouldDestroyMachineIfItIsNotAddedWhenEventReceived() throws Exception {
         // prepare runtimes
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doReturn(false).when(runtimes).addMachine(any());
         // prepare machine
         final MachineImpl machine = createMachine(true);
@@ -529,7 +638,7 @@ public class WorkspaceRuntimesTest {
     public void eventTypesExceptOfRunningShouldBeIgnoredByAddMachineSubscriber(MachineStatusEvent.EventType type)
             throws Exception {
         // prepare runtimes
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doReturn(false).when(runtimes).addMachine(any());
         // prepare machine
         final MachineImpl machine = createMachine(true);
@@ -607,7 +716,7 @@ public class WorkspaceRuntimesTest {
     public void eventTypesExceptOfDestroyedShouldBeIgnoredByRemoveMachineSubscriber(MachineStatusEvent.EventType type)
             throws Exception {
         // prepare runtimes
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).removeMachine(anyString(), anyString(), anyString());
         // prepare event
         final MachineImpl machine = createMachine(true);
@@ -625,7 +734,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void removeMachineSubscriberShouldRemoveMachineIfItIsDevAndEventIsDestroyed() throws Exception {
         // prepare runtimes
-        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService, START_POOL_SIZE));
         doNothing().when(runtimes).removeMachine(anyString(), anyString(), anyString());
         // prepare event
         final MachineImpl machine = createMachine(true);
@@ -725,15 +834,23 @@ public class WorkspaceRuntimesTest {
     }
 
     private static WorkspaceImpl createWorkspace() {
+        return createWorkspace("non-dev");
+    }
+
+    private static WorkspaceImpl createWorkspace(String... nonDevMachines) {
         final MachineConfigImpl devCfg = createConfig(true);
-        final MachineConfigImpl nonDevCfg = MachineConfigImpl.builder()
-                                                             .fromConfig(devCfg)
-                                                             .setName("non-dev")
-                                                             .setDev(false)
-                                                             .build();
+        final List<MachineConfigImpl> machineConfigs = new ArrayList<>();
+        for (String nonDevMachine : nonDevMachines) {
+            machineConfigs.add(MachineConfigImpl.builder()
+                                                .fromConfig(devCfg)
+                                                .setName(nonDevMachine)
+                                                .setDev(false)
+                                                .build());
+        }
+        machineConfigs.add(devCfg);
         final EnvironmentImpl environment = new EnvironmentImpl(ENV_NAME,
                                                                 new RecipeImpl(),
-                                                                asList(nonDevCfg, devCfg));
+                                                                machineConfigs);
         final WorkspaceConfigImpl wsConfig = WorkspaceConfigImpl.builder()
                                                                 .setName("test workspace")
                                                                 .setEnvironments(singletonList(environment))
@@ -20,6 +20,7 @@ import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.api.core.rest.VersionedResponseCache;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.api.machine.server.MachineManager;
@@ -130,7 +131,8 @@ public class WorkspaceServiceTest {
         service = new WorkspaceService(wsManager,
                                        machineManager,
                                        validator,
-                                       new WorkspaceServiceLinksInjector(IDE_CONTEXT, new MachineServiceLinksInjector()));
+                                       new WorkspaceServiceLinksInjector(IDE_CONTEXT, new MachineServiceLinksInjector()),
+                                       new VersionedResponseCache());
     }
 
     @Test
@@ -228,6 +230,47 @@ public class WorkspaceServiceTest {
         assertEquals(new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class)), workspace);
     }
 
+    @Test
+    public void shouldNotGetWorkspaceWhenClientHasUpToDateVersion() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final String eTag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/workspace/" + workspace.getId())
+                                   .getHeader("ETag");
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .header("If-None-Match", eTag)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspace.getId());
+
+        assertEquals(response.getStatusCode(), 304);
+        verify(wsManager).getWorkspace(workspace.getId());
+    }
+
+    @Test
+    public void shouldGetWorkspaceAgainWhenWorkspacesAreModified() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+        when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+        final String eTag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/workspace/" + workspace.getId())
+                                   .getHeader("ETag");
+        when(wsManager.getModificationCount()).thenReturn(1L);
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .header("If-None-Match", eTag)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/" + workspace.getId());
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class)), workspace);
+    }
+
     @Test
     public void shouldGetWorkspaces() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.api.core.rest.VersionedResponseCache;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
@@ -44,6 +45,7 @@ import org.everrest.core.RequestFilter;
 import org.everrest.core.impl.uri.UriBuilderImpl;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
@@ -76,6 +78,7 @@ import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -145,6 +148,9 @@ public class StackServiceTest {
     @Mock
     StackComponentImpl stackComponent;
 
+    @Spy
+    VersionedResponseCache responseCache = new VersionedResponseCache();
+
     @InjectMocks
     StackService service;
 
@@ -372,6 +378,45 @@ public class StackServiceTest {
         assertEquals(result.getCreator(), stackImpl.getCreator());
     }
 
+    @Test
+    public void stackShouldNotBeFetchedWhenClientHasUpToDateVersion() throws NotFoundException, ServerException {
+        when(stackDao.getById(STACK_ID)).thenReturn(stackImpl);
+        final String eTag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID)
+                                   .getHeader("ETag");
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .header("If-None-Match", eTag)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID);
+
+        assertEquals(response.getStatusCode(), 304);
+        verify(stackDao).getById(STACK_ID);
+    }
+
+    @Test
+    public void stackShouldBeFetchedAgainWhenStacksAreModified() throws NotFoundException, ServerException {
+        when(stackDao.getById(STACK_ID)).thenReturn(stackImpl);
+        final String eTag = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID)
+                                   .getHeader("ETag");
+        when(stackDao.getModificationCount()).thenReturn(1L);
+
+        Response response = given().auth()
+                                   .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                   .header("If-None-Match", eTag)
+                                   .when()
+                                   .get(SECURE_PATH + "/stack/" + STACK_ID);
+
+        assertEquals(response.getStatusCode(), 200);
+        verify(stackDao, times(2)).getById(STACK_ID);
+    }
+
     /** Update stack */
 
     @Test
@@ -73,23 +73,25 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public void setPreferences(String userId, Map<String, String> prefs) throws ServerException, NotFoundException {
+        final long sequence;
         lock.writeLock().lock();
         try {
-            preferences.put(userId, new HashMap<>(prefs));
-            preferenceStorage.store(preferences);
+            final Map<String, String> copy = new HashMap<>(prefs);
+            preferences.put(userId, copy);
+            sequence = preferenceStorage.put(userId, copy);
         } catch (IOException e) {
             LOG.warn("Impossible to store preferences");
+            return;
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
     public Map<String, String> getPreferences(String userId) throws ServerException {
         lock.readLock().lock();
         try {
-            //Need read all new preferences without restarting dev-machine. It is needed for  IDEX-2180
-            preferences.putAll(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
             final Map<String, String> prefs = new HashMap<>();
             if (preferences.containsKey(userId)) {
                 prefs.putAll(preferences.get(userId));
@@ -123,11 +125,27 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public void remove(String userId) throws ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
-            preferences.remove(userId);
+            if (preferences.remove(userId) == null) {
+                return;
+            }
+            sequence = preferenceStorage.remove(userId);
+        } catch (IOException e) {
+            LOG.warn("Impossible to store preferences");
+            return;
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
+    }
+
+    private void sync(long sequence) {
+        try {
+            preferenceStorage.sync(sequence);
+        } catch (IOException e) {
+            LOG.warn("Impossible to store preferences");
+        }
     }
 }
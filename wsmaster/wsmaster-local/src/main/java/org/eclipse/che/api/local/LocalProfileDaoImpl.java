@@ -14,6 +14,7 @@ package org.eclipse.che.api.local;
 import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.user.server.dao.Profile;
@@ -68,20 +69,26 @@ public class LocalProfileDaoImpl implements UserProfileDao {
     }
 
     @Override
-    public void create(Profile profile) {
+    public void create(Profile profile) throws ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
             // just replace existed profile
             final Profile copy = new Profile().withId(profile.getId()).withUserId(profile.getUserId())
                                               .withAttributes(new LinkedHashMap<>(profile.getAttributes()));
             profiles.put(copy.getId(), copy);
+            sequence = profileStorage.put(copy.getId(), copy);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write profiles journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
-    public void update(Profile profile) throws NotFoundException {
+    public void update(Profile profile) throws NotFoundException, ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
             final Profile myProfile = profiles.get(profile.getId());
@@ -90,22 +97,31 @@ public class LocalProfileDaoImpl implements UserProfileDao {
             }
             myProfile.getAttributes().clear();
             myProfile.getAttributes().putAll(profile.getAttributes());
+            sequence = profileStorage.put(myProfile.getId(), myProfile);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write profiles journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
-    public void remove(String id) throws NotFoundException {
+    public void remove(String id) throws NotFoundException, ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
             final Profile profile = profiles.remove(id);
             if (profile == null) {
                 throw new NotFoundException(String.format("Profile not found %s", id));
             }
+            sequence = profileStorage.remove(id);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write profiles journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
@@ -122,4 +138,12 @@ public class LocalProfileDaoImpl implements UserProfileDao {
             lock.readLock().unlock();
         }
     }
+
+    private void sync(long sequence) throws ServerException {
+        try {
+            profileStorage.sync(sequence);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write profiles journal: " + x.getMessage(), x);
+        }
+    }
 }
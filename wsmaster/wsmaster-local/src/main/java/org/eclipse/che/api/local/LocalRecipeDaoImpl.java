@@ -64,20 +64,27 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     }
 
     @Override
-    public void create(RecipeImpl recipe) throws ConflictException {
+    public void create(RecipeImpl recipe) throws ConflictException, ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
             if (recipes.containsKey(recipe.getId())) {
                 throw new ConflictException(format("Recipe with id %s already exists", recipe.getId()));
             }
             recipes.put(recipe.getId(), recipe);
+            sequence = recipeStorage.put(recipe.getId(), recipe);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write recipes journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
-    public RecipeImpl update(RecipeImpl update) throws NotFoundException {
+    public RecipeImpl update(RecipeImpl update) throws NotFoundException, ServerException {
+        final RecipeImpl updated;
+        final long sequence;
         lock.writeLock().lock();
         try {
             final RecipeImpl target = recipes.get(update.getId());
@@ -103,20 +110,32 @@ public class LocalRecipeDaoImpl implements RecipeDao {
                 target.setAcl(update.getAcl());
             }
 
-            return new RecipeImpl(target);
+            updated = new RecipeImpl(target);
+            sequence = recipeStorage.put(target.getId(), target);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write recipes journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
+        return updated;
     }
 
     @Override
-    public void remove(String id) {
+    public void remove(String id) throws ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
-            recipes.remove(id);
+            if (recipes.remove(id) == null) {
+                return;
+            }
+            sequence = recipeStorage.remove(id);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write recipes journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
@@ -150,4 +169,12 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             lock.readLock().unlock();
         }
     }
+
+    private void sync(long sequence) throws ServerException {
+        try {
+            recipeStorage.sync(sequence);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write recipes journal: " + x.getMessage(), x);
+        }
+    }
 }
@@ -74,13 +74,23 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @Override
-    public synchronized void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
+    public void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
         Objects.requireNonNull(snapshot, "Required non-null snapshot");
-        final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
-        if (opt.isPresent()) {
-            snapshots.remove(opt.get().getId());
+        final long sequence;
+        synchronized (this) {
+            final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
+            try {
+                if (opt.isPresent()) {
+                    snapshots.remove(opt.get().getId());
+                    snapshotStorage.remove(opt.get().getId());
+                }
+                snapshots.put(snapshot.getId(), snapshot);
+                sequence = snapshotStorage.put(snapshot.getId(), snapshot);
+            } catch (IOException x) {
+                throw new SnapshotException("Unable to write snapshots journal: " + x.getMessage(), x);
+            }
         }
-        snapshots.put(snapshot.getId(), snapshot);
+        sync(sequence);
     }
 
     @Override
@@ -92,8 +102,19 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     }
 
     @Override
-    public synchronized void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
-        snapshots.remove(snapshotId);
+    public void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
+        final long sequence;
+        synchronized (this) {
+            if (snapshots.remove(snapshotId) == null) {
+                return;
+            }
+            try {
+                sequence = snapshotStorage.remove(snapshotId);
+            } catch (IOException x) {
+                throw new SnapshotException("Unable to write snapshots journal: " + x.getMessage(), x);
+            }
+        }
+        sync(sequence);
     }
 
     @PostConstruct
@@ -106,6 +127,14 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
         snapshotStorage.store(snapshots);
     }
 
+    private void sync(long sequence) throws SnapshotException {
+        try {
+            snapshotStorage.sync(sequence);
+        } catch (IOException x) {
+            throw new SnapshotException("Unable to write snapshots journal: " + x.getMessage(), x);
+        }
+    }
+
     private Optional<SnapshotImpl> doGetSnapshot(String workspaceId, String envName, String machineName) {
         return snapshots.values()
                         .stream()
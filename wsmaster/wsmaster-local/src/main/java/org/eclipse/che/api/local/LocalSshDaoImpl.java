@@ -17,6 +17,7 @@ import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.ssh.server.model.impl.SshPairImpl;
@@ -57,7 +58,8 @@ public class LocalSshDaoImpl implements SshDao {
     }
 
     @Override
-    public void create(String owner, SshPairImpl usersSshPair) throws ConflictException {
+    public void create(String owner, SshPairImpl usersSshPair) throws ConflictException, ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
             final Optional<SshPairImpl> any = find(owner, usersSshPair.getService(), usersSshPair.getName());
@@ -67,9 +69,13 @@ public class LocalSshDaoImpl implements SshDao {
                                                    usersSshPair.getName()));
             }
             pairs.put(owner, usersSshPair);
+            sequence = sshStorage.put(owner, pairs.get(owner));
+        } catch (IOException x) {
+            throw new ServerException("Unable to write ssh pairs journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
@@ -87,7 +93,8 @@ public class LocalSshDaoImpl implements SshDao {
     }
 
     @Override
-    public void remove(String owner, String service, String name) throws NotFoundException {
+    public void remove(String owner, String service, String name) throws NotFoundException, ServerException {
+        final long sequence;
         lock.writeLock().lock();
         try {
             final Optional<SshPairImpl> any = find(owner, service, name);
@@ -95,9 +102,13 @@ public class LocalSshDaoImpl implements SshDao {
                 throw new NotFoundException(format("Ssh pair with service '%s' and name '%s' was not found.", service, name));
             }
             pairs.remove(owner, any.get());
+            sequence = pairs.containsKey(owner) ? sshStorage.put(owner, pairs.get(owner)) : sshStorage.remove(owner);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write ssh pairs journal: " + x.getMessage(), x);
         } finally {
             lock.writeLock().unlock();
         }
+        sync(sequence);
     }
 
     @Override
@@ -152,4 +163,12 @@ public class LocalSshDaoImpl implements SshDao {
             lock.readLock().unlock();
         }
     }
+
+    private void sync(long sequence) throws ServerException {
+        try {
+            sshStorage.sync(sequence);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write ssh pairs journal: " + x.getMessage(), x);
+        }
+    }
 }
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
@@ -47,12 +48,14 @@ public class LocalStackDaoImpl implements StackDao {
     private final StackLocalStorage      stackStorage;
     private final Map<String, StackImpl> stacks;
     private final ReadWriteLock          lock;
+    private final AtomicLong             modificationCount;
 
     @Inject
     public LocalStackDaoImpl(StackLocalStorage stackLocalStorage) throws IOException {
         this.stackStorage = stackLocalStorage;
         this.stacks = new LinkedHashMap<>();
         this.lock = new ReentrantReadWriteLock();
+        this.modificationCount = new AtomicLong();
     }
 
     @PostConstruct
@@ -78,6 +81,7 @@ public class LocalStackDaoImpl implements StackDao {
                 throw new ConflictException(format("Stack with id %s is already exist", stack.getId()));
             }
             stacks.put(stack.getId(), stack);
+            modificationCount.incrementAndGet();
         } finally {
             lock.writeLock().unlock();
         }
@@ -103,7 +107,9 @@ public class LocalStackDaoImpl implements StackDao {
         requireNonNull(id, "Stack id required");
         lock.writeLock().lock();
         try {
-            stacks.remove(id);
+            if (stacks.remove(id) != null) {
+                modificationCount.incrementAndGet();
+            }
         } finally {
             lock.writeLock().unlock();
         }
@@ -120,6 +126,7 @@ public class LocalStackDaoImpl implements StackDao {
                 throw new NotFoundException(format("Stack with id %s was not found", updateId));
             }
             stacks.replace(updateId, update);
+            modificationCount.incrementAndGet();
             return new StackImpl(update);
         } finally {
             lock.writeLock().unlock();
@@ -145,4 +152,9 @@ public class LocalStackDaoImpl implements StackDao {
             lock.readLock().unlock();
         }
     }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
 }
@@ -31,10 +31,13 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
@@ -43,9 +46,16 @@ import static java.util.stream.Collectors.toList;
  * In memory based implementation of {@link WorkspaceDao}.
  *
  * <p>{@link #loadWorkspaces() Loads} & {@link #saveWorkspaces() stores} in memory workspaces
- * to/from filesystem, when component starts/stops.
+ * to/from filesystem, when component starts/stops. Each modification is written to the storage journal
+ * before method returns, so modifications are not lost if component is not stopped gracefully.
  *
- * @implNote it is thread-safe, guarded by <i>this</i> instance
+ * <p>Workspaces are kept in concurrent map together with index of workspace ids by namespace and name,
+ * so lookups by name or namespace don't scan all the workspaces. Stored instances are never changed,
+ * modification replaces them with new copies.
+ *
+ * @implNote it is thread-safe, reads are lock-free and may not see modification which is in progress,
+ * modifications are guarded by {@link #writeLock}, journal is synced outside of the lock so concurrent
+ * modifications share the same disk write
  *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
@@ -54,65 +64,117 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class LocalWorkspaceDaoImpl implements WorkspaceDao {
 
-    private final Map<String, WorkspaceImpl> workspaces;
-    private final LocalStorage               localStorage;
+    private final ConcurrentMap<String, WorkspaceImpl>                 workspaces;
+    private final ConcurrentMap<String, ConcurrentMap<String, String>> namespaces;
+    private final Lock                                                 writeLock;
+    private final LocalStorage                                         localStorage;
+    private final AtomicLong                                           modificationCount;
 
     @Inject
     public LocalWorkspaceDaoImpl(LocalStorageFactory factory) throws IOException {
         final Map<Class<?>, Object> adapters = ImmutableMap.of(Recipe.class, new RecipeTypeAdapter(),
                                                                ProjectConfig.class, new ProjectConfigAdapter());
         this.localStorage = factory.create("workspaces.json", adapters);
-        this.workspaces = new HashMap<>();
+        this.workspaces = new ConcurrentHashMap<>();
+        this.namespaces = new ConcurrentHashMap<>();
+        this.writeLock = new ReentrantLock();
+        this.modificationCount = new AtomicLong();
     }
 
     @PostConstruct
-    public synchronized void loadWorkspaces() {
-        workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
-        for (WorkspaceImpl workspace : workspaces.values()) {
-            workspace.setRuntime(null);
+    public void loadWorkspaces() {
+        writeLock.lock();
+        try {
+            for (WorkspaceImpl workspace : localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}).values()) {
+                workspace.setRuntime(null);
+                doPut(workspace);
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
     @PreDestroy
-    public synchronized void saveWorkspaces() throws IOException {
-        localStorage.store(workspaces);
+    public void saveWorkspaces() throws IOException {
+        writeLock.lock();
+        try {
+            localStorage.store(workspaces);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     @Override
-    public synchronized WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
-        if (workspaces.containsKey(workspace.getId())) {
-            throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
-        }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
-            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
-                                               workspace.getConfig().getName(),
-                                               workspace.getNamespace()));
+    public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
+        final long sequence;
+        writeLock.lock();
+        try {
+            if (workspaces.containsKey(workspace.getId())) {
+                throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
+            }
+            if (findId(workspace.getConfig().getName(), workspace.getNamespace()) != null) {
+                throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                                   workspace.getConfig().getName(),
+                                                   workspace.getNamespace()));
+            }
+            workspace.setRuntime(null);
+            workspace.setStatus(WorkspaceStatus.STOPPED);
+            final WorkspaceImpl copy = new WorkspaceImpl(workspace);
+            doPut(copy);
+            sequence = journalPut(copy);
+        } finally {
+            writeLock.unlock();
         }
-        workspace.setRuntime(null);
-        workspace.setStatus(WorkspaceStatus.STOPPED);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        sync(sequence);
         return workspace;
     }
 
     @Override
-    public synchronized WorkspaceImpl update(WorkspaceImpl workspace)
-            throws NotFoundException, ConflictException, ServerException {
-        if (!workspaces.containsKey(workspace.getId())) {
-            throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
+    public WorkspaceImpl update(WorkspaceImpl workspace) throws NotFoundException, ConflictException, ServerException {
+        final long sequence;
+        writeLock.lock();
+        try {
+            if (!workspaces.containsKey(workspace.getId())) {
+                throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
+            }
+            final String sameNameId = findId(workspace.getConfig().getName(), workspace.getNamespace());
+            if (sameNameId != null && !sameNameId.equals(workspace.getId())) {
+                throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                                   workspace.getConfig().getName(),
+                                                   workspace.getNamespace()));
+            }
+            workspace.setStatus(null);
+            workspace.setRuntime(null);
+            final WorkspaceImpl copy = new WorkspaceImpl(workspace);
+            doPut(copy);
+            sequence = journalPut(copy);
+        } finally {
+            writeLock.unlock();
         }
-        workspace.setStatus(null);
-        workspace.setRuntime(null);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        sync(sequence);
         return workspace;
     }
 
     @Override
-    public synchronized void remove(String id) throws ConflictException, ServerException {
-        workspaces.remove(id);
+    public void remove(String id) throws ConflictException, ServerException {
+        final long sequence;
+        writeLock.lock();
+        try {
+            final WorkspaceImpl removed = workspaces.remove(id);
+            if (removed == null) {
+                return;
+            }
+            unindex(removed);
+            modificationCount.incrementAndGet();
+            sequence = journalRemove(id);
+        } finally {
+            writeLock.unlock();
+        }
+        sync(sequence);
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+    public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
         final WorkspaceImpl workspace = workspaces.get(id);
         if (workspace == null) {
             throw new NotFoundException("Workspace with id " + id + " was not found");
@@ -121,32 +183,93 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
-        final Optional<WorkspaceImpl> wsOpt = find(name, namespace);
-        if (!wsOpt.isPresent()) {
+    public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
+        final String id = findId(name, namespace);
+        final WorkspaceImpl workspace = id == null ? null : workspaces.get(id);
+        // index may be changed concurrently so make sure that found workspace is still the requested one
+        if (workspace == null || !workspace.getConfig().getName().equals(name) || !workspace.getNamespace().equals(namespace)) {
             throw new NotFoundException(format("Workspace with name %s and owner %s was not found", name, namespace));
         }
-        return new WorkspaceImpl(wsOpt.get());
+        return new WorkspaceImpl(workspace);
+    }
+
+    @Override
+    public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+        final Map<String, String> names = namespaces.get(namespace);
+        if (names == null) {
+            return new ArrayList<>();
+        }
+        final List<WorkspaceImpl> result = new ArrayList<>(names.size());
+        for (String id : names.values()) {
+            final WorkspaceImpl workspace = workspaces.get(id);
+            if (workspace != null && workspace.getNamespace().equals(namespace)) {
+                result.add(new WorkspaceImpl(workspace));
+            }
+        }
+        return result;
     }
 
     @Override
-    public synchronized List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+    public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
         return workspaces.values()
                          .stream()
-                         .filter(ws -> ws.getNamespace().equals(namespace))
                          .map(WorkspaceImpl::new)
                          .collect(toList());
     }
 
     @Override
-    public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
-        return new ArrayList<>(workspaces.values());
+    public long getModificationCount() {
+        return modificationCount.get();
     }
 
-    private Optional<WorkspaceImpl> find(String name, String owner) {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getConfig().getName().equals(name) && ws.getNamespace().equals(owner))
-                         .findFirst();
+    /** Puts workspace to the map and updates index, must be called under {@link #writeLock}. */
+    private void doPut(WorkspaceImpl workspace) {
+        final WorkspaceImpl previous = workspaces.put(workspace.getId(), workspace);
+        if (previous != null) {
+            unindex(previous);
+        }
+        namespaces.computeIfAbsent(workspace.getNamespace(), ns -> new ConcurrentHashMap<>())
+                  .put(workspace.getConfig().getName(), workspace.getId());
+        modificationCount.incrementAndGet();
+    }
+
+    /** Removes workspace from index, must be called under {@link #writeLock}. */
+    private void unindex(WorkspaceImpl workspace) {
+        final Map<String, String> names = namespaces.get(workspace.getNamespace());
+        if (names != null) {
+            names.remove(workspace.getConfig().getName(), workspace.getId());
+            if (names.isEmpty()) {
+                namespaces.remove(workspace.getNamespace());
+            }
+        }
+    }
+
+    private String findId(String name, String namespace) {
+        final Map<String, String> names = namespaces.get(namespace);
+        return names == null ? null : names.get(name);
+    }
+
+    private long journalPut(WorkspaceImpl workspace) throws ServerException {
+        try {
+            return localStorage.put(workspace.getId(), workspace);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write workspaces journal: " + x.getMessage(), x);
+        }
+    }
+
+    private long journalRemove(String id) throws ServerException {
+        try {
+            return localStorage.remove(id);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write workspaces journal: " + x.getMessage(), x);
+        }
+    }
+
+    private void sync(long sequence) throws ServerException {
+        try {
+            localStorage.sync(sequence);
+        } catch (IOException x) {
+            throw new ServerException("Unable to write workspaces journal: " + x.getMessage(), x);
+        }
     }
 }
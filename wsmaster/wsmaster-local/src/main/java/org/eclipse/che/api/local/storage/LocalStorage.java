@@ -13,36 +13,73 @@ package org.eclipse.che.api.local.storage;
 
 import com.google.common.io.Files;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 /**
  * Implementation of file system storage for model objects.
  *
+ * <p>Map that is stored as a whole with {@link #store(Object)} may be changed incrementally with {@link #put(String, Object)}
+ * and {@link #remove(String)}. Such changes are written to the journal file next to the stored file and become durable
+ * after {@link #sync(long)}, {@link #loadMap(TypeToken)} replays them on top of the stored map. When journal gets
+ * {@link #COMPACTION_THRESHOLD} records it is merged into the stored file in background.
+ *
  * @author Anton Korneta
  */
 public class LocalStorage {
 
     private static final Logger LOG = LoggerFactory.getLogger(LocalStorage.class);
 
+    /** Number of journal records after which journal is merged into the stored file. */
+    static final int COMPACTION_THRESHOLD = 10_000;
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("LocalStorageCompactor")
+                                      .setDaemon(true)
+                                      .build());
+
     /**
      * json file to store and load
      */
     private File storedFile;
     private Gson gson;
+    private Gson journalGson;
+
+    private final LocalStorageJournal journal;
+    private final Path                rotatedJournal;
+    private final Object              compactionLock;
+    private final AtomicBoolean       compactionScheduled;
 
     public LocalStorage(String rootDirPath, String fileName) throws IOException {
         this(rootDirPath, fileName, Collections.emptyMap());
@@ -58,15 +95,105 @@ public class LocalStorage {
         for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
             builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
         }
+        journalGson = builder.create();
         gson = builder.setPrettyPrinting().create();
+        journal = new LocalStorageJournal(new File(rootDir, fileName + ".journal").toPath());
+        rotatedJournal = new File(rootDir, fileName + ".journal.1").toPath();
+        compactionLock = new Object();
+        compactionScheduled = new AtomicBoolean();
     }
 
+    /**
+     * Stores object to the file and removes journal records as the stored object is expected to include all the
+     * changes made with {@link #put(String, Object)} and {@link #remove(String)}. Must not be called concurrently
+     * with them.
+     */
     public void store(Object storedObj) throws IOException {
-        try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
-            gson.toJson(storedObj, writer);
+        synchronized (compactionLock) {
+            writeSnapshot(storedObj);
+            journal.reset();
+            deleteIfExists(rotatedJournal);
         }
     }
 
+    /**
+     * Queues record that associates {@code value} with {@code key} in the stored map.
+     * Value is serialized immediately, so it may be changed after this method returns.
+     *
+     * @return sequence number of the record which should be passed to {@link #sync(long)}
+     * @throws IOException
+     *         when journal is not writable
+     */
+    public long put(String key, Object value) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty(LocalStorageJournal.OP, LocalStorageJournal.PUT);
+        record.addProperty(LocalStorageJournal.KEY, key);
+        record.add(LocalStorageJournal.VALUE, journalGson.toJsonTree(value));
+        return journal.append(record);
+    }
+
+    /**
+     * Queues record that removes {@code key} from the stored map.
+     *
+     * @return sequence number of the record which should be passed to {@link #sync(long)}
+     * @throws IOException
+     *         when journal is not writable
+     */
+    public long remove(String key) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty(LocalStorageJournal.OP, LocalStorageJournal.REMOVE);
+        record.addProperty(LocalStorageJournal.KEY, key);
+        return journal.append(record);
+    }
+
+    /**
+     * Blocks until record with given sequence number and all the records queued before it are written to disk.
+     * Records of concurrent callers are written with single fsync, so it is better to call this method after
+     * releasing locks that are held while record is queued.
+     *
+     * @throws IOException
+     *         when records can't be written
+     */
+    public void sync(long sequence) throws IOException {
+        journal.sync(sequence);
+        if (journal.getRecords() >= COMPACTION_THRESHOLD && compactionScheduled.compareAndSet(false, true)) {
+            COMPACTOR.execute(() -> {
+                compactionScheduled.set(false);
+                try {
+                    compact();
+                } catch (IOException e) {
+                    LOG.error("Unable to compact journal of " + storedFile.getName(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Merges journal records into the stored file. Writers are blocked only while the journal file is rotated.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            if (!exists(rotatedJournal)) {
+                if (!journal.exists()) {
+                    return;
+                }
+                journal.rotate(rotatedJournal);
+            }
+            // fails if stored file is not readable, both stored file and rotated journal are kept then
+            final JsonObject state = loadSnapshot();
+            final List<JsonObject> records = new ArrayList<>();
+            LocalStorageJournal.read(rotatedJournal, records);
+            LocalStorageJournal.apply(state, records);
+            writeSnapshot(state);
+            deleteIfExists(rotatedJournal);
+        }
+    }
+
+    /** Closes journal file, doesn't affect stored content. */
+    public void close() throws IOException {
+        journal.close();
+    }
+
     /**
      * @param <T>
      *         the type of the desired object.
@@ -108,13 +235,75 @@ public class LocalStorage {
      *         the type of mapped values
      * @param mapToken
      *         map type holder.
-     * @return map objects from json file. If json invalid or file not found return emptyMap.
+     * @return map objects from json file with all the journal records applied.
+     * If json invalid or file not found return emptyMap.
      */
     public <K, V> Map<K, V> loadMap(TypeToken<Map<K, V>> mapToken) {
-        Map<K, V> result = load(mapToken);
+        Map<K, V> result;
+        if (!journal.exists() && !exists(rotatedJournal)) {
+            result = load(mapToken);
+        } else {
+            result = replay(mapToken);
+        }
         if (result == null) {
             return Collections.emptyMap();
         }
         return result;
     }
-}
\ No newline at end of file
+
+    private <K, V> Map<K, V> replay(TypeToken<Map<K, V>> mapToken) {
+        synchronized (compactionLock) {
+            try {
+                final List<JsonObject> records = new ArrayList<>();
+                LocalStorageJournal.read(rotatedJournal, records);
+                LocalStorageJournal.read(journal.getPath(), records);
+                final JsonObject state = loadSnapshot();
+                LocalStorageJournal.apply(state, records);
+                return gson.fromJson(state, mapToken.getType());
+            } catch (JsonParseException e) {
+                LOG.warn(storedFile.getName() + " contains invalid JSON content");
+            } catch (IOException ioEx) {
+                LOG.warn("Impossible to read " + storedFile.getName() + " or its journal. " + ioEx.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads stored file as json object, returns empty object if file doesn't exist or is empty.
+     *
+     * @throws IOException
+     *         when file exists but can't be read or doesn't contain json object, journal must not be merged into it
+     *         in this case as the stored content would be lost
+     */
+    private JsonObject loadSnapshot() throws IOException {
+        if (!storedFile.exists()) {
+            return new JsonObject();
+        }
+        final JsonElement element;
+        try (Reader reader = Files.newReader(storedFile, Charset.forName("UTF-8"))) {
+            element = new JsonParser().parse(reader);
+        } catch (JsonParseException e) {
+            throw new IOException(storedFile.getName() + " contains invalid JSON content", e);
+        }
+        if (element.isJsonNull()) {
+            return new JsonObject();
+        }
+        if (!element.isJsonObject()) {
+            throw new IOException(storedFile.getName() + " doesn't contain JSON object");
+        }
+        return element.getAsJsonObject();
+    }
+
+    /** Writes object to the temporary file and atomically replaces stored file with it. */
+    private void writeSnapshot(Object storedObj) throws IOException {
+        final File tmp = new File(storedFile.getParentFile(), storedFile.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp);
+             Writer writer = new OutputStreamWriter(out, Charset.forName("UTF-8"))) {
+            gson.toJson(storedObj, writer);
+            writer.flush();
+            out.getFD().sync();
+        }
+        move(tmp.toPath(), storedFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only log of mutations of the map which is stored in {@link LocalStorage}. Each record takes single line which
+ * starts with CRC32 checksum of the record followed by the record itself in json format, e.g.
+ * <pre>
+ * 1c291ca3 {"op":"put","key":"workspace123","value":{...}}
+ * 8b4d53a0 {"op":"remove","key":"workspace123"}
+ * </pre>
+ * Records are queued with {@link #append(JsonObject)} and get durable with {@link #sync(long)}. Thread that waits for
+ * its record writes and fsyncs all records that are queued to this moment while other waiting threads are blocked until
+ * it completes, so concurrent mutations share the same fsync (group commit).
+ *
+ * <p>Reading stops at the first record which is incomplete or has invalid checksum, such record and everything after
+ * it is considered as a torn write of crashed process and is dropped when journal is opened for writing.
+ */
+class LocalStorageJournal implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalStorageJournal.class);
+
+    static final String OP     = "op";
+    static final String KEY    = "key";
+    static final String VALUE  = "value";
+    static final String PUT    = "put";
+    static final String REMOVE = "remove";
+
+    private static final int CHECKSUM_LENGTH = 8;
+
+    private final Path          path;
+    private final ReentrantLock lock;
+    private final Condition     released;
+
+    private FileChannel  channel;
+    private List<byte[]> pending;
+    private long         appended;
+    private long         synced;
+    private int          records;
+    private boolean      busy;
+    private IOException  failure;
+
+    LocalStorageJournal(Path path) {
+        this.path = path;
+        this.lock = new ReentrantLock();
+        this.released = lock.newCondition();
+        this.pending = new ArrayList<>();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    boolean exists() {
+        return Files.exists(path);
+    }
+
+    /** Returns number of records written to the journal file since it is opened, rotated or reset. */
+    int getRecords() {
+        lock.lock();
+        try {
+            return records;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues record for writing.
+     *
+     * @return sequence number of the record that should be passed to {@link #sync(long)} to make record durable
+     * @throws IOException
+     *         if previous write to the journal failed, journal doesn't accept records after that
+     */
+    long append(JsonObject record) throws IOException {
+        final byte[] line = encode(record);
+        lock.lock();
+        try {
+            checkFailure();
+            pending.add(line);
+            return ++appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Blocks until record with specified sequence number and all records queued before it are written and fsync'ed. */
+    void sync(long sequence) throws IOException {
+        lock.lock();
+        try {
+            while (synced < sequence) {
+                checkFailure();
+                if (busy) {
+                    released.awaitUninterruptibly();
+                    continue;
+                }
+                busy = true;
+                final List<byte[]> batch = pending;
+                final long batchEnd = appended;
+                pending = new ArrayList<>();
+                lock.unlock();
+                IOException error = null;
+                try {
+                    write(batch);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                    busy = false;
+                    released.signalAll();
+                }
+                if (error != null) {
+                    LOG.error(String.format("Unable to write to journal %s, journal is closed for writing", path), error);
+                    failure = error;
+                    throw error;
+                }
+                synced = batchEnd;
+                records += batch.size();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the journal file to the {@code target} file. Records which are written after that go to the new journal
+     * file, so the content of {@code target} may be merged into the snapshot without blocking writers.
+     */
+    void rotate(Path target) throws IOException {
+        acquire();
+        try {
+            closeChannel();
+            if (Files.exists(path)) {
+                Files.move(path, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            }
+            records = 0;
+        } finally {
+            release();
+        }
+    }
+
+    /** Removes all the records written to the journal file. */
+    void reset() throws IOException {
+        acquire();
+        try {
+            closeChannel();
+            Files.deleteIfExists(path);
+            records = 0;
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        acquire();
+        try {
+            closeChannel();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Reads valid records from the journal file.
+     *
+     * @param file
+     *         journal file
+     * @param records
+     *         list where read records are added, may be {@code null} if only size of valid content is needed
+     * @return length of valid content of the file in bytes
+     */
+    static long read(Path file, List<JsonObject> records) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        final byte[] content = Files.readAllBytes(file);
+        final JsonParser parser = new JsonParser();
+        int start = 0;
+        int end;
+        while ((end = indexOf(content, (byte)'\n', start)) >= 0) {
+            final JsonObject record = decode(parser, content, start, end);
+            if (record == null) {
+                break;
+            }
+            if (records != null) {
+                records.add(record);
+            }
+            start = end + 1;
+        }
+        if (start < content.length) {
+            LOG.warn("Journal {} has {} bytes of incomplete or corrupted records, they are ignored", file, content.length - start);
+        }
+        return start;
+    }
+
+    /** Applies records to the json representation of the stored map. */
+    static void apply(JsonObject target, List<JsonObject> records) {
+        for (JsonObject record : records) {
+            final String key = record.get(KEY).getAsString();
+            if (PUT.equals(record.get(OP).getAsString())) {
+                target.add(key, record.get(VALUE));
+            } else {
+                target.remove(key);
+            }
+        }
+    }
+
+    private void write(List<byte[]> batch) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, CREATE, WRITE);
+            channel.truncate(read(path, null));
+            channel.position(channel.size());
+        }
+        int size = 0;
+        for (byte[] line : batch) {
+            size += line.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] line : batch) {
+            buffer.put(line);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("Journal " + path + " is closed for writing after failure", failure);
+        }
+    }
+
+    /** Waits while journal is flushed by other thread and prevents flushing until {@link #release()}. */
+    private void acquire() {
+        lock.lock();
+        try {
+            while (busy) {
+                released.awaitUninterruptibly();
+            }
+            busy = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            busy = false;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static byte[] encode(JsonObject record) {
+        final byte[] json = record.toString().getBytes(UTF_8);
+        final CRC32 crc = new CRC32();
+        crc.update(json);
+        final byte[] checksum = String.format("%08x ", crc.getValue()).getBytes(UTF_8);
+        final byte[] line = new byte[checksum.length + json.length + 1];
+        System.arraycopy(checksum, 0, line, 0, checksum.length);
+        System.arraycopy(json, 0, line, checksum.length, json.length);
+        line[line.length - 1] = '\n';
+        return line;
+    }
+
+    private static JsonObject decode(JsonParser parser, byte[] content, int start, int end) {
+        final int jsonStart = start + CHECKSUM_LENGTH + 1;
+        if (jsonStart >= end || content[jsonStart - 1] != ' ') {
+            return null;
+        }
+        final long checksum;
+        try {
+            checksum = Long.parseLong(new String(content, start, CHECKSUM_LENGTH, UTF_8), 16);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(content, jsonStart, end - jsonStart);
+        if (crc.getValue() != checksum) {
+            return null;
+        }
+        try {
+            final JsonElement record = parser.parse(new String(content, jsonStart, end - jsonStart, UTF_8));
+            if (!record.isJsonObject()
+                || !record.getAsJsonObject().has(OP)
+                || !record.getAsJsonObject().has(KEY)) {
+                return null;
+            }
+            return record.getAsJsonObject();
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static int indexOf(byte[] content, byte b, int from) {
+        for (int i = from; i < content.length; i++) {
+            if (content[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
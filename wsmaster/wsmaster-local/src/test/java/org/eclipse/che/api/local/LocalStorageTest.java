@@ -13,6 +13,7 @@ package org.eclipse.che.api.local;
 import com.google.common.io.Files;
 import com.google.common.reflect.TypeToken;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
@@ -31,8 +32,10 @@ import java.util.List;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Anton Korneta
@@ -175,6 +178,97 @@ public class LocalStorageTest {
     }
 
 
+    @Test
+    public void replaysJournalRecordsOnTopOfStoredMap() throws IOException {
+        final File dir = cleanDir("journal-replay");
+        storage = new LocalStorage(dir.getPath(), "map.json");
+        storage.store(Collections.singletonMap("k1", "v1"));
+        storage.put("k2", "v2");
+        storage.put("k1", "v3");
+        storage.sync(storage.remove("k2"));
+
+        final Map<String, String> map = new LocalStorage(dir.getPath(), "map.json").loadMap(new TypeToken<Map<String, String>>() {});
+
+        assertEquals(map, Collections.singletonMap("k1", "v3"));
+    }
+
+    @Test
+    public void ignoresIncompleteJournalRecords() throws IOException {
+        final File dir = cleanDir("journal-torn");
+        storage = new LocalStorage(dir.getPath(), "map.json");
+        storage.sync(storage.put("k1", "v1"));
+        final File journal = new File(dir, "map.json.journal");
+        Files.append("00000000 {\"op\":\"put\",\"key\":\"k2\"", journal, Charset.forName("UTF-8"));
+
+        final LocalStorage recovered = new LocalStorage(dir.getPath(), "map.json");
+        assertEquals(recovered.loadMap(new TypeToken<Map<String, String>>() {}), Collections.singletonMap("k1", "v1"));
+
+        recovered.sync(recovered.put("k3", "v3"));
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("k1", "v1");
+        expected.put("k3", "v3");
+        assertEquals(new LocalStorage(dir.getPath(), "map.json").loadMap(new TypeToken<Map<String, String>>() {}), expected);
+    }
+
+    @Test
+    public void compactsJournalIntoStoredFile() throws IOException {
+        final File dir = cleanDir("journal-compaction");
+        storage = new LocalStorage(dir.getPath(), "map.json");
+        storage.put("k1", "v1");
+        storage.sync(storage.put("k2", "v2"));
+
+        storage.compact();
+
+        assertFalse(new File(dir, "map.json.journal").exists());
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("k1", "v1");
+        expected.put("k2", "v2");
+        assertEquals(storage.load(new TypeToken<Map<String, String>>() {}), expected);
+    }
+
+    @Test
+    public void doesNotCompactJournalIntoCorruptedStoredFile() throws IOException {
+        final File dir = cleanDir("journal-corrupted");
+        storage = new LocalStorage(dir.getPath(), "map.json");
+        storage.store(Collections.singletonMap("k1", "v1"));
+        storage.sync(storage.put("k2", "v2"));
+        final File storedFile = new File(dir, "map.json");
+        final String stored = Files.toString(storedFile, Charset.forName("UTF-8"));
+        Files.write("{\"k1\": ", storedFile, Charset.forName("UTF-8"));
+
+        try {
+            storage.compact();
+            fail("Journal must not be compacted into corrupted file");
+        } catch (IOException ignored) {
+        }
+
+        assertEquals(Files.toString(storedFile, Charset.forName("UTF-8")), "{\"k1\": ");
+        assertTrue(new File(dir, "map.json.journal.1").exists());
+        Files.write(stored, storedFile, Charset.forName("UTF-8"));
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("k1", "v1");
+        expected.put("k2", "v2");
+        assertEquals(new LocalStorage(dir.getPath(), "map.json").loadMap(new TypeToken<Map<String, String>>() {}), expected);
+    }
+
+    @Test
+    public void storeRemovesJournal() throws IOException {
+        final File dir = cleanDir("journal-store");
+        storage = new LocalStorage(dir.getPath(), "map.json");
+        storage.sync(storage.put("k1", "v1"));
+
+        storage.store(Collections.singletonMap("k2", "v2"));
+
+        assertFalse(new File(dir, "map.json.journal").exists());
+        assertEquals(storage.loadMap(new TypeToken<Map<String, String>>() {}), Collections.singletonMap("k2", "v2"));
+    }
+
+    private File cleanDir(String name) throws IOException {
+        final File dir = new File(storageDir, name);
+        FileUtils.deleteDirectory(dir);
+        return dir;
+    }
+
     private Path targetDir() throws URISyntaxException {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
         assertNotNull(url);
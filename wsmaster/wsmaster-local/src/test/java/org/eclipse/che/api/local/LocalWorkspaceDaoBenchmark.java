@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import org.eclipse.che.api.local.storage.LocalStorageFactory;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.eclipse.che.api.local.LocalWorkspaceDaoTest.createWorkspace;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Measures throughput of {@link LocalWorkspaceDaoImpl}, runs only with the benchmarks profile.
+ * Number of workspaces may be changed with 'che.local.storage.benchmark.workspaces' system property, e.g. 100000.
+ */
+public class LocalWorkspaceDaoBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalWorkspaceDaoBenchmark.class);
+
+    private static final int WORKSPACES = Integer.getInteger("che.local.storage.benchmark.workspaces", 1000);
+    private static final int THREADS    = 8;
+
+    LocalWorkspaceDaoImpl workspaceDao;
+    Path                  storageRoot;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
+        assertNotNull(url);
+        storageRoot = Paths.get(url.toURI()).getParent().resolve("workspaces-benchmark");
+        workspaceDao = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+    }
+
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        deleteDirectory(storageRoot.toFile());
+    }
+
+    /**
+     * Measures throughput of concurrent modifications and time of recovery from journal.
+     */
+    @Test
+    public void benchmarkModificationsAndRecovery() throws Exception {
+        final List<WorkspaceImpl> workspaces = new ArrayList<>(WORKSPACES);
+        for (int i = 0; i < WORKSPACES; i++) {
+            final WorkspaceImpl workspace = createWorkspace();
+            workspace.getConfig().setName("workspace-" + i);
+            workspaces.add(workspace);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            runConcurrently(executor, workspaces, workspaceDao::create);
+            LOG.info("Created {} workspaces in {} ms", WORKSPACES, NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            start = System.nanoTime();
+            runConcurrently(executor, workspaces, workspaceDao::update);
+            LOG.info("Updated {} workspaces in {} ms", WORKSPACES, NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final long start = System.nanoTime();
+        final LocalWorkspaceDaoImpl recovered = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        recovered.loadWorkspaces();
+        LOG.info("Recovered {} workspaces in {} ms", WORKSPACES, NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        assertEquals(recovered.getWorkspaces("user123").size(), WORKSPACES);
+    }
+
+    /**
+     * Measures throughput of mixed load where 9 of 10 operations are lookups by name or namespace
+     * and the rest are updates.
+     */
+    @Test
+    public void benchmarkMixedReadsAndWrites() throws Exception {
+        final int operations = 20_000;
+        final List<WorkspaceImpl> workspaces = new ArrayList<>(WORKSPACES);
+        for (int i = 0; i < WORKSPACES; i++) {
+            final WorkspaceImpl template = createWorkspace();
+            template.getConfig().setName("workspace-" + i);
+            final WorkspaceImpl workspace = WorkspaceImpl.builder()
+                                                         .setId(template.getId())
+                                                         .setConfig(template.getConfig())
+                                                         .setNamespace("user" + i % 100)
+                                                         .build();
+            workspaceDao.create(workspace);
+            workspaces.add(workspace);
+        }
+        final AtomicLong found = new AtomicLong();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final long start = System.nanoTime();
+            final List<Future<?>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < operations / THREADS; j++) {
+                        final WorkspaceImpl workspace = workspaces.get(random.nextInt(WORKSPACES));
+                        final int operation = random.nextInt(10);
+                        if (operation == 0) {
+                            workspaceDao.update(workspaceDao.get(workspace.getId()));
+                        } else if (operation < 5) {
+                            found.addAndGet(workspaceDao.getByNamespace(workspace.getNamespace()).size());
+                        } else {
+                            workspaceDao.get(workspace.getConfig().getName(), workspace.getNamespace());
+                            found.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            LOG.info("Performed {} mixed operations over {} workspaces in {} ms",
+                     operations,
+                     WORKSPACES,
+                     NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(found.get() > 0);
+    }
+
+    private static void runConcurrently(ExecutorService executor,
+                                        List<WorkspaceImpl> workspaces,
+                                        WorkspaceAction action) throws Exception {
+        final List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            final int first = i;
+            futures.add(executor.submit(() -> {
+                for (int j = first; j < workspaces.size(); j += THREADS) {
+                    action.apply(workspaces.get(j));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private interface WorkspaceAction {
+        void apply(WorkspaceImpl workspace) throws Exception;
+    }
+}
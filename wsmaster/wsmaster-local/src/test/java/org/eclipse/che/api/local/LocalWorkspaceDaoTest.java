@@ -13,6 +13,8 @@ package org.eclipse.che.api.local;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
@@ -25,9 +27,11 @@ import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -44,8 +48,11 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.commons.lang.NameGenerator.generate;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Eugene Voevodin
@@ -55,6 +62,7 @@ public class LocalWorkspaceDaoTest {
     static Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     LocalWorkspaceDaoImpl workspaceDao;
+    Path                  storageRoot;
     Path                  workspacesPath;
 
     @BeforeMethod
@@ -62,11 +70,16 @@ public class LocalWorkspaceDaoTest {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
         assertNotNull(url);
         final Path targetDir = Paths.get(url.toURI()).getParent();
-        final Path storageRoot = targetDir.resolve("workspaces");
+        storageRoot = targetDir.resolve("workspaces");
         workspacesPath = storageRoot.resolve("workspaces.json");
         workspaceDao = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
     }
 
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        deleteDirectory(storageRoot.toFile());
+    }
+
     @Test
     public void testWorkspaceSerialization() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
@@ -88,7 +101,89 @@ public class LocalWorkspaceDaoTest {
         assertEquals(result, workspace);
     }
 
-    private static WorkspaceImpl createWorkspace() {
+    @Test
+    public void shouldRecoverModificationsWhichAreNotStored() throws Exception {
+        final WorkspaceImpl created = createWorkspace();
+        final WorkspaceImpl removed = createWorkspace();
+        removed.getConfig().setName("removed-workspace");
+        workspaceDao.create(created);
+        workspaceDao.create(removed);
+        created.getConfig().setDescription("updated description");
+        workspaceDao.update(created);
+        workspaceDao.remove(removed.getId());
+
+        final LocalWorkspaceDaoImpl recovered = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        recovered.loadWorkspaces();
+
+        assertEquals(recovered.get(created.getId()).getConfig().getDescription(), "updated description");
+        assertFalse(recovered.getByNamespace(removed.getNamespace())
+                             .stream()
+                             .anyMatch(ws -> ws.getId().equals(removed.getId())));
+    }
+
+    @Test
+    public void shouldFindWorkspaceByNewNameAfterRename() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        workspaceDao.create(workspace);
+
+        workspace.getConfig().setName("new-name");
+        workspaceDao.update(workspace);
+
+        assertEquals(workspaceDao.get("new-name", workspace.getNamespace()).getId(), workspace.getId());
+        assertEquals(workspaceDao.getByNamespace(workspace.getNamespace()).size(), 1);
+    }
+
+    @Test
+    public void shouldChangeModificationCountAfterEachModification() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final long initial = workspaceDao.getModificationCount();
+
+        workspaceDao.create(workspace);
+        final long afterCreate = workspaceDao.getModificationCount();
+        workspaceDao.update(workspace);
+        final long afterUpdate = workspaceDao.getModificationCount();
+        workspaceDao.remove(workspace.getId());
+
+        assertTrue(afterCreate > initial);
+        assertTrue(afterUpdate > afterCreate);
+        assertTrue(workspaceDao.getModificationCount() > afterUpdate);
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldNotFindWorkspaceByOldNameAfterRename() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final String oldName = workspace.getConfig().getName();
+        workspaceDao.create(workspace);
+
+        workspace.getConfig().setName("new-name");
+        workspaceDao.update(workspace);
+
+        workspaceDao.get(oldName, workspace.getNamespace());
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldNotUpdateWorkspaceWithNameOfAnotherWorkspaceInSameNamespace() throws Exception {
+        final WorkspaceImpl first = createWorkspace();
+        final WorkspaceImpl second = createWorkspace();
+        second.getConfig().setName("second");
+        workspaceDao.create(first);
+        workspaceDao.create(second);
+
+        second.getConfig().setName(first.getConfig().getName());
+        workspaceDao.update(second);
+    }
+
+    @Test
+    public void shouldNotFindRemovedWorkspaceInNamespace() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        workspaceDao.create(workspace);
+
+        workspaceDao.remove(workspace.getId());
+
+        assertTrue(workspaceDao.getByNamespace(workspace.getNamespace()).isEmpty());
+    }
+
+    static WorkspaceImpl createWorkspace() {
         // environments
         final RecipeImpl recipe = new RecipeImpl();
         recipe.setType("dockerfile");